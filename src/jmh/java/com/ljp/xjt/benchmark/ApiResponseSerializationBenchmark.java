@@ -0,0 +1,60 @@
+package com.ljp.xjt.benchmark;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ljp.xjt.common.ApiResponse;
+import com.ljp.xjt.dto.UserDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分页响应JSON序列化基准
+ * <p>
+ * 以与Spring Boot相同方式构建的ObjectMapper序列化 ApiResponse&lt;Page&lt;UserDTO&gt;&gt;，
+ * 覆盖用户管理列表等大分页接口的响应输出。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"20", "1000"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Page<UserDTO>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Page<UserDTO> page = new Page<>(1, pageSize, pageSize * 10L);
+        page.setRecords(BenchmarkData.users(pageSize));
+        response = ApiResponse.success(page);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,178 @@
+package com.ljp.xjt.benchmark;
+
+import com.ljp.xjt.utils.FileTransferUtil;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 头像输出基准
+ * <p>
+ * 测量 FileTransferUtil 的完整输出、Range输出与ETag命中返回304三条路径，
+ * 并以 legacyFullBody 还原旧接口（UrlResource + ResponseEntity，由 ResourceHttpMessageConverter 输出）作为对照。
+ * 响应体写入内存，不含网络与sendfile，反映的是应用侧的处理开销。
+ * MockHttpServletResponse 的输出流只实现了逐字节 write(int)，会把测量结果放大成逐字节拷贝的耗时，
+ * 因此这里使用支持批量写入的 {@link BulkResponse}。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvatarServingBenchmark {
+
+    private static final String ETAG = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Param({"16384", "262144"})
+    public int fileSize;
+
+    private Path file;
+    private MockServletContext servletContext;
+    private ResourceHttpMessageConverter resourceConverter;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] content = new byte[fileSize];
+        new Random(20250620L).nextBytes(content);
+        file = Files.createTempFile("avatar-bench-", ".png");
+        Files.write(file, content);
+        servletContext = new MockServletContext();
+        resourceConverter = new ResourceHttpMessageConverter();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * 旧接口：每次请求构造UrlResource、按文件名推断类型，以附件形式输出完整内容，无缓存协商与Range
+     */
+    @Benchmark
+    public MockHttpServletResponse legacyFullBody() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/v1/profile/avatar/" + ETAG + ".png");
+        BulkResponse response = new BulkResponse();
+        Resource resource = new UrlResource(file.toUri());
+        if (!resource.exists()) {
+            throw new IllegalStateException("File not found " + file);
+        }
+        String contentType = request.getServletContext().getMimeType(resource.getFile().getAbsolutePath());
+        if (contentType == null) {
+            contentType = "application/octet-stream";
+        }
+        ResponseEntity<Resource> entity = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(contentType))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
+                .body(resource);
+
+        ServletServerHttpResponse outputMessage = new ServletServerHttpResponse(response);
+        outputMessage.setStatusCode(entity.getStatusCode());
+        outputMessage.getHeaders().putAll(entity.getHeaders());
+        resourceConverter.write(entity.getBody(), entity.getHeaders().getContentType(), outputMessage);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse fullBody() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/profile/avatar/" + ETAG + ".png");
+        MockHttpServletResponse response = new BulkResponse();
+        FileTransferUtil.sendImmutableFile(request, response, file, "image/png", ETAG);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse rangeRequest() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/profile/avatar/" + ETAG + ".png");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-4095");
+        MockHttpServletResponse response = new BulkResponse();
+        FileTransferUtil.sendImmutableFile(request, response, file, "image/png", ETAG);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse notModified() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/profile/avatar/" + ETAG + ".png");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + ETAG + "\"");
+        MockHttpServletResponse response = new BulkResponse();
+        FileTransferUtil.sendImmutableFile(request, response, file, "image/png", ETAG);
+        return response;
+    }
+
+    /**
+     * 输出流支持批量写入的响应，首次获取输出流时按Content-Length分配内存缓冲区，304等无响应体的路径不分配
+     */
+    static final class BulkResponse extends MockHttpServletResponse {
+
+        private ByteArrayOutputStream body;
+        private ServletOutputStream outputStream;
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                long contentLength = getContentLengthLong();
+                ByteArrayOutputStream target = new ByteArrayOutputStream(contentLength > 0 ? (int) contentLength : 8192);
+                body = target;
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) {
+                        target.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        target.write(b, off, len);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public byte[] getContentAsByteArray() {
+            return body == null ? new byte[0] : body.toByteArray();
+        }
+    }
+}
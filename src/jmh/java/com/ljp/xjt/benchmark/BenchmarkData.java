@@ -0,0 +1,179 @@
+package com.ljp.xjt.benchmark;
+
+import com.ljp.xjt.dto.UserDTO;
+import com.ljp.xjt.entity.Grade;
+import com.ljp.xjt.entity.Role;
+import com.ljp.xjt.entity.Student;
+import com.ljp.xjt.search.SearchDocument;
+import com.ljp.xjt.timetable.ScheduleTimeParser;
+import com.ljp.xjt.timetable.TimetableEntry;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 基准测试数据生成工具类
+ * <p>
+ * 使用固定随机种子，保证每次运行的数据一致，结果可与基线对比。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class BenchmarkData {
+
+    private static final long SEED = 20250620L;
+
+    private static final String SURNAMES = "王李张刘陈杨黄赵吴周徐孙马朱胡郭何林罗高郑梁谢宋唐许韩冯邓曹彭曾肖田董袁潘于蒋蔡余杜叶程苏魏吕丁任沈";
+    private static final String GIVEN_CHARS = "伟芳娜敏静磊洋艳勇军杰娟涛明超秀英霞平刚桂子涵浩然雨桐欣怡梓萱宇轩思远嘉一诺晨阳佳琪俊博文华晓丽建国志强";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 生成分数
+     *
+     * @param size         数量
+     * @param distribution normal-正态分布(75, 12)，high-正态分布(88, 6)
+     * @return 分数数组（0~100，一位小数）
+     */
+    public static BigDecimal[] scores(int size, String distribution) {
+        Random random = new Random(SEED);
+        double mean = "high".equals(distribution) ? 88 : 75;
+        double stdDev = "high".equals(distribution) ? 6 : 12;
+        BigDecimal[] scores = new BigDecimal[size];
+        for (int i = 0; i < size; i++) {
+            double value = Math.max(0, Math.min(100, mean + random.nextGaussian() * stdDev));
+            scores[i] = BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_UP);
+        }
+        return scores;
+    }
+
+    /**
+     * 生成一个班级某门课程的成绩
+     *
+     * @param size 数量
+     * @return 成绩列表
+     */
+    public static List<Grade> grades(int size) {
+        BigDecimal[] scores = scores(size, "normal");
+        List<Grade> grades = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Grade grade = new Grade();
+            grade.setId((long) i + 1);
+            grade.setStudentId((long) i + 1);
+            grade.setCourseId(1L);
+            grade.setScore(scores[i]);
+            grade.setSemester("2024-2025-2");
+            grade.setYear(2025);
+            grades.add(grade);
+        }
+        return grades;
+    }
+
+    /**
+     * 生成一页用户数据
+     *
+     * @param size 数量
+     * @return 用户DTO列表
+     */
+    public static List<UserDTO> users(int size) {
+        Role role = new Role();
+        role.setId(2L);
+        role.setRoleName("教师");
+        role.setRoleCode("teacher");
+        LocalDateTime now = LocalDateTime.of(2025, 6, 20, 8, 30);
+        List<UserDTO> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UserDTO user = new UserDTO();
+            user.setId(1_000_000L + i);
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPhone("138" + String.format("%08d", i));
+            user.setStatus(1);
+            user.setAvatarUrl("http://localhost:8080/api/v1/profile/avatar/" + Long.toHexString(SEED * (i + 1)) + ".png");
+            user.setCreatedTime(now);
+            user.setUpdatedTime(now);
+            user.setRoles(Set.of(role));
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * 生成一页学生：每 50 人一个班级，学号按入学年份递增
+     *
+     * @param size 数量
+     * @return 学生列表
+     */
+    public static List<Student> students(int size) {
+        LocalDateTime now = LocalDateTime.of(2025, 6, 20, 8, 30);
+        List<SearchDocument> documents = searchDocuments(size);
+        List<Student> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Student student = new Student();
+            student.setId((long) i + 1);
+            student.setUserId(1_000_000L + i);
+            student.setStudentNumber(documents.get(i).getCode());
+            student.setStudentName(documents.get(i).getName());
+            student.setGender(i % 2);
+            student.setBirthDate(LocalDate.of(2004 + i % 3, 1 + i % 12, 1 + i % 28));
+            student.setClassId((long) i / 50 + 1);
+            student.setCreatedTime(now);
+            student.setUpdatedTime(now);
+            students.add(student);
+        }
+        return students;
+    }
+
+    /**
+     * 生成学生检索文档：姓氏加一到两个名字用字，学号按入学年份递增
+     *
+     * @param size 数量
+     * @return 检索文档列表
+     */
+    public static List<SearchDocument> searchDocuments(int size) {
+        Random random = new Random(SEED);
+        List<SearchDocument> documents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StringBuilder name = new StringBuilder();
+            name.append(SURNAMES.charAt(random.nextInt(SURNAMES.length())));
+            int given = random.nextInt(3) == 0 ? 1 : 2;
+            for (int g = 0; g < given; g++) {
+                name.append(GIVEN_CHARS.charAt(random.nextInt(GIVEN_CHARS.length())));
+            }
+            String number = String.format("%d%07d", 2021 + i % 4, i + 1);
+            documents.add(new SearchDocument((long) i + 1, name.toString(), number));
+        }
+        return documents;
+    }
+
+    /**
+     * 生成一个学期无冲突的课表：每个班级10门课分布在周一至周五上午的10个时段，
+     * 每10个班级共用10名教师、10间教室，同一时段各不相同；周次依班级轮换为全部教学周、1-16周、1-16周单周
+     *
+     * @param size   排课数量（10的倍数）
+     * @param parser 上课时间解析器
+     * @return 课表条目列表
+     */
+    public static List<TimetableEntry> timetableEntries(int size, ScheduleTimeParser parser) {
+        String[] weeks = {"", "1-16周", "1-16周(单)"};
+        List<TimetableEntry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int clazz = i / 10;
+            int k = i % 10;
+            int block = clazz / 10 * 10;
+            String scheduleTime = weeks[clazz % weeks.length] + "周" + "一二三四五".charAt(k % 5) + (k / 5 * 2 + 1) + "-" + (k / 5 * 2 + 2) + "节";
+            entries.add(new TimetableEntry((long) i + 1, (long) block + (clazz + k) % 10 + 1, (long) clazz + 1,
+                    "R" + (block + (clazz + 2 * k) % 10), parser.parse(scheduleTime)));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,119 @@
+package com.ljp.xjt.benchmark;
+
+import com.ljp.xjt.dto.StudentDTO;
+import com.ljp.xjt.dto.StudentProfileDTO;
+import com.ljp.xjt.dto.convert.StudentConverter;
+import com.ljp.xjt.entity.Student;
+import com.ljp.xjt.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO属性复制基准
+ * <p>
+ * 对比 BeanUtils.copyProperties 的反射复制与 {@link StudentConverter} 手写赋值的开销：
+ * 单条个人资料（学生与用户两次复制），以及 1000 行学生分页转换为携带班级名称的列表DTO。
+ * 以 -prof gc 运行时，gc.alloc.rate.norm 给出每次操作的分配字节数。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private Student student;
+    private User user;
+    private List<Student> page;
+    private Map<Long, String> classNames;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2025, 6, 20, 8, 30);
+        student = new Student();
+        student.setId(1L);
+        student.setUserId(10001L);
+        student.setStudentNumber("20230001");
+        student.setStudentName("张三");
+        student.setGender(1);
+        student.setBirthDate(LocalDate.of(2005, 3, 1));
+        student.setClassId(7L);
+        student.setCreatedTime(now);
+        student.setUpdatedTime(now);
+
+        user = new User();
+        user.setId(10001L);
+        user.setUsername("zhangsan");
+        user.setEmail("zhangsan@example.com");
+        user.setPhone("13800000000");
+        user.setStatus(1);
+        user.setCreatedTime(now);
+        user.setUpdatedTime(now);
+
+        page = BenchmarkData.students(PAGE_SIZE);
+        classNames = new HashMap<>();
+        for (Student row : page) {
+            classNames.computeIfAbsent(row.getClassId(), id -> "计算机" + id + "班");
+        }
+    }
+
+    @Benchmark
+    public StudentProfileDTO beanUtilsCopy() {
+        StudentProfileDTO dto = new StudentProfileDTO();
+        BeanUtils.copyProperties(student, dto);
+        BeanUtils.copyProperties(user, dto);
+        dto.setId(student.getId());
+        return dto;
+    }
+
+    @Benchmark
+    public StudentProfileDTO manualCopy() {
+        return StudentConverter.toProfile(student, user);
+    }
+
+    @Benchmark
+    public List<StudentDTO> pageBeanUtilsCopy() {
+        List<StudentDTO> dtos = new ArrayList<>(page.size());
+        for (Student row : page) {
+            StudentDTO dto = new StudentDTO();
+            BeanUtils.copyProperties(row, dto);
+            dto.setClassName(classNames.get(row.getClassId()));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<StudentDTO> pageConverter() {
+        List<StudentDTO> dtos = new ArrayList<>(page.size());
+        for (Student row : page) {
+            dtos.add(StudentConverter.toDto(row, classNames.get(row.getClassId())));
+        }
+        return dtos;
+    }
+}
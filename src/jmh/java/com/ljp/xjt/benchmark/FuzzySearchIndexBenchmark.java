@@ -0,0 +1,63 @@
+package com.ljp.xjt.benchmark;
+
+import com.ljp.xjt.search.FuzzySearchIndex;
+import com.ljp.xjt.search.SearchField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内存检索索引基准
+ * <p>
+ * 20万条学生文档，检索词覆盖拼音首字母（zs）、全拼前缀（zhang）、单个汉字、姓名、
+ * 命中大量记录的学号前缀（2024）与完整学号。suggest 对应检索建议接口，
+ * find 对应列表检索把检索词解析为ID列表（上限1000，超过时返回null）。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class FuzzySearchIndexBenchmark {
+
+    @Param({"zs", "zhang", "张", "王芳", "2024", "20240012345"})
+    public String term;
+
+    @Param({"200000"})
+    public int size;
+
+    private FuzzySearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = FuzzySearchIndex.of(BenchmarkData.searchDocuments(size));
+    }
+
+    @Benchmark
+    public List<FuzzySearchIndex.Hit> suggest() {
+        return index.suggest(term, 10);
+    }
+
+    @Benchmark
+    public Set<Long> find() {
+        return index.find(term, term.chars().allMatch(Character::isDigit) ? SearchField.CODE : SearchField.NAME, 1000);
+    }
+}
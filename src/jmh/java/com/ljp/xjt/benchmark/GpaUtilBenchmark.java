@@ -0,0 +1,58 @@
+package com.ljp.xjt.benchmark;
+
+import com.ljp.xjt.utils.GpaUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GPA计算基准
+ * <p>
+ * 分数按常见分布生成（保留一位小数），normal 为均值75、标准差12的正态分布，
+ * high 为集中在高分段的分布，分支走向不同。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GpaUtilBenchmark {
+
+    @Param({"normal", "high"})
+    public String distribution;
+
+    @Param({"1000"})
+    public int size;
+
+    private BigDecimal[] scores;
+
+    @Setup
+    public void setUp() {
+        scores = BenchmarkData.scores(size, distribution);
+    }
+
+    @Benchmark
+    public void calculateGpa(Blackhole blackhole) {
+        for (BigDecimal score : scores) {
+            blackhole.consume(GpaUtil.calculateGpa(score));
+        }
+    }
+}
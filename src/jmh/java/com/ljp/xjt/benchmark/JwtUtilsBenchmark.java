@@ -0,0 +1,64 @@
+package com.ljp.xjt.benchmark;
+
+import com.ljp.xjt.utils.JwtUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT令牌生成与解析基准
+ * <p>
+ * 覆盖登录签发令牌以及每个请求在 JwtAuthenticationFilter 中的校验与取值路径。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secret", "mySecretKey123456789012345678901234567890abcdefghijklmnopqrstuvwxyz");
+        ReflectionTestUtils.setField(jwtUtils, "expiration", 86400L);
+        ReflectionTestUtils.setField(jwtUtils, "refreshExpiration", 604800L);
+        token = jwtUtils.generateToken(10001L, "teacher01", "TEACHER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(10001L, "teacher01", "TEACHER");
+    }
+
+    /**
+     * 与过滤器一致：先校验，再分别取用户名、角色、用户ID
+     */
+    @Benchmark
+    public void validateAndParse(Blackhole blackhole) {
+        blackhole.consume(jwtUtils.validateToken(token));
+        blackhole.consume(jwtUtils.getUsernameFromToken(token));
+        blackhole.consume(jwtUtils.getRoleFromToken(token));
+        blackhole.consume(jwtUtils.getUserIdFromToken(token));
+    }
+}
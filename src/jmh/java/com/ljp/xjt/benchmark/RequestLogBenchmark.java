@@ -0,0 +1,102 @@
+package com.ljp.xjt.benchmark;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.ljp.xjt.logging.RequestLogBuffer;
+import com.ljp.xjt.logging.RequestLogTurboFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求级缓冲日志开销基准
+ * <p>
+ * 模拟一次请求：打开缓冲区，业务代码输出若干条DEBUG日志并做一次 isTraceEnabled() 检查，
+ * 其中一条来自MyBatis映射语句Logger；启用缓冲时语句拦截器另把执行的SQL写入缓冲区，最后关闭缓冲区。buffered=false 为未注册截留过滤器的基线，
+ * 两者之差即为稳态下每个请求的额外开销（日志级别为INFO）。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestLogBenchmark {
+
+    private static final int STATEMENTS_PER_REQUEST = 10;
+    private static final String STATEMENT_ID = "com.ljp.xjt.mapper.GradeMapper.selectList";
+    private static final String SQL = "SELECT id, score FROM grades\n        WHERE student_id = ? LIMIT ?";
+
+    @Param({"false", "true"})
+    private boolean buffered;
+
+    private LoggerContext loggerContext;
+    private RequestLogTurboFilter turboFilter;
+    private Logger serviceLog;
+    private Logger mapperLog;
+    private Long userId = 10001L;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(ch.qos.logback.classic.Level.INFO);
+        serviceLog = LoggerFactory.getLogger("com.ljp.xjt.service.impl.GradeServiceImpl");
+        mapperLog = LoggerFactory.getLogger(STATEMENT_ID);
+        if (buffered) {
+            turboFilter = new RequestLogTurboFilter(List.of("com.ljp.xjt", "org.springframework.security"),
+                    List.of("com.ljp.xjt.mapper"), "DEBUG");
+            turboFilter.setContext(loggerContext);
+            turboFilter.start();
+            loggerContext.addTurboFilter(turboFilter);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (turboFilter != null) {
+            loggerContext.getTurboFilterList().remove(turboFilter);
+            turboFilter.stop();
+        }
+    }
+
+    @Benchmark
+    public boolean request() {
+        RequestLogBuffer buffer = RequestLogBuffer.open(500);
+        try {
+            for (int i = 0; i < STATEMENTS_PER_REQUEST; i++) {
+                serviceLog.debug("Loading grades of user {} page {}", userId, i);
+            }
+            if (mapperLog.isDebugEnabled()) {
+                mapperLog.debug("==>  Preparing: SELECT id, score FROM grades WHERE student_id = ?");
+            }
+            if (buffered) {
+                buffer.addStatement(STATEMENT_ID, SQL, new Object[]{userId, 20L}, 850_000L, null);
+            }
+            if (serviceLog.isTraceEnabled()) {
+                serviceLog.trace("Expensive dump {}", buffer.render());
+            }
+            return buffer.isEmpty();
+        } finally {
+            RequestLogBuffer.close();
+        }
+    }
+}
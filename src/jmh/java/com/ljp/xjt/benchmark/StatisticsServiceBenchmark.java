@@ -0,0 +1,87 @@
+package com.ljp.xjt.benchmark;
+
+import com.ljp.xjt.dto.ClassGradeAnalysisDTO;
+import com.ljp.xjt.entity.Classes;
+import com.ljp.xjt.entity.Course;
+import com.ljp.xjt.entity.Grade;
+import com.ljp.xjt.mapper.ClassesMapper;
+import com.ljp.xjt.mapper.CourseMapper;
+import com.ljp.xjt.mapper.GradeMapper;
+import com.ljp.xjt.mapper.StudentMapper;
+import com.ljp.xjt.service.impl.StatisticsServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 班级成绩统计基准
+ * <p>
+ * Mapper以内存桩代替数据库，只测量 StatisticsServiceImpl 中统计指标与分数段分布的计算开销。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsServiceBenchmark {
+
+    @Param({"50", "2000"})
+    public int size;
+
+    private StatisticsServiceImpl statisticsService;
+
+    @Setup
+    public void setUp() {
+        Classes classes = new Classes();
+        classes.setId(1L);
+        classes.setClassName("物理2301班");
+        Course course = new Course();
+        course.setId(1L);
+        course.setCourseName("大学物理");
+        List<Grade> grades = BenchmarkData.grades(size);
+
+        statisticsService = new StatisticsServiceImpl(
+                stub(ClassesMapper.class, Map.of("selectById", classes)),
+                stub(CourseMapper.class, Map.of("selectById", course)),
+                stub(StudentMapper.class, Map.of("selectCount", (long) size)),
+                stub(GradeMapper.class, Map.of("findGradesByClassAndCourse", grades)));
+    }
+
+    @Benchmark
+    public ClassGradeAnalysisDTO classGradeAnalysis() {
+        return statisticsService.getClassGradeAnalysis(1L, 1L);
+    }
+
+    /**
+     * 按方法名返回固定结果的Mapper桩
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> mapperType, Map<String, Object> results) {
+        return (T) Proxy.newProxyInstance(mapperType.getClassLoader(), new Class<?>[]{mapperType},
+                (proxy, method, args) -> {
+                    if (results.containsKey(method.getName())) {
+                        return results.get(method.getName());
+                    }
+                    throw new UnsupportedOperationException(mapperType.getSimpleName() + "." + method.getName());
+                });
+    }
+}
@@ -0,0 +1,78 @@
+package com.ljp.xjt.benchmark;
+
+import com.ljp.xjt.timetable.ScheduleTimeParser;
+import com.ljp.xjt.timetable.TimetableConflict;
+import com.ljp.xjt.timetable.TimetableEntry;
+import com.ljp.xjt.timetable.TimetableOccupancy;
+import com.ljp.xjt.timetable.TimetableSlots;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 课表冲突检查基准
+ * <p>
+ * validateTerm 对应整学期校验：依次检查并记入全部排课（上课时间已解析）；
+ * checkOne 对应新建排课：对已建好的学期占用检查一条与已有排课时段不同的条目；
+ * parse 为解析一段带周次与单双周的上课时间。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class TimetableConflictBenchmark {
+
+    @Param({"30000"})
+    public int size;
+
+    private final ScheduleTimeParser parser = new ScheduleTimeParser(20, 12);
+    private List<TimetableEntry> entries;
+    private TimetableOccupancy occupancy;
+    private TimetableEntry candidate;
+
+    @Setup
+    public void setUp() {
+        entries = BenchmarkData.timetableEntries(size, parser);
+        occupancy = TimetableOccupancy.of(entries);
+        candidate = new TimetableEntry(null, 1L, 1L, "R0", parser.parse("1-16周周六1-2节"));
+    }
+
+    @Benchmark
+    public int validateTerm() {
+        TimetableOccupancy term = new TimetableOccupancy();
+        int conflicts = 0;
+        for (TimetableEntry entry : entries) {
+            List<TimetableConflict> found = term.checkAndAdd(entry);
+            conflicts += found.size();
+        }
+        return conflicts;
+    }
+
+    @Benchmark
+    public List<TimetableConflict> checkOne() {
+        return occupancy.conflictsOf(candidate);
+    }
+
+    @Benchmark
+    public TimetableSlots parse() {
+        return parser.parse("1-8周周一1-2节,9-16周(双)周三3-4节");
+    }
+}
@@ -0,0 +1,97 @@
+#!/usr/bin/env python3
+"""
+比较两次JMH JSON结果，发现性能回退。
+
+用法:
+    python3 src/jmh/scripts/compare.py src/jmh/baselines/baseline.json target/jmh-result.json [--threshold 10]
+
+按 benchmark + params 对齐两份结果：
+  - 吞吐量模式(thrpt)越高越好，其余模式(avgt/sample/ss)越低越好；
+  - 同时比较 gc.alloc.rate.norm（每次操作分配字节数），越低越好。
+任一指标恶化超过阈值（百分比）时以退出码1结束，便于在CI中使用。
+"""
+import argparse
+import json
+import sys
+
+ALLOC_METRIC_SUFFIX = "gc.alloc.rate.norm"
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = json.load(f)
+    indexed = {}
+    for item in results:
+        params = item.get("params") or {}
+        key = item["benchmark"] + "".join(f" {k}={params[k]}" for k in sorted(params))
+        indexed[key] = item
+    return indexed
+
+
+def find_alloc(item):
+    for name, metric in (item.get("secondaryMetrics") or {}).items():
+        if name.endswith(ALLOC_METRIC_SUFFIX):
+            return metric
+    return None
+
+
+def change(baseline, current, higher_is_better):
+    if baseline == 0:
+        return 0.0
+    delta = (current - baseline) / baseline * 100
+    return -delta if higher_is_better else delta
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Compare JMH JSON results against a baseline")
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0,
+                        help="regression threshold in percent (default: 10)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+    regressions = []
+
+    print(f"{'benchmark':<80} {'metric':<8} {'baseline':>14} {'current':>14} {'change':>9}")
+    for key in sorted(current):
+        if key not in baseline:
+            print(f"{key:<80} (new, no baseline)")
+            continue
+        base_item, cur_item = baseline[key], current[key]
+
+        # 1. 主指标
+        higher_is_better = cur_item["mode"] == "thrpt"
+        base_score = base_item["primaryMetric"]["score"]
+        cur_score = cur_item["primaryMetric"]["score"]
+        unit = cur_item["primaryMetric"]["scoreUnit"]
+        worse = change(base_score, cur_score, higher_is_better)
+        flag = " <-- REGRESSION" if worse > args.threshold else ""
+        print(f"{key:<80} {'time':<8} {base_score:>14.3f} {cur_score:>14.3f} {worse:>+8.1f}%{flag}  [{unit}]")
+        if flag:
+            regressions.append(f"{key} score {worse:+.1f}%")
+
+        # 2. 每次操作分配量
+        base_alloc, cur_alloc = find_alloc(base_item), find_alloc(cur_item)
+        if base_alloc and cur_alloc:
+            worse = change(base_alloc["score"], cur_alloc["score"], False)
+            flag = " <-- REGRESSION" if worse > args.threshold else ""
+            print(f"{'':<80} {'alloc':<8} {base_alloc['score']:>14.1f} {cur_alloc['score']:>14.1f} {worse:>+8.1f}%{flag}  [B/op]")
+            if flag:
+                regressions.append(f"{key} alloc {worse:+.1f}%")
+
+    for key in sorted(set(baseline) - set(current)):
+        print(f"{key:<80} (missing from current run)")
+
+    if regressions:
+        print(f"\n{len(regressions)} regression(s) above {args.threshold:g}%:")
+        for line in regressions:
+            print(f"  {line}")
+        return 1
+    print(f"\nNo regressions above {args.threshold:g}%.")
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
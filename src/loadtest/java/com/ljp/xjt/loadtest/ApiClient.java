@@ -0,0 +1,135 @@
+package com.ljp.xjt.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * 压测HTTP客户端
+ * <p>
+ * 请求成功的判定为HTTP 2xx且响应体以 {"code":200 或 {"code":201 开头（ApiResponse首个字段为code），
+ * 不解析完整JSON，避免客户端与被测服务争抢CPU。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ApiClient(int port) {
+        this.baseUrl = "http://localhost:" + port + "/api";
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    /**
+     * 登录并返回访问令牌
+     *
+     * @throws IOException 登录失败
+     */
+    public String login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request("/auth/login", null)
+                        .POST(json(Map.of("username", username, "password", password))).build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode body = objectMapper.readTree(response.body());
+        if (body.path("code").asInt() != 200) {
+            throw new IOException("Login failed for " + username + ": " + response.body());
+        }
+        return body.path("data").path("token").asText();
+    }
+
+    public boolean get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+
+    /**
+     * 发送GET请求并解析响应中的data字段
+     *
+     * @return data节点，请求失败时返回null
+     */
+    public JsonNode getData(String path, String token) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(request(path, token).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            return null;
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.path("code").asInt() == 200 ? body.path("data") : null;
+    }
+
+    public boolean post(String path, String token, Object body) throws IOException, InterruptedException {
+        return send(request(path, token).POST(json(body)).build());
+    }
+
+    /**
+     * 发送带附加请求头的POST请求并解析完整响应体
+     *
+     * @return 响应体，HTTP状态非2xx时返回null
+     */
+    public JsonNode postForBody(String path, String token, Object body, Map<String, String> headers)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = request(path, token).POST(json(body));
+        headers.forEach(builder::header);
+        HttpResponse<byte[]> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return response.statusCode() / 100 == 2 ? objectMapper.readTree(response.body()) : null;
+    }
+
+    public boolean put(String path, String token, Object body) throws IOException, InterruptedException {
+        return send(request(path, token).PUT(json(body)).build());
+    }
+
+    /**
+     * 打开一个SSE长连接，响应体按行交给订阅者；取消订阅即关闭连接
+     *
+     * @return 响应头到达后完成
+     */
+    public CompletableFuture<HttpResponse<Void>> stream(String path, String token, Flow.Subscriber<String> lines) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Accept", "text/event-stream")
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(lines));
+    }
+
+    private boolean send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            return false;
+        }
+        String head = new String(response.body(), 0, Math.min(12, response.body().length), StandardCharsets.UTF_8);
+        return head.startsWith("{\"code\":200") || head.startsWith("{\"code\":201");
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+}
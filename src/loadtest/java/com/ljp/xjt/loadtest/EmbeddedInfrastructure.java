@@ -0,0 +1,219 @@
+package com.ljp.xjt.loadtest;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * 本地嵌入式基础设施
+ * <p>
+ * 启动内嵌MariaDB（与MySQL协议和SQL方言兼容，应用仍使用mysql-connector-j连接）与内嵌Redis，
+ * 压测不依赖任何外部服务。表结构由应用的Flyway迁移脚本创建，与生产库保持一致。
+ * 开启从库时再启动一个MariaDB作为只读从库，以行格式binlog从主库复制，用于验证读写分离路由。
+ * 数据目录位于临时目录，进程结束后丢弃。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+public class EmbeddedInfrastructure implements AutoCloseable {
+
+    public static final String DATABASE = "xjt";
+
+    private final boolean withReplica;
+    private DB db;
+    private DB replica;
+    private RedisServer redis;
+    @Getter
+    private int databasePort;
+    @Getter
+    private int replicaPort;
+    @Getter
+    private int redisPort;
+
+    public EmbeddedInfrastructure() {
+        this(false);
+    }
+
+    /**
+     * @param withReplica 是否同时启动一个复制主库的只读从库
+     */
+    public EmbeddedInfrastructure(boolean withReplica) {
+        this.withReplica = withReplica;
+    }
+
+    /**
+     * 启动数据库与Redis，并执行迁移脚本建表
+     *
+     * @throws Exception 启动失败
+     */
+    public void start() throws Exception {
+        // 1. 内嵌MariaDB；开启从库时主库写行格式binlog
+        DBConfigurationBuilder builder = mariaDb(System.getProperty("loadtest.db-buffer-pool", "1G"));
+        if (withReplica) {
+            builder.addArg("--server-id=1");
+            builder.addArg("--log-bin=mysql-bin");
+            builder.addArg("--binlog-format=ROW");
+        }
+        db = DB.newEmbeddedDB(builder.build());
+        db.start();
+        databasePort = db.getConfiguration().getPort();
+
+        // 2. 从库在建库之前开始复制，建库、迁移与数据生成都经binlog同步
+        if (withReplica) {
+            startReplica();
+        }
+        db.createDB(DATABASE);
+        Flyway.configure()
+                .dataSource(jdbcUrl(), "root", "")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        log.info("Embedded MariaDB listening on port {}", databasePort);
+
+        // 3. 内嵌Redis
+        redisPort = freePort();
+        redis = new RedisServer(redisPort);
+        redis.start();
+        log.info("Embedded Redis listening on port {}", redisPort);
+    }
+
+    /**
+     * 应用使用的JDBC连接串（开启批量改写，供数据生成器使用）
+     */
+    public String jdbcUrl() {
+        return jdbcUrl(databasePort, DATABASE);
+    }
+
+    /**
+     * 从库的JDBC连接串
+     */
+    public String replicaJdbcUrl() {
+        return jdbcUrl(replicaPort, DATABASE);
+    }
+
+    public boolean hasReplica() {
+        return replica != null;
+    }
+
+    /**
+     * 等待从库应用完主库当前的全部binlog
+     *
+     * @param timeout 最长等待时间
+     * @throws Exception 超时或查询失败
+     */
+    public void awaitReplicaCaughtUp(Duration timeout) throws Exception {
+        if (replica == null) {
+            return;
+        }
+        try (Connection primaryConnection = DriverManager.getConnection(jdbcUrl(), "root", "");
+             Connection replicaConnection = DriverManager.getConnection(jdbcUrl(replicaPort, ""), "root", "");
+             Statement primaryStatement = primaryConnection.createStatement();
+             Statement replicaStatement = replicaConnection.createStatement()) {
+            String file;
+            long position;
+            try (ResultSet rs = primaryStatement.executeQuery("SHOW MASTER STATUS")) {
+                rs.next();
+                file = rs.getString("File");
+                position = rs.getLong("Position");
+            }
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (true) {
+                try (ResultSet rs = replicaStatement.executeQuery("SHOW SLAVE STATUS")) {
+                    if (!rs.next()) {
+                        throw new IllegalStateException("Replica has no slave status");
+                    }
+                    if (!"Yes".equals(rs.getString("Slave_SQL_Running"))) {
+                        throw new IllegalStateException("Replication stopped: " + rs.getString("Last_Error"));
+                    }
+                    if (file.equals(rs.getString("Relay_Master_Log_File")) && rs.getLong("Exec_Master_Log_Pos") >= position) {
+                        log.info("Replica caught up with primary at {}:{}", file, position);
+                        return;
+                    }
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Replica did not catch up within " + timeout);
+                }
+                Thread.sleep(200);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (redis != null) {
+                redis.stop();
+            }
+        } finally {
+            try {
+                if (replica != null) {
+                    replica.stop();
+                }
+            } finally {
+                if (db != null) {
+                    db.stop();
+                }
+            }
+        }
+    }
+
+    /**
+     * 启动从库并开始从主库binlog起点复制
+     */
+    private void startReplica() throws Exception {
+        DBConfigurationBuilder builder = mariaDb(System.getProperty("loadtest.replica-buffer-pool", "512M"));
+        builder.addArg("--server-id=2");
+        builder.addArg("--relay-log=replica-relay-bin");
+        builder.addArg("--read-only");
+        replica = DB.newEmbeddedDB(builder.build());
+        replica.start();
+        replicaPort = replica.getConfiguration().getPort();
+        try (Connection connection = DriverManager.getConnection(jdbcUrl(replicaPort, ""), "root", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CHANGE MASTER TO MASTER_HOST = '127.0.0.1', MASTER_PORT = " + databasePort
+                    + ", MASTER_USER = 'root', MASTER_PASSWORD = '', MASTER_LOG_FILE = 'mysql-bin.000001', MASTER_LOG_POS = 4, MASTER_SSL = 0");
+            statement.execute("START SLAVE");
+        }
+        log.info("Embedded MariaDB replica listening on port {}", replicaPort);
+    }
+
+    /**
+     * 内嵌MariaDB配置；以root运行时mysqld需要显式指定用户
+     */
+    private static DBConfigurationBuilder mariaDb(String bufferPool) {
+        DBConfigurationBuilder builder = DBConfigurationBuilder.newBuilder();
+        builder.setPort(0);
+        builder.addArg("--innodb-buffer-pool-size=" + bufferPool);
+        builder.addArg("--character-set-server=utf8mb4");
+        if ("root".equals(System.getProperty("user.name"))) {
+            builder.addArg("--user=root");
+        }
+        return builder;
+    }
+
+    private static String jdbcUrl(int port, String database) {
+        return "jdbc:mysql://localhost:" + port + "/" + database
+                + "?useUnicode=true&characterEncoding=utf8&useSSL=false&serverTimezone=Asia/Shanghai"
+                + "&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true";
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
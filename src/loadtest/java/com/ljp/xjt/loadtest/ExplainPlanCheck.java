@@ -0,0 +1,301 @@
+package com.ljp.xjt.loadtest;
+
+import com.ljp.xjt.loadtest.scenario.Scenario;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 执行计划回归检查
+ * <p>
+ * 在内嵌数据库（由迁移脚本建表并写入合成数据）上对以下两类语句执行EXPLAIN：
+ * </p>
+ * <ol>
+ *     <li>Mapper XML中声明的全部查询、更新与删除语句，参数按名称生成示例值，动态条件全部生效；</li>
+ *     <li>各压测场景少量请求期间应用实际执行的语句，覆盖服务层用Wrapper拼出的查询。</li>
+ * </ol>
+ * <p>
+ * 大表（行数不低于 loadtest.explain.large-table-rows）出现全表扫描(type=ALL)即判定失败，进程以退出码1结束；
+ * 全索引扫描(type=index)只提示。确认无法避免的扫描登记在 explain-allowlist.txt 中并注明原因。
+ * 运行方式：mvn -Ploadtest test-compile exec:exec -Dloadtest.main=com.ljp.xjt.loadtest.ExplainPlanCheck
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+public class ExplainPlanCheck {
+
+    private static final Pattern TABLE_REFERENCE = Pattern.compile(
+            "\\b(?:FROM|JOIN|UPDATE)\\s+([a-z_][a-z0-9_]*)(?:\\s+(?:AS\\s+)?([a-z_][a-z0-9_]*))?",
+            Pattern.CASE_INSENSITIVE);
+    private static final Set<String> KEYWORDS = Set.of("where", "join", "left", "right", "inner", "outer", "cross",
+            "on", "using", "order", "group", "having", "limit", "set", "for", "union", "natural", "straight_join");
+
+    /**
+     * EXPLAIN输出中的一行
+     */
+    private record PlanRow(String table, String type, String key, long rows) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        SchoolDataset dataset = new SchoolDataset(config);
+        long largeTableRows = Long.getLong("loadtest.explain.large-table-rows", 10_000L);
+        int requestsPerScenario = Integer.getInteger("loadtest.explain.requests", 20);
+
+        List<String> violations = new ArrayList<>();
+        try (EmbeddedInfrastructure infrastructure = new EmbeddedInfrastructure()) {
+            // 1. 建表、写入数据并更新统计信息，保证优化器按真实数据量选择计划
+            infrastructure.start();
+            try (Connection connection = DriverManager.getConnection(infrastructure.jdbcUrl(), "root", "")) {
+                new SchoolDataGenerator(dataset).generate(connection);
+            }
+
+            StatementCapture capture = new StatementCapture();
+            try (ConfigurableApplicationContext context = LoadTestApplication.start(infrastructure,
+                    List.of(ctx -> ctx.getBeanFactory().registerSingleton("statementCapture", capture)))) {
+
+                // 2. 每个场景发送少量请求，采集运行期语句
+                ApiClient client = new ApiClient(((WebServerApplicationContext) context).getWebServer().getPort());
+                for (Map.Entry<String, Supplier<Scenario>> entry : LoadTestRunner.SCENARIOS.entrySet()) {
+                    Scenario scenario = entry.getValue().get();
+                    scenario.prepare(client, dataset, Math.min(requestsPerScenario, config.getSessions()));
+                    SplittableRandom random = new SplittableRandom(config.getSeed());
+                    for (int i = 0; i < requestsPerScenario; i++) {
+                        scenario.execute(client, random);
+                    }
+                }
+
+                // 3. 逐条EXPLAIN
+                Configuration configuration = context.getBean(SqlSessionFactory.class).getConfiguration();
+                try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+                    Map<String, Long> tableRows = analyzeTables(connection);
+                    List<String[]> allowlist = loadAllowlist();
+                    int checked = 0;
+
+                    for (MappedStatement statement : xmlStatements(configuration)) {
+                        Object parameter = new SampleParameters();
+                        try {
+                            checked += check(connection, statement, parameter, statement.getBoundSql(parameter),
+                                    tableRows, largeTableRows, allowlist, violations);
+                        } catch (RuntimeException | SQLException ex) {
+                            log.warn("Skip {}: {}", statement.getId(), ex.getMessage());
+                        }
+                    }
+                    for (StatementCapture.Captured captured : capture.getCaptured()) {
+                        checked += check(connection, captured.statement(), captured.parameter(), captured.boundSql(),
+                                tableRows, largeTableRows, allowlist, violations);
+                    }
+                    log.info("Explained {} statements", checked);
+                }
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            log.error("Full scans on large tables:\n  {}", String.join("\n  ", violations));
+            System.exit(1);
+        }
+        log.info("No full scans on tables with at least {} rows", largeTableRows);
+    }
+
+    /**
+     * 更新统计信息并返回各表行数
+     */
+    private static Map<String, Long> analyzeTables(Connection connection) throws SQLException {
+        Map<String, Long> rows = new HashMap<>();
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW TABLES")) {
+            while (rs.next()) {
+                tables.add(rs.getString(1));
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String table : tables) {
+                statement.execute("ANALYZE TABLE " + table);
+                try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                    rs.next();
+                    rows.put(table.toLowerCase(Locale.ROOT), rs.getLong(1));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Mapper XML中声明的非插入语句（Configuration中同一语句以全名和短名各登记一次，需去重）
+     */
+    private static Set<MappedStatement> xmlStatements(Configuration configuration) {
+        Set<MappedStatement> statements = new LinkedHashSet<>();
+        for (Object value : configuration.getMappedStatements()) {
+            if (value instanceof MappedStatement statement
+                    && statement.getResource() != null && statement.getResource().contains(".xml")
+                    && statement.getSqlCommandType() != SqlCommandType.INSERT) {
+                statements.add(statement);
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * 对一条语句执行EXPLAIN并记录违规
+     *
+     * @return 成功执行EXPLAIN的语句数（0或1）
+     */
+    private static int check(Connection connection, MappedStatement statement, Object parameter, BoundSql boundSql,
+                             Map<String, Long> tableRows, long largeTableRows, List<String[]> allowlist,
+                             List<String> violations) throws SQLException {
+        List<PlanRow> plan = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+            new DefaultParameterHandler(statement, parameter, boundSql).setParameters(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.add(new PlanRow(rs.getString("table"), rs.getString("type"), rs.getString("key"), rs.getLong("rows")));
+                }
+            }
+        } catch (SQLException ex) {
+            log.warn("Cannot explain {}: {}", statement.getId(), ex.getMessage());
+            return 0;
+        }
+
+        Map<String, String> aliases = aliases(boundSql.getSql());
+        for (PlanRow row : plan) {
+            String table = row.table() == null ? null : aliases.get(row.table().toLowerCase(Locale.ROOT));
+            long size = table == null ? 0 : tableRows.getOrDefault(table, 0L);
+            if (size < largeTableRows) {
+                continue;
+            }
+            String line = String.format("%s: %s (%d rows) type=%s key=%s examined=%d",
+                    statement.getId(), table, size, row.type(), row.key(), row.rows());
+            if ("ALL".equals(row.type())) {
+                if (allowed(allowlist, statement.getId(), table)) {
+                    log.info("Allowed full scan {}", line);
+                } else {
+                    violations.add(line);
+                }
+            } else if ("index".equals(row.type())) {
+                log.warn("Full index scan {}", line);
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * 从SQL文本解析 别名 -> 表名（无别名时表名映射到自身）
+     */
+    private static Map<String, String> aliases(String sql) {
+        Map<String, String> aliases = new LinkedHashMap<>();
+        Matcher matcher = TABLE_REFERENCE.matcher(sql);
+        while (matcher.find()) {
+            String table = matcher.group(1).toLowerCase(Locale.ROOT);
+            aliases.put(table, table);
+            String alias = matcher.group(2);
+            if (alias != null && !KEYWORDS.contains(alias.toLowerCase(Locale.ROOT))) {
+                aliases.put(alias.toLowerCase(Locale.ROOT), table);
+            }
+        }
+        return aliases;
+    }
+
+    private static boolean allowed(List<String[]> allowlist, String statementId, String table) {
+        for (String[] entry : allowlist) {
+            if (statementId.startsWith(entry[0]) && table.equals(entry[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 读取白名单：每行 "语句ID前缀 表名"，#之后为说明
+     */
+    private static List<String[]> loadAllowlist() throws IOException {
+        List<String[]> entries = new ArrayList<>();
+        InputStream input = ExplainPlanCheck.class.getClassLoader().getResourceAsStream("explain-allowlist.txt");
+        if (input == null) {
+            return entries;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comment = line.indexOf('#');
+                String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                if (!content.isEmpty()) {
+                    entries.add(content.split("\\s+", 2));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 按参数名生成示例值的参数对象，使动态SQL中的所有条件都生效
+     */
+    private static final class SampleParameters extends HashMap<String, Object> {
+
+        @Override
+        public boolean containsKey(Object key) {
+            return true;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return computeIfAbsent(String.valueOf(key), SampleParameters::sample);
+        }
+
+        private static Object sample(String name) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (lower.endsWith("ids")) {
+                return List.of(1L, 2L, 3L);
+            }
+            if (lower.endsWith("id")) {
+                return 1L;
+            }
+            if (lower.equals("before") || lower.endsWith("time")) {
+                return LocalDateTime.now();
+            }
+            if (lower.equals("limit") || lower.equals("year")) {
+                return 2024;
+            }
+            if (lower.equals("score")) {
+                return BigDecimal.valueOf(80);
+            }
+            return "1";
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.ljp.xjt.loadtest;
+
+import com.ljp.xjt.loadtest.scenario.Scenario;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 闭环压测驱动
+ * <p>
+ * 固定数量的工作线程各自循环发送请求，先预热再进入测量窗口，只统计测量窗口内开始的请求。
+ * 延迟以微秒记入每线程的HdrHistogram，结束后合并。闭环模型下服务变慢会同时降低发压速率，
+ * 报告的延迟不含排队等待（协调遗漏），对比版本时应同时看吞吐量。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+public class LoadDriver {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final LoadTestConfig config;
+    private final ApiClient client;
+    private final SqlStatementProbe probe;
+
+    public LoadDriver(LoadTestConfig config, ApiClient client, SqlStatementProbe probe) {
+        this.config = config;
+        this.client = client;
+        this.probe = probe;
+    }
+
+    /**
+     * 运行一个场景
+     *
+     * @param scenario 场景（已完成准备）
+     * @return 测量结果
+     * @throws Exception 工作线程异常退出
+     */
+    public ScenarioResult run(Scenario scenario) throws Exception {
+        int concurrency = config.getConcurrency();
+        long measureStart = System.nanoTime() + config.getWarmup().toNanos();
+        long measureEnd = measureStart + config.getDuration().toNanos();
+
+        // 1. 启动工作线程
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<Worker>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(scenario, new SplittableRandom(config.getSeed() + i), measureStart, measureEnd);
+            futures.add(executor.submit(worker, worker));
+        }
+
+        // 2. 预热结束时记录SQL指标快照
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, measureStart - System.nanoTime()));
+        double[] before = probe.snapshot();
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, measureEnd - System.nanoTime()));
+        double[] after = probe.snapshot();
+
+        // 3. 合并结果
+        Histogram histogram = new Histogram(MAX_LATENCY_MICROS, 3);
+        long errors = 0;
+        try {
+            for (Future<Worker> future : futures) {
+                Worker worker = future.get();
+                histogram.add(worker.histogram);
+                errors += worker.errors;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        double seconds = config.getDuration().toNanos() / 1e9;
+        ScenarioResult result = new ScenarioResult();
+        result.setScenario(scenario.name());
+        result.setConcurrency(concurrency);
+        result.setRequests(histogram.getTotalCount());
+        result.setErrors(errors);
+        result.setSeconds(seconds);
+        result.setThroughput(histogram.getTotalCount() / seconds);
+        result.setP50Millis(histogram.getValueAtPercentile(50) / 1000.0);
+        result.setP90Millis(histogram.getValueAtPercentile(90) / 1000.0);
+        result.setP99Millis(histogram.getValueAtPercentile(99) / 1000.0);
+        result.setMaxMillis(histogram.getMaxValue() / 1000.0);
+        result.setQueriesPerRequest(SqlStatementProbe.perRequest(before, after));
+        return result;
+    }
+
+    /**
+     * 工作线程
+     */
+    private final class Worker implements Runnable {
+
+        private final Scenario scenario;
+        private final SplittableRandom random;
+        private final long measureStart;
+        private final long measureEnd;
+        private final Histogram histogram = new Histogram(MAX_LATENCY_MICROS, 3);
+        private long errors;
+
+        Worker(Scenario scenario, SplittableRandom random, long measureStart, long measureEnd) {
+            this.scenario = scenario;
+            this.random = random;
+            this.measureStart = measureStart;
+            this.measureEnd = measureEnd;
+        }
+
+        @Override
+        public void run() {
+            long start;
+            while ((start = System.nanoTime()) < measureEnd && !Thread.currentThread().isInterrupted()) {
+                boolean success;
+                try {
+                    success = scenario.execute(client, random);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception ex) {
+                    log.debug("Request failed in scenario {}", scenario.name(), ex);
+                    success = false;
+                }
+                if (start >= measureStart) {
+                    long micros = (System.nanoTime() - start) / 1000;
+                    histogram.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+                    if (!success) {
+                        errors++;
+                    }
+                }
+            }
+        }
+    }
+}
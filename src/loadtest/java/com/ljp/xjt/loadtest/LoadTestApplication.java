@@ -0,0 +1,55 @@
+package com.ljp.xjt.loadtest;
+
+import com.ljp.xjt.StudentGradeSystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 在进程内以prod配置启动被测应用，连接内嵌数据库与Redis，监听随机端口；有从库时开启读写分离
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    /**
+     * 启动应用
+     *
+     * @param infrastructure 已启动的内嵌基础设施
+     * @param initializers   额外的上下文初始化器（如注册采集用的拦截器）
+     * @return 应用上下文
+     */
+    public static ConfigurableApplicationContext start(EmbeddedInfrastructure infrastructure,
+                                                       List<ApplicationContextInitializer<ConfigurableApplicationContext>> initializers) {
+        // 命令行参数优先级高于 application.yml，覆盖远程数据库与Redis地址
+        List<String> args = new ArrayList<>(List.of("--spring.profiles.active=prod",
+                "--server.port=0",
+                "--spring.datasource.url=" + infrastructure.jdbcUrl(),
+                "--spring.datasource.username=root",
+                "--spring.datasource.password=",
+                "--spring.data.redis.host=localhost",
+                "--spring.data.redis.port=" + infrastructure.getRedisPort(),
+                "--spring.data.redis.password=",
+                "--app.file.upload-path=target/loadtest/uploads",
+                "--logging.file.name=target/loadtest/application.log"));
+        // 有从库时开启读写分离
+        if (infrastructure.hasReplica()) {
+            args.addAll(List.of("--app.datasource.routing.enabled=true",
+                    "--app.datasource.routing.replicas[0].name=replica-1",
+                    "--app.datasource.routing.replicas[0].url=" + infrastructure.replicaJdbcUrl(),
+                    "--app.datasource.routing.replicas[0].username=root",
+                    "--app.datasource.routing.replicas[0].password="));
+        }
+        return new SpringApplicationBuilder(StudentGradeSystemApplication.class)
+                .initializers(initializers.toArray(new ApplicationContextInitializer<?>[0]))
+                .run(args.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,61 @@
+package com.ljp.xjt.loadtest;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 压测参数
+ * <p>
+ * 全部来自系统属性（loadtest.*），默认值对应约10万学生、500万成绩的学校规模。
+ * 成绩总数按 学生数 × 每班课程数 生成，每班课程数由成绩总数反推。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Getter
+public class LoadTestConfig {
+
+    private final long seed = Long.getLong("loadtest.seed", 20250620L);
+    private final int students = Integer.getInteger("loadtest.students", 100_000);
+    private final long grades = Long.getLong("loadtest.grades", 5_000_000L);
+    private final int classSize = Integer.getInteger("loadtest.class-size", 50);
+    private final int departments = Integer.getInteger("loadtest.departments", 10);
+    private final int majorsPerDepartment = Integer.getInteger("loadtest.majors-per-department", 5);
+    private final int courses = Integer.getInteger("loadtest.courses", 400);
+    private final int teachers = Integer.getInteger("loadtest.teachers", 2_000);
+    private final int cohorts = Integer.getInteger("loadtest.cohorts", 4);
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+    private final int sessions = Integer.getInteger("loadtest.sessions", 500);
+    private final int streamClients = Integer.getInteger("loadtest.stream-clients", 10_000);
+    private final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private final List<String> scenarios = Arrays.stream(
+                    System.getProperty("loadtest.scenarios", "login,grade-release,teacher-batch,admin-search,admin-scroll,admin-suggest,analytics").split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .toList();
+    private final boolean replica = Boolean.getBoolean("loadtest.replica");
+    private final boolean archive = Boolean.getBoolean("loadtest.archive");
+    private final String reportPath = System.getProperty("loadtest.report", "target/loadtest-report.json");
+
+    /**
+     * 班级数（最后一个班可能不满员）
+     */
+    public int getClasses() {
+        return (students + classSize - 1) / classSize;
+    }
+
+    /**
+     * 每个班级开设的课程数，即每名学生的成绩条数
+     */
+    public int getCoursesPerClass() {
+        int perStudent = (int) Math.max(1, grades / Math.max(1, students));
+        return Math.min(perStudent, courses);
+    }
+}
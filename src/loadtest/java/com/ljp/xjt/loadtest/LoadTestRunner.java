@@ -0,0 +1,297 @@
+package com.ljp.xjt.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ljp.xjt.bulkhead.WorkloadBulkheads;
+import com.ljp.xjt.datasource.ReplicaRoutingDataSource;
+import com.ljp.xjt.idempotency.IdempotencyAspect;
+import com.ljp.xjt.loadtest.scenario.AdminGradeScrollScenario;
+import com.ljp.xjt.loadtest.scenario.AdminGradeSearchScenario;
+import com.ljp.xjt.loadtest.scenario.AdminSuggestScenario;
+import com.ljp.xjt.loadtest.scenario.AnalyticsScenario;
+import com.ljp.xjt.loadtest.scenario.BatchRetryScenario;
+import com.ljp.xjt.loadtest.scenario.DeadlineMixScenario;
+import com.ljp.xjt.loadtest.scenario.GradeAutosaveScenario;
+import com.ljp.xjt.loadtest.scenario.GradeReleaseScenario;
+import com.ljp.xjt.loadtest.scenario.GradeStreamScenario;
+import com.ljp.xjt.loadtest.scenario.GradeSyncScenario;
+import com.ljp.xjt.loadtest.scenario.GradingRushScenario;
+import com.ljp.xjt.loadtest.scenario.LoginStormScenario;
+import com.ljp.xjt.loadtest.scenario.Scenario;
+import com.ljp.xjt.loadtest.scenario.TeacherBatchEntryScenario;
+import com.ljp.xjt.service.GradeArchiveService;
+import com.ljp.xjt.singleflight.SingleFlightAspect;
+import com.ljp.xjt.service.GradeOutboxService;
+import com.ljp.xjt.metrics.HotPathMetrics;
+import com.ljp.xjt.metrics.SqlStatementBudgetFilter;
+import com.ljp.xjt.service.impl.GradeAutosaveServiceImpl;
+import com.ljp.xjt.service.impl.GradeOutboxServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 本地压测入口
+ * <p>
+ * 启动内嵌MariaDB与Redis，生成合成学校数据，以prod配置在进程内启动应用（随机端口），
+ * 依次运行各场景，输出吞吐量、p50/p99延迟与每请求SQL语句数，并写入JSON报告。
+ * 有请求超出SQL语句预算（app.sql-budget）时，写出报告后以退出码1结束。
+ * 运行方式：mvn -Ploadtest test-compile exec:exec（参数见 pom.xml 中的 loadtest profile）。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    static final Map<String, Supplier<Scenario>> SCENARIOS = new LinkedHashMap<>();
+
+    static {
+        SCENARIOS.put("login", LoginStormScenario::new);
+        SCENARIOS.put("grade-release", GradeReleaseScenario::new);
+        SCENARIOS.put("teacher-batch", TeacherBatchEntryScenario::new);
+        SCENARIOS.put("admin-search", AdminGradeSearchScenario::new);
+        SCENARIOS.put("admin-scroll", AdminGradeScrollScenario::new);
+        SCENARIOS.put("admin-suggest", AdminSuggestScenario::new);
+        SCENARIOS.put("analytics", AnalyticsScenario::new);
+        SCENARIOS.put("grade-stream", GradeStreamScenario::new);
+        SCENARIOS.put("grade-sync", GradeSyncScenario::new);
+        SCENARIOS.put("grade-autosave", GradeAutosaveScenario::new);
+        SCENARIOS.put("batch-retry", BatchRetryScenario::new);
+        SCENARIOS.put("grading-rush", GradingRushScenario::new);
+        SCENARIOS.put("deadline-mix", DeadlineMixScenario::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String name : config.getScenarios()) {
+            if (!SCENARIOS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown scenario: " + name + ", available: " + SCENARIOS.keySet());
+            }
+        }
+        SchoolDataset dataset = new SchoolDataset(config);
+        Map<String, Long> budgetViolations;
+
+        try (EmbeddedInfrastructure infrastructure = new EmbeddedInfrastructure(config.isReplica())) {
+            // 1. 基础设施与数据
+            infrastructure.start();
+            try (Connection connection = DriverManager.getConnection(infrastructure.jdbcUrl(), "root", "")) {
+                new SchoolDataGenerator(dataset).generate(connection);
+            }
+            infrastructure.awaitReplicaCaughtUp(Duration.ofMinutes(30));
+
+            // 2. 启动被测应用
+            try (ConfigurableApplicationContext context = LoadTestApplication.start(infrastructure, List.of())) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                ApiClient client = new ApiClient(port);
+                LoadDriver driver = new LoadDriver(config, client, new SqlStatementProbe(context.getBean(MeterRegistry.class)));
+                if (config.isArchive()) {
+                    long start = System.currentTimeMillis();
+                    int archived = context.getBean(GradeArchiveService.class).archive();
+                    log.info("Archived {} grades in {} ms", archived, System.currentTimeMillis() - start);
+                }
+
+                // 3. 依次运行场景
+                List<ScenarioResult> results = new ArrayList<>();
+                for (String name : config.getScenarios()) {
+                    Scenario scenario = SCENARIOS.get(name).get();
+                    log.info("Preparing scenario {}", name);
+                    scenario.prepare(client, dataset, config.getSessions());
+                    log.info("Running scenario {} ({} workers, warmup {}, duration {})",
+                            name, config.getConcurrency(), config.getWarmup(), config.getDuration());
+                    ScenarioResult result = driver.run(scenario);
+                    Map<String, Object> details = scenario.finish();
+                    if (!details.isEmpty()) {
+                        result.setDetails(details);
+                        log.info("Scenario {} details: {}", name, details);
+                    }
+                    results.add(result);
+                }
+                context.getBean(GradeOutboxService.class).publishPending();
+                MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+                budgetViolations = sqlBudgetViolations(meterRegistry);
+                report(config, results, routes(meterRegistry), outbox(meterRegistry), autosave(meterRegistry),
+                        idempotency(meterRegistry), singleFlight(meterRegistry), bulkheadRejections(meterRegistry),
+                        budgetViolations);
+            }
+        }
+        if (!budgetViolations.isEmpty()) {
+            log.error("SQL statement budget exceeded (endpoint: requests): {}", budgetViolations);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 超出SQL语句预算的请求数，键为路由
+     */
+    private static Map<String, Long> sqlBudgetViolations(MeterRegistry meterRegistry) {
+        Map<String, Long> violations = new TreeMap<>();
+        for (Counter counter : meterRegistry.find(SqlStatementBudgetFilter.BUDGET_EXCEEDED).counters()) {
+            violations.merge(counter.getId().getTag("endpoint"), (long) counter.count(), Long::sum);
+        }
+        return violations;
+    }
+
+    /**
+     * 读写分离时各连接池的连接路由次数，键为 "连接池/原因"
+     */
+    private static Map<String, Long> routes(MeterRegistry meterRegistry) {
+        Map<String, Long> routes = new TreeMap<>();
+        for (Counter counter : meterRegistry.find(ReplicaRoutingDataSource.ROUTE_COUNTER).counters()) {
+            routes.put(counter.getId().getTag("pool") + "/" + counter.getId().getTag("reason"), (long) counter.count());
+        }
+        return routes;
+    }
+
+    /**
+     * 成绩变更发件箱的投递情况：发布条数与写入到发布的平均、最大耗时
+     */
+    private static Map<String, Object> outbox(MeterRegistry meterRegistry) {
+        Map<String, Object> outbox = new LinkedHashMap<>();
+        Timer delivery = meterRegistry.find(GradeOutboxServiceImpl.DELIVERY_TIMER).timer();
+        if (delivery != null && delivery.count() > 0) {
+            outbox.put("published", delivery.count());
+            outbox.put("meanDeliveryMillis", Math.round(delivery.mean(TimeUnit.MILLISECONDS)));
+            outbox.put("maxDeliveryMillis", Math.round(delivery.max(TimeUnit.MILLISECONDS)));
+        }
+        return outbox;
+    }
+
+    /**
+     * 成绩自动保存的合并情况：保存批次数、平均每批单元格数与耗时、被覆盖的修改数
+     */
+    private static Map<String, Object> autosave(MeterRegistry meterRegistry) {
+        Map<String, Object> autosave = new LinkedHashMap<>();
+        Timer flush = meterRegistry.find(GradeAutosaveServiceImpl.FLUSH_TIMER).tag("outcome", "success").timer();
+        DistributionSummary batchSize = meterRegistry.find(HotPathMetrics.GRADE_BATCH_SIZE)
+                .tag("api", "teacher-autosave").summary();
+        if (flush != null && flush.count() > 0) {
+            autosave.put("flushes", flush.count());
+            autosave.put("meanFlushMillis", Math.round(flush.mean(TimeUnit.MILLISECONDS)));
+            if (batchSize != null) {
+                autosave.put("meanBatchSize", Math.round(batchSize.mean() * 10) / 10.0);
+            }
+            Counter superseded = meterRegistry.find(GradeAutosaveServiceImpl.SUPERSEDED_COUNTER).counter();
+            autosave.put("superseded", superseded == null ? 0 : (long) superseded.count());
+        }
+        return autosave;
+    }
+
+    /**
+     * 带 Idempotency-Key 的请求按结果分类的次数
+     */
+    private static Map<String, Long> idempotency(MeterRegistry meterRegistry) {
+        Map<String, Long> idempotency = new TreeMap<>();
+        for (Counter counter : meterRegistry.find(IdempotencyAspect.REQUEST_COUNTER).counters()) {
+            idempotency.put(counter.getId().getTag("outcome"), (long) counter.count());
+        }
+        return idempotency;
+    }
+
+    /**
+     * 单飞合并方法的调用次数，键为 "方法/结果"
+     */
+    private static Map<String, Long> singleFlight(MeterRegistry meterRegistry) {
+        Map<String, Long> singleFlight = new TreeMap<>();
+        for (Counter counter : meterRegistry.find(SingleFlightAspect.CALL_COUNTER).counters()) {
+            singleFlight.put(counter.getId().getTag("method") + "/" + counter.getId().getTag("outcome"),
+                    (long) counter.count());
+        }
+        return singleFlight;
+    }
+
+    /**
+     * 隔离舱拒绝的请求数，键为 "负载类别/原因"
+     */
+    private static Map<String, Long> bulkheadRejections(MeterRegistry meterRegistry) {
+        Map<String, Long> rejections = new TreeMap<>();
+        for (Counter counter : meterRegistry.find(WorkloadBulkheads.REJECTED_COUNTER).counters()) {
+            rejections.put(counter.getId().getTag("workload") + "/" + counter.getId().getTag("reason"),
+                    (long) counter.count());
+        }
+        return rejections;
+    }
+
+    private static void report(LoadTestConfig config, List<ScenarioResult> results, Map<String, Long> routes,
+                               Map<String, Object> outbox, Map<String, Object> autosave,
+                               Map<String, Long> idempotency, Map<String, Long> singleFlight,
+                               Map<String, Long> bulkheadRejections, Map<String, Long> budgetViolations) throws Exception {
+        StringBuilder table = new StringBuilder(String.format("%n%-15s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "sql/req"));
+        for (ScenarioResult r : results) {
+            table.append(String.format("%-15s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %10.1f%n",
+                    r.getScenario(), r.getRequests(), r.getErrors(), r.getThroughput(),
+                    r.getP50Millis(), r.getP90Millis(), r.getP99Millis(), r.getMaxMillis(), r.getQueriesPerRequest()));
+        }
+        log.info("Load test finished:{}", table);
+        if (!routes.isEmpty()) {
+            log.info("Connections routed (pool/reason): {}", routes);
+        }
+        if (!outbox.isEmpty()) {
+            log.info("Grade outbox: {}", outbox);
+        }
+        if (!autosave.isEmpty()) {
+            log.info("Grade autosave: {}", autosave);
+        }
+        if (!idempotency.isEmpty()) {
+            log.info("Idempotent requests: {}", idempotency);
+        }
+        if (!singleFlight.isEmpty()) {
+            log.info("Single-flight calls (method/outcome): {}", singleFlight);
+        }
+        if (!bulkheadRejections.isEmpty()) {
+            log.info("Bulkhead rejections (workload/reason): {}", bulkheadRejections);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("results", results);
+        if (!routes.isEmpty()) {
+            report.put("datasourceRoutes", routes);
+        }
+        if (!outbox.isEmpty()) {
+            report.put("gradeOutbox", outbox);
+        }
+        if (!autosave.isEmpty()) {
+            report.put("gradeAutosave", autosave);
+        }
+        if (!idempotency.isEmpty()) {
+            report.put("idempotentRequests", idempotency);
+        }
+        if (!singleFlight.isEmpty()) {
+            report.put("singleFlightCalls", singleFlight);
+        }
+        if (!bulkheadRejections.isEmpty()) {
+            report.put("bulkheadRejections", bulkheadRejections);
+        }
+        if (!budgetViolations.isEmpty()) {
+            report.put("sqlBudgetViolations", budgetViolations);
+        }
+        File file = new File(config.getReportPath());
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .writerWithDefaultPrettyPrinter()
+                .writeValue(file, report);
+        log.info("Report written to {}", file.getAbsolutePath());
+    }
+}
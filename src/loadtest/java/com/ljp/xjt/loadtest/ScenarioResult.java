@@ -0,0 +1,29 @@
+package com.ljp.xjt.loadtest;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 单个场景的压测结果
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+public class ScenarioResult {
+
+    private String scenario;
+    private int concurrency;
+    private long requests;              // 测量窗口内完成的请求数
+    private long errors;                // 失败请求数（非2xx或业务码非200）
+    private double seconds;             // 测量窗口时长
+    private double throughput;          // 每秒请求数
+    private double p50Millis;
+    private double p90Millis;
+    private double p99Millis;
+    private double maxMillis;
+    private double queriesPerRequest;   // 每请求SQL语句数（取自 xjt.sql.statements 指标）
+    private Map<String, Object> details; // 场景特有的指标，见各场景的 finish()
+}
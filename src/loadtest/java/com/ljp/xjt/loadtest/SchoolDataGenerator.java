@@ -0,0 +1,270 @@
+package com.ljp.xjt.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * 合成学校数据生成器
+ * <p>
+ * 按 {@link SchoolDataset} 的下标规则，通过JDBC批量写入院系、专业、班级、课程、教师、学生、
+ * 账号角色、授课安排与成绩。所有用户使用同一个密码，BCrypt只计算一次。
+ * 分数按课程难度偏移的正态分布生成，随机数只来自固定种子，保证多次运行数据一致。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+public class SchoolDataGenerator {
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] TITLES = {"助教", "讲师", "副教授", "教授"};
+
+    private final SchoolDataset dataset;
+    private final LoadTestConfig config;
+    private final Timestamp now = Timestamp.valueOf(LocalDateTime.of(2025, 6, 20, 8, 0));
+
+    public SchoolDataGenerator(SchoolDataset dataset) {
+        this.dataset = dataset;
+        this.config = dataset.getConfig();
+    }
+
+    /**
+     * 写入全部数据
+     *
+     * @param connection 数据库连接（连接串需开启 rewriteBatchedStatements）
+     * @throws SQLException 写入失败
+     */
+    public void generate(Connection connection) throws SQLException {
+        long start = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET unique_checks = 0");
+            statement.execute("SET foreign_key_checks = 0");
+        }
+
+        // 1. 基础数据：角色、院系、专业、课程
+        insertRoles(connection);
+        insertDepartmentsAndMajors(connection);
+        insertCourses(connection);
+
+        // 2. 账号与人员
+        String passwordHash = new BCryptPasswordEncoder().encode(SchoolDataset.PASSWORD);
+        insertUsers(connection, passwordHash);
+        insertTeachers(connection);
+        insertClasses(connection);
+        insertStudents(connection);
+
+        // 3. 授课安排与成绩
+        insertTeachingAssignments(connection);
+        insertGrades(connection);
+
+        connection.setAutoCommit(true);
+
+        // 4. 批量导入后统计信息仍是空表的估值，优化器会选错驱动表，导入后立即重新收集
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE users, user_roles, teachers, classes, students, courses, teaching_assignments, grades");
+        }
+        log.info("Generated {} students, {} teachers, {} classes, {} grades in {}s",
+                config.getStudents(), config.getTeachers(), config.getClasses(),
+                (long) config.getStudents() * dataset.getCoursesPerClass(),
+                (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private void insertRoles(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO roles (id, role_name, role_code, description, created_time) VALUES (?, ?, ?, ?, ?)")) {
+            batch.add(1L, "管理员", "ADMIN", "系统管理员", now);
+            batch.add(2L, "教师", "TEACHER", "任课教师", now);
+            batch.add(3L, "学生", "STUDENT", "在校学生", now);
+        }
+    }
+
+    private void insertDepartmentsAndMajors(Connection connection) throws SQLException {
+        try (Batch departments = new Batch(connection,
+                "INSERT INTO departments (id, dept_name, dept_code, description, created_time) VALUES (?, ?, ?, ?, ?)");
+             Batch majors = new Batch(connection,
+                     "INSERT INTO majors (id, major_name, major_code, department_id, description, created_time) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int d = 0; d < config.getDepartments(); d++) {
+                departments.add(d + 1L, "第" + (d + 1) + "学院", String.format("D%02d", d + 1), null, now);
+                for (int m = 0; m < config.getMajorsPerDepartment(); m++) {
+                    int major = d * config.getMajorsPerDepartment() + m;
+                    majors.add(major + 1L, "专业" + (major + 1), String.format("M%03d", major + 1), d + 1L, null, now);
+                }
+            }
+        }
+    }
+
+    private void insertCourses(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO courses (id, course_name, course_code, credits, hours, description, created_time, updated_time) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int c = 0; c < config.getCourses(); c++) {
+                int credits = 1 + c % 4;
+                batch.add(dataset.courseId(c), "课程" + (c + 1), String.format("C%04d", c + 1),
+                        BigDecimal.valueOf(credits), credits * 16, null, now, now);
+            }
+        }
+    }
+
+    private void insertUsers(Connection connection, String passwordHash) throws SQLException {
+        try (Batch users = new Batch(connection,
+                "INSERT INTO users (id, username, password, email, phone, status, created_time, updated_time) "
+                        + "VALUES (?, ?, ?, ?, ?, 1, ?, ?)");
+             Batch userRoles = new Batch(connection, "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)")) {
+            users.add(SchoolDataset.ADMIN_USER_ID, SchoolDataset.ADMIN_USERNAME, passwordHash, "admin@example.com", null, now, now);
+            userRoles.add(SchoolDataset.ADMIN_USER_ID, 1L);
+            for (int t = 0; t < config.getTeachers(); t++) {
+                String username = dataset.teacherUsername(t);
+                users.add(dataset.teacherUserId(t), username, passwordHash, username + "@example.com", null, now, now);
+                userRoles.add(dataset.teacherUserId(t), 2L);
+            }
+            for (int s = 0; s < config.getStudents(); s++) {
+                String username = dataset.studentUsername(s);
+                users.add(dataset.studentUserId(s), username, passwordHash, username + "@example.com",
+                        String.format("138%08d", s), now, now);
+                userRoles.add(dataset.studentUserId(s), 3L);
+            }
+        }
+    }
+
+    private void insertTeachers(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO teachers (id, user_id, teacher_number, teacher_name, gender, title, department_id, created_time, updated_time) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int t = 0; t < config.getTeachers(); t++) {
+                batch.add(dataset.teacherId(t), dataset.teacherUserId(t), dataset.teacherNumber(t), dataset.teacherName(t),
+                        t % 2, TITLES[t % TITLES.length], (long) (t % config.getDepartments()) + 1, now, now);
+            }
+        }
+    }
+
+    private void insertClasses(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO classes (id, class_name, class_code, grade_year, major_id, advisor_teacher_id, created_time, updated_time) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int c = 0; c < config.getClasses(); c++) {
+                int gradeYear = dataset.gradeYear(c);
+                int major = dataset.majorOfClass(c);
+                batch.add(dataset.classId(c), "专业" + (major + 1) + "-" + gradeYear + "级" + (c + 1) + "班",
+                        String.format("CL%05d", c + 1), gradeYear, major + 1L,
+                        dataset.teacherId(c % config.getTeachers()), now, now);
+            }
+        }
+    }
+
+    private void insertStudents(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(config.getSeed());
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO students (id, user_id, student_number, student_name, gender, birth_date, class_id, created_time, updated_time) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int s = 0; s < config.getStudents(); s++) {
+                int clazz = dataset.classOfStudent(s);
+                LocalDate birthDate = LocalDate.of(dataset.gradeYear(clazz) - 18, 1, 1).plusDays(random.nextInt(365));
+                batch.add(dataset.studentId(s), dataset.studentUserId(s), dataset.studentNumber(s), dataset.studentName(s),
+                        random.nextInt(2), java.sql.Date.valueOf(birthDate), dataset.classId(clazz), now, now);
+            }
+        }
+    }
+
+    private void insertTeachingAssignments(Connection connection) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO teaching_assignments (teacher_id, course_id, class_id, semester, year, created_time, updated_time) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int c = 0; c < config.getClasses(); c++) {
+                for (int k = 0; k < dataset.getCoursesPerClass(); k++) {
+                    batch.add(dataset.teacherId(dataset.teacherOfClassCourse(c, k)), dataset.courseId(dataset.courseOfClass(c, k)),
+                            dataset.classId(c), dataset.semester(c, k), dataset.year(c, k), now, now);
+                }
+            }
+        }
+    }
+
+    private void insertGrades(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(config.getSeed() * 31);
+        long total = (long) config.getStudents() * dataset.getCoursesPerClass();
+        long written = 0;
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO grades (id, student_id, course_id, score, grade_type, semester, year, is_abnormal, created_by, "
+                        + "updated_by_teacher_id, is_reviewed, created_time, updated_time) VALUES (?, ?, ?, ?, 'FINAL', ?, ?, 0, ?, ?, ?, ?, ?)")) {
+            for (int s = 0; s < config.getStudents(); s++) {
+                int clazz = dataset.classOfStudent(s);
+                for (int k = 0; k < dataset.getCoursesPerClass(); k++) {
+                    int course = dataset.courseOfClass(clazz, k);
+                    long teacherUserId = dataset.teacherUserId(dataset.teacherOfClassCourse(clazz, k));
+                    batch.add(dataset.gradeId(s, k), dataset.studentId(s), dataset.courseId(course), score(random, course),
+                            dataset.semester(clazz, k), dataset.year(clazz, k), teacherUserId,
+                            dataset.teacherId(dataset.teacherOfClassCourse(clazz, k)), random.nextInt(4) == 0, now, now);
+                }
+                written += dataset.getCoursesPerClass();
+                if (s % 10_000 == 9_999) {
+                    log.info("Grades: {}/{}", written, total);
+                }
+            }
+        }
+    }
+
+    /**
+     * 按课程难度偏移的正态分布生成分数，取0.5分的整数倍
+     */
+    private BigDecimal score(SplittableRandom random, int course) {
+        double mean = 76 + (course % 7 - 3) * 2;
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        double value = Math.max(0, Math.min(100, mean + gaussian * 11));
+        return BigDecimal.valueOf(Math.round(value * 2) / 2.0).setScale(1, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * 分批执行并提交的插入语句
+     */
+    private static final class Batch implements AutoCloseable {
+
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private int pending;
+
+        Batch(Connection connection, String sql) throws SQLException {
+            this.connection = connection;
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (++pending >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            statement.executeBatch();
+            connection.commit();
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    flush();
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.ljp.xjt.loadtest;
+
+import lombok.Getter;
+
+/**
+ * 合成学校数据的索引
+ * <p>
+ * 生成器写入的每一行都能由下标推导出来（ID、用户名、学号、所属班级、课程与任课教师），
+ * 场景据此直接构造请求，无需再从数据库回读。相同的参数与种子总是得到相同的数据。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Getter
+public class SchoolDataset {
+
+    public static final String PASSWORD = "Passw0rd!";
+    public static final String ADMIN_USERNAME = "admin";
+    public static final long ADMIN_USER_ID = 1L;
+    public static final int FIRST_GRADE_YEAR = 2021;
+
+    private static final String[] SURNAMES = {
+            "王", "李", "张", "刘", "陈", "杨", "黄", "赵", "吴", "周", "徐", "孙", "马", "朱", "胡", "郭", "何", "林", "罗", "高"
+    };
+    private static final String[] GIVEN_NAMES = {
+            "伟", "芳", "娜", "敏", "静", "磊", "洋", "艳", "勇", "军", "杰", "娟", "涛", "明", "超", "秀英", "霞", "平", "刚", "桂英",
+            "子涵", "浩然", "雨桐", "欣怡", "梓萱", "宇轩", "思远", "嘉怡", "一诺", "晨阳"
+    };
+
+    private final LoadTestConfig config;
+    private final int coursesPerClass;
+
+    public SchoolDataset(LoadTestConfig config) {
+        this.config = config;
+        this.coursesPerClass = config.getCoursesPerClass();
+    }
+
+    // ---------------- 学生 ----------------
+
+    public long studentId(int student) {
+        return student + 1L;
+    }
+
+    public long studentUserId(int student) {
+        return 2L + config.getTeachers() + student;
+    }
+
+    public int classOfStudent(int student) {
+        return student / config.getClassSize();
+    }
+
+    public String studentNumber(int student) {
+        return String.format("%d%07d", gradeYear(classOfStudent(student)), student + 1);
+    }
+
+    public String studentUsername(int student) {
+        return "s" + studentNumber(student);
+    }
+
+    public String studentName(int student) {
+        return personName(student * 2L + 1);
+    }
+
+    // ---------------- 教师 ----------------
+
+    public long teacherId(int teacher) {
+        return teacher + 1L;
+    }
+
+    public long teacherUserId(int teacher) {
+        return 2L + teacher;
+    }
+
+    public String teacherNumber(int teacher) {
+        return String.format("T%05d", teacher + 1);
+    }
+
+    public String teacherUsername(int teacher) {
+        return teacherNumber(teacher).toLowerCase();
+    }
+
+    public String teacherName(int teacher) {
+        return personName(teacher * 2L);
+    }
+
+    // ---------------- 班级与课程 ----------------
+
+    public long classId(int clazz) {
+        return clazz + 1L;
+    }
+
+    /**
+     * 班级的入学年份；默认四个年级，年级数增加时向更早的年份扩展，最后一个年级始终在 FIRST_GRADE_YEAR + 3 入学
+     */
+    public int gradeYear(int clazz) {
+        int cohorts = Math.max(1, config.getCohorts());
+        return FIRST_GRADE_YEAR + 4 - cohorts + clazz % cohorts;
+    }
+
+    public int majorOfClass(int clazz) {
+        return clazz % (config.getDepartments() * config.getMajorsPerDepartment());
+    }
+
+    /**
+     * 班级的第一名学生下标
+     */
+    public int firstStudentOfClass(int clazz) {
+        return clazz * config.getClassSize();
+    }
+
+    /**
+     * 班级学生人数
+     */
+    public int classSize(int clazz) {
+        return Math.min(config.getClassSize(), config.getStudents() - firstStudentOfClass(clazz));
+    }
+
+    public long courseId(int course) {
+        return course + 1L;
+    }
+
+    /**
+     * 班级开设的第k门课程；同专业的班级开设相同课程
+     */
+    public int courseOfClass(int clazz, int k) {
+        return (majorOfClass(clazz) * 37 + k) % config.getCourses();
+    }
+
+    /**
+     * 班级第k门课程的任课教师；每门课程由若干教师分担不同班级
+     */
+    public int teacherOfClassCourse(int clazz, int k) {
+        int course = courseOfClass(clazz, k);
+        return (int) ((course * 7L + clazz / 4) % config.getTeachers());
+    }
+
+    /**
+     * 班级第k门课程所在的学期序号（0-7，对应四个学年）
+     */
+    public int termOfClassCourse(int k) {
+        return k * 8 / coursesPerClass;
+    }
+
+    public int year(int clazz, int k) {
+        return gradeYear(clazz) + termOfClassCourse(k) / 2;
+    }
+
+    public String semester(int clazz, int k) {
+        int year = year(clazz, k);
+        return year + "-" + (year + 1) + "-" + (termOfClassCourse(k) % 2 + 1);
+    }
+
+    public long gradeId(int student, int k) {
+        return (long) student * coursesPerClass + k + 1;
+    }
+
+    private String personName(long seed) {
+        long mixed = (seed + config.getSeed()) * 0x9E3779B97F4A7C15L;
+        int surname = (int) Math.floorMod(mixed >>> 17, (long) SURNAMES.length);
+        int given = (int) Math.floorMod(mixed >>> 33, (long) GIVEN_NAMES.length);
+        return SURNAMES[surname] + GIVEN_NAMES[given];
+    }
+}
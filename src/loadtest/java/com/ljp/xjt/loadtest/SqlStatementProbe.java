@@ -0,0 +1,45 @@
+package com.ljp.xjt.loadtest;
+
+import com.ljp.xjt.metrics.SqlStatementBudgetFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 从被测应用的指标注册表读取每请求SQL语句数
+ * <p>
+ * 汇总所有路由的 xjt.sql.statements 分布，两次快照之差即为窗口内的请求数与语句总数。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class SqlStatementProbe {
+
+    private final MeterRegistry registry;
+
+    public SqlStatementProbe(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @return {已记录请求数, SQL语句总数}
+     */
+    public double[] snapshot() {
+        double count = 0;
+        double total = 0;
+        for (DistributionSummary summary : registry.find(SqlStatementBudgetFilter.STATEMENTS_PER_REQUEST).summaries()) {
+            count += summary.count();
+            total += summary.totalAmount();
+        }
+        return new double[]{count, total};
+    }
+
+    /**
+     * 两次快照之间的平均每请求语句数
+     */
+    public static double perRequest(double[] before, double[] after) {
+        double requests = after[0] - before[0];
+        return requests > 0 ? (after[1] - before[1]) / requests : 0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ljp.xjt.loadtest;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 运行期SQL采集拦截器
+ * <p>
+ * 记录应用实际执行过的查询、更新与删除语句（含参数），每种 语句ID+SQL文本 只保留第一次出现，
+ * 供执行计划检查复现。通过Wrapper在服务层拼出的查询也能被覆盖到。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class StatementCapture implements Interceptor {
+
+    /**
+     * 采集到的语句
+     *
+     * @param statement 映射语句
+     * @param parameter 参数对象
+     * @param boundSql  绑定后的SQL
+     */
+    public record Captured(MappedStatement statement, Object parameter, BoundSql boundSql) {
+    }
+
+    private final Map<String, Captured> captured = new ConcurrentHashMap<>();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        if (statement.getSqlCommandType() != SqlCommandType.INSERT) {
+            BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : statement.getBoundSql(args[1]);
+            String key = statement.getId() + "|" + boundSql.getSql().replaceAll("\\s+", " ");
+            captured.putIfAbsent(key, new Captured(statement, args[1], boundSql));
+        }
+        return invocation.proceed();
+    }
+
+    public List<Captured> getCaptured() {
+        return new ArrayList<>(captured.values());
+    }
+}
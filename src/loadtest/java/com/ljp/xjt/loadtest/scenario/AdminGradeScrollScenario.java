@@ -0,0 +1,50 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * 管理员成绩列表深翻页：每个线程沿游标连续向后翻页，到末页后从头开始
+ * <p>
+ * 用于验证游标分页的单页耗时不随翻页深度增长，可与 admin-search 的页码分页对比。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class AdminGradeScrollScenario implements Scenario {
+
+    private static final int PAGE_SIZE = 50;
+
+    private final ThreadLocal<String> cursors = ThreadLocal.withInitial(() -> "");
+    private String token;
+
+    @Override
+    public String name() {
+        return "admin-scroll";
+    }
+
+    @Override
+    public void prepare(ApiClient client, SchoolDataset dataset, int sessions) throws Exception {
+        this.token = client.login(SchoolDataset.ADMIN_USERNAME, SchoolDataset.PASSWORD);
+    }
+
+    @Override
+    public boolean execute(ApiClient client, SplittableRandom random) throws Exception {
+        String path = "/admin/grades?size=" + PAGE_SIZE + "&cursor=" + URLEncoder.encode(cursors.get(), StandardCharsets.UTF_8);
+        JsonNode page = client.getData(path, token);
+        if (page == null) {
+            cursors.set("");
+            return false;
+        }
+        JsonNode next = page.path("nextCursor");
+        cursors.set(next.isTextual() ? next.asText() : "");
+        return true;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * 管理员成绩检索：按班级、课程、班级与学年、姓名或学号条件分页查询
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class AdminGradeSearchScenario implements Scenario {
+
+    private SchoolDataset dataset;
+    private String token;
+
+    @Override
+    public String name() {
+        return "admin-search";
+    }
+
+    @Override
+    public void prepare(ApiClient client, SchoolDataset dataset, int sessions) throws Exception {
+        this.dataset = dataset;
+        this.token = client.login(SchoolDataset.ADMIN_USERNAME, SchoolDataset.PASSWORD);
+    }
+
+    @Override
+    public boolean execute(ApiClient client, SplittableRandom random) throws Exception {
+        int clazz = random.nextInt(dataset.getConfig().getClasses());
+        int student = dataset.firstStudentOfClass(clazz) + random.nextInt(dataset.classSize(clazz));
+        int k = random.nextInt(dataset.getCoursesPerClass());
+        String query = switch (random.nextInt(5)) {
+            case 0 -> "classId=" + dataset.classId(clazz);
+            case 1 -> "classId=" + dataset.classId(clazz) + "&courseId=" + dataset.courseId(dataset.courseOfClass(clazz, k));
+            case 2 -> "classId=" + dataset.classId(clazz) + "&year=" + dataset.year(clazz, k);
+            case 3 -> "studentName=" + URLEncoder.encode(dataset.studentName(student), StandardCharsets.UTF_8);
+            default -> "studentNumber=" + dataset.studentNumber(student);
+        };
+        return client.get("/admin/grades?current=" + (1 + random.nextInt(3)) + "&size=20&" + query, token);
+    }
+}
@@ -0,0 +1,67 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+import com.ljp.xjt.search.PinyinKeys;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 管理员检索建议：以学生姓名、全拼前缀、拼音首字母或学号前缀请求自动补全
+ * <p>
+ * 检索索引在应用启动后于后台构建，准备阶段等待索引可用后再开始计时。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class AdminSuggestScenario implements Scenario {
+
+    private static final long READY_TIMEOUT_MILLIS = 120_000;
+
+    private SchoolDataset dataset;
+    private String token;
+
+    @Override
+    public String name() {
+        return "admin-suggest";
+    }
+
+    @Override
+    public void prepare(ApiClient client, SchoolDataset dataset, int sessions) throws Exception {
+        this.dataset = dataset;
+        this.token = client.login(SchoolDataset.ADMIN_USERNAME, SchoolDataset.PASSWORD);
+
+        String probe = "/admin/search/suggest?types=STUDENT&q=" + dataset.studentNumber(dataset.getConfig().getStudents() - 1);
+        long deadline = System.currentTimeMillis() + READY_TIMEOUT_MILLIS;
+        while (true) {
+            JsonNode data = client.getData(probe, token);
+            if (data != null && data.size() > 0) {
+                return;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Search index was not ready within " + READY_TIMEOUT_MILLIS + " ms");
+            }
+            Thread.sleep(500);
+        }
+    }
+
+    @Override
+    public boolean execute(ApiClient client, SplittableRandom random) throws Exception {
+        int student = random.nextInt(dataset.getConfig().getStudents());
+        String name = dataset.studentName(student);
+        List<String> keys = PinyinKeys.of(name);
+        String term = switch (random.nextInt(4)) {
+            case 0 -> name;
+            case 1 -> keys.get(1).substring(0, Math.min(4, keys.get(1).length()));
+            case 2 -> keys.get(keys.size() - 1);
+            default -> dataset.studentNumber(student).substring(0, 6);
+        };
+        return client.get("/admin/search/suggest?limit=10&q=" + URLEncoder.encode(term, StandardCharsets.UTF_8), token);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+
+import java.util.SplittableRandom;
+
+/**
+ * 统计分析：管理员查看班级某门课程的成绩分析
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class AnalyticsScenario implements Scenario {
+
+    private SchoolDataset dataset;
+    private String token;
+
+    @Override
+    public String name() {
+        return "analytics";
+    }
+
+    @Override
+    public void prepare(ApiClient client, SchoolDataset dataset, int sessions) throws Exception {
+        this.dataset = dataset;
+        this.token = client.login(SchoolDataset.ADMIN_USERNAME, SchoolDataset.PASSWORD);
+    }
+
+    @Override
+    public boolean execute(ApiClient client, SplittableRandom random) throws Exception {
+        int clazz = random.nextInt(dataset.getConfig().getClasses());
+        int course = dataset.courseOfClass(clazz, random.nextInt(dataset.getCoursesPerClass()));
+        return client.get("/admin/statistics/class-grade-analysis?classId=" + dataset.classId(clazz)
+                + "&courseId=" + dataset.courseId(course), token);
+    }
+}
@@ -0,0 +1,163 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 批量导入重试：与 teacher-batch 相同的批量导入请求，每个批次带一个 Idempotency-Key 共发送 ATTEMPTS_PER_KEY 次，
+ * 模拟前端超时后的重试
+ * <p>
+ * 批次放在少量槽位中由各并发线程随机取用，同一批次的几次发送有的同时在途、有的在首次完成之后到达。
+ * 首次发送仍在处理时重复发送返回409，按客户端的做法间隔 IN_PROGRESS_BACKOFF_MILLIS 后以同一个键重发。
+ * 报告的 details 记录批次数、发送次数、因处理中而重发的次数与响应不一致的次数（应为0）；
+ * 每个批次只应执行一次，执行次数见报告中 xjt.idempotency.requests 的 executed。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class BatchRetryScenario implements Scenario {
+
+    private static final int ATTEMPTS_PER_KEY = 3;
+    private static final int MAX_IN_PROGRESS_RETRIES = 10;
+    private static final long IN_PROGRESS_BACKOFF_MILLIS = 200;
+
+    private SchoolDataset dataset;
+    private final List<int[]> assignments = new ArrayList<>();
+    private final Map<Integer, String> tokens = new LinkedHashMap<>();
+    private AtomicReferenceArray<Batch> slots;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder inProgressRetries = new LongAdder();
+    private final LongAdder mismatches = new LongAdder();
+
+    /**
+     * 一个带 Idempotency-Key 的批次及其首个响应
+     */
+    private static final class Batch {
+
+        private final String key = UUID.randomUUID().toString();
+        private final String path;
+        private final String token;
+        private final List<Map<String, Object>> entries;
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicReference<JsonNode> firstResponse = new AtomicReference<>();
+
+        private Batch(String path, String token, List<Map<String, Object>> entries) {
+            this.path = path;
+            this.token = token;
+            this.entries = entries;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "batch-retry";
+    }
+
+    @Override
+    public void prepare(ApiClient client, SchoolDataset dataset, int sessions) throws Exception {
+        this.dataset = dataset;
+
+        // 1. 在各班级中均匀挑选(班级, 第k门课程)授课对
+        int classes = dataset.getConfig().getClasses();
+        int count = Math.min(sessions, classes);
+        for (int i = 0; i < count; i++) {
+            int clazz = (int) ((long) i * classes / count);
+            int k = i % dataset.getCoursesPerClass();
+            assignments.add(new int[]{clazz, k});
+            tokens.putIfAbsent(dataset.teacherOfClassCourse(clazz, k), null);
+        }
+
+        // 2. 登录涉及的教师
+        List<Integer> teachers = new ArrayList<>(tokens.keySet());
+        List<String> usernames = teachers.stream().map(dataset::teacherUsername).toList();
+        List<String> loggedIn = Sessions.login(client, usernames, SchoolDataset.PASSWORD);
+        for (int i = 0; i < teachers.size(); i++) {
+            tokens.put(teachers.get(i), loggedIn.get(i));
+        }
+
+        // 3. 槽位数使每个批次的几次发送大致同时在途
+        SplittableRandom random = new SplittableRandom(dataset.getConfig().getSeed());
+        slots = new AtomicReferenceArray<>(Math.max(1, dataset.getConfig().getConcurrency() / ATTEMPTS_PER_KEY));
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, newBatch(random));
+        }
+    }
+
+    @Override
+    public boolean execute(ApiClient client, SplittableRandom random) throws Exception {
+        // 1. 取槽位中的批次，最后一次发送时换上新批次
+        int slot = random.nextInt(slots.length());
+        Batch batch;
+        while (true) {
+            batch = slots.get(slot);
+            int attempt = batch.sent.getAndIncrement();
+            if (attempt < ATTEMPTS_PER_KEY) {
+                if (attempt == 0) {
+                    batches.increment();
+                }
+                if (attempt == ATTEMPTS_PER_KEY - 1) {
+                    slots.compareAndSet(slot, batch, newBatch(random));
+                }
+                break;
+            }
+        }
+
+        // 2. 同一批次的每次响应应与首个响应完全一致（含时间戳，即返回的是同一次执行的结果）
+        attempts.increment();
+        JsonNode body = client.postForBody(batch.path, batch.token, batch.entries, Map.of("Idempotency-Key", batch.key));
+        for (int retry = 0; retry < MAX_IN_PROGRESS_RETRIES && body != null && body.path("code").asInt() == 409; retry++) {
+            inProgressRetries.increment();
+            Thread.sleep(IN_PROGRESS_BACKOFF_MILLIS);
+            body = client.postForBody(batch.path, batch.token, batch.entries, Map.of("Idempotency-Key", batch.key));
+        }
+        if (body == null || body.path("code").asInt() != 200) {
+            return false;
+        }
+        if (!batch.firstResponse.compareAndSet(null, body) && !batch.firstResponse.get().equals(body)) {
+            mismatches.increment();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> finish() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("batches", batches.sum());
+        details.put("attempts", attempts.sum());
+        details.put("inProgressRetries", inProgressRetries.sum());
+        details.put("mismatchedResponses", mismatches.sum());
+        return details;
+    }
+
+    private Batch newBatch(SplittableRandom random) {
+        int[] assignment = assignments.get(random.nextInt(assignments.size()));
+        int clazz = assignment[0];
+        int k = assignment[1];
+        List<Map<String, Object>> entries = new ArrayList<>();
+        int first = dataset.firstStudentOfClass(clazz);
+        for (int s = first; s < first + dataset.classSize(clazz); s++) {
+            entries.add(Map.of("studentNumber", dataset.studentNumber(s),
+                    "score", BigDecimal.valueOf(40 + random.nextInt(121) / 2.0)));
+        }
+        String path = "/teacher/courses/" + dataset.courseId(dataset.courseOfClass(clazz, k))
+                + "/classes/" + dataset.classId(clazz) + "/grades/batch";
+        return new Batch(path, tokens.get(dataset.teacherOfClassCourse(clazz, k)), entries);
+    }
+}
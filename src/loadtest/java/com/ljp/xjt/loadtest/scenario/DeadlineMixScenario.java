@@ -0,0 +1,98 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 截止日混合负载：四分之三的请求是管理员的重型查询（不带条件的大页成绩检索、班级成绩分析），
+ * 四分之一是教师批量录入成绩（与 teacher-batch 相同）
+ * <p>
+ * 报告的 details 分别给出录入与分析请求的延迟分位与失败数（被隔离舱拒绝的分析请求计为失败），
+ * 用于确认重型查询占满连接池时成绩录入不受拖累。
+ * 与不隔离对比时以 -Dloadtest.jvm-args="-Xmx2g -Dapp.bulkhead.enabled=false" 运行。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class DeadlineMixScenario implements Scenario {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final TeacherBatchEntryScenario grading = new TeacherBatchEntryScenario();
+    private final Histogram writeLatency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final Histogram analyticsLatency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder writeFailures = new LongAdder();
+    private final LongAdder analyticsFailures = new LongAdder();
+    private SchoolDataset dataset;
+    private String adminToken;
+
+    @Override
+    public String name() {
+        return "deadline-mix";
+    }
+
+    @Override
+    public void prepare(ApiClient client, SchoolDataset dataset, int sessions) throws Exception {
+        this.dataset = dataset;
+        grading.prepare(client, dataset, sessions);
+        adminToken = client.login(SchoolDataset.ADMIN_USERNAME, SchoolDataset.PASSWORD);
+    }
+
+    @Override
+    public boolean execute(ApiClient client, SplittableRandom random) throws Exception {
+        long start = System.nanoTime();
+        boolean write = random.nextInt(4) == 0;
+        boolean success = write ? grading.execute(client, random) : analytics(client, random);
+        long micros = (System.nanoTime() - start) / 1_000;
+        if (write) {
+            writeLatency.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+            if (!success) {
+                writeFailures.increment();
+            }
+        } else {
+            analyticsLatency.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+            if (!success) {
+                analyticsFailures.increment();
+            }
+        }
+        return success;
+    }
+
+    @Override
+    public Map<String, Object> finish() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("writes", writeLatency.getTotalCount());
+        details.put("writeFailures", writeFailures.sum());
+        details.put("writeP50Millis", percentileMillis(writeLatency, 50));
+        details.put("writeP99Millis", percentileMillis(writeLatency, 99));
+        details.put("analytics", analyticsLatency.getTotalCount());
+        details.put("analyticsFailures", analyticsFailures.sum());
+        details.put("analyticsP50Millis", percentileMillis(analyticsLatency, 50));
+        details.put("analyticsP99Millis", percentileMillis(analyticsLatency, 99));
+        return details;
+    }
+
+    private boolean analytics(ApiClient client, SplittableRandom random) throws Exception {
+        if (random.nextBoolean()) {
+            return client.get("/admin/grades?current=" + (1 + random.nextInt(50)) + "&size=200", adminToken);
+        }
+        int clazz = random.nextInt(dataset.getConfig().getClasses());
+        int course = dataset.courseOfClass(clazz, random.nextInt(dataset.getCoursesPerClass()));
+        return client.get("/admin/statistics/class-grade-analysis?classId=" + dataset.classId(clazz)
+                + "&courseId=" + dataset.courseId(course), adminToken);
+    }
+
+    private static double percentileMillis(Histogram histogram, double percentile) {
+        return Math.round(histogram.getValueAtPercentile(percentile) / 100.0) / 10.0;
+    }
+}
@@ -0,0 +1,71 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 成绩表格逐格保存：教师在成绩表格中连续修改单元格，每个单元格调用一次单条成绩接口
+ * <p>
+ * 约每8个并发请求落在同一个（教师、班级、课程）表格上，模拟教师快速录入时多个保存请求同时在途。
+ * 与逐条保存对比时以 -Dloadtest.jvm-args="-Xmx2g -Dapp.grade-autosave.max-batch-size=1" 运行。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class GradeAutosaveScenario implements Scenario {
+
+    private static final int EDITORS_PER_SHEET = 8;
+
+    private SchoolDataset dataset;
+    private final List<int[]> assignments = new ArrayList<>();
+    private final Map<Integer, String> tokens = new LinkedHashMap<>();
+
+    @Override
+    public String name() {
+        return "grade-autosave";
+    }
+
+    @Override
+    public void prepare(ApiClient client, SchoolDataset dataset, int sessions) throws Exception {
+        this.dataset = dataset;
+
+        // 1. 在各班级中均匀挑选(班级, 第k门课程)授课对
+        int classes = dataset.getConfig().getClasses();
+        int count = Math.max(1, Math.min(classes, dataset.getConfig().getConcurrency() / EDITORS_PER_SHEET));
+        for (int i = 0; i < count; i++) {
+            int clazz = (int) ((long) i * classes / count);
+            int k = i % dataset.getCoursesPerClass();
+            assignments.add(new int[]{clazz, k});
+            tokens.putIfAbsent(dataset.teacherOfClassCourse(clazz, k), null);
+        }
+
+        // 2. 登录涉及的教师
+        List<Integer> teachers = new ArrayList<>(tokens.keySet());
+        List<String> usernames = teachers.stream().map(dataset::teacherUsername).toList();
+        List<String> loggedIn = Sessions.login(client, usernames, SchoolDataset.PASSWORD);
+        for (int i = 0; i < teachers.size(); i++) {
+            tokens.put(teachers.get(i), loggedIn.get(i));
+        }
+    }
+
+    @Override
+    public boolean execute(ApiClient client, SplittableRandom random) throws Exception {
+        int[] assignment = assignments.get(random.nextInt(assignments.size()));
+        int clazz = assignment[0];
+        int k = assignment[1];
+        int student = dataset.firstStudentOfClass(clazz) + random.nextInt(dataset.classSize(clazz));
+        String path = "/teacher/courses/" + dataset.courseId(dataset.courseOfClass(clazz, k))
+                + "/classes/" + dataset.classId(clazz) + "/students/" + dataset.studentId(student) + "/grade";
+        return client.put(path, tokens.get(dataset.teacherOfClassCourse(clazz, k)),
+                Map.of("score", BigDecimal.valueOf(40 + random.nextInt(121) / 2.0)));
+    }
+}
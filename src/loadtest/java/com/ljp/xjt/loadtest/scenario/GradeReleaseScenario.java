@@ -0,0 +1,42 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 成绩发布读高峰：已登录的学生反复查询自己的成绩单
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class GradeReleaseScenario implements Scenario {
+
+    private List<String> tokens;
+
+    @Override
+    public String name() {
+        return "grade-release";
+    }
+
+    @Override
+    public void prepare(ApiClient client, SchoolDataset dataset, int sessions) throws Exception {
+        // 学生均匀分布在各年级、各班级
+        int students = dataset.getConfig().getStudents();
+        int count = Math.min(sessions, students);
+        List<String> usernames = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            usernames.add(dataset.studentUsername((int) ((long) i * students / count)));
+        }
+        tokens = Sessions.login(client, usernames, SchoolDataset.PASSWORD);
+    }
+
+    @Override
+    public boolean execute(ApiClient client, SplittableRandom random) throws Exception {
+        return client.get("/student/grades", tokens.get(random.nextInt(tokens.size())));
+    }
+}
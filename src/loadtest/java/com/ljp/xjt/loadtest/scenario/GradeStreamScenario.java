@@ -0,0 +1,245 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 成绩实时推送：大量学生与教师保持SSE长连接（默认1万个，loadtest.stream-clients），
+ * 工作线程以教师批量录入的方式持续修改这些学生的成绩
+ * <p>
+ * 请求指标为批量录入本身；推送指标（连接数、收到的通知数、写入到收到的延迟、连接期间的Tomcat线程数）
+ * 写入报告的 details。客户端与被测服务在同一进程内，每个连接占两个文件描述符，
+ * 1万个连接需要 ulimit -n 不低于约21000。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+public class GradeStreamScenario implements Scenario {
+
+    private static final int CONNECT_PARALLELISM = 256;
+    private static final long MAX_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    private SchoolDataset dataset;
+    private final List<int[]> assignments = new ArrayList<>();
+    private final Map<Integer, String> teacherTokens = new LinkedHashMap<>();
+    private final List<Listener> listeners = new ArrayList<>();
+    private final Histogram delays = new ConcurrentHistogram(MAX_DELAY_MILLIS, 3);
+    private final AtomicInteger connected = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+    private final LongAdder closedByServer = new LongAdder();
+    private long connectMillis;
+    private long tomcatThreads;
+
+    @Override
+    public String name() {
+        return "grade-stream";
+    }
+
+    @Override
+    public void prepare(ApiClient client, SchoolDataset dataset, int sessions) throws Exception {
+        this.dataset = dataset;
+
+        // 1. 挑选若干整班，学生总数不超过会话数；每班一门课程由工作线程反复批量录入
+        int classes = dataset.getConfig().getClasses();
+        int count = Math.max(1, Math.min(classes, sessions / Math.max(1, dataset.getConfig().getClassSize())));
+        List<String> studentUsernames = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int clazz = (int) ((long) i * classes / count);
+            int k = i % dataset.getCoursesPerClass();
+            assignments.add(new int[]{clazz, k});
+            teacherTokens.putIfAbsent(dataset.teacherOfClassCourse(clazz, k), null);
+            int first = dataset.firstStudentOfClass(clazz);
+            for (int s = first; s < first + dataset.classSize(clazz); s++) {
+                studentUsernames.add(dataset.studentUsername(s));
+            }
+        }
+
+        // 2. 登录学生与教师
+        List<String> studentTokens = Sessions.login(client, studentUsernames, SchoolDataset.PASSWORD);
+        List<Integer> teachers = new ArrayList<>(teacherTokens.keySet());
+        List<String> loggedIn = Sessions.login(client, teachers.stream().map(dataset::teacherUsername).toList(),
+                SchoolDataset.PASSWORD);
+        for (int i = 0; i < teachers.size(); i++) {
+            teacherTokens.put(teachers.get(i), loggedIn.get(i));
+        }
+
+        // 3. 建立连接：每位教师一个，其余按学生轮流分配（同一学生多个连接相当于多个标签页或设备）
+        int clients = dataset.getConfig().getStreamClients();
+        List<String> tokens = new ArrayList<>(teacherTokens.values());
+        for (int i = 0; tokens.size() < clients; i++) {
+            tokens.add(studentTokens.get(i % studentTokens.size()));
+        }
+        long start = System.currentTimeMillis();
+        Semaphore connecting = new Semaphore(CONNECT_PARALLELISM);
+        for (String token : tokens) {
+            connecting.acquire();
+            Listener listener = new Listener(connecting);
+            listeners.add(listener);
+            client.stream("/grades/stream", token, listener).whenComplete((response, ex) -> {
+                if (ex != null || response.statusCode() != 200) {
+                    listener.settle(false);
+                }
+            });
+        }
+        if (!connecting.tryAcquire(CONNECT_PARALLELISM, 2, TimeUnit.MINUTES)) {
+            log.warn("Timed out waiting for grade stream connections");
+        }
+        connectMillis = System.currentTimeMillis() - start;
+        tomcatThreads = tomcatThreads();
+        log.info("Opened {} grade stream connections ({} failed) in {} ms, {} Tomcat threads",
+                connected.get(), failed.get(), connectMillis, tomcatThreads);
+    }
+
+    @Override
+    public boolean execute(ApiClient client, SplittableRandom random) throws Exception {
+        int[] assignment = assignments.get(random.nextInt(assignments.size()));
+        int clazz = assignment[0];
+        int k = assignment[1];
+
+        List<Map<String, Object>> entries = new ArrayList<>();
+        int first = dataset.firstStudentOfClass(clazz);
+        for (int s = first; s < first + dataset.classSize(clazz); s++) {
+            entries.add(Map.of("studentNumber", dataset.studentNumber(s),
+                    "score", BigDecimal.valueOf(40 + random.nextInt(121) / 2.0)));
+        }
+        String path = "/teacher/courses/" + dataset.courseId(dataset.courseOfClass(clazz, k))
+                + "/classes/" + dataset.classId(clazz) + "/grades/batch";
+        return client.post(path, teacherTokens.get(dataset.teacherOfClassCourse(clazz, k)), entries);
+    }
+
+    @Override
+    public Map<String, Object> finish() throws Exception {
+        // 等待发件箱发布最后一批
+        TimeUnit.SECONDS.sleep(2);
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("clients", listeners.size());
+        details.put("connected", connected.get());
+        details.put("connectFailures", failed.get());
+        details.put("connectMillis", connectMillis);
+        details.put("tomcatThreadsAfterConnect", tomcatThreads);
+        details.put("tomcatThreadsAfterRun", tomcatThreads());
+        details.put("closedByServer", closedByServer.sum());
+        details.put("notifications", received.sum());
+        details.put("resyncs", resyncs.sum());
+        details.put("deliveryP50Millis", delays.getValueAtPercentile(50));
+        details.put("deliveryP99Millis", delays.getValueAtPercentile(99));
+        details.put("deliveryMaxMillis", delays.getMaxValue());
+        listeners.forEach(Listener::cancel);
+        return details;
+    }
+
+    private static long tomcatThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("http-nio"))
+                .count();
+    }
+
+    /**
+     * 解析SSE事件流：ready 表示订阅成功，grade 记录从写入到收到的延迟
+     */
+    private final class Listener implements Flow.Subscriber<String> {
+
+        private final Semaphore connecting;
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private volatile Flow.Subscription subscription;
+        private volatile boolean cancelled;
+        private String event;
+
+        Listener(Semaphore connecting) {
+            this.connecting = connecting;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.isEmpty()) {
+                event = null;
+            } else if (line.startsWith("event:")) {
+                event = line.substring(6).trim();
+            } else if (line.startsWith("data:")) {
+                if ("grade".equals(event)) {
+                    received.increment();
+                    long time = parseTime(line);
+                    if (time > 0) {
+                        delays.recordValue(Math.min(MAX_DELAY_MILLIS, Math.max(0, System.currentTimeMillis() - time)));
+                    }
+                } else if ("ready".equals(event)) {
+                    settle(true);
+                } else if ("resync".equals(event)) {
+                    resyncs.increment();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            closed();
+        }
+
+        @Override
+        public void onComplete() {
+            closed();
+        }
+
+        void settle(boolean success) {
+            if (settled.compareAndSet(false, true)) {
+                (success ? connected : failed).incrementAndGet();
+                connecting.release();
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        private void closed() {
+            if (!settled.get()) {
+                settle(false);
+            } else if (!cancelled) {
+                closedByServer.increment();
+            }
+        }
+
+        private long parseTime(String line) {
+            int index = line.indexOf("\"time\":");
+            if (index < 0) {
+                return -1;
+            }
+            long value = 0;
+            for (int i = index + 7; i < line.length() && Character.isDigit(line.charAt(i)); i++) {
+                value = value * 10 + (line.charAt(i) - '0');
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 成绩增量同步：与 grade-release 相同的学生反复查询成绩，但带上次返回的水位线调用 changes 接口，
+ * 只取回变化的成绩
+ * <p>
+ * 准备阶段每个会话先做一次全量同步取得水位线；报告的 details 记录全量响应次数与增量返回的成绩条数。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class GradeSyncScenario implements Scenario {
+
+    private static final String PATH = "/student/grades/changes";
+
+    private List<String> tokens;
+    private AtomicLongArray watermarks;
+    private final LongAdder fullResponses = new LongAdder();
+    private final LongAdder changedRows = new LongAdder();
+    private final LongAdder deletedRows = new LongAdder();
+    private final LongAdder polls = new LongAdder();
+
+    @Override
+    public String name() {
+        return "grade-sync";
+    }
+
+    @Override
+    public void prepare(ApiClient client, SchoolDataset dataset, int sessions) throws Exception {
+        // 1. 学生均匀分布在各年级、各班级
+        int students = dataset.getConfig().getStudents();
+        int count = Math.min(sessions, students);
+        List<String> usernames = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            usernames.add(dataset.studentUsername((int) ((long) i * students / count)));
+        }
+        tokens = Sessions.login(client, usernames, SchoolDataset.PASSWORD);
+
+        // 2. 首次全量同步取得各会话的水位线
+        watermarks = new AtomicLongArray(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            JsonNode data = client.getData(PATH, tokens.get(i));
+            if (data == null || !data.path("full").asBoolean()) {
+                throw new IllegalStateException("Initial grade sync failed for session " + i);
+            }
+            watermarks.set(i, data.path("watermark").asLong());
+        }
+    }
+
+    @Override
+    public boolean execute(ApiClient client, SplittableRandom random) throws Exception {
+        int session = random.nextInt(tokens.size());
+        JsonNode data = client.getData(PATH + "?since=" + watermarks.get(session), tokens.get(session));
+        if (data == null) {
+            return false;
+        }
+        polls.increment();
+        if (data.path("full").asBoolean()) {
+            fullResponses.increment();
+        }
+        changedRows.add(data.path("changed").size());
+        deletedRows.add(data.path("deletedIds").size());
+        watermarks.accumulateAndGet(session, data.path("watermark").asLong(), Math::max);
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> finish() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("polls", polls.sum());
+        details.put("fullResponses", fullResponses.sum());
+        details.put("changedRows", changedRows.sum());
+        details.put("deletedIds", deletedRows.sum());
+        return details;
+    }
+}
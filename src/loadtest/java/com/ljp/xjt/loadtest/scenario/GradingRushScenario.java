@@ -0,0 +1,64 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 阅卷期集中访问：全部并发请求集中在少数几个（班级、课程）上，一半是管理员查看成绩分析，
+ * 一半是任课教师打开班级名册
+ * <p>
+ * 相同请求大量同时在途，用于观察 @SingleFlight 的合并效果（报告中的 xjt.single-flight.calls）。
+ * 与不合并对比时以 -Dloadtest.jvm-args="-Xmx2g -Dapp.single-flight.enabled=false" 运行。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class GradingRushScenario implements Scenario {
+
+    private static final int HOT_PAIRS = 4;
+
+    private final List<String> analysisPaths = new ArrayList<>();
+    private final List<String> rosterPaths = new ArrayList<>();
+    private final List<String> teacherTokens = new ArrayList<>();
+    private String adminToken;
+
+    @Override
+    public String name() {
+        return "grading-rush";
+    }
+
+    @Override
+    public void prepare(ApiClient client, SchoolDataset dataset, int sessions) throws Exception {
+        // 1. 挑选热点(班级, 课程)及其任课教师
+        int classes = dataset.getConfig().getClasses();
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < HOT_PAIRS; i++) {
+            int clazz = (int) ((long) i * classes / HOT_PAIRS);
+            int k = i % dataset.getCoursesPerClass();
+            long classId = dataset.classId(clazz);
+            long courseId = dataset.courseId(dataset.courseOfClass(clazz, k));
+            analysisPaths.add("/admin/statistics/class-grade-analysis?classId=" + classId + "&courseId=" + courseId);
+            rosterPaths.add("/teacher/courses/" + courseId + "/classes/" + classId + "/roster");
+            usernames.add(dataset.teacherUsername(dataset.teacherOfClassCourse(clazz, k)));
+        }
+
+        // 2. 登录管理员与各热点的任课教师
+        adminToken = client.login(SchoolDataset.ADMIN_USERNAME, SchoolDataset.PASSWORD);
+        teacherTokens.addAll(Sessions.login(client, usernames, SchoolDataset.PASSWORD));
+    }
+
+    @Override
+    public boolean execute(ApiClient client, SplittableRandom random) throws Exception {
+        int pair = random.nextInt(HOT_PAIRS);
+        if (random.nextBoolean()) {
+            return client.get(analysisPaths.get(pair), adminToken);
+        }
+        return client.get(rosterPaths.get(pair), teacherTokens.get(pair));
+    }
+}
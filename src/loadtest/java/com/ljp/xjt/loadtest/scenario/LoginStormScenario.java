@@ -0,0 +1,36 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 登录风暴：大量学生同时登录（如选课或成绩发布开放瞬间）
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class LoginStormScenario implements Scenario {
+
+    private SchoolDataset dataset;
+
+    @Override
+    public String name() {
+        return "login";
+    }
+
+    @Override
+    public void prepare(ApiClient client, SchoolDataset dataset, int sessions) {
+        this.dataset = dataset;
+    }
+
+    @Override
+    public boolean execute(ApiClient client, SplittableRandom random) throws Exception {
+        int student = random.nextInt(dataset.getConfig().getStudents());
+        return client.post("/auth/login", null,
+                Map.of("username", dataset.studentUsername(student), "password", SchoolDataset.PASSWORD));
+    }
+}
@@ -0,0 +1,57 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 压测场景
+ * <p>
+ * 每个工作线程循环调用 {@link #execute}，一次调用对应一个HTTP请求。
+ * 需要登录态的场景在 {@link #prepare} 中预先登录，令牌在工作线程间共享。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public interface Scenario {
+
+    /**
+     * 场景名，对应 loadtest.scenarios 中的取值
+     */
+    String name();
+
+    /**
+     * 压测开始前的准备（登录、挑选目标数据）
+     *
+     * @param client   HTTP客户端
+     * @param dataset  数据索引
+     * @param sessions 需要准备的会话数
+     * @throws Exception 准备失败
+     */
+    default void prepare(ApiClient client, SchoolDataset dataset, int sessions) throws Exception {
+    }
+
+    /**
+     * 发送一个请求
+     *
+     * @param client HTTP客户端
+     * @param random 工作线程私有的随机数
+     * @return 请求是否成功
+     * @throws Exception 网络错误
+     */
+    boolean execute(ApiClient client, SplittableRandom random) throws Exception;
+
+    /**
+     * 测量结束后的收尾（如关闭长连接），返回场景特有的指标
+     *
+     * @return 写入报告 details 的指标，没有时返回空
+     * @throws Exception 收尾失败
+     */
+    default Map<String, Object> finish() throws Exception {
+        return Map.of();
+    }
+}
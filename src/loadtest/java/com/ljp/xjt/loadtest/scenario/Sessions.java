@@ -0,0 +1,48 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.ljp.xjt.loadtest.ApiClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 批量登录工具，BCrypt校验较慢，并行登录以缩短准备时间
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+final class Sessions {
+
+    private Sessions() {
+    }
+
+    /**
+     * 并行登录并按输入顺序返回令牌
+     *
+     * @param client    HTTP客户端
+     * @param usernames 用户名
+     * @param password  密码
+     * @return 访问令牌
+     * @throws Exception 任一账号登录失败
+     */
+    static List<String> login(ApiClient client, List<String> usernames, String password) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<String>> futures = new ArrayList<>(usernames.size());
+            for (String username : usernames) {
+                futures.add(executor.submit(() -> client.login(username, password)));
+            }
+            List<String> tokens = new ArrayList<>(usernames.size());
+            for (Future<String> future : futures) {
+                tokens.add(future.get());
+            }
+            return tokens;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
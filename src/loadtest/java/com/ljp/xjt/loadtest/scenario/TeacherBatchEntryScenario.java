@@ -0,0 +1,70 @@
+package com.ljp.xjt.loadtest.scenario;
+
+import com.ljp.xjt.loadtest.ApiClient;
+import com.ljp.xjt.loadtest.SchoolDataset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 教师批量录入：教师为自己任教的整个班级提交一门课程的成绩
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class TeacherBatchEntryScenario implements Scenario {
+
+    private SchoolDataset dataset;
+    private final List<int[]> assignments = new ArrayList<>();
+    private final Map<Integer, String> tokens = new LinkedHashMap<>();
+
+    @Override
+    public String name() {
+        return "teacher-batch";
+    }
+
+    @Override
+    public void prepare(ApiClient client, SchoolDataset dataset, int sessions) throws Exception {
+        this.dataset = dataset;
+
+        // 1. 在各班级中均匀挑选(班级, 第k门课程)授课对
+        int classes = dataset.getConfig().getClasses();
+        int count = Math.min(sessions, classes);
+        for (int i = 0; i < count; i++) {
+            int clazz = (int) ((long) i * classes / count);
+            int k = i % dataset.getCoursesPerClass();
+            assignments.add(new int[]{clazz, k});
+            tokens.putIfAbsent(dataset.teacherOfClassCourse(clazz, k), null);
+        }
+
+        // 2. 登录涉及的教师
+        List<Integer> teachers = new ArrayList<>(tokens.keySet());
+        List<String> usernames = teachers.stream().map(dataset::teacherUsername).toList();
+        List<String> loggedIn = Sessions.login(client, usernames, SchoolDataset.PASSWORD);
+        for (int i = 0; i < teachers.size(); i++) {
+            tokens.put(teachers.get(i), loggedIn.get(i));
+        }
+    }
+
+    @Override
+    public boolean execute(ApiClient client, SplittableRandom random) throws Exception {
+        int[] assignment = assignments.get(random.nextInt(assignments.size()));
+        int clazz = assignment[0];
+        int k = assignment[1];
+
+        List<Map<String, Object>> entries = new ArrayList<>();
+        int first = dataset.firstStudentOfClass(clazz);
+        for (int s = first; s < first + dataset.classSize(clazz); s++) {
+            entries.add(Map.of("studentNumber", dataset.studentNumber(s),
+                    "score", BigDecimal.valueOf(40 + random.nextInt(121) / 2.0)));
+        }
+        String path = "/teacher/courses/" + dataset.courseId(dataset.courseOfClass(clazz, k))
+                + "/classes/" + dataset.classId(clazz) + "/grades/batch";
+        return client.post(path, tokens.get(dataset.teacherOfClassCourse(clazz, k)), entries);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ljp.xjt.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ljp.xjt.common.ApiResponse;
+import com.ljp.xjt.config.BulkheadProperties;
+import com.ljp.xjt.metrics.MetricsTags;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 请求隔离舱拦截器
+ * <p>
+ * 按路由确定请求的负载类别，在进入控制器前占用该类别的并发名额，请求结束（异步请求为释放处理线程时）归还。
+ * 被拒绝的请求返回503并附带 Retry-After。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ENTERED = BulkheadInterceptor.class.getName() + ".ENTERED";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final BulkheadProperties properties;
+    private final WorkloadBulkheads bulkheads;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // 异步请求的再次分发沿用首次分发的判定
+        if (!properties.isEnabled() || !(handler instanceof HandlerMethod)
+                || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        WorkloadClass workload = properties.classify(request.getMethod(), MetricsTags.endpoint(request));
+        if (!bulkheads.tryEnter(workload)) {
+            log.warn("Rejected {} request to {}: workload saturated", workload.tag(), MetricsTags.endpoint(request));
+            reject(response);
+            return false;
+        }
+        request.setAttribute(ENTERED, workload);
+        WorkloadContext.set(workload);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        exit(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        exit(request);
+    }
+
+    private void exit(HttpServletRequest request) {
+        Object workload = request.getAttribute(ENTERED);
+        if (workload != null) {
+            request.removeAttribute(ENTERED);
+            WorkloadContext.clear();
+            bulkheads.exit((WorkloadClass) workload);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ApiResponse<Object> apiResponse = ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(), "系统繁忙，请稍后重试");
+        response.getWriter().write(objectMapper.writeValueAsString(apiResponse));
+    }
+}
@@ -0,0 +1,66 @@
+package com.ljp.xjt.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 连接池与隔离舱健康指标
+ * <p>
+ * 在 /actuator/health 的 connectionPools 组件中给出各Hikari连接池（主库、从库）的活跃、空闲、等待线程数与取连接超时次数，
+ * 以及各负载类别的并发、排队、连接占用和当前降载级别。没有任何连接池时为 UNKNOWN。
+ * 降载本身是过载保护而非故障，不会把状态置为 DOWN。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Component("connectionPools")
+@RequiredArgsConstructor
+public class ConnectionPoolHealthIndicator implements HealthIndicator {
+
+    private static final String POOL = "pool";
+
+    private final MeterRegistry meterRegistry;
+    private final WorkloadBulkheads bulkheads;
+    private final PoolWaitMonitor poolWaitMonitor;
+
+    @Override
+    public Health health() {
+        // 1. 各连接池的占用
+        Map<String, Map<String, Object>> pools = new TreeMap<>();
+        putGauge(pools, "hikaricp.connections.active", "active");
+        putGauge(pools, "hikaricp.connections.idle", "idle");
+        putGauge(pools, "hikaricp.connections.max", "max");
+        putGauge(pools, "hikaricp.connections.pending", "pending");
+        for (Counter counter : meterRegistry.find("hikaricp.connections.timeout").counters()) {
+            pools.computeIfAbsent(counter.getId().getTag(POOL), k -> new LinkedHashMap<>())
+                    .put("timeouts", (long) counter.count());
+        }
+
+        // 2. 隔离舱与降载状态
+        Health.Builder builder = pools.isEmpty() ? Health.unknown() : Health.up();
+        return builder
+                .withDetail("pools", pools)
+                .withDetail("poolWaitMillis", Math.round(poolWaitMonitor.getAverageWaitMillis() * 10) / 10.0)
+                .withDetail("shedLevel", bulkheads.getShedLevel())
+                .withDetail("workloads", bulkheads.snapshot())
+                .build();
+    }
+
+    private void putGauge(Map<String, Map<String, Object>> pools, String name, String key) {
+        for (Gauge gauge : meterRegistry.find(name).gauges()) {
+            pools.computeIfAbsent(gauge.getId().getTag(POOL), k -> new LinkedHashMap<>())
+                    .put(key, (long) gauge.value());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.ljp.xjt.bulkhead;
+
+import com.ljp.xjt.config.BulkheadProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 连接池等待监控
+ * <p>
+ * 定期根据Hikari的取连接耗时（hikaricp.connections.acquire，全部连接池合计）计算上一个采样间隔内的平均等待时间，
+ * 指数平滑后与 app.bulkhead.shedding 的阈值比较，调整 {@link WorkloadBulkheads} 的降载级别。
+ * 采样间隔内没有完成的取连接但仍有线程在等待时沿用上次的值，避免连接池卡住时误判为空闲。
+ * 采样使用独立的单线程调度器，不与其他 @Scheduled 任务共用线程，过载时其他定时任务变慢也不会推迟降载。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class PoolWaitMonitor {
+
+    /**
+     * 平滑后的平均取连接等待时间（毫秒）
+     */
+    public static final String POOL_WAIT_GAUGE = "xjt.bulkhead.pool-wait";
+
+    /**
+     * 当前降载级别
+     */
+    public static final String SHED_LEVEL_GAUGE = "xjt.bulkhead.shed-level";
+
+    private static final String HIKARI_ACQUIRE_TIMER = "hikaricp.connections.acquire";
+    private static final String HIKARI_PENDING_GAUGE = "hikaricp.connections.pending";
+    private static final double SMOOTHING = 0.5;
+
+    private final BulkheadProperties properties;
+    private final WorkloadBulkheads bulkheads;
+    private final MeterRegistry meterRegistry;
+    private long lastCount;
+    private double lastTotalNanos;
+    private volatile double averageWaitMillis;
+    private final ScheduledExecutorService sampleTicker =
+            Executors.newSingleThreadScheduledExecutor(tickerThreadFactory());
+
+    public PoolWaitMonitor(BulkheadProperties properties, WorkloadBulkheads bulkheads, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bulkheads = bulkheads;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(POOL_WAIT_GAUGE, this, PoolWaitMonitor::getAverageWaitMillis)
+                .description("Smoothed mean time to acquire a pooled database connection")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder(SHED_LEVEL_GAUGE, bulkheads, WorkloadBulkheads::getShedLevel)
+                .description("Load shedding level: 0 none, 1 analytics, 2 analytics and interactive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 启动定时采样
+     */
+    @PostConstruct
+    public void start() {
+        long intervalMillis = Math.max(1, properties.getShedding().getSampleInterval().toMillis());
+        sampleTicker.scheduleWithFixedDelay(() -> {
+            // 异常会终止后续调度，只记录不抛出
+            try {
+                sample();
+            } catch (RuntimeException ex) {
+                log.warn("Pool wait sample failed: {}", ex.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sampleTicker.shutdownNow();
+    }
+
+    /**
+     * 采样连接池等待时间并调整降载级别
+     */
+    public void sample() {
+        // 1. 计算上一个采样间隔内的平均等待
+        long count = 0;
+        double totalNanos = 0;
+        for (Timer timer : meterRegistry.find(HIKARI_ACQUIRE_TIMER).timers()) {
+            count += timer.count();
+            totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        long completed = count - lastCount;
+        double intervalWait;
+        if (completed > 0) {
+            intervalWait = (totalNanos - lastTotalNanos) / completed / 1_000_000;
+        } else {
+            intervalWait = pendingThreads() > 0 ? averageWaitMillis : 0;
+        }
+        lastCount = count;
+        lastTotalNanos = totalNanos;
+        averageWaitMillis = SMOOTHING * intervalWait + (1 - SMOOTHING) * averageWaitMillis;
+
+        // 2. 调整降载级别
+        BulkheadProperties.Shedding shedding = properties.getShedding();
+        if (!properties.isEnabled() || !shedding.isEnabled()) {
+            bulkheads.setShedLevel(0);
+        } else if (averageWaitMillis >= shedding.getInteractiveThreshold().toMillis()) {
+            bulkheads.setShedLevel(WorkloadClass.INTERACTIVE.shedLevel());
+        } else if (averageWaitMillis >= shedding.getAnalyticsThreshold().toMillis()) {
+            bulkheads.setShedLevel(WorkloadClass.ANALYTICS.shedLevel());
+        } else {
+            bulkheads.setShedLevel(0);
+        }
+    }
+
+    public double getAverageWaitMillis() {
+        return averageWaitMillis;
+    }
+
+    private double pendingThreads() {
+        return meterRegistry.find(HIKARI_PENDING_GAUGE).gauges().stream().mapToDouble(Gauge::value).sum();
+    }
+
+    private static CustomizableThreadFactory tickerThreadFactory() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("bulkhead-pool-wait-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
@@ -0,0 +1,243 @@
+package com.ljp.xjt.bulkhead;
+
+import com.ljp.xjt.config.BulkheadProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按负载类别划分的隔离舱
+ * <p>
+ * 每个类别一个公平信号量控制并发名额，名额占满时请求在有界队列中等待，超时或队列已满即拒绝；
+ * 另有一个信号量控制该类别同时占用的数据库连接数，使重型分析、交互读取无法耗尽连接池，关键写入始终有连接可用。
+ * 降载级别由 {@link PoolWaitMonitor} 根据连接池等待时间调整。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class WorkloadBulkheads {
+
+    /**
+     * 正在处理的请求数
+     */
+    public static final String ACTIVE_GAUGE = "xjt.bulkhead.active";
+
+    /**
+     * 排队等待名额的请求数
+     */
+    public static final String QUEUED_GAUGE = "xjt.bulkhead.queued";
+
+    /**
+     * 并发名额使用率（0~1）
+     */
+    public static final String SATURATION_GAUGE = "xjt.bulkhead.saturation";
+
+    /**
+     * 占用的数据库连接数
+     */
+    public static final String CONNECTIONS_GAUGE = "xjt.bulkhead.connections";
+
+    /**
+     * 被拒绝的请求数，reason 标签区分 shed 降载、queue-full 队列已满、timeout 排队超时、connection-quota 等待连接配额超时
+     */
+    public static final String REJECTED_COUNTER = "xjt.bulkhead.rejected";
+
+    /**
+     * 排队等待名额的耗时
+     */
+    public static final String QUEUE_WAIT_TIMER = "xjt.bulkhead.queue-wait";
+
+    private static final String WORKLOAD = "workload";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<WorkloadClass, Partition> partitions = new EnumMap<>(WorkloadClass.class);
+    private volatile int shedLevel;
+
+    public WorkloadBulkheads(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            Partition partition = new Partition(properties.compartment(workload));
+            partitions.put(workload, partition);
+            Gauge.builder(ACTIVE_GAUGE, partition, Partition::active)
+                    .description("Requests being processed per workload class")
+                    .tag(WORKLOAD, workload.tag())
+                    .register(meterRegistry);
+            Gauge.builder(QUEUED_GAUGE, partition.queued, AtomicInteger::get)
+                    .description("Requests waiting for a slot per workload class")
+                    .tag(WORKLOAD, workload.tag())
+                    .register(meterRegistry);
+            Gauge.builder(SATURATION_GAUGE, partition, p -> (double) p.active() / Math.max(1, p.limits.getMaxConcurrent()))
+                    .description("Share of concurrency slots in use per workload class")
+                    .tag(WORKLOAD, workload.tag())
+                    .register(meterRegistry);
+            Gauge.builder(CONNECTIONS_GAUGE, partition.connectionsInUse, AtomicInteger::get)
+                    .description("Database connections held per workload class")
+                    .tag(WORKLOAD, workload.tag())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 单个类别的运行状态
+     */
+    private static final class Partition {
+
+        private final BulkheadProperties.Compartment limits;
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Semaphore connections;
+        private final AtomicInteger connectionsInUse = new AtomicInteger();
+
+        private Partition(BulkheadProperties.Compartment limits) {
+            this.limits = limits;
+            this.permits = new Semaphore(limits.getMaxConcurrent(), true);
+            this.connections = limits.getConnectionQuota() > 0 ? new Semaphore(limits.getConnectionQuota(), true) : null;
+        }
+
+        private int active() {
+            return limits.getMaxConcurrent() - permits.availablePermits();
+        }
+    }
+
+    /**
+     * 为请求占用一个并发名额，名额占满时排队等待
+     *
+     * @param workload 负载类别
+     * @return 是否占用成功；失败时请求应以503拒绝
+     */
+    public boolean tryEnter(WorkloadClass workload) throws InterruptedException {
+        Partition partition = partitions.get(workload);
+
+        // 1. 降载中的类别直接拒绝，不进入队列
+        if (shedLevel >= workload.shedLevel()) {
+            reject(workload, "shed");
+            return false;
+        }
+
+        // 2. 有空闲名额且无人排队时直接进入（公平信号量的零等待获取不会插队）
+        if (partition.permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+
+        // 3. 有界排队
+        if (partition.queued.incrementAndGet() > partition.limits.getMaxQueue()) {
+            partition.queued.decrementAndGet();
+            reject(workload, "queue-full");
+            return false;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean acquired;
+        try {
+            acquired = partition.permits.tryAcquire(partition.limits.getQueueTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            partition.queued.decrementAndGet();
+            sample.stop(Timer.builder(QUEUE_WAIT_TIMER)
+                    .description("Time spent waiting for a workload slot")
+                    .tag(WORKLOAD, workload.tag())
+                    .register(meterRegistry));
+        }
+        if (!acquired) {
+            reject(workload, "timeout");
+        }
+        return acquired;
+    }
+
+    /**
+     * 归还并发名额
+     *
+     * @param workload 负载类别
+     */
+    public void exit(WorkloadClass workload) {
+        partitions.get(workload).permits.release();
+    }
+
+    /**
+     * 占用一个连接配额，配额用尽时最多等待该类别的排队超时时间
+     *
+     * @param workload 负载类别
+     * @return 是否占用成功；类别不限连接时直接成功
+     */
+    public boolean tryAcquireConnection(WorkloadClass workload) throws InterruptedException {
+        Partition partition = partitions.get(workload);
+        if (partition.connections != null && !partition.connections.tryAcquire(
+                partition.limits.getQueueTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            reject(workload, "connection-quota");
+            return false;
+        }
+        partition.connectionsInUse.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 归还连接配额
+     *
+     * @param workload 负载类别
+     */
+    public void releaseConnection(WorkloadClass workload) {
+        Partition partition = partitions.get(workload);
+        partition.connectionsInUse.decrementAndGet();
+        if (partition.connections != null) {
+            partition.connections.release();
+        }
+    }
+
+    /**
+     * 调整降载级别：0不降载，1拒绝重型分析，2同时拒绝交互读取
+     *
+     * @param level 降载级别
+     */
+    public void setShedLevel(int level) {
+        if (level != shedLevel) {
+            log.info("Load shedding level changed from {} to {}", shedLevel, level);
+            shedLevel = level;
+        }
+    }
+
+    public int getShedLevel() {
+        return shedLevel;
+    }
+
+    /**
+     * 各类别的当前占用情况
+     *
+     * @return 键为类别标签值
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        partitions.forEach((workload, partition) -> {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("active", partition.active());
+            details.put("maxConcurrent", partition.limits.getMaxConcurrent());
+            details.put("queued", partition.queued.get());
+            details.put("maxQueue", partition.limits.getMaxQueue());
+            details.put("connections", partition.connectionsInUse.get());
+            details.put("connectionQuota", partition.limits.getConnectionQuota());
+            details.put("shed", shedLevel >= workload.shedLevel());
+            snapshot.put(workload.tag(), details);
+        });
+        return snapshot;
+    }
+
+    private void reject(WorkloadClass workload, String reason) {
+        Counter.builder(REJECTED_COUNTER)
+                .description("Requests rejected by workload bulkheads")
+                .tag(WORKLOAD, workload.tag())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
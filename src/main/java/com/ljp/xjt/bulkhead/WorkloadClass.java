@@ -0,0 +1,52 @@
+package com.ljp.xjt.bulkhead;
+
+/**
+ * 请求负载类别
+ * <p>
+ * 每个类别有独立的并发上限、排队队列与数据库连接配额（见 app.bulkhead），一类请求占满时不影响其他类别。
+ * 连接池等待变长时按 {@link #shedLevel} 从低优先级开始拒绝新请求，关键写入不会被拒绝。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public enum WorkloadClass {
+
+    /**
+     * 关键写入：成绩录入、保存等非GET请求
+     */
+    CRITICAL("critical", Integer.MAX_VALUE),
+
+    /**
+     * 交互读取：普通GET请求
+     */
+    INTERACTIVE("interactive", 2),
+
+    /**
+     * 重型分析：成绩检索、导出式游标翻页、统计分析等，由 app.bulkhead.endpoints 指定
+     */
+    ANALYTICS("analytics", 1);
+
+    private final String tag;
+    private final int shedLevel;
+
+    WorkloadClass(String tag, int shedLevel) {
+        this.tag = tag;
+        this.shedLevel = shedLevel;
+    }
+
+    /**
+     * 指标标签值
+     */
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * 降载级别达到该值时拒绝本类别的新请求
+     */
+    public int shedLevel() {
+        return shedLevel;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ljp.xjt.bulkhead;
+
+/**
+ * 当前线程所处请求的负载类别
+ * <p>
+ * 由 {@link BulkheadInterceptor} 在请求占用并发名额期间设置，{@link WorkloadQuotaDataSource} 据此扣减连接配额。
+ * 定时任务、后台线程不在请求中，不受连接配额限制。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    static void set(WorkloadClass workload) {
+        CURRENT.set(workload);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 当前线程的负载类别
+     *
+     * @return 负载类别，不在请求中时返回null
+     */
+    public static WorkloadClass current() {
+        return CURRENT.get();
+    }
+}
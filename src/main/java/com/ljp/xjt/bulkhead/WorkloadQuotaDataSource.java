@@ -0,0 +1,158 @@
+package com.ljp.xjt.bulkhead;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 按负载类别扣减连接配额的数据源
+ * <p>
+ * 请求线程取第一个连接前占用所属类别的一个连接配额，该线程经本数据源取得的连接全部关闭后归还；
+ * 配额用尽时等待，超时抛出 SQLTransientConnectionException。
+ * 同一请求嵌套取连接（如 REQUIRES_NEW 事务、读写分离时同时持有主库与从库连接）不再占用配额，
+ * 否则配额被占满的请求会互相等待对方归还而卡到超时。
+ * 不在请求中的线程（定时任务、后台线程）不受限制。应用关闭时随Bean一起关闭被包装的连接池。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class WorkloadQuotaDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final ThreadLocal<QuotaLease> CURRENT_LEASE = new ThreadLocal<>();
+
+    private final ObjectProvider<WorkloadBulkheads> bulkheads;
+
+    public WorkloadQuotaDataSource(DataSource targetDataSource, ObjectProvider<WorkloadBulkheads> bulkheads) {
+        super(targetDataSource);
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withQuota(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return withQuota(() -> super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (SQLException | RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new SQLException("Failed to close target data source", ex);
+            }
+        }
+    }
+
+    /**
+     * 取连接
+     */
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * 线程当前占用的连接配额，记录经本数据源取得且尚未关闭的连接数
+     */
+    private static final class QuotaLease {
+
+        private final WorkloadBulkheads quotas;
+        private final WorkloadClass workload;
+        private int openConnections;
+        private boolean returned;
+
+        private QuotaLease(WorkloadBulkheads quotas, WorkloadClass workload) {
+            this.quotas = quotas;
+            this.workload = workload;
+        }
+
+        /**
+         * 登记一个新连接
+         *
+         * @return 配额已归还（连接在其他线程关闭）时返回false，需要重新占用
+         */
+        private synchronized boolean retain() {
+            if (returned) {
+                return false;
+            }
+            openConnections++;
+            return true;
+        }
+
+        /**
+         * 关闭一个连接，最后一个连接关闭时归还配额
+         */
+        private synchronized void release() {
+            if (--openConnections == 0) {
+                returned = true;
+                quotas.releaseConnection(workload);
+                if (CURRENT_LEASE.get() == this) {
+                    CURRENT_LEASE.remove();
+                }
+            }
+        }
+    }
+
+    private Connection withQuota(ConnectionSupplier supplier) throws SQLException {
+        WorkloadClass workload = WorkloadContext.current();
+        if (workload == null) {
+            return supplier.get();
+        }
+
+        // 1. 线程已持有配额时沿用，否则占用一个配额
+        QuotaLease lease = CURRENT_LEASE.get();
+        if (lease == null || !lease.retain()) {
+            WorkloadBulkheads quotas = bulkheads.getObject();
+            try {
+                if (!quotas.tryAcquireConnection(workload)) {
+                    throw new SQLTransientConnectionException("Connection quota of " + workload.tag() + " workload exhausted");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for connection quota", ex);
+            }
+            lease = new QuotaLease(quotas, workload);
+            lease.retain();
+            CURRENT_LEASE.set(lease);
+        }
+
+        // 2. 取连接，关闭时释放；取连接失败时立即释放
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException ex) {
+            lease.release();
+            throw ex;
+        }
+        QuotaLease owner = lease;
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        owner.release();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+}
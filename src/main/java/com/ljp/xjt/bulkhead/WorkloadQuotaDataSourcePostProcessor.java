@@ -0,0 +1,35 @@
+package com.ljp.xjt.bulkhead;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * 为应用数据源（名为 dataSource 的Bean，未开启读写分离时为Hikari连接池，开启时为延迟连接代理）包装连接配额
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Component
+public class WorkloadQuotaDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final ObjectProvider<WorkloadBulkheads> bulkheads;
+
+    public WorkloadQuotaDataSourcePostProcessor(ObjectProvider<WorkloadBulkheads> bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof WorkloadQuotaDataSource)) {
+            return new WorkloadQuotaDataSource(dataSource, bulkheads);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ljp.xjt.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ljp.xjt.config.CacheConfig;
+import com.ljp.xjt.entity.TeachingAssignment;
+import com.ljp.xjt.mapper.TeachingAssignmentMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 教学统计缓存失效器
+ * <p>
+ * 成绩写入或班级学生增减后，根据(课程, 班级)授课关系找出受影响的教师，使其教学统计缓存失效。
+ * 缓存管理器为事务感知模式，在事务中调用时失效操作会在提交后才真正执行。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeachingStatisticsCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final TeachingAssignmentMapper teachingAssignmentMapper;
+
+    /**
+     * 使为指定学生讲授该课程的教师的统计缓存失效
+     *
+     * @param courseId   课程ID
+     * @param studentIds 成绩发生变化的学生ID集合
+     */
+    public void evictByStudents(Long courseId, Collection<Long> studentIds) {
+        if (courseId == null || CollectionUtils.isEmpty(studentIds)) {
+            return;
+        }
+        evictTeachers(teachingAssignmentMapper.selectTeacherIdsByCourseAndStudents(courseId, studentIds));
+    }
+
+    /**
+     * 使讲授指定班级该课程的教师的统计缓存失效
+     *
+     * @param courseId 课程ID
+     * @param classId  班级ID
+     */
+    public void evictByClass(Long courseId, Long classId) {
+        if (courseId == null || classId == null) {
+            return;
+        }
+        List<Long> teacherIds = teachingAssignmentMapper.selectList(
+                new LambdaQueryWrapper<TeachingAssignment>()
+                        .select(TeachingAssignment::getTeacherId)
+                        .eq(TeachingAssignment::getCourseId, courseId)
+                        .eq(TeachingAssignment::getClassId, classId)
+        ).stream().map(TeachingAssignment::getTeacherId).distinct().toList();
+        evictTeachers(teacherIds);
+    }
+
+    /**
+     * 使讲授指定班级任一课程的教师的统计缓存失效，用于班级学生增减之后
+     *
+     * @param classIds 学生名单发生变化的班级ID集合
+     */
+    public void evictByClasses(Collection<Long> classIds) {
+        List<Long> ids = classIds == null ? List.of() : classIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> teacherIds = teachingAssignmentMapper.selectList(
+                new LambdaQueryWrapper<TeachingAssignment>()
+                        .select(TeachingAssignment::getTeacherId)
+                        .in(TeachingAssignment::getClassId, ids)
+        ).stream().map(TeachingAssignment::getTeacherId).distinct().toList();
+        evictTeachers(teacherIds);
+    }
+
+    /**
+     * 使指定教师的统计缓存失效
+     *
+     * @param teacherIds 教师ID集合
+     */
+    public void evictTeachers(Collection<Long> teacherIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.TEACHING_STATISTICS);
+        if (cache == null || CollectionUtils.isEmpty(teacherIds)) {
+            return;
+        }
+        teacherIds.stream().filter(Objects::nonNull).forEach(cache::evict);
+        log.debug("Evicted teaching statistics cache for teachers: {}", teacherIds);
+    }
+
+    /**
+     * 使全部教师的统计缓存失效，用于成绩批量迁移（如历史成绩归档）之后
+     */
+    public void evictAll() {
+        Cache cache = cacheManager.getCache(CacheConfig.TEACHING_STATISTICS);
+        if (cache != null) {
+            cache.clear();
+            log.debug("Cleared teaching statistics cache");
+        }
+    }
+}
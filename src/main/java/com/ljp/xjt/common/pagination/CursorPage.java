@@ -0,0 +1,68 @@
+package com.ljp.xjt.common.pagination;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页结果
+ * <p>
+ * 查询时多取一行用于判断是否还有下一页；nextCursor 为null表示已到末页。
+ * 游标模式默认不统计总数，total 仅在请求近似总数且可估算时返回。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ *
+ * @param <T> 记录类型
+ */
+@Data
+public class CursorPage<T> {
+
+    private List<T> records;    // 当前页记录
+    private long size;          // 每页大小
+    private boolean hasMore;    // 是否还有下一页
+    private String nextCursor;  // 下一页游标
+    private Long total;         // 近似总数，未统计时为null
+
+    /**
+     * 由多取一行的查询结果构造分页结果
+     *
+     * @param fetched  查询结果，最多 size + 1 行
+     * @param size     每页大小
+     * @param cursorOf 根据行生成游标的函数
+     * @param <T>      记录类型
+     * @return 分页结果
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, long size, Function<T, PageCursor> cursorOf) {
+        CursorPage<T> page = new CursorPage<>();
+        page.setSize(size);
+        page.setHasMore(fetched.size() > size);
+        List<T> records = page.isHasMore() ? new ArrayList<>(fetched.subList(0, (int) size)) : fetched;
+        page.setRecords(records);
+        if (page.isHasMore()) {
+            page.setNextCursor(cursorOf.apply(records.get(records.size() - 1)).encode());
+        }
+        return page;
+    }
+
+    /**
+     * 转换记录类型，保留分页信息
+     *
+     * @param converter 记录批量转换函数
+     * @param <R>       目标类型
+     * @return 转换后的分页结果
+     */
+    public <R> CursorPage<R> convert(Function<List<T>, List<R>> converter) {
+        CursorPage<R> page = new CursorPage<>();
+        page.setRecords(records.isEmpty() ? new ArrayList<>() : converter.apply(records));
+        page.setSize(size);
+        page.setHasMore(hasMore);
+        page.setNextCursor(nextCursor);
+        page.setTotal(total);
+        return page;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ljp.xjt.common.pagination;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+
+/**
+ * 键集分页条件构造工具
+ * <p>
+ * 为单表查询追加 (排序键, id) 倒序的定位条件、排序与LIMIT。MySQL倒序时NULL排在最后，
+ * 因此排序键非空时NULL行仍在后续页中，排序键为空时只在NULL行内按ID继续。
+ * 展开为 k &lt; ? OR (k = ? AND id &lt; ?) 而非行构造器比较，以便优化器对 (k, id) 索引做范围扫描。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public final class KeysetConditions {
+
+    private KeysetConditions() {
+    }
+
+    /**
+     * 按 (排序键, id) 倒序定位到游标之后
+     *
+     * @param wrapper  查询条件（仅含筛选条件，不含排序）
+     * @param key      排序键列
+     * @param afterKey 游标中的排序键值
+     * @param id       主键列
+     * @param after    上一页游标，首页为null
+     * @param size     每页大小
+     * @param <T>      实体类型
+     * @return 查询条件
+     */
+    public static <T> LambdaQueryWrapper<T> seekDesc(LambdaQueryWrapper<T> wrapper, SFunction<T, ?> key, Object afterKey,
+                                                     SFunction<T, ?> id, PageCursor after, long size) {
+        if (after != null) {
+            if (afterKey != null) {
+                wrapper.and(w -> w.lt(key, afterKey)
+                        .or(o -> o.eq(key, afterKey).lt(id, after.getId()))
+                        .or().isNull(key));
+            } else {
+                wrapper.isNull(key).lt(id, after.getId());
+            }
+        }
+        return wrapper.orderByDesc(key).orderByDesc(id).last("LIMIT " + (size + 1));
+    }
+
+    /**
+     * 按主键倒序定位到游标之后
+     *
+     * @param wrapper 查询条件（仅含筛选条件，不含排序）
+     * @param id      主键列
+     * @param after   上一页游标，首页为null
+     * @param size    每页大小
+     * @param <T>     实体类型
+     * @return 查询条件
+     */
+    public static <T> LambdaQueryWrapper<T> seekDesc(LambdaQueryWrapper<T> wrapper, SFunction<T, ?> id, PageCursor after, long size) {
+        if (after != null) {
+            wrapper.lt(id, after.getId());
+        }
+        return wrapper.orderByDesc(id).last("LIMIT " + (size + 1));
+    }
+}
@@ -0,0 +1,160 @@
+package com.ljp.xjt.common.pagination;
+
+import com.ljp.xjt.common.exception.BusinessException;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 键集分页游标
+ * <p>
+ * 记录上一页最后一行的排序键与主键ID，下一页以 (排序键, id) 小于该值为条件定位，
+ * 无需OFFSET扫描。对外以URL安全的Base64字符串传递，客户端应将其视为不透明值。
+ * 排序键允许为null（对应数据库中的NULL，倒序时排在最后）。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public final class PageCursor {
+
+    private static final byte VERSION = 1;
+    private static final int MAX_KEYS = 8;
+
+    private final List<String> keys;
+    private final long id;
+
+    private PageCursor(List<String> keys, long id) {
+        this.keys = keys;
+        this.id = id;
+    }
+
+    /**
+     * 由行的排序键与主键ID构造游标
+     *
+     * @param id   主键ID
+     * @param keys 排序键，按ORDER BY顺序排列，不含主键
+     * @return 游标
+     */
+    public static PageCursor of(long id, Object... keys) {
+        List<String> values = new ArrayList<>(keys.length);
+        for (Object key : keys) {
+            values.add(key == null ? null : key.toString());
+        }
+        return new PageCursor(Collections.unmodifiableList(values), id);
+    }
+
+    /**
+     * 解析客户端传入的游标
+     *
+     * @param token 游标字符串，空串表示从第一页开始
+     * @return 游标，第一页时返回null
+     * @throws BusinessException 游标格式不正确
+     */
+    public static PageCursor decode(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token.trim())))) {
+            if (in.readByte() != VERSION) {
+                throw new BusinessException(400, "无效的分页游标");
+            }
+            int count = in.readUnsignedByte();
+            if (count > MAX_KEYS) {
+                throw new BusinessException(400, "无效的分页游标");
+            }
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(in.readBoolean() ? in.readUTF() : null);
+            }
+            long id = in.readLong();
+            if (in.available() > 0) {
+                throw new BusinessException(400, "无效的分页游标");
+            }
+            return new PageCursor(Collections.unmodifiableList(values), id);
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new BusinessException(400, "无效的分页游标");
+        }
+    }
+
+    /**
+     * 编码为URL安全的游标字符串
+     *
+     * @return 游标字符串
+     */
+    public String encode() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(VERSION);
+            out.writeByte(keys.size());
+            for (String key : keys) {
+                out.writeBoolean(key != null);
+                if (key != null) {
+                    out.writeUTF(key);
+                }
+            }
+            out.writeLong(id);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to encode page cursor", ex);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.toByteArray());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * 读取字符串排序键
+     *
+     * @param index 排序键序号
+     * @return 键值，可能为null
+     */
+    public String stringKey(int index) {
+        if (index >= keys.size()) {
+            throw new BusinessException(400, "无效的分页游标");
+        }
+        return keys.get(index);
+    }
+
+    /**
+     * 读取时间排序键
+     *
+     * @param index 排序键序号
+     * @return 键值，可能为null
+     */
+    public LocalDateTime timeKey(int index) {
+        String value = stringKey(index);
+        try {
+            return value == null ? null : LocalDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new BusinessException(400, "无效的分页游标");
+        }
+    }
+
+    /**
+     * 读取整数排序键
+     *
+     * @param index 排序键序号
+     * @return 键值，可能为null
+     */
+    public Integer intKey(int index) {
+        String value = stringKey(index);
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new BusinessException(400, "无效的分页游标");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ljp.xjt.common.pagination;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.ljp.xjt.common.exception.BusinessException;
+import com.ljp.xjt.mapper.TableStatisticsMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 分页总数处理
+ * <p>
+ * 页码分页时根据 {@link TotalMode} 决定是否让分页插件执行COUNT(*)；
+ * 近似模式下，无筛选条件的列表以表的估算行数作为总数，有筛选条件时仍精确统计。
+ * 游标分页从不执行COUNT(*)，仅可返回近似总数。
+ * 游标分页的每页大小上限为 {@link #MAX_PAGE_SIZE}，超出时按上限查询；页码分页保持原有行为，不受此上限影响。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Component
+@RequiredArgsConstructor
+public class PageTotals {
+
+    /**
+     * 游标分页的每页大小上限，由 {@link #checkCursorRequest} 限制
+     */
+    public static final long MAX_PAGE_SIZE = 500;
+
+    private final TableStatisticsMapper tableStatisticsMapper;
+
+    /**
+     * 查询前设置分页插件是否统计总数
+     *
+     * @param page     分页对象
+     * @param mode     总数统计方式
+     * @param filtered 是否带筛选条件
+     */
+    public void prepare(Page<?> page, TotalMode mode, boolean filtered) {
+        page.setSearchCount(mode == TotalMode.EXACT || (mode == TotalMode.APPROXIMATE && filtered));
+    }
+
+    /**
+     * 查询后补充近似总数
+     *
+     * @param result   分页结果
+     * @param mode     总数统计方式
+     * @param filtered 是否带筛选条件
+     * @param table    驱动表名
+     * @param <P>      分页结果类型
+     * @return 分页结果
+     */
+    public <P extends IPage<?>> P complete(P result, TotalMode mode, boolean filtered, String table) {
+        if (mode == TotalMode.APPROXIMATE && !filtered) {
+            Long estimated = tableStatisticsMapper.selectEstimatedRows(table);
+            result.setTotal(estimated == null ? 0 : estimated);
+        }
+        return result;
+    }
+
+    /**
+     * 为游标分页结果填充总数
+     *
+     * @param page     游标分页结果
+     * @param mode     总数统计方式，不支持精确统计
+     * @param filtered 是否带筛选条件
+     * @param table    驱动表名
+     * @param <T>      记录类型
+     * @return 游标分页结果
+     */
+    public <T> CursorPage<T> complete(CursorPage<T> page, TotalMode mode, boolean filtered, String table) {
+        if (mode == TotalMode.APPROXIMATE && !filtered) {
+            page.setTotal(tableStatisticsMapper.selectEstimatedRows(table));
+        }
+        return page;
+    }
+
+    /**
+     * 校验游标分页的请求参数
+     *
+     * @param size 每页大小
+     * @param mode 总数统计方式
+     * @return 实际每页大小，超过 {@link #MAX_PAGE_SIZE} 时取上限
+     * @throws BusinessException 每页大小不合法或请求了精确总数
+     */
+    public static long checkCursorRequest(long size, TotalMode mode) {
+        if (size < 1) {
+            throw new BusinessException(400, "每页数量必须大于0");
+        }
+        if (mode == TotalMode.EXACT) {
+            throw new BusinessException(400, "游标分页不支持精确总数，请使用 total=APPROXIMATE 或 total=NONE");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,26 @@
+package com.ljp.xjt.common.pagination;
+
+/**
+ * 分页总数统计方式
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public enum TotalMode {
+
+    /**
+     * 执行COUNT(*)统计精确总数（页码分页的默认方式）
+     */
+    EXACT,
+
+    /**
+     * 无筛选条件时使用表统计信息中的估算行数，有筛选条件时页码分页退回精确统计、游标分页不返回总数
+     */
+    APPROXIMATE,
+
+    /**
+     * 不统计总数
+     */
+    NONE
+}
@@ -0,0 +1,31 @@
+package com.ljp.xjt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Actuator访问配置属性类
+ * <p>
+ * 绑定 application.yml 中的 app.actuator 配置
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.actuator")
+public class ActuatorSecurityProperties {
+
+    /**
+     * 指标采集账号（HTTP Basic），用于Prometheus抓取 /actuator/prometheus 与 /actuator/metrics
+     */
+    private String scrapeUsername = "prometheus";
+
+    /**
+     * 指标采集密码，为空时不启用采集账号，只有管理员可以读取指标
+     */
+    private String scrapePassword;
+}
@@ -0,0 +1,90 @@
+package com.ljp.xjt.config;
+
+import com.ljp.xjt.storage.BlobStore;
+import com.ljp.xjt.storage.LocalBlobStore;
+import com.ljp.xjt.storage.S3BlobStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.net.URI;
+import java.nio.file.Paths;
+
+/**
+ * 文件存储后端配置类
+ * <p>
+ * 根据 app.file.storage-type 选择存储实现：默认使用本地文件系统，
+ * 配置为 s3 时使用S3兼容对象存储。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Configuration
+public class BlobStoreConfig {
+
+    /**
+     * 本地文件系统存储，内容存放在上传目录下的 blobs 子目录
+     *
+     * @param fileStorageProperties 文件存储配置
+     * @return 本地存储
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.file", name = "storage-type", havingValue = "local", matchIfMissing = true)
+    public BlobStore localBlobStore(FileStorageProperties fileStorageProperties) {
+        return new LocalBlobStore(Paths.get(fileStorageProperties.getUploadPath(), "blobs"));
+    }
+
+    /**
+     * S3客户端
+     * <p>
+     * 未配置访问密钥时使用默认凭证链（环境变量、实例角色等）。
+     * </p>
+     *
+     * @param fileStorageProperties 文件存储配置
+     * @return S3客户端
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.file", name = "storage-type", havingValue = "s3")
+    public S3Client blobS3Client(FileStorageProperties fileStorageProperties) {
+        FileStorageProperties.S3 s3 = fileStorageProperties.getS3();
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(s3.getRegion()))
+                .forcePathStyle(s3.isPathStyleAccess());
+        if (StringUtils.hasText(s3.getEndpoint())) {
+            builder.endpointOverride(URI.create(s3.getEndpoint()));
+        }
+        if (StringUtils.hasText(s3.getAccessKey())) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create(s3.getAccessKey(), s3.getSecretKey())));
+        } else {
+            builder.credentialsProvider(DefaultCredentialsProvider.builder().build());
+        }
+        return builder.build();
+    }
+
+    /**
+     * S3兼容对象存储
+     *
+     * @param blobS3Client          S3客户端
+     * @param fileStorageProperties 文件存储配置
+     * @return 对象存储
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.file", name = "storage-type", havingValue = "s3")
+    public BlobStore s3BlobStore(S3Client blobS3Client, FileStorageProperties fileStorageProperties) {
+        FileStorageProperties.S3 s3 = fileStorageProperties.getS3();
+        if (!StringUtils.hasText(s3.getBucket())) {
+            throw new IllegalArgumentException("app.file.s3.bucket must be set when storage-type is s3");
+        }
+        return new S3BlobStore(blobS3Client, s3.getBucket(), Paths.get(s3.getCachePath()));
+    }
+}
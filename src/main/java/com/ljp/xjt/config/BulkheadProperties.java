@@ -0,0 +1,144 @@
+package com.ljp.xjt.config;
+
+import com.ljp.xjt.bulkhead.WorkloadClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 请求隔离舱配置属性类
+ * <p>
+ * 绑定 application.yml 中的 app.bulkhead 配置
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    /**
+     * 是否按负载类别限制并发与连接
+     */
+    private boolean enabled = true;
+
+    /**
+     * 关键写入：默认不排队、不限连接
+     */
+    private Compartment critical = new Compartment(200, 0, Duration.ZERO, 0);
+
+    /**
+     * 交互读取
+     */
+    private Compartment interactive = new Compartment(64, 64, Duration.ofSeconds(2), 12);
+
+    /**
+     * 重型分析
+     */
+    private Compartment analytics = new Compartment(4, 16, Duration.ofSeconds(10), 4);
+
+    /**
+     * 按路由指定负载类别，键为 "方法 路由模板"，如 "GET /admin/grades"；
+     * 未指定的GET请求为交互读取，其余为关键写入
+     */
+    private Map<String, WorkloadClass> endpoints = new HashMap<>();
+
+    /**
+     * 按连接池等待时间自适应降载
+     */
+    private Shedding shedding = new Shedding();
+
+    /**
+     * 单个负载类别的隔离参数
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Compartment {
+
+        /**
+         * 同时处理的请求数上限
+         */
+        private int maxConcurrent;
+
+        /**
+         * 名额占满时排队等待的请求数上限，队列已满的请求直接返回503
+         */
+        private int maxQueue;
+
+        /**
+         * 排队等待名额、等待连接配额的最长时间
+         */
+        private Duration queueTimeout;
+
+        /**
+         * 同时占用的数据库连接数上限，0表示不限（只受连接池大小限制）
+         */
+        private int connectionQuota;
+    }
+
+    /**
+     * 自适应降载参数
+     */
+    @Data
+    public static class Shedding {
+
+        /**
+         * 是否启用降载
+         */
+        private boolean enabled = true;
+
+        /**
+         * 连接池等待时间的采样间隔
+         */
+        private Duration sampleInterval = Duration.ofSeconds(1);
+
+        /**
+         * 平均取连接等待超过该值时拒绝新的重型分析请求
+         */
+        private Duration analyticsThreshold = Duration.ofMillis(20);
+
+        /**
+         * 平均取连接等待超过该值时同时拒绝新的交互读取请求
+         */
+        private Duration interactiveThreshold = Duration.ofMillis(200);
+    }
+
+    /**
+     * 获取请求的负载类别
+     *
+     * @param method   HTTP方法
+     * @param endpoint 路由（方法 + 路由模板）
+     * @return 负载类别
+     */
+    public WorkloadClass classify(String method, String endpoint) {
+        WorkloadClass configured = endpoints.get(endpoint);
+        if (configured != null) {
+            return configured;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? WorkloadClass.INTERACTIVE : WorkloadClass.CRITICAL;
+    }
+
+    /**
+     * 获取负载类别的隔离参数
+     *
+     * @param workload 负载类别
+     * @return 隔离参数
+     */
+    public Compartment compartment(WorkloadClass workload) {
+        return switch (workload) {
+            case CRITICAL -> critical;
+            case INTERACTIVE -> interactive;
+            case ANALYTICS -> analytics;
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.ljp.xjt.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+
+/**
+ * 缓存配置类
+ * <p>
+ * 基于Redis配置Spring Cache，值以JSON格式存储。
+ * 缓存管理器开启事务感知，事务内的缓存失效操作会推迟到事务提交之后执行，
+ * 避免并发读请求在提交前把旧数据重新写回缓存。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * 教师教学统计缓存，按教师ID缓存
+     */
+    public static final String TEACHING_STATISTICS = "teachingStatistics";
+
+    /**
+     * 配置Redis缓存管理器
+     *
+     * @param connectionFactory Redis连接工厂
+     * @return Redis缓存管理器
+     */
+    @Bean
+    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                .prefixCacheNameWith("xjt:")
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                .disableCachingNullValues()
+                .entryTtl(Duration.ofMinutes(30));
+
+        return RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaults)
+                .withCacheConfiguration(TEACHING_STATISTICS, defaults.entryTtl(Duration.ofMinutes(10)))
+                .transactionAware()
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.ljp.xjt.config;
+
+import com.ljp.xjt.datasource.PrimaryStickiness;
+import com.ljp.xjt.datasource.PrimaryStickinessInterceptor;
+import com.ljp.xjt.datasource.ReplicaLagMonitor;
+import com.ljp.xjt.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 读写分离数据源配置类
+ * <p>
+ * 开启 app.datasource.routing.enabled 后生效：主库连接池沿用 spring.datasource 与 spring.datasource.hikari 配置，
+ * 每个从库一个只读连接池，应用使用的数据源为包装了路由数据源的延迟连接代理。
+ * 各连接池以名称（primary / 从库名称）注册Hikari指标，路由次数与从库延迟见 xjt.datasource.* 指标。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * 主库连接池参数，绑定 spring.datasource.hikari
+     *
+     * @return Hikari配置
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariConfig primaryHikariConfig() {
+        return new HikariConfig();
+    }
+
+    @Bean
+    public PrimaryStickiness primaryStickiness(DataSourceRoutingProperties properties) {
+        return new PrimaryStickiness(properties.getStickyWindow());
+    }
+
+    /**
+     * 写语句拦截器，开启写后固定主库窗口
+     *
+     * @param primaryStickiness 写后固定主库
+     * @return 写语句拦截器
+     */
+    @Bean
+    public PrimaryStickinessInterceptor primaryStickinessInterceptor(PrimaryStickiness primaryStickiness) {
+        return new PrimaryStickinessInterceptor(primaryStickiness);
+    }
+
+    /**
+     * 路由数据源：创建主库与各从库连接池
+     *
+     * @param dataSourceProperties 主库连接配置
+     * @param primaryHikariConfig  主库连接池参数
+     * @param properties           读写分离配置
+     * @param primaryStickiness    写后固定主库
+     * @param meterRegistry        指标注册表
+     * @return 路由数据源
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties, HikariConfig primaryHikariConfig,
+                                                             DataSourceRoutingProperties properties, PrimaryStickiness primaryStickiness,
+                                                             MeterRegistry meterRegistry) {
+        // 1. 主库连接池
+        HikariConfig primaryConfig = new HikariConfig();
+        primaryHikariConfig.copyStateTo(primaryConfig);
+        primaryConfig.setJdbcUrl(dataSourceProperties.determineUrl());
+        primaryConfig.setUsername(dataSourceProperties.determineUsername());
+        primaryConfig.setPassword(dataSourceProperties.determinePassword());
+        primaryConfig.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        primaryConfig.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        primaryConfig.setMetricRegistry(meterRegistry);
+        HikariDataSource primary = new HikariDataSource(primaryConfig);
+
+        // 2. 从库连接池：只读连接，未设置的参数沿用主库
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = properties.getReplicas().get(i);
+            String name = StringUtils.hasText(replica.getName()) ? replica.getName() : "replica-" + (i + 1);
+            HikariConfig config = new HikariConfig();
+            primaryConfig.copyStateTo(config);
+            config.setJdbcUrl(replica.getUrl());
+            config.setUsername(StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : primaryConfig.getUsername());
+            config.setPassword(replica.getPassword() != null ? replica.getPassword() : primaryConfig.getPassword());
+            if (replica.getMaximumPoolSize() != null) {
+                config.setMaximumPoolSize(replica.getMaximumPoolSize());
+            }
+            if (replica.getMinimumIdle() != null) {
+                config.setMinimumIdle(replica.getMinimumIdle());
+            }
+            config.setReadOnly(true);
+            config.setPoolName(name);
+            config.setMetricRegistry(meterRegistry);
+            replicas.put(name, new HikariDataSource(config));
+        }
+
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replicas, properties.getMaxReplicaLag(), meterRegistry);
+        return new ReplicaRoutingDataSource(primary, replicas, lagMonitor, primaryStickiness, meterRegistry);
+    }
+
+    /**
+     * 从库延迟监控，定期检查并在延迟超限时停止向其路由
+     *
+     * @param replicaRoutingDataSource 路由数据源
+     * @return 延迟监控
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return replicaRoutingDataSource.getLagMonitor();
+    }
+
+    /**
+     * 应用使用的数据源：延迟到第一条语句执行时才按路由取连接
+     *
+     * @param replicaRoutingDataSource 路由数据源
+     * @return 数据源
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ljp.xjt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置属性类
+ * <p>
+ * 绑定 application.yml 中的 app.datasource.routing 配置。主库沿用 spring.datasource 配置，
+ * 只读从库在此列出；未开启时应用只使用 spring.datasource 一个连接池。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * 是否开启读写分离
+     */
+    private boolean enabled = false;
+
+    /**
+     * 只读从库列表
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 用户写入后，其后续请求固定走主库的时长（读己之写）
+     */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    /**
+     * 从库复制延迟超过该值时不再路由读请求，恢复后自动重新启用
+     */
+    private Duration maxReplicaLag = Duration.ofSeconds(3);
+
+    /**
+     * 复制延迟检查间隔
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * 只读从库配置，未设置的连接池参数沿用 spring.datasource.hikari
+     */
+    @Data
+    public static class Replica {
+
+        /**
+         * 从库名称，用作连接池名称与指标标签
+         */
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * 最大连接数，未设置时与主库相同
+         */
+        private Integer maximumPoolSize;
+
+        /**
+         * 最小空闲连接数，未设置时与主库相同
+         */
+        private Integer minimumIdle;
+    }
+}
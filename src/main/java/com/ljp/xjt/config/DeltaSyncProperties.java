@@ -0,0 +1,38 @@
+package com.ljp.xjt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 增量同步配置属性类
+ * <p>
+ * 绑定 application.yml 中的 app.delta-sync 配置
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.delta-sync")
+public class DeltaSyncProperties {
+
+    /**
+     * 水位线相对查询开始时间的重叠窗口，需覆盖写事务从填充更新时间到提交的耗时与多节点时钟偏差
+     */
+    private Duration overlap = Duration.ofSeconds(5);
+
+    /**
+     * 删除记录的保留时长；since 早于该时长时返回全量结果
+     */
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    /**
+     * 清理任务的执行间隔
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+}
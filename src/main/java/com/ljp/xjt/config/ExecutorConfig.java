@@ -0,0 +1,126 @@
+package com.ljp.xjt.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 后台线程池配置类
+ * <p>
+ * 为耗时的后台任务提供有界线程池，避免占用Web请求线程；同时开启定时任务（如文件垃圾回收）。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Configuration
+@EnableScheduling
+public class ExecutorConfig {
+
+    /**
+     * 头像缩略图生成线程池
+     * <p>
+     * 线程数与队列容量均有上限，队列满时提交方会收到拒绝异常并放弃生成，头像继续以原图提供。
+     * </p>
+     *
+     * @param fileStorageProperties 文件存储配置
+     * @return 线程池
+     */
+    @Bean
+    public ThreadPoolTaskExecutor avatarThumbnailExecutor(FileStorageProperties fileStorageProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(fileStorageProperties.getThumbnailThreads());
+        executor.setMaxPoolSize(fileStorageProperties.getThumbnailThreads());
+        executor.setQueueCapacity(fileStorageProperties.getThumbnailQueueCapacity());
+        executor.setThreadNamePrefix("avatar-thumb-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 请求缓冲日志输出线程池
+     * <p>
+     * 单线程按顺序输出，队列满时直接丢弃，日志写入不会反压业务线程。
+     * </p>
+     *
+     * @param requestLogProperties 请求缓冲日志配置
+     * @return 线程池
+     */
+    @Bean
+    public ThreadPoolTaskExecutor requestLogExecutor(RequestLogProperties requestLogProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(requestLogProperties.getFlushQueueCapacity());
+        executor.setThreadNamePrefix("request-log-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(5);
+        return executor;
+    }
+
+    /**
+     * 检索索引维护线程池
+     * <p>
+     * 单线程串行执行索引重建与变更记录刷新，保证同一类型的重建与增量刷新不会交错；
+     * 刷新任务按实体类型合并，队列中同一类型最多只有一个任务。
+     * </p>
+     *
+     * @return 线程池
+     */
+    @Bean
+    public ThreadPoolTaskExecutor searchIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(64);
+        executor.setThreadNamePrefix("search-index-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * 成绩实时推送发送线程池
+     * <p>
+     * 每个连接同时最多排队一个发送任务，队列容量取最大连接数即可容纳全部连接；
+     * 空闲连接不占用线程，线程只在有通知或心跳待写出时工作。
+     * </p>
+     *
+     * @param gradeStreamProperties 成绩实时推送配置
+     * @return 线程池
+     */
+    @Bean
+    public ThreadPoolTaskExecutor gradeStreamExecutor(GradeStreamProperties gradeStreamProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(gradeStreamProperties.getSenderThreads());
+        executor.setMaxPoolSize(gradeStreamProperties.getSenderThreads());
+        executor.setQueueCapacity(gradeStreamProperties.getMaxConnections());
+        executor.setThreadNamePrefix("grade-stream-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * 成绩自动保存线程池
+     * <p>
+     * 定时任务只负责把到期的缓冲区提交到此线程池，各缓冲区的保存并行执行，互不等待；
+     * 每个缓冲区同一时间最多排队一个任务。停机时未保存的修改由自动保存服务同步保存。
+     * </p>
+     *
+     * @param gradeAutosaveProperties 成绩自动保存配置
+     * @return 线程池
+     */
+    @Bean
+    public ThreadPoolTaskExecutor gradeAutosaveExecutor(GradeAutosaveProperties gradeAutosaveProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(gradeAutosaveProperties.getFlushThreads());
+        executor.setMaxPoolSize(gradeAutosaveProperties.getFlushThreads());
+        executor.setQueueCapacity(10000);
+        executor.setThreadNamePrefix("grade-autosave-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * 文件上传配置属性类
  * <p>
@@ -33,4 +35,86 @@ public class FileStorageProperties {
      * 允许的文件类型
      */
     private String[] allowedTypes;
+
+    /**
+     * 头像缩略图边长（像素），上传后在后台依次生成
+     */
+    private int[] thumbnailSizes = {32, 64, 128, 256};
+
+    /**
+     * 缩略图生成线程数
+     */
+    private int thumbnailThreads = 2;
+
+    /**
+     * 缩略图任务队列容量，队列满时放弃生成，头像继续以原图提供
+     */
+    private int thumbnailQueueCapacity = 100;
+
+    /**
+     * 允许解码的最大像素数，防止超大尺寸图片耗尽内存
+     */
+    private long thumbnailMaxPixels = 40_000_000L;
+
+    /**
+     * 文件存储后端：local-本地文件系统，s3-S3兼容对象存储
+     */
+    private String storageType = "local";
+
+    /**
+     * 引用计数归零后保留的宽限期，超过后由垃圾回收任务删除
+     */
+    private Duration gcGracePeriod = Duration.ofHours(24);
+
+    /**
+     * 垃圾回收任务的执行间隔
+     */
+    private Duration gcInterval = Duration.ofHours(1);
+
+    /**
+     * S3兼容对象存储配置（storageType为s3时生效）
+     */
+    private S3 s3 = new S3();
+
+    /**
+     * S3兼容对象存储配置
+     */
+    @Data
+    public static class S3 {
+
+        /**
+         * 服务端点，如 http://localhost:9000（MinIO）；为空时使用AWS默认端点
+         */
+        private String endpoint;
+
+        /**
+         * 区域
+         */
+        private String region = "us-east-1";
+
+        /**
+         * 存储桶名称
+         */
+        private String bucket;
+
+        /**
+         * 访问密钥ID
+         */
+        private String accessKey;
+
+        /**
+         * 访问密钥
+         */
+        private String secretKey;
+
+        /**
+         * 是否使用路径风格访问（MinIO等本地替身需要开启）
+         */
+        private boolean pathStyleAccess = true;
+
+        /**
+         * 本地读缓存目录，对象内容不可变，下载后可长期复用
+         */
+        private String cachePath = "./uploads/cache";
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.ljp.xjt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 成绩归档配置属性类
+ * <p>
+ * 绑定 application.yml 中的 app.grade-archive 配置
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.grade-archive")
+public class GradeArchiveProperties {
+
+    /**
+     * 是否启用定时归档；关闭时查询仍会合并已归档的成绩
+     */
+    private boolean enabled = false;
+
+    /**
+     * 成绩表保留的学年数（含当前学年），更早学年的成绩归档
+     */
+    private int retainYears = 2;
+
+    /**
+     * 每批归档的成绩条数，每批在独立事务中完成
+     */
+    private int batchSize = 1000;
+
+    /**
+     * 定时归档的cron表达式
+     */
+    private String cron = "0 30 3 * * *";
+}
@@ -0,0 +1,38 @@
+package com.ljp.xjt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 成绩单元格自动保存配置属性类
+ * <p>
+ * 绑定 application.yml 中的 app.grade-autosave 配置
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.grade-autosave")
+public class GradeAutosaveProperties {
+
+    /**
+     * 合并窗口：每隔该时长保存一次各缓冲区中的修改，也是单次修改在确认前的最长等待时间
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * 单个缓冲区（教师、班级、课程）累计的不同单元格数达到该值时立即保存；为1时不合并
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * 执行保存的线程数
+     */
+    private int flushThreads = 4;
+}
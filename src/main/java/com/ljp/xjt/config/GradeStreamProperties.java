@@ -0,0 +1,54 @@
+package com.ljp.xjt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 成绩实时推送配置属性类
+ * <p>
+ * 绑定 application.yml 中的 app.grade-stream 配置
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.grade-stream")
+public class GradeStreamProperties {
+
+    /**
+     * 单节点最大连接数，超过后拒绝新连接；需小于 server.tomcat.max-connections
+     */
+    private int maxConnections = 15_000;
+
+    /**
+     * 每个连接待发送通知的上限，超出时丢弃最早的通知并提示客户端重新拉取
+     */
+    private int bufferSize = 256;
+
+    /**
+     * 连接最长保持时间，到期后由客户端（EventSource）自动重连；
+     * 订阅主题在建立连接时确定，授课安排变更最迟在下一次重连后生效
+     */
+    private Duration timeout = Duration.ofMinutes(5);
+
+    /**
+     * 连接令牌有效期，只需覆盖从获取令牌到建立连接的时间
+     */
+    private Duration tokenTtl = Duration.ofSeconds(60);
+
+    /**
+     * 心跳间隔，用于保持代理连接并及时发现已断开的客户端
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+    /**
+     * 发送线程数，只在有数据待发送时占用
+     */
+    private int senderThreads = 4;
+}
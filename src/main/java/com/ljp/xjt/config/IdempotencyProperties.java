@@ -0,0 +1,53 @@
+package com.ljp.xjt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 幂等请求配置属性类
+ * <p>
+ * 绑定 application.yml 中的 app.idempotency 配置
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Redis键前缀
+     */
+    private String keyPrefix = "xjt:idempotency:";
+
+    /**
+     * 执行结果的保留时长，期间使用同一 Idempotency-Key 的重试直接返回该结果
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * 处理中标记的过期时间，需大于接口的最长执行时间；节点宕机时标记到期后重试可重新执行
+     */
+    private Duration lockTtl = Duration.ofMinutes(1);
+
+    /**
+     * 重复请求在请求线程上等待首个请求完成的最长时间，超时返回409；超过1秒时按1秒处理
+     */
+    private Duration waitTimeout = Duration.ofMillis(300);
+
+    /**
+     * 返回409时 Retry-After 建议的重试间隔，按秒向上取整
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * 重复请求等待期间查询结果的间隔
+     */
+    private Duration pollInterval = Duration.ofMillis(50);
+}
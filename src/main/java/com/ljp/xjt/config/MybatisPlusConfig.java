@@ -3,8 +3,13 @@ package com.ljp.xjt.config;
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.ljp.xjt.metrics.MapperTimingInterceptor;
+import com.ljp.xjt.metrics.SqlStatementCountingInterceptor;
+import com.ljp.xjt.search.SearchIndexSyncInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.ibatis.reflection.MetaObject;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -38,6 +43,48 @@ public class MybatisPlusConfig {
         return interceptor;
     }
 
+    /**
+     * 配置MyBatis语句耗时拦截器
+     * <p>
+     * 与分页插件一同注册到SqlSessionFactory，按映射语句记录执行耗时。
+     * </p>
+     *
+     * @param meterRegistry 指标注册表
+     * @return 语句耗时拦截器
+     */
+    @Bean
+    public MapperTimingInterceptor mapperTimingInterceptor(MeterRegistry meterRegistry) {
+        return new MapperTimingInterceptor(meterRegistry);
+    }
+
+    /**
+     * 配置SQL语句计数拦截器
+     * <p>
+     * 统计每个请求执行的语句数并识别疑似N+1查询，配合 SqlStatementBudgetFilter 使用。
+     * </p>
+     *
+     * @param sqlBudgetProperties SQL语句预算配置
+     * @return 语句计数拦截器
+     */
+    @Bean
+    public SqlStatementCountingInterceptor sqlStatementCountingInterceptor(SqlBudgetProperties sqlBudgetProperties) {
+        return new SqlStatementCountingInterceptor(sqlBudgetProperties);
+    }
+
+    /**
+     * 配置检索索引同步拦截器
+     * <p>
+     * 学生、教师、课程、班级表写入后发布索引变更事件，由检索索引服务在事务提交后刷新。
+     * </p>
+     *
+     * @param eventPublisher 事件发布器
+     * @return 索引同步拦截器
+     */
+    @Bean
+    public SearchIndexSyncInterceptor searchIndexSyncInterceptor(ApplicationEventPublisher eventPublisher) {
+        return new SearchIndexSyncInterceptor(eventPublisher);
+    }
+
     /**
      * 自动填充功能配置
      * 自动填充创建时间、更新时间、逻辑删除标记等字段
@@ -71,8 +118,9 @@ public class MybatisPlusConfig {
              */
             @Override
             public void updateFill(MetaObject metaObject) {
-                // 1. 自动填充更新时间
-                this.strictUpdateFill(metaObject, "updatedTime", LocalDateTime.class, LocalDateTime.now());
+                // 1. 自动填充更新时间；按ID更新已查出的实体时字段非空，strictUpdateFill 不会覆盖，
+                //    而增量同步依赖 updated_time 判断记录是否变化，因此总是覆盖
+                this.setFieldValByName("updatedTime", LocalDateTime.now(), metaObject);
             }
         };
     }
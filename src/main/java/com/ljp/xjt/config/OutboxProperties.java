@@ -0,0 +1,58 @@
+package com.ljp.xjt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 成绩变更发件箱配置属性类
+ * <p>
+ * 绑定 application.yml 中的 app.outbox 配置
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /**
+     * 发布任务的轮询间隔
+     */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /**
+     * 每批发布的变更条数，每批在独立事务中完成
+     */
+    private int batchSize = 500;
+
+    /**
+     * 已发布记录的保留时长，超过后由清理任务删除
+     */
+    private Duration retention = Duration.ofHours(24);
+
+    /**
+     * 清理任务的执行间隔
+     */
+    private Duration purgeInterval = Duration.ofMinutes(10);
+
+    /**
+     * 是否将变更同时写入Redis Stream，供其他节点的进程内监听方接收
+     */
+    private boolean streamEnabled = false;
+
+    /**
+     * Redis Stream 键名
+     */
+    private String streamKey = "xjt:grade-events";
+
+    /**
+     * Redis Stream 的近似最大长度，写入时裁剪
+     */
+    private long streamMaxLength = 100_000;
+}
@@ -0,0 +1,67 @@
+package com.ljp.xjt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 请求级缓冲日志配置属性类
+ * <p>
+ * 绑定 application.yml 中的 app.request-log 配置
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.request-log")
+public class RequestLogProperties {
+
+    /**
+     * 是否开启缓冲模式；关闭时DEBUG日志按logging.level照常实时输出
+     */
+    private boolean enabled = true;
+
+    /**
+     * 需要缓冲的日志前缀，这些Logger的DEBUG/TRACE日志在请求内只写入缓冲区
+     */
+    private List<String> loggers = List.of("com.ljp.xjt", "org.springframework.security");
+
+    /**
+     * 不缓冲的日志前缀，优先于loggers；MyBatis的SQL日志（Logger为映射语句ID）默认排除，
+     * 保持logging.level配置的级别，避免为每个连接、语句和结果集创建日志代理。
+     * 执行的SQL由 SqlStatementCountingInterceptor 直接写入缓冲区，不受此项影响
+     */
+    private List<String> excludedLoggers = List.of("com.ljp.xjt.mapper");
+
+    /**
+     * 缓冲的最低级别，只能为DEBUG或INFO（INFO即不缓冲），配置为TRACE时按DEBUG处理；
+     * 低于该级别的日志按logging.level正常判断
+     */
+    private String captureLevel = "DEBUG";
+
+    /**
+     * 每个请求缓冲的最大条数，超出后丢弃最早的记录
+     */
+    private int capacity = 500;
+
+    /**
+     * 慢请求阈值，超过后输出缓冲区
+     */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    /**
+     * 正常请求的抽样输出比例（0~1），用于保留基线
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * 等待输出的请求数上限，超出后放弃输出，避免日志写入反压业务线程
+     */
+    private int flushQueueCapacity = 1000;
+}
@@ -0,0 +1,41 @@
+package com.ljp.xjt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 检索索引配置属性类
+ * <p>
+ * 绑定 application.yml 中的 app.search 配置
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.search")
+public class SearchIndexProperties {
+
+    /**
+     * 是否启用内存检索索引；关闭后列表检索全部回退到SQL的LIKE匹配，检索建议返回空列表
+     */
+    private boolean enabled = true;
+
+    /**
+     * 检索词解析出的ID数上限，超过时该检索词回退到LIKE匹配，避免生成过长的IN列表
+     */
+    private int maxIdListSize = 1000;
+
+    /**
+     * 检索建议单次最多返回的条数
+     */
+    private int maxSuggestions = 20;
+
+    /**
+     * 按ID重新加载变更记录时每批的ID数
+     */
+    private int refreshBatchSize = 500;
+}
@@ -4,10 +4,13 @@ import com.ljp.xjt.security.handler.JwtAccessDeniedHandler;
 import com.ljp.xjt.security.handler.JwtAuthenticationEntryPoint;
 import com.ljp.xjt.security.jwt.JwtAuthenticationFilter;
 import com.ljp.xjt.service.impl.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -16,10 +19,13 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.StringUtils;
 
 /**
  * Spring Security配置类
@@ -27,6 +33,10 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * 配置Spring Security，包括用户认证服务、密码编码器、JWT认证、自定义异常处理以及HTTP安全规则。
  * 启用方法级别的安全注解支持。
  * </p>
+ * <p>
+ * Actuator使用单独的过滤器链：仅 /actuator/health 公开；指标（metrics、prometheus）含各路由、角色、连接池与复制延迟，
+ * 只允许管理员（JWT）或 app.actuator 配置的采集账号（HTTP Basic）读取。
+ * </p>
  * 
  * @author ljp
  * @version 1.5
@@ -40,6 +50,12 @@ public class SecurityConfig {
 
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
+    private final ActuatorSecurityProperties actuatorSecurityProperties;
+
+    /**
+     * 指标采集账号的角色
+     */
+    private static final String METRICS_ROLE = "METRICS";
 
     /**
      * 配置密码编码器
@@ -71,6 +87,51 @@ public class SecurityConfig {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
+    /**
+     * 配置Actuator安全过滤器链
+     * <p>
+     * 采集账号只用于本链的HTTP Basic认证，不能访问业务接口；管理员仍可携带JWT访问。
+     * </p>
+     *
+     * @param http                    HttpSecurity配置对象
+     * @param passwordEncoder         密码编码器
+     * @param jwtAuthenticationFilter JWT认证过滤器
+     * @return Actuator安全过滤器链
+     * @throws Exception 配置异常
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http, PasswordEncoder passwordEncoder,
+                                                   JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
+        InMemoryUserDetailsManager scrapers = new InMemoryUserDetailsManager();
+        if (StringUtils.hasText(actuatorSecurityProperties.getScrapePassword())) {
+            scrapers.createUser(User.withUsername(actuatorSecurityProperties.getScrapeUsername())
+                    .password(passwordEncoder.encode(actuatorSecurityProperties.getScrapePassword()))
+                    .roles(METRICS_ROLE)
+                    .build());
+        }
+        DaoAuthenticationProvider scraperProvider = new DaoAuthenticationProvider(scrapers);
+        scraperProvider.setPasswordEncoder(passwordEncoder);
+
+        http
+            .securityMatcher("/actuator/**")
+            .authenticationManager(new ProviderManager(scraperProvider))
+            .csrf(AbstractHttpConfigurer::disable)
+            .cors(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .httpBasic(basic -> basic.realmName("actuator"))
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/prometheus", "/actuator/metrics", "/actuator/metrics/**")
+                    .hasAnyRole(METRICS_ROLE, "ADMIN")
+                .requestMatchers("/actuator/jfr", "/actuator/jfr/**").hasRole("ADMIN")
+                .anyRequest().authenticated()
+            )
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+
     /**
      * 配置安全过滤器链
      *
@@ -94,6 +155,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/doc.html", "/webjars/**", "/v3/api-docs/**").permitAll()
                 .requestMatchers("/auth/**", "/v1/profile/avatar/**").permitAll()
+                // 异步请求（如成绩推送）结束时的再次分发已在首次请求时鉴权
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,59 @@
+package com.ljp.xjt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL语句预算配置属性类
+ * <p>
+ * 绑定 application.yml 中的 app.sql-budget 配置
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.sql-budget")
+public class SqlBudgetProperties {
+
+    /**
+     * 是否统计每个请求的SQL语句数
+     */
+    private boolean enabled = true;
+
+    /**
+     * 单个请求允许执行的最大语句数（默认预算）
+     */
+    private int maxStatements = 100;
+
+    /**
+     * 按路由单独设置的预算，键为 "方法 路由模板"，如 "GET /v1/users"
+     */
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    /**
+     * 同一语句以不同参数执行达到该次数时判定为疑似N+1
+     */
+    private int repeatedStatementThreshold = 10;
+
+    /**
+     * 超出预算时是否直接抛出异常使请求失败（测试环境开启，用于发现回归）
+     */
+    private boolean failOnViolation = false;
+
+    /**
+     * 获取指定路由的语句预算
+     *
+     * @param endpoint 路由（方法 + 路由模板）
+     * @return 预算
+     */
+    public int budgetFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, maxStatements);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ljp.xjt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 课表配置属性类
+ * <p>
+ * 绑定 application.yml 中的 app.timetable 配置
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.timetable")
+public class TimetableProperties {
+
+    /**
+     * 每学期教学周数；上课时间未写明周次时占用全部教学周
+     */
+    private int weeks = 20;
+
+    /**
+     * 每天的节次数
+     */
+    private int periodsPerDay = 12;
+}
@@ -3,8 +3,13 @@ package com.ljp.xjt.controller;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.ljp.xjt.common.ApiResponse;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.PageCursor;
+import com.ljp.xjt.common.pagination.PageTotals;
+import com.ljp.xjt.common.pagination.TotalMode;
 import com.ljp.xjt.dto.AdminGradeDto;
 import com.ljp.xjt.dto.AdminGradeUpdateRequestDto;
+import com.ljp.xjt.service.GradeArchiveService;
 import com.ljp.xjt.service.GradeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,6 +17,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
@@ -35,6 +41,8 @@ import jakarta.validation.Valid;
 public class AdminGradeController {
 
     private final GradeService gradeService;
+    private final GradeArchiveService gradeArchiveService;
+    private final PageTotals pageTotals;
 
     @GetMapping
     @Operation(summary = "分页查询成绩列表(管理员)", description = "根据多种条件筛选并分页查询所有学生的成绩记录。")
@@ -44,11 +52,34 @@ public class AdminGradeController {
             @Parameter(description = "班级ID") @RequestParam(required = false) Long classId,
             @Parameter(description = "课程ID") @RequestParam(required = false) Long courseId,
             @Parameter(description = "学生姓名 (模糊查询)") @RequestParam(required = false) String studentName,
-            @Parameter(description = "学号 (模糊查询)") @RequestParam(required = false) String studentNumber
+            @Parameter(description = "学号 (模糊查询)") @RequestParam(required = false) String studentNumber,
+            @Parameter(description = "学年，不传时只查询未归档的成绩") @RequestParam(required = false) Integer year,
+            @Parameter(description = "总数统计方式：EXACT/APPROXIMATE/NONE") @RequestParam(defaultValue = "EXACT") TotalMode total
     ) {
+        boolean filtered = isFiltered(classId, courseId, studentName, studentNumber, year);
         Page<AdminGradeDto> page = new Page<>(current, size);
-        IPage<AdminGradeDto> gradePage = gradeService.getGradesByAdminCriteria(page, classId, courseId, studentName, studentNumber);
-        return ApiResponse.success("查询成功", gradePage);
+        pageTotals.prepare(page, total, filtered);
+        IPage<AdminGradeDto> gradePage = gradeService.getGradesByAdminCriteria(page, classId, courseId, studentName, studentNumber, year);
+        return ApiResponse.success("查询成功", pageTotals.complete(gradePage, total, filtered, "grades"));
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "游标查询成绩列表(管理员)", description = "携带cursor参数时启用游标分页，首页传空值，后续传上一页返回的nextCursor；不执行COUNT，翻页深度不影响耗时。")
+    public ApiResponse<CursorPage<AdminGradeDto>> getGradesByCursor(
+            @Parameter(description = "分页游标，首页传空值") @RequestParam String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "10") long size,
+            @Parameter(description = "班级ID") @RequestParam(required = false) Long classId,
+            @Parameter(description = "课程ID") @RequestParam(required = false) Long courseId,
+            @Parameter(description = "学生姓名 (模糊查询)") @RequestParam(required = false) String studentName,
+            @Parameter(description = "学号 (模糊查询)") @RequestParam(required = false) String studentNumber,
+            @Parameter(description = "学年，不传时只查询未归档的成绩") @RequestParam(required = false) Integer year,
+            @Parameter(description = "总数统计方式：APPROXIMATE/NONE") @RequestParam(defaultValue = "NONE") TotalMode total
+    ) {
+        long pageSize = PageTotals.checkCursorRequest(size, total);
+        CursorPage<AdminGradeDto> gradePage = gradeService.getGradesByAdminCursor(
+                PageCursor.decode(cursor), pageSize, classId, courseId, studentName, studentNumber, year);
+        return ApiResponse.success("查询成功",
+                pageTotals.complete(gradePage, total, isFiltered(classId, courseId, studentName, studentNumber, year), "grades"));
     }
 
     @PutMapping("/{id}")
@@ -64,4 +95,15 @@ public class AdminGradeController {
             return ApiResponse.error("成绩更新失败");
         }
     }
+
+    @PostMapping("/archive")
+    @Operation(summary = "归档历史成绩(管理员)", description = "立即将早于保留学年的成绩移入归档表，返回归档的条数；归档任务正在执行时返回409。")
+    public ApiResponse<Integer> archiveGrades() {
+        return ApiResponse.success("归档完成", gradeArchiveService.archive());
+    }
+
+    private boolean isFiltered(Long classId, Long courseId, String studentName, String studentNumber, Integer year) {
+        return classId != null || courseId != null || StringUtils.hasText(studentName) || StringUtils.hasText(studentNumber)
+                || year != null;
+    }
 } 
\ No newline at end of file
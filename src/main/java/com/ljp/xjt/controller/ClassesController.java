@@ -5,24 +5,28 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.ljp.xjt.common.ApiResponse;
 import com.ljp.xjt.dto.AssignStudentsDTO;
 import com.ljp.xjt.dto.ClassDto;
+import com.ljp.xjt.dto.DeltaSyncDto;
+import com.ljp.xjt.dto.convert.ClassConverter;
 import com.ljp.xjt.dto.RemoveStudentsDTO;
 import com.ljp.xjt.dto.StudentDTO;
 import com.ljp.xjt.entity.Classes;
 import com.ljp.xjt.entity.CourseSchedule;
 import com.ljp.xjt.entity.Student;
+import com.ljp.xjt.idempotency.Idempotent;
 import com.ljp.xjt.service.ClassesService;
 import com.ljp.xjt.service.MajorService;
 import com.ljp.xjt.service.StudentService;
 import com.ljp.xjt.service.CourseScheduleService;
 import com.ljp.xjt.service.TeacherService;
 import com.ljp.xjt.service.CourseService;
+import com.ljp.xjt.service.DeltaSyncService;
+import com.ljp.xjt.sync.SyncEntityType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.util.StringUtils;
@@ -57,6 +61,7 @@ public class ClassesController {
     private final MajorService majorService;
     private final TeacherService teacherService;
     private final CourseService courseService;
+    private final DeltaSyncService deltaSyncService;
 
     @Autowired
     public ClassesController(ClassesService classesService,
@@ -64,13 +69,15 @@ public class ClassesController {
                            CourseScheduleService courseScheduleService,
                            MajorService majorService,
                            TeacherService teacherService,
-                           CourseService courseService) {
+                           CourseService courseService,
+                           DeltaSyncService deltaSyncService) {
         this.classesService = classesService;
         this.studentService = studentService;
         this.courseScheduleService = courseScheduleService;
         this.majorService = majorService;
         this.teacherService = teacherService;
         this.courseService = courseService;
+        this.deltaSyncService = deltaSyncService;
     }
 
     /**
@@ -115,8 +122,10 @@ public class ClassesController {
      * @param assignStudentsDTO 包含学生ID列表的DTO
      * @return ApiResponse 包含操作结果
      */
+    @Idempotent
     @PostMapping("/{classId}/students")
-    @Operation(summary = "为班级批量添加学生", description = "将一批未分配班级的学生加入到指定班级。")
+    @Operation(summary = "为班级批量添加学生", description = "将一批未分配班级的学生加入到指定班级。"
+            + "带 Idempotency-Key 请求头重试时返回首次请求的结果。")
     public ApiResponse<Void> addStudentsToClass(
             @Parameter(description = "班级ID") @PathVariable Long classId,
             @Valid @RequestBody AssignStudentsDTO assignStudentsDTO) {
@@ -260,6 +269,7 @@ public class ClassesController {
         // 执行删除操作
         boolean success = classesService.removeById(id);
         if (success) {
+            deltaSyncService.recordDeleted(SyncEntityType.CLASS, null, List.of(id));
             log.info("Class with ID {} deleted successfully", id);
             return ApiResponse.success("班级删除成功", null);
         }
@@ -306,23 +316,49 @@ public class ClassesController {
     public ApiResponse<List<ClassDto>> listAllClasses() {
         // 1. 获取所有班级
         List<Classes> classesList = classesService.list(new LambdaQueryWrapper<Classes>().orderByAsc(Classes::getClassName));
+
+        // 2. 转换为 DTO 列表
+        return ApiResponse.success(toDtoList(classesList));
+    }
+
+    /**
+     * 增量获取班级列表
+     * <p>
+     * 返回 since 之后新增、修改的班级与被删除的班级ID；since 为空或过早时返回全量。
+     * </p>
+     *
+     * @param since 上次返回的水位线（毫秒时间戳）
+     * @return ApiResponse<DeltaSyncDto<ClassDto>> 增量同步结果
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "增量获取班级列表", description = "按水位线返回变化的班级与被删除的班级ID")
+    public ApiResponse<DeltaSyncDto<ClassDto>> listClassChanges(
+            @Parameter(description = "上次返回的水位线（毫秒时间戳）") @RequestParam(required = false) Long since) {
+        DeltaSyncDto<ClassDto> result = deltaSyncService.sync(since, SyncEntityType.CLASS, null,
+                () -> toDtoList(classesService.list(new LambdaQueryWrapper<Classes>().orderByAsc(Classes::getClassName))),
+                sinceTime -> toDtoList(classesService.list(new LambdaQueryWrapper<Classes>().ge(Classes::getUpdatedTime, sinceTime))),
+                ClassDto::getId);
+        return ApiResponse.success(result);
+    }
+
+    /**
+     * 批量查询专业名称并转换为 DTO 列表
+     *
+     * @param classesList 班级列表
+     * @return DTO 列表
+     */
+    private List<ClassDto> toDtoList(List<Classes> classesList) {
         if (classesList.isEmpty()) {
-            return ApiResponse.success(List.of());
+            return List.of();
         }
-
-        // 2. 提取 majorId 并查询专业信息
+        // 1. 提取 majorId 并查询专业信息
         List<Long> majorIds = classesList.stream().map(Classes::getMajorId).distinct().collect(Collectors.toList());
         Map<Long, String> majorIdToNameMap = classesService.getMajorIdToNameMap(majorIds);
 
-        // 3. 转换为 DTO 列表
-        List<ClassDto> dtoList = classesList.stream().map(classes -> {
-            ClassDto dto = new ClassDto();
-            BeanUtils.copyProperties(classes, dto);
-            dto.setMajorName(majorIdToNameMap.get(classes.getMajorId()));
-            return dto;
-        }).collect(Collectors.toList());
-        
-        return ApiResponse.success(dtoList);
+        // 2. 转换为 DTO 列表
+        return classesList.stream()
+                .map(classes -> ClassConverter.toDto(classes, majorIdToNameMap.get(classes.getMajorId())))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -332,8 +368,10 @@ public class ClassesController {
      * @param removeStudentsDTO 包含学生ID列表的DTO
      * @return ApiResponse 包含操作结果
      */
+    @Idempotent
     @DeleteMapping("/{classId}/students")
-    @Operation(summary = "从班级中批量移除学生", description = "将一批学生从指定班级中移除，使其变为未分配状态。")
+    @Operation(summary = "从班级中批量移除学生", description = "将一批学生从指定班级中移除，使其变为未分配状态。"
+            + "带 Idempotency-Key 请求头重试时返回首次请求的结果。")
     public ApiResponse<Void> removeStudentsFromClass(
             @Parameter(description = "班级ID") @PathVariable Long classId,
             @Valid @RequestBody RemoveStudentsDTO removeStudentsDTO) {
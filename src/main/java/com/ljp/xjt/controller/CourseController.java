@@ -3,12 +3,15 @@ package com.ljp.xjt.controller;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.ljp.xjt.common.ApiResponse;
+import com.ljp.xjt.dto.DeltaSyncDto;
 import com.ljp.xjt.entity.Course;
 import com.ljp.xjt.entity.Grade;
 import com.ljp.xjt.entity.CourseSchedule;
 import com.ljp.xjt.service.CourseService;
 import com.ljp.xjt.service.GradeService;
 import com.ljp.xjt.service.CourseScheduleService;
+import com.ljp.xjt.service.DeltaSyncService;
+import com.ljp.xjt.sync.SyncEntityType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -44,14 +47,17 @@ public class CourseController {
     private final CourseService courseService;
     private final GradeService gradeService;
     private final CourseScheduleService courseScheduleService;
+    private final DeltaSyncService deltaSyncService;
 
     @Autowired
     public CourseController(CourseService courseService, 
                           GradeService gradeService,
-                          CourseScheduleService courseScheduleService) {
+                          CourseScheduleService courseScheduleService,
+                          DeltaSyncService deltaSyncService) {
         this.courseService = courseService;
         this.gradeService = gradeService;
         this.courseScheduleService = courseScheduleService;
+        this.deltaSyncService = deltaSyncService;
     }
 
     /**
@@ -163,6 +169,7 @@ public class CourseController {
         // 执行删除操作
         boolean success = courseService.removeById(id);
         if (success) {
+            deltaSyncService.recordDeleted(SyncEntityType.COURSE, null, List.of(id));
             log.info("Course deleted successfully: ID={}, Name={}", id, existingCourse.getCourseName());
             return ApiResponse.success("课程删除成功", null);
         }
@@ -207,4 +214,24 @@ public class CourseController {
         List<Course> list = courseService.list(new LambdaQueryWrapper<Course>().orderByAsc(Course::getCourseName));
         return ApiResponse.success(list);
     }
+
+    /**
+     * 增量获取课程列表
+     * <p>
+     * 返回 since 之后新增、修改的课程与被删除的课程ID；since 为空或过早时返回全量。
+     * </p>
+     *
+     * @param since 上次返回的水位线（毫秒时间戳）
+     * @return ApiResponse<DeltaSyncDto<Course>> 增量同步结果
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "增量获取课程列表", description = "按水位线返回变化的课程与被删除的课程ID")
+    public ApiResponse<DeltaSyncDto<Course>> listCourseChanges(
+            @Parameter(description = "上次返回的水位线（毫秒时间戳）") @RequestParam(required = false) Long since) {
+        DeltaSyncDto<Course> result = deltaSyncService.sync(since, SyncEntityType.COURSE, null,
+                () -> courseService.list(new LambdaQueryWrapper<Course>().orderByAsc(Course::getCourseName)),
+                sinceTime -> courseService.list(new LambdaQueryWrapper<Course>().ge(Course::getUpdatedTime, sinceTime)),
+                Course::getId);
+        return ApiResponse.success(result);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.ljp.xjt.controller;
+
+import com.ljp.xjt.common.ApiResponse;
+import com.ljp.xjt.config.GradeStreamProperties;
+import com.ljp.xjt.dto.GradeStreamTokenResponse;
+import com.ljp.xjt.entity.User;
+import com.ljp.xjt.security.SecurityUser;
+import com.ljp.xjt.service.GradeStreamService;
+import com.ljp.xjt.utils.JwtUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 成绩实时推送控制器
+ * <p>
+ * 以Server-Sent Events推送当前用户范围内的成绩变更：连接建立后先收到 ready 事件，
+ * 之后每条变更一个 grade 事件（id 为事件ID，data 为 {@link com.ljp.xjt.stream.GradeNotification}），
+ * 收到 resync 事件表示有通知因积压被丢弃，客户端应重新拉取完整数据。
+ * </p>
+ * <p>
+ * 浏览器 EventSource 无法设置 Authorization 请求头：先以访问令牌调用 POST /grades/stream/token 获取短期连接令牌，
+ * 再以 GET /grades/stream?token= 建立连接。连接令牌过期后自动重连会被拒绝（EventSource 进入 CLOSED 状态），
+ * 客户端此时重新获取令牌并新建连接。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@RestController
+@RequestMapping("/grades")
+@Tag(name = "成绩实时推送", description = "学生与教师的成绩变更推送（SSE）")
+@RequiredArgsConstructor
+public class GradeStreamController {
+
+    private final GradeStreamService gradeStreamService;
+    private final GradeStreamProperties gradeStreamProperties;
+    private final JwtUtils jwtUtils;
+
+    /**
+     * 获取推送连接令牌
+     *
+     * @return 连接令牌
+     */
+    @PostMapping("/stream/token")
+    @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER')")
+    @Operation(summary = "获取推送连接令牌", description = "短期有效，只能作为 GET /grades/stream 的 token 查询参数建立连接。")
+    public ApiResponse<GradeStreamTokenResponse> streamToken() {
+        SecurityUser securityUser = (SecurityUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        User user = securityUser.getUser();
+        String role = user.getRoles() != null && !user.getRoles().isEmpty()
+                ? user.getRoles().iterator().next().getRoleCode() : "";
+        long ttlSeconds = Math.max(1, gradeStreamProperties.getTokenTtl().toSeconds());
+        String token = jwtUtils.generateStreamToken(user.getId(), user.getUsername(), role, ttlSeconds);
+        return ApiResponse.success(new GradeStreamTokenResponse(token, ttlSeconds));
+    }
+
+    /**
+     * 订阅成绩变更
+     *
+     * @return SSE连接
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER')")
+    @Operation(summary = "订阅成绩变更", description = "学生接收本人成绩变更，教师接收任教班级与课程的成绩变更。"
+            + "可使用 Authorization 请求头，或以 token 查询参数携带连接令牌。")
+    public SseEmitter stream() {
+        SecurityUser user = (SecurityUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return gradeStreamService.subscribe(user.getUser().getId());
+    }
+}
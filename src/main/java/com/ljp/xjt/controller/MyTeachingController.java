@@ -3,13 +3,16 @@ package com.ljp.xjt.controller;
 import com.ljp.xjt.common.ApiResponse;
 import com.ljp.xjt.dto.BatchGradeEntryDto;
 import com.ljp.xjt.dto.BatchGradeResponseDto;
+import com.ljp.xjt.dto.DeltaSyncDto;
 import com.ljp.xjt.dto.GradeUpdateRequest;
 import com.ljp.xjt.dto.ScoreUpdateRequest;
 import com.ljp.xjt.entity.User;
+import com.ljp.xjt.idempotency.Idempotent;
 import com.ljp.xjt.dto.TeacherClassDto;
 import com.ljp.xjt.dto.TeacherCourseDto;
 import com.ljp.xjt.dto.StudentDto;
 import com.ljp.xjt.security.SecurityUser;
+import com.ljp.xjt.service.GradeAutosaveService;
 import com.ljp.xjt.service.TeacherService;
 import com.ljp.xjt.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -25,6 +28,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * @author ljp
@@ -39,6 +44,7 @@ import java.util.List;
 public class MyTeachingController {
     private final TeacherService teacherService;
     private final UserService userService;
+    private final GradeAutosaveService gradeAutosaveService;
 
     /**
      * 获取当前登录的用户名
@@ -121,8 +127,35 @@ public class MyTeachingController {
         return ApiResponse.success(students);
     }
 
+    /**
+     * 增量获取指定课程和班级的学生名册
+     *
+     * @param courseId 课程ID
+     * @param classId  班级ID
+     * @param since    上次返回的水位线（毫秒时间戳）
+     * @return 增量同步结果
+     */
+    @GetMapping("/courses/{courseId}/classes/{classId}/roster/changes")
+    @Operation(summary = "增量获取指定班级的学生名册", description = "按水位线返回变化的学生与被删除或移出班级的学生ID")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ApiResponse<DeltaSyncDto<StudentDto>> getClassRosterChanges(
+            @Parameter(description = "课程ID") @PathVariable("courseId") Long courseId,
+            @Parameter(description = "班级ID") @PathVariable("classId") Long classId,
+            @Parameter(description = "上次返回的水位线（毫秒时间戳）") @RequestParam(required = false) Long since) {
+        String username = getCurrentUsername();
+        User user = userService.findByUsername(username);
+        if (user == null) {
+            throw new IllegalStateException("用户不存在");
+        }
+        return ApiResponse.success(teacherService.findStudentChangesByClassAndCourse(user.getId(), classId, courseId, since));
+    }
+
     /**
      * 修改或录入学生成绩
+     * <p>
+     * 成绩表格逐个单元格保存时调用。修改进入自动保存缓冲区，与同一班级同一课程的其他修改合并后在一个事务中保存，
+     * 事务提交后才返回；等待期间不占用请求线程。
+     * </p>
      *
      * @param courseId 课程ID
      * @param classId  班级ID
@@ -133,33 +166,32 @@ public class MyTeachingController {
     @PutMapping("/courses/{courseId}/classes/{classId}/students/{studentId}/grade")
     @Operation(summary = "修改或录入单个学生成绩", description = "为指定班级的指定学生录入或修改一门课程的成绩。")
     @PreAuthorize("hasRole('TEACHER')")
-    public ApiResponse<Void> updateStudentGrade(
+    public CompletableFuture<ApiResponse<Void>> updateStudentGrade(
             @Parameter(description = "课程ID") @PathVariable("courseId") Long courseId,
             @Parameter(description = "班级ID") @PathVariable("classId") Long classId,
             @Parameter(description = "学生ID") @PathVariable("studentId") Long studentId,
             @Valid @RequestBody ScoreUpdateRequest request) {
-        String username = getCurrentUsername();
-        User user = userService.findByUsername(username);
-        if (user == null) {
-            throw new IllegalStateException("用户不存在");
-        }
-        
-        try {
-            boolean success = teacherService.updateGrade(user.getId(), courseId, classId, studentId, request.getScore());
-            if (success) {
-                return ApiResponse.success("成绩更新成功");
-            } else {
-                return ApiResponse.error("成绩更新失败");
-            }
-        } catch (SecurityException e) {
-            return ApiResponse.forbidden(e.getMessage());
-        } catch (IllegalArgumentException e) {
-            return ApiResponse.badRequest(e.getMessage());
-        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User currentUser = ((SecurityUser) authentication.getPrincipal()).getUser();
+
+        return gradeAutosaveService.submit(currentUser.getId(), courseId, classId, studentId, request.getScore())
+                .thenApply(ignored -> ApiResponse.<Void>success("成绩更新成功"))
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof SecurityException) {
+                        return ApiResponse.forbidden(cause.getMessage());
+                    }
+                    if (cause instanceof IllegalArgumentException) {
+                        return ApiResponse.badRequest(cause.getMessage());
+                    }
+                    throw ex instanceof CompletionException completion ? completion : new CompletionException(cause);
+                });
     }
 
+    @Idempotent
     @PostMapping("/courses/{courseId}/classes/{classId}/grades/batch")
-    @Operation(summary = "批量导入成绩", description = "通过JSON数据批量为指定班级的学生录入或更新某门课程的成绩。")
+    @Operation(summary = "批量导入成绩", description = "通过JSON数据批量为指定班级的学生录入或更新某门课程的成绩。"
+            + "带 Idempotency-Key 请求头重试时返回首次导入的结果，不会重复导入。")
     public ApiResponse<BatchGradeResponseDto> batchUpdateGrades(
             @PathVariable("courseId") Long courseId,
             @PathVariable("classId") Long classId,
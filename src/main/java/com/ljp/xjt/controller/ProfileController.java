@@ -7,23 +7,25 @@ import com.ljp.xjt.dto.PasswordChangeRequest;
 import com.ljp.xjt.dto.ProfileDto;
 import com.ljp.xjt.entity.Avatar;
 import com.ljp.xjt.entity.User;
+import com.ljp.xjt.service.AvatarThumbnailService;
 import com.ljp.xjt.service.FileService;
 import com.ljp.xjt.service.UserService;
+import com.ljp.xjt.utils.FileTransferUtil;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.stream.Collectors;
 
 @RestController
@@ -37,6 +39,9 @@ public class ProfileController {
     @Autowired
     private FileService fileService;
 
+    @Autowired
+    private AvatarThumbnailService avatarThumbnailService;
+
     /**
      * 获取当前登录用户的个人信息
      *
@@ -58,13 +63,9 @@ public class ProfileController {
         profileDto.setRoles(authentication.getAuthorities().stream().map(Object::toString).collect(Collectors.toList()));
 
         // 设置头像URL
-        Avatar avatar = fileService.findLatestAvatarByUserId(userDetails.getId());
+        Avatar avatar = fileService.findCurrentAvatarByUserId(userDetails.getId());
         if (avatar != null) {
-            String avatarUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
-                    .path("/v1/profile/avatar/")
-                    .path(avatar.getFileName())
-                    .toUriString();
-            profileDto.setAvatarUrl(avatarUrl);
+            profileDto.setAvatarUrl(fileService.buildAvatarUrl(avatar.getFileName()));
         }
 
         return ApiResponse.success(profileDto);
@@ -97,10 +98,7 @@ public class ProfileController {
         User currentUser = getCurrentUser();
         Avatar avatar = fileService.storeAvatar(file, currentUser.getId());
 
-        String fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
-                .path("/v1/profile/avatar/")
-                .path(avatar.getFileName())
-                .toUriString();
+        String fileDownloadUri = fileService.buildAvatarUrl(avatar.getFileName());
 
         AvatarUploadResponse response = new AvatarUploadResponse(avatar.getFileName(), fileDownloadUri, file.getContentType(), file.getSize());
         return ApiResponse.success(response);
@@ -108,30 +106,48 @@ public class ProfileController {
     
     /**
      * 获取头像
+     * <p>
+     * 头像文件以内容哈希命名，URL对应的内容不可变：返回长期不可变缓存头与强ETag，
+     * 支持304协商与Range请求，内容类型取自头像记录，文件经sendfile/transferTo零拷贝输出。
+     * 指定size时返回不小于该尺寸的最小缩略图；没有合适的缩略图时回退到原图：
+     * 缩略图仍在生成时要求客户端每次重新校验，不会再生成（原图过小、尺寸超出配置、任务已结束）时按不可变资源缓存。
+     * </p>
      *
      * @param fileName 文件名
-     * @param request  a
-     * @return 头像资源
+     * @param size     期望的边长（像素，可选）
+     * @param request  HTTP请求
+     * @param response HTTP响应
+     * @throws IOException 文件读取或输出失败
      */
     @GetMapping("/avatar/{fileName:.+}")
-    public ResponseEntity<Resource> getAvatar(@PathVariable("fileName") String fileName, HttpServletRequest request) {
-        Resource resource = fileService.loadFileAsResource(fileName);
-
-        String contentType = null;
-        try {
-            contentType = request.getServletContext().getMimeType(resource.getFile().getAbsolutePath());
-        } catch (IOException ex) {
-            log.info("Could not determine file type.");
+    public void getAvatar(@PathVariable("fileName") String fileName,
+                          @RequestParam(value = "size", required = false) Integer size,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Avatar avatar = fileService.findAvatarByFileName(fileName);
+        if (avatar == null) {
+            throw new BusinessException(404, "File not found " + fileName);
+        }
+
+        // 按尺寸选择缩略图，仍在生成时回退原图且不允许长期缓存
+        CacheControl cacheControl = FileTransferUtil.IMMUTABLE_CACHE;
+        if (size != null && size > 0 && avatar.getParentId() == null) {
+            Avatar variant = avatarThumbnailService.findVariant(avatar, size);
+            if (variant != null) {
+                avatar = variant;
+            } else if (avatarThumbnailService.isVariantPending(avatar, size)) {
+                cacheControl = CacheControl.noCache();
+            }
         }
+        Path file = fileService.resolveAvatarPath(avatar);
 
-        if (contentType == null) {
-            contentType = "application/octet-stream";
+        // 仅信任图片类型，其余按二进制流返回，避免上传内容被当作页面渲染
+        String contentType = avatar.getContentType();
+        if (!StringUtils.hasText(contentType) || !contentType.startsWith("image/")) {
+            contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
         }
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
-                .body(resource);
+        String etag = StringUtils.stripFilenameExtension(avatar.getFileName());
+        FileTransferUtil.sendFile(request, response, file, contentType, etag, cacheControl);
     }
 
 
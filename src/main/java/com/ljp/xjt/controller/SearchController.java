@@ -0,0 +1,54 @@
+package com.ljp.xjt.controller;
+
+import com.ljp.xjt.common.ApiResponse;
+import com.ljp.xjt.dto.SearchSuggestionDto;
+import com.ljp.xjt.search.SearchEntityType;
+import com.ljp.xjt.service.SearchIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 检索控制器
+ * <p>
+ * 提供学生、教师、课程、班级的检索建议（自动补全），直接查询内存检索索引，不访问数据库。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@RestController
+@RequestMapping("/admin/search")
+@Tag(name = "管理端 - 检索", description = "名称与编号的检索建议")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class SearchController {
+
+    private final SearchIndexService searchIndexService;
+
+    /**
+     * 检索建议
+     *
+     * @param q     检索词，支持名称原文、全拼、拼音首字母与编号
+     * @param types 实体类型，不传时检索全部类型
+     * @param limit 最多返回的条数
+     * @return ApiResponse<List<SearchSuggestionDto>> 按匹配程度排序的建议列表
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "检索建议", description = "按名称、全拼、拼音首字母（如 zs 匹配 张三）或编号包含匹配，完全匹配与前缀匹配优先。")
+    public ApiResponse<List<SearchSuggestionDto>> suggest(
+            @Parameter(description = "检索词", required = true) @RequestParam String q,
+            @Parameter(description = "实体类型：STUDENT/TEACHER/COURSE/CLASS，可多选") @RequestParam(required = false) List<SearchEntityType> types,
+            @Parameter(description = "最多返回的条数", example = "10") @RequestParam(defaultValue = "10") Integer limit) {
+        return ApiResponse.success(searchIndexService.suggest(q, types, limit));
+    }
+}
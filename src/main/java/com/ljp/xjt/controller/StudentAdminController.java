@@ -3,7 +3,12 @@ package com.ljp.xjt.controller;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.ljp.xjt.cache.TeachingStatisticsCacheEvictor;
 import com.ljp.xjt.common.ApiResponse;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.PageCursor;
+import com.ljp.xjt.common.pagination.PageTotals;
+import com.ljp.xjt.common.pagination.TotalMode;
 import com.ljp.xjt.dto.StudentCreateDTO;
 import com.ljp.xjt.dto.StudentDTO;
 import com.ljp.xjt.dto.StudentUpdateDTO;
@@ -11,11 +16,16 @@ import com.ljp.xjt.dto.UnboundUserDTO;
 import com.ljp.xjt.entity.Student;
 import com.ljp.xjt.entity.User;
 import com.ljp.xjt.entity.Grade;
+import com.ljp.xjt.search.SearchCondition;
+import com.ljp.xjt.search.SearchEntityType;
+import com.ljp.xjt.sync.SyncEntityType;
 import com.ljp.xjt.service.ClassesService;
+import com.ljp.xjt.service.DeltaSyncService;
 import com.ljp.xjt.service.StudentService;
 import com.ljp.xjt.service.UserService;
 import com.ljp.xjt.service.UserRoleService;
 import com.ljp.xjt.service.GradeService;
+import com.ljp.xjt.service.SearchIndexService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,6 +36,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -50,6 +61,10 @@ public class StudentAdminController {
     private final UserRoleService userRoleService;
     private final GradeService gradeService;
     private final ClassesService classesService;
+    private final PageTotals pageTotals;
+    private final DeltaSyncService deltaSyncService;
+    private final SearchIndexService searchIndexService;
+    private final TeachingStatisticsCacheEvictor teachingStatisticsCacheEvictor;
 
     /**
      * [管理员] 获取未绑定任何学生记录的用户列表
@@ -146,6 +161,7 @@ public class StudentAdminController {
         }
         
         // 4. 使用 DTO 更新实体
+        Long previousClassId = existingStudent.getClassId();
         existingStudent.setStudentNumber(studentDTO.getStudentNumber());
         existingStudent.setStudentName(studentDTO.getStudentName());
         existingStudent.setGender(studentDTO.getGender());
@@ -154,6 +170,14 @@ public class StudentAdminController {
         // userId 不允许通过此接口修改
 
         if (studentService.updateById(existingStudent)) {
+            // 5. 调整到其他班级时记录移出原班级，供班级名册增量同步（班级ID为空时按ID更新不会清空该列）
+            if (previousClassId != null && studentDTO.getClassId() != null && !previousClassId.equals(studentDTO.getClassId())) {
+                deltaSyncService.recordDeleted(SyncEntityType.STUDENT, previousClassId, List.of(id));
+            }
+            // 6. 班级发生变化时，原班级与新班级授课教师的统计均受影响
+            if (studentDTO.getClassId() != null && !studentDTO.getClassId().equals(previousClassId)) {
+                teachingStatisticsCacheEvictor.evictByClasses(Arrays.asList(previousClassId, studentDTO.getClassId()));
+            }
             return ApiResponse.success("学生信息更新成功", existingStudent);
         }
         return ApiResponse.error(500, "学生信息更新失败");
@@ -185,6 +209,10 @@ public class StudentAdminController {
         if (!studentService.removeById(id)) {
             return ApiResponse.error(500, "学生信息删除失败");
         }
+        if (existingStudent.getClassId() != null) {
+            deltaSyncService.recordDeleted(SyncEntityType.STUDENT, existingStudent.getClassId(), List.of(id));
+            teachingStatisticsCacheEvictor.evictByClasses(List.of(existingStudent.getClassId()));
+        }
         
         // 如果学生已关联用户，则移除用户的学生角色
         if (existingStudent.getUserId() != null) {
@@ -205,6 +233,7 @@ public class StudentAdminController {
      * @param studentNumber 学号 (可选查询条件)
      * @param studentName   学生姓名 (可选查询条件)
      * @param classId       班级ID (可选查询条件)
+     * @param total         总数统计方式
      * @return ApiResponse<IPage<StudentDTO>> 分页后的学生列表（包含班级名称）
      */
     @GetMapping
@@ -215,17 +244,50 @@ public class StudentAdminController {
             @Parameter(description = "每页数量", example = "10") @RequestParam(defaultValue = "10") Integer size,
             @Parameter(description = "学号查询") @RequestParam(required = false) String studentNumber,
             @Parameter(description = "学生姓名查询") @RequestParam(required = false) String studentName,
-            @Parameter(description = "班级ID查询") @RequestParam(required = false) Long classId) {
+            @Parameter(description = "班级ID查询") @RequestParam(required = false) Long classId,
+            @Parameter(description = "总数统计方式：EXACT/APPROXIMATE/NONE") @RequestParam(defaultValue = "EXACT") TotalMode total) {
 
-        LambdaQueryWrapper<Student> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.like(StringUtils.hasText(studentNumber), Student::getStudentNumber, studentNumber)
-                    .like(StringUtils.hasText(studentName), Student::getStudentName, studentName)
-                    .eq(classId != null, Student::getClassId, classId)
+        LambdaQueryWrapper<Student> queryWrapper = studentFilters(studentNumber, studentName, classId)
                     .orderByDesc(Student::getCreatedTime);
 
+        boolean filtered = !queryWrapper.isEmptyOfWhere();
         Page<Student> page = new Page<>(current, size);
+        pageTotals.prepare(page, total, filtered);
         IPage<StudentDTO> studentDTOPage = studentService.selectStudentPage(page, queryWrapper);
-        return ApiResponse.success(studentDTOPage);
+        return ApiResponse.success(pageTotals.complete(studentDTOPage, total, filtered, "students"));
+    }
+
+    /**
+     * [管理员] 按游标查询学生列表
+     * <p>
+     * 携带cursor参数时启用，首页传空值，后续传上一页返回的nextCursor。
+     * 按创建时间倒序以键集方式定位，不执行COUNT，翻页深度不影响耗时。
+     * </p>
+     *
+     * @param cursor        分页游标
+     * @param size          每页数量
+     * @param studentNumber 学号 (可选查询条件)
+     * @param studentName   学生姓名 (可选查询条件)
+     * @param classId       班级ID (可选查询条件)
+     * @param total         总数统计方式，仅支持APPROXIMATE/NONE
+     * @return ApiResponse<CursorPage<StudentDTO>> 游标分页的学生列表（包含班级名称）
+     */
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "游标查询学生列表", description = "可根据学号、姓名、班级ID筛选，首页cursor传空值。需要管理员权限。")
+    public ApiResponse<CursorPage<StudentDTO>> listStudentsByCursor(
+            @Parameter(description = "分页游标，首页传空值") @RequestParam String cursor,
+            @Parameter(description = "每页数量", example = "10") @RequestParam(defaultValue = "10") Integer size,
+            @Parameter(description = "学号查询") @RequestParam(required = false) String studentNumber,
+            @Parameter(description = "学生姓名查询") @RequestParam(required = false) String studentName,
+            @Parameter(description = "班级ID查询") @RequestParam(required = false) Long classId,
+            @Parameter(description = "总数统计方式：APPROXIMATE/NONE") @RequestParam(defaultValue = "NONE") TotalMode total) {
+
+        long pageSize = PageTotals.checkCursorRequest(size, total);
+        LambdaQueryWrapper<Student> queryWrapper = studentFilters(studentNumber, studentName, classId);
+        boolean filtered = !queryWrapper.isEmptyOfWhere();
+        CursorPage<StudentDTO> studentDTOPage = studentService.selectStudentCursor(PageCursor.decode(cursor), pageSize, queryWrapper);
+        return ApiResponse.success(pageTotals.complete(studentDTOPage, total, filtered, "students"));
     }
 
     @GetMapping("/unassigned")
@@ -235,4 +297,19 @@ public class StudentAdminController {
         List<StudentDTO> unassignedStudents = studentService.findUnassignedStudents();
         return ApiResponse.success(unassignedStudents);
     }
+
+    private LambdaQueryWrapper<Student> studentFilters(String studentNumber, String studentName, Long classId) {
+        // 学号、姓名检索词优先经检索索引解析为学生ID，未能解析的仍以LIKE匹配
+        SearchCondition search = searchIndexService.resolve(SearchEntityType.STUDENT, studentName, studentNumber);
+        LambdaQueryWrapper<Student> queryWrapper = new LambdaQueryWrapper<Student>()
+                .like(StringUtils.hasText(search.getCode()), Student::getStudentNumber, search.getCode())
+                .like(StringUtils.hasText(search.getName()), Student::getStudentName, search.getName())
+                .eq(classId != null, Student::getClassId, classId);
+        if (search.matchesNothing()) {
+            queryWrapper.apply("1 = 0");
+        } else if (search.getIds() != null) {
+            queryWrapper.in(Student::getId, search.getIds());
+        }
+        return queryWrapper;
+    }
 } 
\ No newline at end of file
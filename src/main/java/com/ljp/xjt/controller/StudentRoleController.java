@@ -1,6 +1,7 @@
 package com.ljp.xjt.controller;
 
 import com.ljp.xjt.common.ApiResponse;
+import com.ljp.xjt.dto.DeltaSyncDto;
 import com.ljp.xjt.dto.StudentCourseDTO;
 import com.ljp.xjt.dto.StudentGradeDTO;
 import com.ljp.xjt.dto.StudentProfileDTO;
@@ -11,6 +12,7 @@ import com.ljp.xjt.security.SecurityUser;
 import com.ljp.xjt.service.StudentService;
 import com.ljp.xjt.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +24,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -127,6 +130,23 @@ public class StudentRoleController {
         return ApiResponse.success(grades);
     }
 
+    /**
+     * 增量查询当前登录学生的成绩
+     * <p>
+     * 返回 since 之后变化的成绩与被删除成绩的课程ID；since 为空或过早时返回全量。
+     * </p>
+     *
+     * @param since 上次返回的水位线（毫秒时间戳）
+     * @return ApiResponse<DeltaSyncDto<StudentGradeDTO>> 增量同步结果
+     */
+    @GetMapping("/grades/changes")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "增量查询我的成绩", description = "按水位线返回变化的成绩与被删除成绩的课程ID")
+    public ApiResponse<DeltaSyncDto<StudentGradeDTO>> getMyGradeChanges(
+            @Parameter(description = "上次返回的水位线（毫秒时间戳）") @RequestParam(required = false) Long since) {
+        return ApiResponse.success(studentService.findMyGradeChanges(since));
+    }
+
     /**
      * 查询当前登录学生的所有课程信息
      * <p>
@@ -4,6 +4,10 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.ljp.xjt.common.ApiResponse;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.PageCursor;
+import com.ljp.xjt.common.pagination.PageTotals;
+import com.ljp.xjt.common.pagination.TotalMode;
 import com.ljp.xjt.entity.Classes;
 import com.ljp.xjt.entity.CourseSchedule;
 import com.ljp.xjt.entity.Teacher;
@@ -20,6 +24,7 @@ import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -47,6 +52,7 @@ public class TeacherController {
     private final TeacherService teacherService;
     private final ClassesService classesService;
     private final CourseScheduleService courseScheduleService;
+    private final PageTotals pageTotals;
 
     /**
      * 分页查询教师列表
@@ -55,6 +61,7 @@ public class TeacherController {
      * @param size 每页大小
      * @param teacherName 教师姓名（模糊查询）
      * @param departmentId 部门ID
+     * @param total 总数统计方式
      * @return 教师分页数据
      */
     @GetMapping
@@ -70,15 +77,57 @@ public class TeacherController {
             @RequestParam(required = false) String teacherName,
             
             @Parameter(description = "部门ID")
-            @RequestParam(required = false) Long departmentId) {
+            @RequestParam(required = false) Long departmentId,
+
+            @Parameter(description = "总数统计方式：EXACT/APPROXIMATE/NONE")
+            @RequestParam(defaultValue = "EXACT") TotalMode total) {
         
         log.info("Query teacher list - current: {}, size: {}, teacherName: {}, departmentId: {}", 
                  current, size, teacherName, departmentId);
         
+        boolean filtered = StringUtils.hasText(teacherName) || departmentId != null;
         Page<Teacher> page = new Page<>(current, size);
+        pageTotals.prepare(page, total, filtered);
         IPage<Teacher> teacherPage = teacherService.getTeacherList(page, teacherName, departmentId);
         
-        return ApiResponse.success("查询成功", teacherPage);
+        return ApiResponse.success("查询成功", pageTotals.complete(teacherPage, total, filtered, "teachers"));
+    }
+
+    /**
+     * 按游标查询教师列表
+     * <p>
+     * 携带cursor参数时启用，首页传空值，后续传上一页返回的nextCursor；不执行COUNT，翻页深度不影响耗时。
+     * </p>
+     *
+     * @param cursor 分页游标
+     * @param size 每页大小
+     * @param teacherName 教师姓名（模糊查询）
+     * @param departmentId 部门ID
+     * @param total 总数统计方式，仅支持APPROXIMATE/NONE
+     * @return 教师游标分页数据
+     */
+    @GetMapping(params = "cursor")
+    @Operation(summary = "游标查询教师列表", description = "管理员按创建时间倒序以游标方式查询教师，首页cursor传空值")
+    public ApiResponse<CursorPage<Teacher>> getTeacherListByCursor(
+            @Parameter(description = "分页游标，首页传空值")
+            @RequestParam String cursor,
+
+            @Parameter(description = "每页大小", example = "10")
+            @RequestParam(defaultValue = "10") @Positive Long size,
+
+            @Parameter(description = "教师姓名（模糊查询）")
+            @RequestParam(required = false) String teacherName,
+
+            @Parameter(description = "部门ID")
+            @RequestParam(required = false) Long departmentId,
+
+            @Parameter(description = "总数统计方式：APPROXIMATE/NONE")
+            @RequestParam(defaultValue = "NONE") TotalMode total) {
+
+        long pageSize = PageTotals.checkCursorRequest(size, total);
+        CursorPage<Teacher> teacherPage = teacherService.getTeacherCursor(PageCursor.decode(cursor), pageSize, teacherName, departmentId);
+        boolean filtered = StringUtils.hasText(teacherName) || departmentId != null;
+        return ApiResponse.success("查询成功", pageTotals.complete(teacherPage, total, filtered, "teachers"));
     }
 
     /**
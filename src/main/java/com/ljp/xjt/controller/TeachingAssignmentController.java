@@ -3,17 +3,24 @@ package com.ljp.xjt.controller;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.ljp.xjt.common.ApiResponse;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.PageCursor;
+import com.ljp.xjt.common.pagination.PageTotals;
+import com.ljp.xjt.common.pagination.TotalMode;
 import com.ljp.xjt.dto.TeachingAssignmentDto;
 import com.ljp.xjt.dto.TeachingAssignmentRequestDto;
+import com.ljp.xjt.dto.TimetableValidationDto;
 import com.ljp.xjt.entity.Course;
 import com.ljp.xjt.entity.TeachingAssignment;
 import com.ljp.xjt.service.TeachingAssignmentService;
+import com.ljp.xjt.service.TimetableService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -36,6 +43,8 @@ import java.util.List;
 public class TeachingAssignmentController {
 
     private final TeachingAssignmentService teachingAssignmentService;
+    private final TimetableService timetableService;
+    private final PageTotals pageTotals;
 
     @Operation(summary = "获取从未排课的课程列表", description = "查询所有在系统中从未被安排过任何教学任务的课程。")
     @GetMapping("/unassigned-courses")
@@ -44,6 +53,14 @@ public class TeachingAssignmentController {
         return ApiResponse.success(unassignedCourses);
     }
 
+    @Operation(summary = "校验学期课表", description = "检查指定学期全部已填写上课时间的排课，列出教师、班级、教室的时间冲突与无法解析的上课时间。")
+    @GetMapping("/conflicts")
+    public ApiResponse<TimetableValidationDto> validateTimetable(
+            @Parameter(description = "学年", example = "2024") @RequestParam Integer year,
+            @Parameter(description = "学期", example = "2024-2025-1") @RequestParam String semester) {
+        return ApiResponse.success(timetableService.validateTerm(year, semester));
+    }
+
     @Operation(summary = "分页查询排课列表", description = "获取详细的排课信息列表，支持通过课程名、教师名和班级名进行筛选。")
     @GetMapping
     public ApiResponse<IPage<TeachingAssignmentDto>> listAssignments(
@@ -51,10 +68,28 @@ public class TeachingAssignmentController {
             @Parameter(description = "每页数量", example = "10") @RequestParam(defaultValue = "10") long size,
             @Parameter(description = "课程名称 (模糊查询)") @RequestParam(required = false) String courseName,
             @Parameter(description = "教师名称 (模糊查询)") @RequestParam(required = false) String teacherName,
-            @Parameter(description = "班级名称 (模糊查询)") @RequestParam(required = false) String className) {
+            @Parameter(description = "班级名称 (模糊查询)") @RequestParam(required = false) String className,
+            @Parameter(description = "总数统计方式：EXACT/APPROXIMATE/NONE") @RequestParam(defaultValue = "EXACT") TotalMode total) {
+        boolean filtered = isFiltered(courseName, teacherName, className);
         Page<TeachingAssignmentDto> page = new Page<>(current, size);
+        pageTotals.prepare(page, total, filtered);
         IPage<TeachingAssignmentDto> result = teachingAssignmentService.listAssignments(page, courseName, teacherName, className);
-        return ApiResponse.success(result);
+        return ApiResponse.success(pageTotals.complete(result, total, filtered, "teaching_assignments"));
+    }
+
+    @Operation(summary = "游标查询排课列表", description = "携带cursor参数时启用游标分页，首页传空值，后续传上一页返回的nextCursor；按学年、学期倒序，不执行COUNT。")
+    @GetMapping(params = "cursor")
+    public ApiResponse<CursorPage<TeachingAssignmentDto>> listAssignmentsByCursor(
+            @Parameter(description = "分页游标，首页传空值") @RequestParam String cursor,
+            @Parameter(description = "每页数量", example = "10") @RequestParam(defaultValue = "10") long size,
+            @Parameter(description = "课程名称 (模糊查询)") @RequestParam(required = false) String courseName,
+            @Parameter(description = "教师名称 (模糊查询)") @RequestParam(required = false) String teacherName,
+            @Parameter(description = "班级名称 (模糊查询)") @RequestParam(required = false) String className,
+            @Parameter(description = "总数统计方式：APPROXIMATE/NONE") @RequestParam(defaultValue = "NONE") TotalMode total) {
+        long pageSize = PageTotals.checkCursorRequest(size, total);
+        CursorPage<TeachingAssignmentDto> result = teachingAssignmentService.listAssignmentsByCursor(
+                PageCursor.decode(cursor), pageSize, courseName, teacherName, className);
+        return ApiResponse.success(pageTotals.complete(result, total, isFiltered(courseName, teacherName, className), "teaching_assignments"));
     }
 
     @Operation(summary = "创建新的排课记录", description = "创建一个新的教学分配记录。")
@@ -91,4 +126,8 @@ public class TeachingAssignmentController {
             return ApiResponse.badRequest(e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    private boolean isFiltered(String courseName, String teacherName, String className) {
+        return StringUtils.hasText(courseName) || StringUtils.hasText(teacherName) || StringUtils.hasText(className);
+    }
+}
@@ -1,9 +1,15 @@
 package com.ljp.xjt.controller;
 
+import com.ljp.xjt.bulkhead.ConnectionPoolHealthIndicator;
 import com.ljp.xjt.common.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -27,24 +33,38 @@ import java.util.Map;
 @RestController
 @RequestMapping("/test")
 @Tag(name = "测试接口", description = "系统测试和健康检查接口")
+@RequiredArgsConstructor
 public class TestController {
 
+    private final HealthEndpoint healthEndpoint;
+    private final ConnectionPoolHealthIndicator connectionPoolHealthIndicator;
+
     /**
      * 系统健康检查
+     * <p>
+     * 状态取自 Actuator 健康检查（数据库、Redis、磁盘等），并附带连接池与请求隔离舱的实时占用
+     * </p>
      *
-     * @return 系统状态信息
+     * @return 系统状态信息，状态不是 UP 时返回503
      */
     @GetMapping("/health")
-    @Operation(summary = "健康检查", description = "检查系统是否正常运行")
+    @Operation(summary = "健康检查", description = "返回Actuator健康状态及连接池、请求隔离舱的实时占用")
     public ApiResponse<Map<String, Object>> health() {
         log.info("System health check requested");
-        
+
+        // 1. 汇总各健康组件的状态
+        HealthComponent health = healthEndpoint.health();
         Map<String, Object> healthInfo = new HashMap<>();
-        healthInfo.put("status", "UP");
+        healthInfo.put("status", health.getStatus().getCode());
         healthInfo.put("timestamp", LocalDateTime.now());
-        healthInfo.put("message", "学生成绩管理系统运行正常");
         healthInfo.put("version", "1.0.0");
-        
+
+        // 2. 连接池与隔离舱占用
+        healthInfo.put("connectionPools", connectionPoolHealthIndicator.health().getDetails());
+
+        if (!Status.UP.equals(health.getStatus())) {
+            return new ApiResponse<>(HttpStatus.SERVICE_UNAVAILABLE.value(), "系统健康检查未通过", healthInfo, LocalDateTime.now());
+        }
         return ApiResponse.success("系统健康检查通过", healthInfo);
     }
 
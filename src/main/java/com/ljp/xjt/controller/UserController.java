@@ -3,6 +3,10 @@ package com.ljp.xjt.controller;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.ljp.xjt.common.ApiResponse;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.PageCursor;
+import com.ljp.xjt.common.pagination.PageTotals;
+import com.ljp.xjt.common.pagination.TotalMode;
 import com.ljp.xjt.dto.UserDTO;
 import com.ljp.xjt.entity.User;
 import com.ljp.xjt.service.UserService;
@@ -12,6 +16,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -40,6 +45,7 @@ import jakarta.validation.constraints.Positive;
 public class UserController {
 
     private final UserService userService;
+    private final PageTotals pageTotals;
 
     /**
      * 分页查询用户列表
@@ -49,6 +55,7 @@ public class UserController {
      * @param username 用户名（模糊查询）
      * @param email 邮箱（模糊查询）
      * @param status 状态
+     * @param total 总数统计方式
      * @return 包含角色信息的用户分页数据
      */
     @GetMapping
@@ -67,15 +74,60 @@ public class UserController {
             @RequestParam(required = false) String email,
             
             @Parameter(description = "状态：0-禁用，1-正常")
-            @RequestParam(required = false) Integer status) {
+            @RequestParam(required = false) Integer status,
+
+            @Parameter(description = "总数统计方式：EXACT/APPROXIMATE/NONE")
+            @RequestParam(defaultValue = "EXACT") TotalMode total) {
         
         log.info("Query user list - current: {}, size: {}, username: {}, email: {}, status: {}", 
                  current, size, username, email, status);
         
+        boolean filtered = isFiltered(username, email, status);
         Page<User> page = new Page<>(current, size);
+        pageTotals.prepare(page, total, filtered);
         IPage<UserDTO> userDtoPage = userService.getUserList(page, username, email, status);
         
-        return ApiResponse.success("查询成功", userDtoPage);
+        return ApiResponse.success("查询成功", pageTotals.complete(userDtoPage, total, filtered, "users"));
+    }
+
+    /**
+     * 按游标查询用户列表
+     * <p>
+     * 携带cursor参数时启用，首页传空值，后续传上一页返回的nextCursor；按用户ID倒序，不执行COUNT。
+     * </p>
+     *
+     * @param cursor 分页游标
+     * @param size 每页大小
+     * @param username 用户名（模糊查询）
+     * @param email 邮箱（模糊查询）
+     * @param status 状态
+     * @param total 总数统计方式，仅支持APPROXIMATE/NONE
+     * @return 包含角色信息的用户游标分页数据
+     */
+    @GetMapping(params = "cursor")
+    @Operation(summary = "游标查询用户列表", description = "管理员按用户ID倒序以游标方式查询用户，首页cursor传空值")
+    public ApiResponse<CursorPage<UserDTO>> getUserListByCursor(
+            @Parameter(description = "分页游标，首页传空值")
+            @RequestParam String cursor,
+
+            @Parameter(description = "每页大小", example = "10")
+            @RequestParam(defaultValue = "10") @Positive Long size,
+
+            @Parameter(description = "用户名（模糊查询）")
+            @RequestParam(required = false) String username,
+
+            @Parameter(description = "邮箱（模糊查询）")
+            @RequestParam(required = false) String email,
+
+            @Parameter(description = "状态：0-禁用，1-正常")
+            @RequestParam(required = false) Integer status,
+
+            @Parameter(description = "总数统计方式：APPROXIMATE/NONE")
+            @RequestParam(defaultValue = "NONE") TotalMode total) {
+
+        long pageSize = PageTotals.checkCursorRequest(size, total);
+        CursorPage<UserDTO> userDtoPage = userService.getUserCursor(PageCursor.decode(cursor), pageSize, username, email, status);
+        return ApiResponse.success("查询成功", pageTotals.complete(userDtoPage, total, isFiltered(username, email, status), "users"));
     }
 
     /**
@@ -259,4 +311,7 @@ public class UserController {
         return ApiResponse.success("检查完成", exists);
     }
 
+    private boolean isFiltered(String username, String email, Integer status) {
+        return StringUtils.hasText(username) || StringUtils.hasText(email) || status != null;
+    }
 } 
\ No newline at end of file
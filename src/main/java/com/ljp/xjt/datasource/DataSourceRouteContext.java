@@ -0,0 +1,72 @@
+package com.ljp.xjt.datasource;
+
+/**
+ * 当前线程的数据源路由上下文
+ * <p>
+ * 记录当前线程是否处于 {@link ReadReplica} 或 {@link ReadPrimary} 标注的方法中，支持嵌套调用。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public final class DataSourceRouteContext {
+
+    private static final ThreadLocal<int[]> REPLICA_READ_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+    private static final ThreadLocal<int[]> PRIMARY_READ_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private DataSourceRouteContext() {
+    }
+
+    /**
+     * 进入从库读方法
+     */
+    public static void enterReplicaRead() {
+        REPLICA_READ_DEPTH.get()[0]++;
+    }
+
+    /**
+     * 离开从库读方法，最外层离开时清除线程变量
+     */
+    public static void exitReplicaRead() {
+        int[] depth = REPLICA_READ_DEPTH.get();
+        if (--depth[0] <= 0) {
+            REPLICA_READ_DEPTH.remove();
+        }
+    }
+
+    /**
+     * 当前线程是否处于从库读方法中
+     *
+     * @return 是否可读从库
+     */
+    public static boolean isReplicaRead() {
+        return REPLICA_READ_DEPTH.get()[0] > 0;
+    }
+
+    /**
+     * 进入必须读主库的方法
+     */
+    public static void enterPrimaryRead() {
+        PRIMARY_READ_DEPTH.get()[0]++;
+    }
+
+    /**
+     * 离开必须读主库的方法，最外层离开时清除线程变量
+     */
+    public static void exitPrimaryRead() {
+        int[] depth = PRIMARY_READ_DEPTH.get();
+        if (--depth[0] <= 0) {
+            PRIMARY_READ_DEPTH.remove();
+        }
+    }
+
+    /**
+     * 当前线程是否处于必须读主库的方法中
+     *
+     * @return 是否只能读主库
+     */
+    public static boolean isPrimaryRead() {
+        return PRIMARY_READ_DEPTH.get()[0] > 0;
+    }
+}
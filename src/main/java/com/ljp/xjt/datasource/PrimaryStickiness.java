@@ -0,0 +1,85 @@
+package com.ljp.xjt.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 写后固定主库（读己之写）
+ * <p>
+ * 已登录用户执行写语句后，在固定窗口内其全部读请求都走主库，避免从库复制延迟导致刚写入的数据读不到。
+ * 窗口按用户名记录在本进程内存中；多实例部署时同一用户的请求应由负载均衡保持在同一实例，
+ * 否则其他实例只能依赖从库延迟上限兜底。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class PrimaryStickiness {
+
+    private final long windowNanos;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public PrimaryStickiness(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * 记录当前用户的一次写入，未登录时忽略
+     */
+    public void markWrite() {
+        markWrite(currentUser());
+    }
+
+    /**
+     * 记录指定用户的一次写入，用于在请求线程之外代用户完成的写入（如自动保存）
+     *
+     * @param user 用户名，为null时忽略
+     */
+    public void markWrite(String user) {
+        if (user != null && windowNanos > 0) {
+            stickyUntil.put(user, System.nanoTime() + windowNanos);
+        }
+    }
+
+    /**
+     * 当前用户是否处于写后固定主库窗口内
+     *
+     * @return 是否应读主库
+     */
+    public boolean isSticky() {
+        if (stickyUntil.isEmpty()) {
+            return false;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(user);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    /**
+     * 定期清除已过期的窗口
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.routing.sticky-window:PT5S}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    /**
+     * 当前线程的登录用户名
+     *
+     * @return 用户名，未登录时返回null
+     */
+    public static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ljp.xjt.datasource;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+/**
+ * 写语句拦截器
+ * <p>
+ * 任何MyBatis写语句执行成功后记录当前用户的写入时间，开启写后固定主库窗口。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class PrimaryStickinessInterceptor implements Interceptor {
+
+    private final PrimaryStickiness primaryStickiness;
+
+    public PrimaryStickinessInterceptor(PrimaryStickiness primaryStickiness) {
+        this.primaryStickiness = primaryStickiness;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        primaryStickiness.markWrite();
+        return result;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ljp.xjt.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记必须读主库的方法
+ * <p>
+ * 开启读写分离后，标注的方法在执行期间获取的连接一律路由到主库，优先于只读事务与 {@link ReadReplica}。
+ * 用于登录、刷新令牌等认证与凭据查询：调用方此时尚未登录，写后固定主库窗口不生效，
+ * 从库延迟会让刚注册的用户查不到、刚修改的密码不生效。
+ * 外层调用已在从库取得连接时（如外层只读事务已执行过语句）无法切换，应标注在最外层的服务方法上。
+ * 未开启读写分离时无任何效果。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ReadPrimary {
+}
@@ -0,0 +1,26 @@
+package com.ljp.xjt.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记可由只读从库执行的读方法
+ * <p>
+ * 开启读写分离后，标注的方法（或标注类的全部公共方法）在执行期间获取的连接路由到从库；
+ * 处于读写事务中、当前用户处于写后固定主库窗口内，或没有健康从库时仍使用主库。
+ * 只读事务（{@code @Transactional(readOnly = true)}）无需标注即路由到从库。
+ * 未开启读写分离时无任何效果。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ReadReplica {
+}
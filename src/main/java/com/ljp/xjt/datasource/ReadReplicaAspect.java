@@ -0,0 +1,42 @@
+package com.ljp.xjt.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * 从库读方法切面
+ * <p>
+ * 在 {@link ReadReplica} 标注的方法执行期间标记当前线程可读从库，在 {@link ReadPrimary} 标注的方法执行期间标记只能读主库，
+ * 由 {@link ReplicaRoutingDataSource} 据此选择连接池。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Aspect
+@Component
+public class ReadReplicaAspect {
+
+    @Around("@annotation(com.ljp.xjt.datasource.ReadReplica) || @within(com.ljp.xjt.datasource.ReadReplica)")
+    public Object routeToReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        DataSourceRouteContext.enterReplicaRead();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DataSourceRouteContext.exitReplicaRead();
+        }
+    }
+
+    @Around("@annotation(com.ljp.xjt.datasource.ReadPrimary) || @within(com.ljp.xjt.datasource.ReadPrimary)")
+    public Object routeToPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        DataSourceRouteContext.enterPrimaryRead();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DataSourceRouteContext.exitPrimaryRead();
+        }
+    }
+}
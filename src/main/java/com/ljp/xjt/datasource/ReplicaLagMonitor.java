@@ -0,0 +1,176 @@
+package com.ljp.xjt.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 从库复制延迟监控
+ * <p>
+ * 定期在各从库执行 SHOW REPLICA STATUS（旧版本回退为 SHOW SLAVE STATUS）读取复制延迟：
+ * 延迟超过上限、复制线程停止或从库不可连接时将其标记为不可用，读请求回退到其他从库或主库，恢复后自动重新启用。
+ * 未配置复制的实例（如本地两个独立数据库）视为无延迟。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * 从库复制延迟（秒），复制停止或不可连接时为-1
+     */
+    public static final String REPLICA_LAG_GAUGE = "xjt.datasource.replica.lag";
+
+    /**
+     * 从库是否参与读路由：1-可用，0-不可用
+     */
+    public static final String REPLICA_AVAILABLE_GAUGE = "xjt.datasource.replica.available";
+
+    private static final String[] LAG_COLUMNS = {"Seconds_Behind_Source", "Seconds_Behind_Master"};
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicaDataSources, Duration maxLag, MeterRegistry meterRegistry) {
+        this.maxLagSeconds = maxLag.toSeconds();
+        replicaDataSources.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            replicas.add(replica);
+            Gauge.builder(REPLICA_LAG_GAUGE, replica, r -> r.lagSeconds)
+                    .description("Replication lag of a read replica")
+                    .baseUnit("seconds")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+            Gauge.builder(REPLICA_AVAILABLE_GAUGE, replica, r -> r.available ? 1 : 0)
+                    .description("Whether a read replica receives read traffic")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * 轮询选择一个可用从库
+     *
+     * @return 从库名称，没有可用从库时返回null
+     */
+    public String nextAvailable() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica.name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 检查全部从库的复制延迟
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.datasource.routing.lag-check-interval:PT5S}")
+    public void check() {
+        for (Replica replica : replicas) {
+            long lag = lagSeconds(replica);
+            boolean available = lag >= 0 && lag <= maxLagSeconds;
+            if (available != replica.available) {
+                if (available) {
+                    log.info("Read replica {} is available again (lag {}s)", replica.name, lag);
+                } else {
+                    log.warn("Read replica {} is unavailable (lag {}s, limit {}s), reads fall back", replica.name, lag, maxLagSeconds);
+                }
+            }
+            replica.lagSeconds = lag;
+            replica.available = available;
+        }
+    }
+
+    /**
+     * 当前各从库状态
+     *
+     * @return 从库状态列表
+     */
+    public List<Replica> getReplicas() {
+        return List.copyOf(replicas);
+    }
+
+    /**
+     * 读取复制延迟
+     *
+     * @return 延迟秒数；未配置复制时为0；复制停止或查询失败时为-1
+     */
+    private long lagSeconds(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rs = replicaStatus(statement)) {
+                if (!rs.next()) {
+                    return 0;
+                }
+                String column = lagColumn(rs.getMetaData());
+                if (column == null) {
+                    return 0;
+                }
+                long lag = rs.getLong(column);
+                return rs.wasNull() ? -1 : lag;
+            }
+        } catch (SQLException ex) {
+            log.warn("Failed to check replication lag of {}: {}", replica.name, ex.getMessage());
+            return -1;
+        }
+    }
+
+    private static ResultSet replicaStatus(Statement statement) throws SQLException {
+        try {
+            return statement.executeQuery("SHOW REPLICA STATUS");
+        } catch (SQLException ex) {
+            return statement.executeQuery("SHOW SLAVE STATUS");
+        }
+    }
+
+    private static String lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String label = metaData.getColumnLabel(i);
+            for (String column : LAG_COLUMNS) {
+                if (column.equalsIgnoreCase(label)) {
+                    return label;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 单个从库的状态
+     */
+    @Getter
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long lagSeconds;
+        private volatile boolean available = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ljp.xjt.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 读写分离路由数据源
+ * <p>
+ * 每次获取连接时按以下顺序选择连接池：
+ * 1. 读写事务中，或不在只读事务且未标注 {@link ReadReplica} 的调用：主库；
+ * 2. 标注 {@link ReadPrimary} 的认证与凭据查询：主库；
+ * 3. 当前用户处于写后固定主库窗口内：主库；
+ * 4. 轮询一个复制延迟未超限的从库，没有可用从库时回退到主库。
+ * 须由 LazyConnectionDataSourceProxy 包装：事务开始时只读标记尚未设置，延迟到执行第一条语句时再取连接才能按只读路由。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    /**
+     * 连接路由次数，按目标连接池与原因打标签
+     */
+    public static final String ROUTE_COUNTER = "xjt.datasource.route";
+
+    public static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> pools;
+    @Getter
+    private final ReplicaLagMonitor lagMonitor;
+    private final PrimaryStickiness primaryStickiness;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaLagMonitor lagMonitor,
+                                    PrimaryStickiness primaryStickiness, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryStickiness = primaryStickiness;
+        this.meterRegistry = meterRegistry;
+        this.pools = new HashMap<>(replicas);
+        this.pools.put(PRIMARY, primary);
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnlyTransaction = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        if (inTransaction && !readOnlyTransaction) {
+            return route(PRIMARY, "write");
+        }
+        if (!readOnlyTransaction && !DataSourceRouteContext.isReplicaRead()) {
+            return route(PRIMARY, "default");
+        }
+        if (DataSourceRouteContext.isPrimaryRead()) {
+            return route(PRIMARY, "pinned");
+        }
+        if (primaryStickiness.isSticky()) {
+            return route(PRIMARY, "sticky");
+        }
+        String replica = lagMonitor.nextAvailable();
+        return replica == null ? route(PRIMARY, "fallback") : route(replica, "read");
+    }
+
+    private String route(String pool, String reason) {
+        counters.computeIfAbsent(pool + '/' + reason, key -> Counter.builder(ROUTE_COUNTER)
+                .description("Connections routed to each pool")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(meterRegistry)).increment();
+        return pool;
+    }
+
+    /**
+     * 关闭全部连接池
+     */
+    @Override
+    public void close() {
+        pools.forEach((name, pool) -> {
+            if (pool instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Failed to close data source {}", name, ex);
+                }
+            }
+        });
+    }
+}
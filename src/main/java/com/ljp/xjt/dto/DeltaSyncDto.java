@@ -0,0 +1,28 @@
+package com.ljp.xjt.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 增量同步结果数据传输对象
+ * <p>
+ * full 为true时 changed 是完整列表，客户端应替换本地缓存；否则按ID合并 changed、移除 deletedIds。
+ * 下次请求以 watermark 作为 since；watermark 比查询开始时间早一个重叠窗口，
+ * 窗口内的记录可能重复返回，客户端按ID覆盖即可。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ *
+ * @param <T> 记录类型
+ */
+@Data
+public class DeltaSyncDto<T> {
+
+    private boolean full;           // 是否为全量结果
+    private List<T> changed;        // 新增或修改的记录，全量时为完整列表
+    private List<Long> deletedIds;  // 已删除的记录ID
+    private long watermark;         // 下次请求的since（毫秒时间戳）
+}
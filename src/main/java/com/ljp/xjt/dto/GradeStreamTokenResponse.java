@@ -0,0 +1,29 @@
+package com.ljp.xjt.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 成绩推送连接令牌响应DTO
+ * <p>
+ * 浏览器 EventSource 无法设置请求头，以 GET /grades/stream?token= 携带该令牌建立连接。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "成绩推送连接令牌")
+public class GradeStreamTokenResponse {
+
+    @Schema(description = "连接令牌，只能用于建立成绩推送连接", example = "eyJhbGciOiJIUzI1NiJ9.eyJwdXJwb3NlIjoiZ3JhZGUtc3RyZWFtIn0.abcdef")
+    private String token;
+
+    @Schema(description = "有效期（秒），只需在建立连接时有效", example = "60")
+    private long expiresIn;
+}
@@ -0,0 +1,45 @@
+package com.ljp.xjt.dto;
+
+import com.ljp.xjt.search.SearchEntityType;
+import com.ljp.xjt.search.SearchField;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 检索建议数据传输对象
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchSuggestionDto {
+
+    /**
+     * 实体类型
+     */
+    private SearchEntityType type;
+
+    /**
+     * 实体ID
+     */
+    private Long id;
+
+    /**
+     * 名称
+     */
+    private String name;
+
+    /**
+     * 编号
+     */
+    private String code;
+
+    /**
+     * 命中的字段
+     */
+    private SearchField matchedField;
+}
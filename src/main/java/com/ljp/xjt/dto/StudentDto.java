@@ -28,6 +28,9 @@ public class StudentDto {
     @Schema(description = "学生ID", example = "1")
     private Long studentId;
 
+    @Schema(description = "用户ID", example = "1")
+    private Long userId;
+
     @Schema(description = "学号", example = "20230001")
     private String studentNumber;
 
@@ -42,4 +45,7 @@ public class StudentDto {
 
     @Schema(description = "课程成绩", example = "88.50")
     private BigDecimal score;
+
+    @Schema(description = "头像URL")
+    private String avatarUrl;
 } 
\ No newline at end of file
@@ -47,4 +47,10 @@ public class TeachingAssignmentDto {
 
     @Schema(description = "学年", example = "2024")
     private Integer year;
+
+    @Schema(description = "上课时间", example = "1-16周周一1-2节")
+    private String scheduleTime;
+
+    @Schema(description = "教室", example = "教学楼A101")
+    private String classroom;
 } 
\ No newline at end of file
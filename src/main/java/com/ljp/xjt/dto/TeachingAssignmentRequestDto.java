@@ -3,6 +3,7 @@ package com.ljp.xjt.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 /**
@@ -35,4 +36,12 @@ public class TeachingAssignmentRequestDto {
     @NotNull(message = "学年不能为空")
     @Schema(description = "学年", example = "2024", required = true)
     private Integer year;
+
+    @Size(max = 64, message = "上课时间长度不能超过64个字符")
+    @Schema(description = "上课时间，多段以逗号分隔，可带周次与单双周；为空时不检查时间冲突", example = "1-16周周一1-2节,周三3-4节")
+    private String scheduleTime;
+
+    @Size(max = 64, message = "教室长度不能超过64个字符")
+    @Schema(description = "教室，为空时不检查教室冲突", example = "教学楼A101")
+    private String classroom;
 } 
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.ljp.xjt.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 学期课表校验结果数据传输对象
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@Schema(description = "学期课表校验结果")
+public class TimetableValidationDto {
+
+    @Schema(description = "学年", example = "2024")
+    private Integer year;
+
+    @Schema(description = "学期", example = "2024-2025-1")
+    private String semester;
+
+    @Schema(description = "参与校验的排课数（已填写上课时间）")
+    private int assignments;
+
+    @Schema(description = "冲突检查耗时（毫秒），不含查询")
+    private double checkMillis;
+
+    @Schema(description = "冲突列表，每对冲突的排课在每个资源上出现一次")
+    private List<Conflict> conflicts = new ArrayList<>();
+
+    @Schema(description = "上课时间无法解析的排课")
+    private List<InvalidSchedule> invalidSchedules = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "排课冲突")
+    public static class Conflict {
+
+        @Schema(description = "冲突资源：TEACHER/CLASS/CLASSROOM")
+        private String resource;
+
+        @Schema(description = "教师ID、班级ID或教室")
+        private String resourceKey;
+
+        @Schema(description = "排课ID")
+        private Long assignmentId;
+
+        @Schema(description = "与之冲突的排课ID（ID较小者）")
+        private Long conflictingAssignmentId;
+
+        @Schema(description = "第一个重叠时段", example = "第1周周一第1节")
+        private String firstSlot;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "上课时间无法解析的排课")
+    public static class InvalidSchedule {
+
+        @Schema(description = "排课ID")
+        private Long assignmentId;
+
+        @Schema(description = "上课时间")
+        private String scheduleTime;
+
+        @Schema(description = "错误原因")
+        private String reason;
+    }
+}
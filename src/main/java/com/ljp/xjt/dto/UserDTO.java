@@ -24,6 +24,7 @@ public class UserDTO {
     private String email;
     private String phone;
     private Integer status;
+    private String avatarUrl;
     private LocalDateTime createdTime;
     private LocalDateTime updatedTime;
     private Set<Role> roles;
@@ -0,0 +1,38 @@
+package com.ljp.xjt.dto.convert;
+
+import com.ljp.xjt.dto.ClassDto;
+import com.ljp.xjt.entity.Classes;
+
+/**
+ * 班级DTO转换器
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public final class ClassConverter {
+
+    private ClassConverter() {
+    }
+
+    /**
+     * 班级实体转换为DTO
+     *
+     * @param classes   班级实体
+     * @param majorName 专业名称
+     * @return 班级DTO
+     */
+    public static ClassDto toDto(Classes classes, String majorName) {
+        ClassDto dto = new ClassDto();
+        dto.setId(classes.getId());
+        dto.setClassName(classes.getClassName());
+        dto.setClassCode(classes.getClassCode());
+        dto.setGradeYear(classes.getGradeYear());
+        dto.setMajorId(classes.getMajorId());
+        dto.setMajorName(majorName);
+        dto.setAdvisorTeacherId(classes.getAdvisorTeacherId());
+        dto.setCreatedTime(classes.getCreatedTime());
+        dto.setUpdatedTime(classes.getUpdatedTime());
+        return dto;
+    }
+}
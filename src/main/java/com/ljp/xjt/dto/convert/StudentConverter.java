@@ -0,0 +1,71 @@
+package com.ljp.xjt.dto.convert;
+
+import com.ljp.xjt.dto.StudentDTO;
+import com.ljp.xjt.dto.StudentProfileDTO;
+import com.ljp.xjt.entity.Student;
+import com.ljp.xjt.entity.User;
+
+/**
+ * 学生DTO转换器
+ * <p>
+ * 以显式赋值代替 BeanUtils.copyProperties 的反射复制，字段增减时在此处同步维护。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public final class StudentConverter {
+
+    private StudentConverter() {
+    }
+
+    /**
+     * 学生实体转换为列表DTO
+     *
+     * @param student   学生实体
+     * @param className 班级名称，未分配班级时为null
+     * @return 学生DTO
+     */
+    public static StudentDTO toDto(Student student, String className) {
+        StudentDTO dto = new StudentDTO();
+        dto.setId(student.getId());
+        dto.setUserId(student.getUserId());
+        dto.setStudentNumber(student.getStudentNumber());
+        dto.setStudentName(student.getStudentName());
+        dto.setGender(student.getGender());
+        dto.setBirthDate(student.getBirthDate());
+        dto.setClassId(student.getClassId());
+        dto.setClassName(className);
+        dto.setCreatedTime(student.getCreatedTime());
+        dto.setUpdatedTime(student.getUpdatedTime());
+        return dto;
+    }
+
+    /**
+     * 学生与用户实体合并为个人资料DTO
+     * <p>
+     * ID取学生ID，创建与更新时间取用户账号的时间。
+     * </p>
+     *
+     * @param student 学生实体
+     * @param user    学生的用户实体
+     * @return 个人资料DTO
+     */
+    public static StudentProfileDTO toProfile(Student student, User user) {
+        StudentProfileDTO dto = new StudentProfileDTO();
+        dto.setId(student.getId());
+        dto.setUserId(student.getUserId());
+        dto.setStudentNumber(student.getStudentNumber());
+        dto.setStudentName(student.getStudentName());
+        dto.setGender(student.getGender());
+        dto.setBirthDate(student.getBirthDate());
+        dto.setClassId(student.getClassId());
+        dto.setUsername(user.getUsername());
+        dto.setEmail(user.getEmail());
+        dto.setPhone(user.getPhone());
+        dto.setCreatedTime(user.getCreatedTime());
+        dto.setUpdatedTime(user.getUpdatedTime());
+        return dto;
+    }
+}
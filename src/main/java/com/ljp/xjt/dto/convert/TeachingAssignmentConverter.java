@@ -0,0 +1,35 @@
+package com.ljp.xjt.dto.convert;
+
+import com.ljp.xjt.dto.TeachingAssignmentRequestDto;
+import com.ljp.xjt.entity.TeachingAssignment;
+import com.ljp.xjt.timetable.TimetableOccupancy;
+import org.springframework.util.StringUtils;
+
+/**
+ * 排课DTO转换器
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public final class TeachingAssignmentConverter {
+
+    private TeachingAssignmentConverter() {
+    }
+
+    /**
+     * 将排课请求的字段写入排课实体，ID与时间字段保持不变
+     *
+     * @param request 排课请求
+     * @param target  待写入的排课实体
+     */
+    public static void copy(TeachingAssignmentRequestDto request, TeachingAssignment target) {
+        target.setTeacherId(request.getTeacherId());
+        target.setCourseId(request.getCourseId());
+        target.setClassId(request.getClassId());
+        target.setSemester(request.getSemester());
+        target.setYear(request.getYear());
+        target.setScheduleTime(StringUtils.hasText(request.getScheduleTime()) ? request.getScheduleTime().trim() : null);
+        target.setClassroom(TimetableOccupancy.classroomKey(request.getClassroom()));
+    }
+}
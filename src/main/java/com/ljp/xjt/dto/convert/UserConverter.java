@@ -0,0 +1,35 @@
+package com.ljp.xjt.dto.convert;
+
+import com.ljp.xjt.dto.UserDTO;
+import com.ljp.xjt.entity.User;
+
+/**
+ * 用户DTO转换器
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public final class UserConverter {
+
+    private UserConverter() {
+    }
+
+    /**
+     * 用户实体转换为DTO，不复制密码；角色与头像URL由调用方填充
+     *
+     * @param user 用户实体
+     * @return 用户DTO
+     */
+    public static UserDTO toDto(User user) {
+        UserDTO dto = new UserDTO();
+        dto.setId(user.getId());
+        dto.setUsername(user.getUsername());
+        dto.setEmail(user.getEmail());
+        dto.setPhone(user.getPhone());
+        dto.setStatus(user.getStatus());
+        dto.setCreatedTime(user.getCreatedTime());
+        dto.setUpdatedTime(user.getUpdatedTime());
+        return dto;
+    }
+}
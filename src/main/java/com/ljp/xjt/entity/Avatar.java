@@ -68,6 +68,24 @@ public class Avatar implements Serializable {
     @TableField("content_type")
     private String contentType;
 
+    /**
+     * 原图头像ID（缩略图记录指向其原图，原图为null）
+     */
+    @TableField("parent_id")
+    private Long parentId;
+
+    /**
+     * 缩略图边长（像素，原图为null）
+     */
+    @TableField("variant_size")
+    private Integer variantSize;
+
+    /**
+     * 缩略图任务是否已结束（原图有效；已生成、无需或无法生成时为true）
+     */
+    @TableField("thumbnails_done")
+    private Boolean thumbnailsDone;
+
     /**
      * 创建时间
      */
@@ -0,0 +1,49 @@
+package com.ljp.xjt.entity;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 文件内容实体类
+ * <p>
+ * 对应数据库表：file_blobs
+ * 以内容的SHA-256为主键记录已存储的文件内容及其引用计数，相同内容只存储一份
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("file_blobs")
+public class FileBlob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @TableId(value = "hash", type = IdType.INPUT)
+    private String hash;                // 内容SHA-256（十六进制）
+
+    @TableField("file_size")
+    private Long fileSize;              // 文件大小（字节）
+
+    @TableField("content_type")
+    private String contentType;         // 文件类型 (MIME)
+
+    @TableField("ref_count")
+    private Integer refCount;           // 引用计数，归零后等待垃圾回收
+
+    @TableField(value = "created_time", fill = FieldFill.INSERT)
+    private LocalDateTime createdTime;  // 创建时间
+
+    @TableField(value = "updated_time", fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updatedTime;  // 更新时间
+}
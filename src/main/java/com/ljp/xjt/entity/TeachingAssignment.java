@@ -46,6 +46,12 @@ public class TeachingAssignment implements Serializable {
     @TableField("year")
     private Integer year;
 
+    @TableField("schedule_time")
+    private String scheduleTime;
+
+    @TableField("classroom")
+    private String classroom;
+
     @TableField(value = "created_time", fill = FieldFill.INSERT)
     private LocalDateTime createdTime;
 } 
\ No newline at end of file
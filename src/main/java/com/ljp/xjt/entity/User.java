@@ -41,6 +41,9 @@ public class User {
     @TableField("status")
     private Integer status;             // 账号状态：0-禁用，1-正常
 
+    @TableField("avatar_id")
+    private Long avatarId;              // 当前头像ID，上传头像时更新
+
     @TableField(value = "created_time", fill = FieldFill.INSERT)
     private LocalDateTime createdTime;  // 创建时间
 
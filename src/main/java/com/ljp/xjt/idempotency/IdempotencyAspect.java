@@ -0,0 +1,229 @@
+package com.ljp.xjt.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ljp.xjt.common.exception.BusinessException;
+import com.ljp.xjt.config.IdempotencyProperties;
+import com.ljp.xjt.security.SecurityUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 幂等请求切面
+ * <p>
+ * 在 {@link Idempotent} 标注的方法执行前，以（用户、接口、Idempotency-Key）为键在Redis中写入处理中标记（SET NX），
+ * 写入成功的请求执行方法并把响应序列化后覆盖该标记，保留 app.idempotency.ttl；
+ * 其余请求发现已有响应时直接返回；发现标记处理中时在请求线程上短暂轮询（最长 app.idempotency.wait-timeout，
+ * 不超过1秒），仍未完成则返回409并附带 Retry-After，由客户端稍后重试，不在重试风暴中长时间占用Tomcat线程。
+ * 方法抛出异常时删除标记，客户端可用同一个键重试。
+ * 同一个键用于参数不同的请求时返回422，避免把上一次请求的结果当作本次结果。
+ * Redis不可用时不做去重，直接执行。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Aspect
+@Component
+public class IdempotencyAspect {
+
+    /**
+     * 请求头名称
+     */
+    public static final String HEADER = "Idempotency-Key";
+
+    /**
+     * 返回缓存响应时附加的响应头
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * 带 Idempotency-Key 的请求数，outcome 标签区分：executed 执行、replayed 直接返回已有响应、
+     * waited 等待首个请求后返回其响应、conflict 等待超时、mismatch 参数不一致、bypassed Redis不可用未去重
+     */
+    public static final String REQUEST_COUNTER = "xjt.idempotency.requests";
+
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final Duration MAX_WAIT_TIMEOUT = Duration.ofSeconds(1);
+    private static final String PENDING = "PENDING";
+    private static final String DONE = "DONE";
+
+    /**
+     * 仅当标记仍为本请求写入的处理中标记时删除，避免删掉标记过期后其他请求写入的记录
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyAspect(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                             IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Redis中保存的记录
+     *
+     * @param state       处理中或已完成
+     * @param owner       写入处理中标记的请求标识
+     * @param fingerprint 请求参数摘要
+     * @param response    已完成时的响应JSON
+     */
+    private record Entry(String state, String owner, String fingerprint, String response) {
+    }
+
+    @Around("@annotation(com.ljp.xjt.idempotency.Idempotent)")
+    public Object deduplicate(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        String idempotencyKey = attributes == null ? null : attributes.getRequest().getHeader(HEADER);
+        if (idempotencyKey == null) {
+            return joinPoint.proceed();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(400, HEADER + " 长度须为1到" + MAX_KEY_LENGTH + "个字符");
+        }
+
+        // 1. 键按用户与接口隔离，参数摘要用于识别同一个键被用于不同请求
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String redisKey = properties.getKeyPrefix() + currentUserScope() + ":"
+                + signature.getDeclaringType().getSimpleName() + "." + signature.getName() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(joinPoint.getArgs());
+        String pending = objectMapper.writeValueAsString(
+                new Entry(PENDING, UUID.randomUUID().toString(), fingerprint, null));
+
+        Duration waitTimeout = properties.getWaitTimeout().compareTo(MAX_WAIT_TIMEOUT) > 0
+                ? MAX_WAIT_TIMEOUT : properties.getWaitTimeout();
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        boolean waited = false;
+        while (true) {
+            // 2. 写入处理中标记，成功者执行
+            Boolean acquired;
+            try {
+                acquired = redisTemplate.opsForValue().setIfAbsent(redisKey, pending, properties.getLockTtl());
+            } catch (DataAccessException ex) {
+                log.warn("Idempotency store unavailable, executing {} without deduplication: {}",
+                        signature.getName(), ex.getMessage());
+                count("bypassed");
+                return joinPoint.proceed();
+            }
+            if (Boolean.TRUE.equals(acquired)) {
+                return execute(joinPoint, redisKey, pending, fingerprint);
+            }
+
+            // 3. 已有记录：参数一致时返回已有响应，处理中则继续等待；记录消失说明首个请求失败，重新抢占
+            String raw = redisTemplate.opsForValue().get(redisKey);
+            if (raw != null) {
+                Entry entry = objectMapper.readValue(raw, Entry.class);
+                if (!fingerprint.equals(entry.fingerprint())) {
+                    count("mismatch");
+                    throw new BusinessException(422, HEADER + " 已用于参数不同的请求");
+                }
+                if (DONE.equals(entry.state())) {
+                    count(waited ? "waited" : "replayed");
+                    if (attributes.getResponse() != null) {
+                        attributes.getResponse().setHeader(REPLAYED_HEADER, "true");
+                    }
+                    JavaType type = objectMapper.constructType(signature.getMethod().getGenericReturnType());
+                    return objectMapper.readValue(entry.response(), type);
+                }
+                if (System.nanoTime() >= deadline) {
+                    count("conflict");
+                    if (attributes.getResponse() != null) {
+                        attributes.getResponse().setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds());
+                    }
+                    throw new BusinessException(409, "相同 " + HEADER + " 的请求仍在处理中，请稍后重试");
+                }
+                waited = true;
+                Thread.sleep(properties.getPollInterval().toMillis());
+            }
+        }
+    }
+
+    private Object execute(ProceedingJoinPoint joinPoint, String redisKey, String pending, String fingerprint)
+            throws Throwable {
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            release(redisKey, pending);
+            throw ex;
+        }
+        count("executed");
+        try {
+            String response = objectMapper.writeValueAsString(result);
+            redisTemplate.opsForValue().set(redisKey,
+                    objectMapper.writeValueAsString(new Entry(DONE, null, fingerprint, response)), properties.getTtl());
+        } catch (JsonProcessingException | DataAccessException ex) {
+            // 结果未能保存时删除标记，重试会重新执行
+            log.warn("Failed to store idempotent response for {}: {}", redisKey, ex.getMessage());
+            release(redisKey, pending);
+        }
+        return result;
+    }
+
+    private String retryAfterSeconds() {
+        long millis = properties.getRetryAfter().toMillis();
+        return String.valueOf(Math.max(1, (millis + 999) / 1000));
+    }
+
+    private void release(String redisKey, String pending) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(redisKey), pending);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to release idempotency lock {}: {}", redisKey, ex.getMessage());
+        }
+    }
+
+    private String currentUserScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof SecurityUser securityUser) {
+            return String.valueOf(securityUser.getUser().getId());
+        }
+        return "anonymous";
+    }
+
+    private String fingerprint(Object[] args) throws JsonProcessingException, NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(args));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private void count(String outcome) {
+        Counter.builder(REQUEST_COUNTER)
+                .description("Requests carrying an Idempotency-Key")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
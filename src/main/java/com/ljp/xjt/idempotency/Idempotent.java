@@ -0,0 +1,25 @@
+package com.ljp.xjt.idempotency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记支持 Idempotency-Key 请求头的写接口
+ * <p>
+ * 请求带 Idempotency-Key 时，同一用户对同一接口使用相同键的重试不再重复执行，而是返回首次执行的响应；
+ * 首次请求仍在处理时，重复请求等待其结果。不带该请求头时与未标注相同。
+ * 标注的方法须返回可由JSON反序列化的类型（通常为 ApiResponse）。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Idempotent {
+}
@@ -0,0 +1,37 @@
+package com.ljp.xjt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 文件上传/读取事件
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Name("com.ljp.xjt.FileTransfer")
+@Label("File Transfer")
+@Category({"XJT", "File"})
+@Description("Upload of a file or resolution of a stored file for serving")
+@StackTrace(false)
+public class FileTransferEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("User ID")
+    public long userId;
+
+    @Label("File Name")
+    public String fileName;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
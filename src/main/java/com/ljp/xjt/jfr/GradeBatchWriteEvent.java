@@ -0,0 +1,32 @@
+package com.ljp.xjt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 成绩批量写入事件
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Name("com.ljp.xjt.GradeBatchWrite")
+@Label("Grade Batch Write")
+@Category({"XJT", "Grade"})
+@Description("Bulk creation or update of grades")
+@StackTrace(false)
+public class GradeBatchWriteEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Teacher ID")
+    public long teacherId;
+
+    @Label("Row Count")
+    public int rowCount;
+}
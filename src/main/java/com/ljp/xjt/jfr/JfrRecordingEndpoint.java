@@ -0,0 +1,171 @@
+package com.ljp.xjt.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JFR录制管理端点
+ * <p>
+ * 通过 /actuator/jfr 启动、停止和下载一个有界的飞行记录：
+ * GET 查看状态，POST 启动（可指定时长与大小上限），DELETE 停止，GET /actuator/jfr/recording 下载。
+ * 录制使用JDK自带的 default 配置（开销约1%以内）并开启本系统的全部自定义事件；
+ * 未录制时自定义事件的 begin/commit 只是一次开关判断，几乎没有开销。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final String RECORDING_NAME = "xjt";
+    private static final Duration DEFAULT_DURATION = Duration.ofMinutes(5);
+    private static final Duration MAX_DURATION = Duration.ofMinutes(30);
+    private static final long DEFAULT_MAX_SIZE_MB = 64;
+    private static final long MAX_SIZE_MB = 256;
+
+    private Recording recording;
+    private Path lastDump;
+
+    /**
+     * 查看录制状态
+     *
+     * @return 录制状态
+     */
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("duration", recording.getDuration());
+        status.put("maxSize", recording.getMaxSize());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    /**
+     * 启动录制，已有录制在进行时先停止
+     *
+     * @param durationSeconds 录制时长（秒），默认5分钟，最长30分钟
+     * @param maxSizeMb       录制大小上限（MB），默认64MB，最大256MB
+     * @return 录制状态
+     */
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Long durationSeconds, @Nullable Long maxSizeMb) {
+        closeRecording();
+
+        Duration duration = durationSeconds == null ? DEFAULT_DURATION : Duration.ofSeconds(durationSeconds);
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(MAX_DURATION) > 0) {
+            duration = MAX_DURATION;
+        }
+        long sizeMb = maxSizeMb == null || maxSizeMb <= 0 ? DEFAULT_MAX_SIZE_MB : Math.min(maxSizeMb, MAX_SIZE_MB);
+
+        try {
+            Recording newRecording = new Recording(Configuration.getConfiguration("default"));
+            newRecording.setName(RECORDING_NAME);
+            newRecording.setDuration(duration);
+            newRecording.setMaxSize(sizeMb * 1024 * 1024);
+            newRecording.setToDisk(true);
+            // 停止后保留数据以便下载，直到下一次启动或下载后被替换
+            newRecording.setDumpOnExit(false);
+            for (Class<?> eventClass : new Class<?>[]{JwtVerificationEvent.class, PrincipalLoadEvent.class,
+                    PermissionCheckEvent.class, GradeBatchWriteEvent.class, StatisticsComputationEvent.class,
+                    FileTransferEvent.class}) {
+                newRecording.enable(eventClass.getName()).withoutStackTrace();
+            }
+            newRecording.start();
+            recording = newRecording;
+            log.info("JFR recording started, duration {}, max size {} MB", duration, sizeMb);
+        } catch (IOException | ParseException ex) {
+            throw new IllegalStateException("Could not start JFR recording", ex);
+        }
+        return status();
+    }
+
+    /**
+     * 停止录制，已录制的数据保留以供下载
+     *
+     * @return 录制状态
+     */
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("JFR recording stopped");
+        }
+        return status();
+    }
+
+    /**
+     * 下载录制数据（录制中下载得到截至当前的快照）
+     *
+     * @param name 固定为 recording
+     * @return JFR文件
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized Resource download(@Selector String name) {
+        if (recording == null || !"recording".equals(name)) {
+            return null;
+        }
+        try {
+            deleteLastDump();
+            lastDump = Files.createTempFile("xjt-", ".jfr");
+            recording.dump(lastDump);
+            return new FileSystemResource(lastDump);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not dump JFR recording", ex);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void destroy() {
+        closeRecording();
+        deleteLastDump();
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private void deleteLastDump() {
+        if (lastDump != null) {
+            try {
+                Files.deleteIfExists(lastDump);
+            } catch (IOException ex) {
+                log.warn("Could not delete JFR dump {}", lastDump, ex);
+            }
+            lastDump = null;
+        }
+    }
+}
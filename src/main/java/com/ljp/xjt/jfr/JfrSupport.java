@@ -0,0 +1,27 @@
+package com.ljp.xjt.jfr;
+
+/**
+ * JFR事件辅助工具类
+ * <p>
+ * JFR事件字段只支持基本类型与String，可为空的ID统一转换为0。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class JfrSupport {
+
+    private JfrSupport() {
+    }
+
+    /**
+     * 将可为空的ID转换为事件字段值
+     *
+     * @param id ID
+     * @return ID值，为空时返回0
+     */
+    public static long id(Long id) {
+        return id == null ? 0L : id;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ljp.xjt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JWT校验事件
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Name("com.ljp.xjt.JwtVerification")
+@Label("JWT Verification")
+@Category({"XJT", "Security"})
+@Description("Validation of a bearer token and extraction of its claims")
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("User ID")
+    public long userId;
+
+    @Label("Username")
+    public String username;
+
+    @Label("Valid")
+    public boolean valid;
+}
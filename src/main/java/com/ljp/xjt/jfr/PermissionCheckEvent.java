@@ -0,0 +1,35 @@
+package com.ljp.xjt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 教师授课权限校验事件
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Name("com.ljp.xjt.PermissionCheck")
+@Label("Permission Check")
+@Category({"XJT", "Security"})
+@Description("Verification that a teacher is assigned to a course and class")
+@StackTrace(false)
+public class PermissionCheckEvent extends Event {
+
+    @Label("Teacher ID")
+    public long teacherId;
+
+    @Label("Course ID")
+    public long courseId;
+
+    @Label("Class ID")
+    public long classId;
+
+    @Label("Granted")
+    public boolean granted;
+}
@@ -0,0 +1,29 @@
+package com.ljp.xjt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 用户主体加载事件
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Name("com.ljp.xjt.PrincipalLoad")
+@Label("Principal Load")
+@Category({"XJT", "Security"})
+@Description("Loading the user and authorities for an authenticated request")
+@StackTrace(false)
+public class PrincipalLoadEvent extends Event {
+
+    @Label("Username")
+    public String username;
+
+    @Label("Found")
+    public boolean found;
+}
@@ -0,0 +1,32 @@
+package com.ljp.xjt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 成绩统计计算事件
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Name("com.ljp.xjt.StatisticsComputation")
+@Label("Statistics Computation")
+@Category({"XJT", "Grade"})
+@Description("Computation of grade statistics and distribution for a class and course")
+@StackTrace(false)
+public class StatisticsComputationEvent extends Event {
+
+    @Label("Class ID")
+    public long classId;
+
+    @Label("Course ID")
+    public long courseId;
+
+    @Label("Score Count")
+    public int scoreCount;
+}
@@ -0,0 +1,197 @@
+package com.ljp.xjt.logging;
+
+import ch.qos.logback.classic.Level;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求级日志环形缓冲区
+ * <p>
+ * 请求处理期间被截留的DEBUG日志以原始格式串和参数快照入队，不做格式化；
+ * 仅当请求需要输出时才格式化，稳态下几乎没有字符串拼接与I/O开销。
+ * 格式化在请求结束后的输出线程上进行，参数中的可变对象在入队时转为字符串，
+ * 字符串、数值、日期时间等不可变值直接保留。
+ * 执行的SQL由语句拦截器通过 {@link #addStatement} 写入，不依赖开启映射语句的DEBUG日志。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class RequestLogBuffer {
+
+    private static final ThreadLocal<RequestLogBuffer> CURRENT = new ThreadLocal<>();
+
+    private static final String STATEMENT_FORMAT = "==> {} | Parameters: {} | {} ms";
+    private static final String STATEMENT_FAILED_FORMAT = "==> {} | Parameters: {} | failed after {} ms";
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final int capacity;
+    private final ArrayDeque<Entry> entries;
+    private final String thread;
+    private int dropped;
+
+    private RequestLogBuffer(int capacity) {
+        this.capacity = capacity;
+        this.entries = new ArrayDeque<>(Math.min(capacity, 64));
+        this.thread = Thread.currentThread().getName();
+    }
+
+    /**
+     * 为当前线程绑定缓冲区
+     *
+     * @param capacity 最大条数
+     * @return 缓冲区
+     */
+    public static RequestLogBuffer open(int capacity) {
+        RequestLogBuffer buffer = new RequestLogBuffer(capacity);
+        CURRENT.set(buffer);
+        return buffer;
+    }
+
+    /**
+     * 获取当前线程的缓冲区
+     *
+     * @return 缓冲区，不在请求中时返回null
+     */
+    public static RequestLogBuffer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 解绑当前线程的缓冲区
+     */
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 追加一条日志，缓冲区满时丢弃最早的一条
+     */
+    void add(Level level, String logger, String format, Object[] params, Throwable throwable) {
+        append(new Entry(System.currentTimeMillis(), level, logger, format, snapshot(params), throwable));
+    }
+
+    /**
+     * 追加一条已执行的SQL语句，以DEBUG级别、映射语句ID为Logger名输出
+     *
+     * @param statementId  映射语句ID
+     * @param sql          最终SQL
+     * @param parameters   绑定参数值，按占位符顺序
+     * @param elapsedNanos 执行耗时（纳秒）
+     * @param throwable    执行失败时的异常，成功时为null
+     */
+    public void addStatement(String statementId, String sql, Object[] parameters, long elapsedNanos, Throwable throwable) {
+        Object[] params = {new Sql(sql), snapshot(parameters), TimeUnit.NANOSECONDS.toMillis(elapsedNanos)};
+        append(new Entry(System.currentTimeMillis(), Level.DEBUG, statementId,
+                throwable == null ? STATEMENT_FORMAT : STATEMENT_FAILED_FORMAT, params, throwable));
+    }
+
+    private void append(Entry entry) {
+        if (entries.size() >= capacity) {
+            entries.pollFirst();
+            dropped++;
+        }
+        entries.addLast(entry);
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * 格式化缓冲区内容
+     *
+     * @return 多行文本，每条日志一行
+     */
+    public String render() {
+        StringBuilder sb = new StringBuilder(entries.size() * 120);
+        if (dropped > 0) {
+            sb.append("\n  ... ").append(dropped).append(" earlier entries dropped");
+        }
+        for (Entry entry : entries) {
+            Throwable throwable = entry.throwable;
+            String message;
+            try {
+                var tuple = MessageFormatter.arrayFormat(entry.format, entry.params, throwable);
+                message = tuple.getMessage();
+                throwable = tuple.getThrowable();
+            } catch (RuntimeException ex) {
+                message = entry.format;
+            }
+            sb.append("\n  ")
+                    .append(TIME_FORMAT.format(Instant.ofEpochMilli(entry.timestamp)))
+                    .append(" [").append(thread).append("] ")
+                    .append(entry.level).append(' ')
+                    .append(entry.logger).append(" - ")
+                    .append(message);
+            if (throwable != null) {
+                sb.append("\n    ").append(throwable);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 复制参数数组，可变对象转为字符串，避免输出时读到请求结束后被修改的值
+     */
+    private static Object[] snapshot(Object[] params) {
+        if (params == null || params.length == 0) {
+            return params;
+        }
+        Object[] copy = new Object[params.length];
+        for (int i = 0; i < params.length; i++) {
+            copy[i] = snapshot(params[i]);
+        }
+        return copy;
+    }
+
+    private static Object snapshot(Object value) {
+        if (value == null || value instanceof String || value instanceof Integer || value instanceof Long
+                || value instanceof Boolean || value instanceof Short || value instanceof Byte
+                || value instanceof Character || value instanceof Double || value instanceof Float
+                || value instanceof BigDecimal || value instanceof BigInteger || value instanceof Enum<?>
+                || value instanceof UUID || value instanceof Throwable
+                || "java.time".equals(value.getClass().getPackageName())) {
+            return value;
+        }
+        if (value instanceof Object[] array) {
+            return snapshot(array);
+        }
+        try {
+            if (value.getClass().isArray()) {
+                String text = Arrays.deepToString(new Object[]{value});
+                return text.substring(1, text.length() - 1);
+            }
+            return String.valueOf(value);
+        } catch (RuntimeException ex) {
+            return "[FAILED toString() of " + value.getClass().getName() + "]";
+        }
+    }
+
+    /**
+     * SQL文本，输出时才压缩映射文件中的换行与缩进
+     */
+    private record Sql(String text) {
+
+        @Override
+        public String toString() {
+            return text == null ? "" : text.replaceAll("\\s+", " ").trim();
+        }
+    }
+
+    private record Entry(long timestamp, Level level, String logger, String format, Object[] params,
+                         Throwable throwable) {
+    }
+}
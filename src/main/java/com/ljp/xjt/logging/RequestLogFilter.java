@@ -0,0 +1,150 @@
+package com.ljp.xjt.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.ljp.xjt.config.RequestLogProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求级缓冲日志过滤器
+ * <p>
+ * 为每个请求绑定日志缓冲区，请求内的DEBUG日志只进入缓冲区；请求结束后，
+ * 出现异常、响应5xx、耗时超过阈值或被抽样命中时，才把缓冲区交给后台线程格式化并整体输出，
+ * 其余请求直接丢弃缓冲区，稳态下调试日志不产生I/O。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    /**
+     * 输出缓冲日志使用的Logger
+     */
+    private static final Logger TRACE_LOG = LoggerFactory.getLogger("com.ljp.xjt.request-trace");
+
+    private final RequestLogProperties requestLogProperties;
+    private final TaskExecutor requestLogExecutor;
+    private RequestLogTurboFilter turboFilter;
+
+    public RequestLogFilter(RequestLogProperties requestLogProperties,
+                            @Qualifier("requestLogExecutor") TaskExecutor requestLogExecutor) {
+        this.requestLogProperties = requestLogProperties;
+        this.requestLogExecutor = requestLogExecutor;
+    }
+
+    /**
+     * 向Logback注册截留过滤器
+     */
+    @Override
+    protected void initFilterBean() {
+        if (!requestLogProperties.isEnabled() || turboFilter != null) {
+            return;
+        }
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (factory instanceof LoggerContext loggerContext) {
+            turboFilter = new RequestLogTurboFilter(requestLogProperties.getLoggers(),
+                    requestLogProperties.getExcludedLoggers(), requestLogProperties.getCaptureLevel());
+            turboFilter.setContext(loggerContext);
+            turboFilter.start();
+            loggerContext.addTurboFilter(turboFilter);
+            log.info("Request-scoped log buffering enabled for {} (excluding {})",
+                    requestLogProperties.getLoggers(), requestLogProperties.getExcludedLoggers());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (turboFilter != null && LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext) {
+            loggerContext.getTurboFilterList().remove(turboFilter);
+            turboFilter.stop();
+            turboFilter = null;
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return turboFilter == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestLogBuffer buffer = RequestLogBuffer.open(requestLogProperties.getCapacity());
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            RequestLogBuffer.close();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            String reason = flushReason(response, failure, elapsedMillis);
+            if (reason != null && !buffer.isEmpty()) {
+                flush(request, response, buffer, reason, elapsedMillis);
+            }
+        }
+    }
+
+    /**
+     * 判断是否需要输出缓冲区
+     *
+     * @return 输出原因，无需输出时返回null
+     */
+    private String flushReason(HttpServletResponse response, Throwable failure, long elapsedMillis) {
+        if (failure != null || response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+            return "error";
+        }
+        if (elapsedMillis >= requestLogProperties.getSlowThreshold().toMillis()) {
+            return "slow";
+        }
+        if (ThreadLocalRandom.current().nextDouble() < requestLogProperties.getSampleRate()) {
+            return "sampled";
+        }
+        return null;
+    }
+
+    /**
+     * 在后台线程格式化并输出缓冲区，队列已满时放弃
+     */
+    private void flush(HttpServletRequest request, HttpServletResponse response, RequestLogBuffer buffer,
+                       String reason, long elapsedMillis) {
+        String method = request.getMethod();
+        String uri = request.getRequestURI();
+        int status = response.getStatus();
+        try {
+            requestLogExecutor.execute(() -> {
+                if ("sampled".equals(reason)) {
+                    TRACE_LOG.info("[{}] {} {} -> {} in {} ms{}", reason, method, uri, status, elapsedMillis, buffer.render());
+                } else {
+                    TRACE_LOG.warn("[{}] {} {} -> {} in {} ms{}", reason, method, uri, status, elapsedMillis, buffer.render());
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            log.debug("Request log queue is full, dropping trace of {} {}", method, uri);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ljp.xjt.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.List;
+
+/**
+ * 请求级日志截留过滤器
+ * <p>
+ * Logback的TurboFilter在级别判断之前执行：当前线程绑定了请求缓冲区时，
+ * 指定前缀Logger不低于缓冲级别（最低DEBUG）的日志写入缓冲区并拒绝输出（无论配置级别如何都会被记录下来），
+ * INFO及以上级别、低于缓冲级别、排除前缀和不在请求中的日志保持原有行为。
+ * </p>
+ * <p>
+ * isDebugEnabled() 之类不携带格式串的级别检查不放行，仍按配置级别判断：
+ * 调用方不会因此构造昂贵的日志内容，MyBatis也不会为JDBC对象创建日志代理；
+ * 执行的SQL由 SqlStatementCountingInterceptor 直接写入缓冲区。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class RequestLogTurboFilter extends TurboFilter {
+
+    private final List<String> prefixes;
+    private final List<String> excludedPrefixes;
+    private final Level captureLevel;
+
+    public RequestLogTurboFilter(List<String> prefixes, List<String> excludedPrefixes, String captureLevel) {
+        this.prefixes = List.copyOf(prefixes);
+        this.excludedPrefixes = List.copyOf(excludedPrefixes);
+        Level level = Level.toLevel(captureLevel, Level.DEBUG);
+        this.captureLevel = level.isGreaterOrEqual(Level.DEBUG) ? level : Level.DEBUG;
+        setName("request-log-buffer");
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // 级别检查（format为null）不放行：按配置级别判断，调用方不会构造日志内容
+        if (format == null || level.isGreaterOrEqual(Level.INFO) || !level.isGreaterOrEqual(captureLevel)) {
+            return FilterReply.NEUTRAL;
+        }
+        RequestLogBuffer buffer = RequestLogBuffer.current();
+        if (buffer == null || !captured(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        buffer.add(level, logger.getName(), format, params, t);
+        return FilterReply.DENY;
+    }
+
+    private boolean captured(String loggerName) {
+        for (String prefix : excludedPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return false;
+            }
+        }
+        for (String prefix : prefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
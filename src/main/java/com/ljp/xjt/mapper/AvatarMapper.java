@@ -3,6 +3,10 @@ package com.ljp.xjt.mapper;
 import com.ljp.xjt.entity.Avatar;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * <p>
@@ -15,4 +19,11 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface AvatarMapper extends BaseMapper<Avatar> {
 
-} 
\ No newline at end of file
+    /**
+     * 根据 users.avatar_id 批量查询用户的当前头像
+     *
+     * @param userIds 用户ID集合
+     * @return 头像列表（只包含ID、用户ID、文件名、存储路径、文件类型），没有头像的用户不返回
+     */
+    List<Avatar> selectCurrentByUserIds(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,59 @@
+package com.ljp.xjt.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ljp.xjt.entity.FileBlob;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 文件内容 Mapper 接口
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Mapper
+public interface FileBlobMapper extends BaseMapper<FileBlob> {
+
+    /**
+     * 增加引用：记录不存在时插入引用计数为1的记录，存在时引用计数加1
+     * <p>
+     * 该语句会对行加锁直至事务结束，与垃圾回收的 {@link #lockCollectable} 互斥。
+     * </p>
+     *
+     * @param hash        内容SHA-256
+     * @param fileSize    文件大小
+     * @param contentType 文件类型
+     * @return 影响的行数
+     */
+    int acquire(@Param("hash") String hash, @Param("fileSize") Long fileSize, @Param("contentType") String contentType);
+
+    /**
+     * 释放引用：引用计数减1（不小于0）
+     *
+     * @param hash 内容SHA-256
+     * @return 影响的行数
+     */
+    int release(@Param("hash") String hash);
+
+    /**
+     * 查询引用计数为0且超过宽限期的内容
+     *
+     * @param before 最后更新时间早于该时间
+     * @param limit  最大条数
+     * @return 内容哈希列表
+     */
+    List<String> selectCollectable(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * 锁定一条可回收的内容记录（SELECT ... FOR UPDATE），已被重新引用时返回null
+     *
+     * @param hash   内容SHA-256
+     * @param before 最后更新时间早于该时间
+     * @return 内容哈希
+     */
+    String lockCollectable(@Param("hash") String hash, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,46 @@
+package com.ljp.xjt.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 成绩归档Mapper接口
+ * <p>
+ * 将早于保留学年的成绩从 grades 移入 grades_archive；三条语句需在同一事务中执行。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Mapper
+public interface GradeArchiveMapper {
+
+    /**
+     * 锁定一批待归档的成绩（SELECT ... FOR UPDATE），学年为空的成绩不归档
+     *
+     * @param beforeYear 学年早于该值
+     * @param limit      最大条数
+     * @return 成绩ID列表
+     */
+    List<Long> lockArchivable(@Param("beforeYear") int beforeYear, @Param("limit") int limit);
+
+    /**
+     * 将成绩复制到归档表
+     *
+     * @param ids 成绩ID集合
+     * @return 插入的行数
+     */
+    int copyToArchive(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 从成绩表删除已归档的成绩
+     *
+     * @param ids 成绩ID集合
+     * @return 删除的行数
+     */
+    int deleteArchived(@Param("ids") Collection<Long> ids);
+}
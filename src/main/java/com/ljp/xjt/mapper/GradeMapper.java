@@ -10,6 +10,8 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -46,11 +48,13 @@ public interface GradeMapper extends BaseMapper<Grade> {
      * @param studentId 学生ID
      * @param semester 学期（可选）
      * @param year 学年（可选）
+     * @param includeArchive 是否合并归档表中的成绩
      * @return 成绩列表
      */
     List<Grade> selectByStudentId(@Param("studentId") Long studentId,
                                  @Param("semester") String semester,
-                                 @Param("year") Integer year);
+                                 @Param("year") Integer year,
+                                 @Param("includeArchive") boolean includeArchive);
 
     /**
      * 分页查询成绩信息（带学生和课程信息）
@@ -114,6 +118,9 @@ public interface GradeMapper extends BaseMapper<Grade> {
      * @param courseId      课程ID
      * @param studentName   学生姓名 (模糊查询)
      * @param studentNumber 学号 (模糊查询)
+     * @param studentIds    检索索引解析出的学生ID，为null时不按学生ID过滤
+     * @param year          学年，为null时不按学年过滤
+     * @param archived      学年属于归档范围时为true，合并查询成绩表与归档表中该学年的成绩
      * @return 分页后的成绩列表
      */
     IPage<AdminGradeDto> getGradesByAdminCriteria(
@@ -121,11 +128,49 @@ public interface GradeMapper extends BaseMapper<Grade> {
             @Param("classId") Long classId,
             @Param("courseId") Long courseId,
             @Param("studentName") String studentName,
-            @Param("studentNumber") String studentNumber
+            @Param("studentNumber") String studentNumber,
+            @Param("studentIds") Collection<Long> studentIds,
+            @Param("year") Integer year,
+            @Param("archived") boolean archived
+    );
+
+    /**
+     * 根据管理员筛选条件按游标查询成绩列表，按更新时间、ID倒序
+     *
+     * @param afterTime     上一页最后一行的更新时间，首页或该行更新时间为空时为null
+     * @param afterId       上一页最后一行的成绩ID，首页为null
+     * @param limit         查询行数
+     * @param classId       班级ID
+     * @param courseId      课程ID
+     * @param studentName   学生姓名 (模糊查询)
+     * @param studentNumber 学号 (模糊查询)
+     * @param studentIds    检索索引解析出的学生ID，为null时不按学生ID过滤
+     * @param year          学年，为null时不按学年过滤
+     * @param archived      学年属于归档范围时为true，合并查询成绩表与归档表中该学年的成绩
+     * @return 成绩列表
+     */
+    List<AdminGradeDto> getGradesByAdminCursor(
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId,
+            @Param("limit") long limit,
+            @Param("classId") Long classId,
+            @Param("courseId") Long courseId,
+            @Param("studentName") String studentName,
+            @Param("studentNumber") String studentNumber,
+            @Param("studentIds") Collection<Long> studentIds,
+            @Param("year") Integer year,
+            @Param("archived") boolean archived
     );
 
     int updateByStudentAndCourse(@Param("grade") Grade grade);
 
+    /**
+     * 查询班级某门课程的成绩，只填充 id、studentId 与 score
+     *
+     * @param classId  班级ID
+     * @param courseId 课程ID
+     * @return 成绩列表
+     */
     List<Grade> findGradesByClassAndCourse(@Param("classId") Long classId, @Param("courseId") Long courseId);
 
     @Select("SELECT * FROM grades WHERE student_id = #{studentId} AND course_id = #{courseId} LIMIT 1")
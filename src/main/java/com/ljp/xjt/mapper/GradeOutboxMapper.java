@@ -0,0 +1,61 @@
+package com.ljp.xjt.mapper;
+
+import com.ljp.xjt.outbox.GradeChange;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 成绩变更发件箱Mapper接口
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Mapper
+public interface GradeOutboxMapper {
+
+    /**
+     * 批量追加变更记录（单条多行INSERT）
+     *
+     * @param changes 变更记录
+     * @return 插入的行数
+     */
+    int insertBatch(@Param("changes") Collection<GradeChange> changes);
+
+    /**
+     * 锁定最早的一批未发布记录（SELECT ... FOR UPDATE），多个节点同时发布时按批互斥
+     *
+     * @param limit 最大条数
+     * @return 变更记录，按ID升序
+     */
+    List<GradeChange> lockUnpublished(@Param("limit") int limit);
+
+    /**
+     * 标记为已发布
+     *
+     * @param ids           发件箱记录ID
+     * @param publishedTime 发布时间
+     * @return 影响的行数
+     */
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedTime") LocalDateTime publishedTime);
+
+    /**
+     * 最早一条未发布记录的创建时间
+     *
+     * @return 创建时间，没有未发布记录时返回null
+     */
+    LocalDateTime selectOldestUnpublishedTime();
+
+    /**
+     * 删除一批发布时间早于指定时间的记录
+     *
+     * @param before 发布时间早于该值
+     * @param limit  最大条数
+     * @return 删除的行数
+     */
+    int deletePublishedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,54 @@
+package com.ljp.xjt.mapper;
+
+import com.ljp.xjt.search.SearchDocument;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 检索文档Mapper接口
+ * <p>
+ * 只读取参与检索的ID、名称与编号列，用于构建和刷新内存检索索引。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Mapper
+public interface SearchDocumentMapper {
+
+    /**
+     * 查询学生检索文档
+     *
+     * @param ids 学生ID集合，为null时查询全部
+     * @return 检索文档列表
+     */
+    List<SearchDocument> selectStudents(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询教师检索文档
+     *
+     * @param ids 教师ID集合，为null时查询全部
+     * @return 检索文档列表
+     */
+    List<SearchDocument> selectTeachers(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询课程检索文档
+     *
+     * @param ids 课程ID集合，为null时查询全部
+     * @return 检索文档列表
+     */
+    List<SearchDocument> selectCourses(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询班级检索文档
+     *
+     * @param ids 班级ID集合，为null时查询全部
+     * @return 检索文档列表
+     */
+    List<SearchDocument> selectClasses(@Param("ids") Collection<Long> ids);
+}
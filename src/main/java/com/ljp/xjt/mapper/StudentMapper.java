@@ -12,6 +12,8 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -111,7 +113,8 @@ public interface StudentMapper extends BaseMapper<Student> {
     /**
      * 根据学生ID查询其所有课程的成绩详情
      * <p>
-     * 该查询连接了成绩、课程、授课、教师和班级表，以获取完整的成绩视图。
+     * 该查询连接了成绩、课程、授课、教师和班级表，以获取完整的成绩视图；
+     * 成绩来自成绩表与归档表 grades_archive 的合并结果，已归档的历史成绩同样出现在成绩单中。
      * </p>
      *
      * @param studentId 学生ID
@@ -126,8 +129,11 @@ public interface StudentMapper extends BaseMapper<Student> {
                 g.score,
                 c.credits,
                 c.hours AS courseHours
-            FROM
-                grades g
+            FROM (
+                SELECT student_id, course_id, score, semester FROM grades WHERE student_id = #{studentId}
+                UNION ALL
+                SELECT student_id, course_id, score, semester FROM grades_archive WHERE student_id = #{studentId}
+            ) g
             JOIN
                 courses c ON g.course_id = c.id
             JOIN
@@ -138,13 +144,21 @@ public interface StudentMapper extends BaseMapper<Student> {
                 teaching_assignments ta ON g.course_id = ta.course_id AND s.class_id = ta.class_id AND g.semester = ta.semester
             LEFT JOIN
                 teachers t ON ta.teacher_id = t.id
-            WHERE
-                g.student_id = #{studentId}
             ORDER BY
                 g.semester DESC, c.course_name ASC
             """)
     List<StudentGradeDTO> findGradesByStudentId(@Param("studentId") Long studentId);
 
+    /**
+     * 查询学生在指定时间之后（含）变化的成绩，成绩本身、课程、授课教师或学生（如调整班级）的更新都视为变化
+     *
+     * @param studentId 学生ID
+     * @param since     起始时间
+     * @return 变化的成绩列表
+     */
+    List<StudentGradeDTO> findGradesByStudentIdChangedSince(@Param("studentId") Long studentId,
+                                                             @Param("since") LocalDateTime since);
+
     /**
      * 根据学生ID查询其所有课程信息
      * <p>
@@ -187,7 +201,8 @@ public interface StudentMapper extends BaseMapper<Student> {
      */
     StudentDetailDTO findStudentDetailById(@Param("studentId") Long studentId);
 
-    IPage<StudentDTO> selectPageWithDetails(IPage<Student> page, @Param("studentNumber") String studentNumber, @Param("studentName") String studentName, @Param("classId") Long classId);
+    IPage<StudentDTO> selectPageWithDetails(IPage<Student> page, @Param("studentNumber") String studentNumber, @Param("studentName") String studentName, @Param("classId") Long classId,
+                                            @Param("studentIds") Collection<Long> studentIds);
 
     /**
      * 批量将学生的class_id设置为null
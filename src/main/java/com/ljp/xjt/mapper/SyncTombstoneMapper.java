@@ -0,0 +1,51 @@
+package com.ljp.xjt.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 增量同步删除记录Mapper接口
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Mapper
+public interface SyncTombstoneMapper {
+
+    /**
+     * 批量追加删除记录（单条多行INSERT）
+     *
+     * @param entityType  实体类型
+     * @param entityIds   被删除的记录ID
+     * @param scopeId     所属范围ID，可为null
+     * @param deletedTime 删除时间
+     * @return 插入的行数
+     */
+    int insertBatch(@Param("entityType") String entityType, @Param("entityIds") Collection<Long> entityIds,
+                    @Param("scopeId") Long scopeId, @Param("deletedTime") LocalDateTime deletedTime);
+
+    /**
+     * 查询指定时间之后（含）删除的记录ID
+     *
+     * @param entityType 实体类型
+     * @param scopeId    所属范围ID，为null时不按范围过滤
+     * @param since      起始时间
+     * @return 记录ID，已去重
+     */
+    List<Long> selectDeletedIds(@Param("entityType") String entityType, @Param("scopeId") Long scopeId,
+                                @Param("since") LocalDateTime since);
+
+    /**
+     * 删除早于指定时间的记录
+     *
+     * @param before 删除时间早于该值
+     * @param limit  最大条数
+     * @return 删除的行数
+     */
+    int deleteBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,29 @@
+package com.ljp.xjt.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * 表统计信息Mapper接口
+ * <p>
+ * 读取 information_schema 中InnoDB维护的估算行数，用于无筛选条件列表的近似总数，
+ * 避免对大表执行COUNT(*)全索引扫描。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Mapper
+public interface TableStatisticsMapper {
+
+    /**
+     * 查询当前库中指定表的估算行数
+     *
+     * @param tableName 表名
+     * @return 估算行数，表不存在时返回null
+     */
+    @Select("SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = #{tableName}")
+    Long selectEstimatedRows(@Param("tableName") String tableName);
+}
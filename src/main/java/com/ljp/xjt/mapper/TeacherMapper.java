@@ -8,10 +8,12 @@ import com.ljp.xjt.dto.TeacherClassDto;
 import com.ljp.xjt.dto.TeacherCourseDto;
 import com.ljp.xjt.dto.StudentDto;
 import com.ljp.xjt.dto.TeacherProfileDto;
+import com.ljp.xjt.dto.TeachingStatisticsDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -33,11 +35,13 @@ public interface TeacherMapper extends BaseMapper<Teacher> {
      * @param page 分页参数
      * @param teacherName 教师姓名(模糊查询)
      * @param departmentId 部门ID
+     * @param teacherIds 检索索引解析出的教师ID，为null时不按教师ID过滤
      * @return 教师分页列表
      */
     IPage<Teacher> selectTeacherList(Page<Teacher> page, 
                                    @Param("teacherName") String teacherName,
-                                   @Param("departmentId") Long departmentId);
+                                   @Param("departmentId") Long departmentId,
+                                   @Param("teacherIds") Collection<Long> teacherIds);
     
     /**
      * 根据用户ID查询教师信息
@@ -83,42 +87,33 @@ public interface TeacherMapper extends BaseMapper<Teacher> {
     List<StudentDto> findStudentsByClassAndCourse(@Param("userId") Long userId, @Param("classId") Long classId, @Param("courseId") Long courseId);
 
     /**
-     * 根据用户ID查询教师的详细个人资料
-     *
-     * @param userId 用户ID
-     * @return 教师个人资料DTO
-     */
-    TeacherProfileDto findTeacherProfileByUserId(@Param("userId") Long userId);
-
-    /**
-     * 根据教师ID统计其教授的课程总数
-     *
-     * @param teacherId 教师ID
-     * @return 课程总数
-     */
-    Long countTaughtCourses(@Param("teacherId") Long teacherId);
-
-    /**
-     * 根据教师ID统计其教授的班级总数
+     * 查询名册中在指定时间之后（含）变化的学生
      *
-     * @param teacherId 教师ID
-     * @return 班级总数
+     * @param userId   用户ID
+     * @param classId  班级ID
+     * @param courseId 课程ID
+     * @param since    起始时间
+     * @return 变化的学生列表
      */
-    Long countTaughtClasses(@Param("teacherId") Long teacherId);
+    List<StudentDto> findStudentsByClassAndCourseChangedSince(@Param("userId") Long userId, @Param("classId") Long classId,
+                                                              @Param("courseId") Long courseId, @Param("since") LocalDateTime since);
 
     /**
-     * 根据教师ID统计其教授的学生总数
+     * 根据用户ID查询教师的详细个人资料
      *
-     * @param teacherId 教师ID
-     * @return 学生总数
+     * @param userId 用户ID
+     * @return 教师个人资料DTO
      */
-    Long countTaughtStudents(@Param("teacherId") Long teacherId);
+    TeacherProfileDto findTeacherProfileByUserId(@Param("userId") Long userId);
 
     /**
-     * 根据教师ID计算其所有学生的平均分
+     * 根据教师ID一次性汇总教学统计（课程数、班级数、学生数、平均分）
+     * <p>
+     * 成绩按(课程, 班级)授课对关联，只统计该教师所授班级内学生的成绩。
+     * </p>
      *
      * @param teacherId 教师ID
-     * @return 平均分
+     * @return 教学统计信息
      */
-    BigDecimal calculateAverageScore(@Param("teacherId") Long teacherId);
-} 
\ No newline at end of file
+    TeachingStatisticsDto selectTeachingStatistics(@Param("teacherId") Long teacherId);
+}
\ No newline at end of file
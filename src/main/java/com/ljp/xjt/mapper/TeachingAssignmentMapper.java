@@ -9,6 +9,7 @@ import com.ljp.xjt.entity.TeachingAssignment;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,12 +29,44 @@ public interface TeachingAssignmentMapper extends BaseMapper<TeachingAssignment>
      * @param courseName   课程名称 (可选, 用于筛选)
      * @param teacherName  教师名称 (可选, 用于筛选)
      * @param className    班级名称 (可选, 用于筛选)
+     * @param courseIds    检索索引解析出的课程ID，为null时不按课程ID过滤
+     * @param teacherIds   检索索引解析出的教师ID，为null时不按教师ID过滤
+     * @param classIds     检索索引解析出的班级ID，为null时不按班级ID过滤
      * @return 分页后的教学分配详细信息列表
      */
     IPage<TeachingAssignmentDto> selectDetailedAssignments(Page<?> page,
                                                          @Param("courseName") String courseName,
                                                          @Param("teacherName") String teacherName,
-                                                         @Param("className") String className);
+                                                         @Param("className") String className,
+                                                         @Param("courseIds") Collection<Long> courseIds,
+                                                         @Param("teacherIds") Collection<Long> teacherIds,
+                                                         @Param("classIds") Collection<Long> classIds);
+
+    /**
+     * 按游标查询教学分配的详细信息
+     *
+     * @param afterYear     上一页最后一行的学年，首页或该行学年为空时为null
+     * @param afterSemester 上一页最后一行的学期
+     * @param afterId       上一页最后一行的ID，首页为null
+     * @param limit         查询行数
+     * @param courseName    课程名称 (可选, 用于筛选)
+     * @param teacherName   教师名称 (可选, 用于筛选)
+     * @param className     班级名称 (可选, 用于筛选)
+     * @param courseIds     检索索引解析出的课程ID，为null时不按课程ID过滤
+     * @param teacherIds    检索索引解析出的教师ID，为null时不按教师ID过滤
+     * @param classIds      检索索引解析出的班级ID，为null时不按班级ID过滤
+     * @return 教学分配详细信息列表
+     */
+    List<TeachingAssignmentDto> selectDetailedAssignmentsAfter(@Param("afterYear") Integer afterYear,
+                                                               @Param("afterSemester") String afterSemester,
+                                                               @Param("afterId") Long afterId,
+                                                               @Param("limit") long limit,
+                                                               @Param("courseName") String courseName,
+                                                               @Param("teacherName") String teacherName,
+                                                               @Param("className") String className,
+                                                               @Param("courseIds") Collection<Long> courseIds,
+                                                               @Param("teacherIds") Collection<Long> teacherIds,
+                                                               @Param("classIds") Collection<Long> classIds);
 
     /**
      * 查询从未被分配过的课程列表
@@ -41,4 +74,41 @@ public interface TeachingAssignmentMapper extends BaseMapper<TeachingAssignment>
      * @return 未分配的课程列表
      */
     List<Course> selectUnassignedCourses();
+
+    /**
+     * 查询为指定学生讲授某门课程的教师ID（按学生所在班级匹配教学分配）
+     *
+     * @param courseId   课程ID
+     * @param studentIds 学生ID集合
+     * @return 去重后的教师ID列表
+     */
+    List<Long> selectTeacherIdsByCourseAndStudents(@Param("courseId") Long courseId,
+                                                   @Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * 查询同学期内与指定教师、班级或教室相关且已填写上课时间的排课，只返回冲突检查所需的列
+     *
+     * @param year      学年
+     * @param semester  学期
+     * @param teacherId 教师ID
+     * @param classId   班级ID
+     * @param classroom 教室，为空时不按教室查询
+     * @param excludeId 要排除的排课ID（更新时为自身），可为null
+     * @return 排课列表
+     */
+    List<TeachingAssignment> selectScheduledInTerm(@Param("year") Integer year,
+                                                   @Param("semester") String semester,
+                                                   @Param("teacherId") Long teacherId,
+                                                   @Param("classId") Long classId,
+                                                   @Param("classroom") String classroom,
+                                                   @Param("excludeId") Long excludeId);
+
+    /**
+     * 查询一个学期内全部已填写上课时间的排课，按ID排序，只返回冲突检查所需的列
+     *
+     * @param year     学年
+     * @param semester 学期
+     * @return 排课列表
+     */
+    List<TeachingAssignment> selectScheduledByTerm(@Param("year") Integer year, @Param("semester") String semester);
 } 
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.ljp.xjt.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * MyBatis语句耗时拦截器
+ * <p>
+ * 拦截 Executor 的查询与更新，以映射语句ID（如 com.ljp.xjt.mapper.GradeMapper.selectList）
+ * 和语句类型为标签记录耗时，同时附加用户角色标签。
+ * 该计时器按 xjt 前缀发布直方图，每个标签组合都会产生一组直方图桶，因此不附加请求路由标签：
+ * 语句数×路由数的组合没有上界，各接口的语句数见 xjt.sql.statements，耗时见 xjt.service。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class MapperTimingInterceptor implements Interceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public MapperTimingInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(HotPathMetrics.MAPPER_TIMER)
+                    .description("Execution time of MyBatis mapped statements")
+                    .tag(MetricsTags.ROLE, MetricsTags.role())
+                    .tag("statement", statement.getId())
+                    .tag("type", statement.getSqlCommandType().name())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.ljp.xjt.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.stream.Collectors;
+
+/**
+ * 指标公共标签工具类
+ * <p>
+ * 为各层指标附加 endpoint（匹配到的路由模板，而非原始URI，避免标签基数膨胀）与 role（当前用户角色）标签。
+ * 不在Web请求中执行时（如定时任务、后台线程）endpoint 为 none。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class MetricsTags {
+
+    public static final String ENDPOINT = "endpoint";
+    public static final String ROLE = "role";
+
+    private static final String NONE = "none";
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final String ANONYMOUS = "anonymous";
+
+    private MetricsTags() {
+    }
+
+    /**
+     * 获取当前线程所处请求的 endpoint 与 role 标签
+     *
+     * @return 标签集合
+     */
+    public static Tags current() {
+        return Tags.of(ENDPOINT, currentEndpoint(), ROLE, role());
+    }
+
+    /**
+     * 获取当前线程所处请求的路由模板
+     *
+     * @return 路由模板，不在Web请求中时返回 none
+     */
+    public static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes
+                ? endpoint(servletAttributes.getRequest())
+                : NONE;
+    }
+
+    /**
+     * 获取指定请求的 endpoint 与 role 标签
+     *
+     * @param request HTTP请求
+     * @return 标签集合
+     */
+    public static Tags of(HttpServletRequest request) {
+        return Tags.of(ENDPOINT, endpoint(request), ROLE, role());
+    }
+
+    /**
+     * 解析请求匹配到的路由模板，如 "GET /teacher/courses/{courseId}/classes"
+     *
+     * @param request HTTP请求
+     * @return 路由模板，尚未匹配或未匹配到处理器时返回 UNKNOWN
+     */
+    public static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return UNKNOWN;
+        }
+        return request.getMethod() + " " + pattern;
+    }
+
+    /**
+     * 解析当前用户的角色，多个角色按字母序以逗号拼接
+     *
+     * @return 角色标签值，未登录时返回 anonymous
+     */
+    public static String role() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication.getAuthorities().isEmpty()) {
+            return ANONYMOUS;
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+}
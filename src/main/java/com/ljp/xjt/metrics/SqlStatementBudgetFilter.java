@@ -0,0 +1,101 @@
+package com.ljp.xjt.metrics;
+
+import com.ljp.xjt.config.SqlBudgetProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * SQL语句预算过滤器
+ * <p>
+ * 为每个请求开启语句统计（位于安全过滤器之前，认证阶段的查询也计入），请求结束后：
+ * 按路由记录"每请求语句数"分布，超出预算时计数并告警，
+ * 对以不同参数重复执行达到阈值的语句输出疑似N+1告警及采样的调用栈。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    /**
+     * 每个请求执行的SQL语句数
+     */
+    public static final String STATEMENTS_PER_REQUEST = "xjt.sql.statements";
+
+    /**
+     * 超出语句预算的请求数，压测结束时据此判定是否回退
+     */
+    public static final String BUDGET_EXCEEDED = "xjt.sql.budget.exceeded";
+
+    private final SqlBudgetProperties sqlBudgetProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !sqlBudgetProperties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementContext context = SqlStatementContext.open(sqlBudgetProperties.getRepeatedStatementThreshold());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementContext.close();
+            report(request, context);
+        }
+    }
+
+    /**
+     * 汇总请求的语句统计
+     *
+     * @param request HTTP请求
+     * @param context 统计上下文
+     */
+    private void report(HttpServletRequest request, SqlStatementContext context) {
+        String endpoint = MetricsTags.endpoint(request);
+
+        // 1. 记录每请求语句数分布
+        DistributionSummary.builder(STATEMENTS_PER_REQUEST)
+                .description("Number of SQL statements executed per request")
+                .baseUnit("statements")
+                .tags(MetricsTags.of(request))
+                .register(meterRegistry)
+                .record(context.getTotal());
+
+        // 2. 超出预算告警
+        int budget = sqlBudgetProperties.budgetFor(endpoint);
+        if (context.getTotal() > budget) {
+            Counter.builder(BUDGET_EXCEEDED)
+                    .description("Requests that executed more SQL statements than their budget")
+                    .tags(MetricsTags.of(request))
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("SQL statement budget exceeded on {}: {} statements, budget {}", endpoint, context.getTotal(), budget);
+        }
+
+        // 3. 疑似N+1告警
+        context.suspectedNPlusOne().forEach((statementId, stats) ->
+                log.warn("Possible N+1 on {}: {} executed {} times with {}+ distinct parameters, sampled call site:\n{}",
+                        endpoint, statementId, stats.getCount(), stats.getDistinctParameters(), stats.getCallSite()));
+    }
+}
@@ -0,0 +1,135 @@
+package com.ljp.xjt.metrics;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 请求内的SQL语句统计上下文
+ * <p>
+ * 由 {@link SqlStatementBudgetFilter} 在请求开始时绑定到当前线程，
+ * {@link SqlStatementCountingInterceptor} 在每条语句执行前登记，请求结束后汇总与解绑。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class SqlStatementContext {
+
+    private static final ThreadLocal<SqlStatementContext> CURRENT = new ThreadLocal<>();
+
+    private static final int MAX_STACK_FRAMES = 8;
+
+    private final int repeatedStatementThreshold;
+    private final Map<String, StatementStats> statements = new LinkedHashMap<>();
+    private int total;
+
+    private SqlStatementContext(int repeatedStatementThreshold) {
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    /**
+     * 为当前线程开启统计
+     *
+     * @param repeatedStatementThreshold N+1判定阈值
+     * @return 统计上下文
+     */
+    public static SqlStatementContext open(int repeatedStatementThreshold) {
+        SqlStatementContext context = new SqlStatementContext(repeatedStatementThreshold);
+        CURRENT.set(context);
+        return context;
+    }
+
+    /**
+     * 获取当前线程的统计上下文
+     *
+     * @return 统计上下文，不在统计范围内时返回null
+     */
+    public static SqlStatementContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 结束当前线程的统计
+     */
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 登记一次语句执行
+     *
+     * @param statementId   映射语句ID
+     * @param parameterHash 参数哈希，用于区分"相同语句不同参数"
+     * @return 登记后的语句总数
+     */
+    public int record(String statementId, int parameterHash) {
+        total++;
+        StatementStats stats = statements.computeIfAbsent(statementId, id -> new StatementStats());
+        stats.count++;
+        if (stats.parameterHashes.size() <= repeatedStatementThreshold) {
+            stats.parameterHashes.add(parameterHash);
+        }
+        // 首次达到阈值时采样调用栈，定位循环发起查询的业务代码
+        if (stats.callSite == null && stats.parameterHashes.size() >= repeatedStatementThreshold) {
+            stats.callSite = sampleCallSite();
+        }
+        return total;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * 获取疑似N+1的语句：以不同参数执行次数达到阈值
+     *
+     * @return 语句ID到统计信息的映射
+     */
+    public Map<String, StatementStats> suspectedNPlusOne() {
+        Map<String, StatementStats> result = new LinkedHashMap<>();
+        statements.forEach((id, stats) -> {
+            if (stats.callSite != null) {
+                result.put(id, stats);
+            }
+        });
+        return result;
+    }
+
+    private static String sampleCallSite() {
+        return Arrays.stream(new Throwable().getStackTrace())
+                .filter(frame -> frame.getClassName().startsWith("com.ljp.xjt.")
+                        && !frame.getClassName().startsWith("com.ljp.xjt.metrics.")
+                        && !frame.getClassName().contains("$$"))
+                .limit(MAX_STACK_FRAMES)
+                .map(StackTraceElement::toString)
+                .reduce((a, b) -> a + "\n\tat " + b)
+                .map(s -> "\tat " + s)
+                .orElse("\t(no application frames)");
+    }
+
+    /**
+     * 单条语句的统计信息
+     */
+    public static class StatementStats {
+
+        private int count;
+        private final Set<Integer> parameterHashes = new HashSet<>();
+        private String callSite;
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getDistinctParameters() {
+            return parameterHashes.size();
+        }
+
+        public String getCallSite() {
+            return callSite;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.ljp.xjt.metrics;
+
+import com.ljp.xjt.config.SqlBudgetProperties;
+import com.ljp.xjt.logging.RequestLogBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * SQL语句计数拦截器
+ * <p>
+ * 在请求统计上下文中登记每条执行的映射语句及其参数指纹。
+ * 指纹取最终SQL与各绑定参数的值：MyBatis-Plus的条件构造器（Wrapper）按对象标识计算hashCode，
+ * 不能直接对参数对象取哈希，否则相同条件的重复查询会被当作不同参数。
+ * 开启 fail-on-violation 时，语句数超过当前路由的预算立即抛出异常，使对应的测试失败。
+ * </p>
+ * <p>
+ * 当前线程绑定了请求日志缓冲区时，同时把语句ID、最终SQL、绑定参数与耗时写入缓冲区，
+ * 慢请求与失败请求输出的日志包含SQL，而映射语句的Logger无需开启DEBUG。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class SqlStatementCountingInterceptor implements Interceptor {
+
+    private final SqlBudgetProperties sqlBudgetProperties;
+
+    public SqlStatementCountingInterceptor(SqlBudgetProperties sqlBudgetProperties) {
+        this.sqlBudgetProperties = sqlBudgetProperties;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        SqlStatementContext context = SqlStatementContext.current();
+        RequestLogBuffer logBuffer = RequestLogBuffer.current();
+        if (context == null && logBuffer == null) {
+            return invocation.proceed();
+        }
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        Object parameter = invocation.getArgs()[1];
+        BoundSql boundSql = null;
+        Object[] values = null;
+        try {
+            boundSql = invocation.getArgs().length == 6 ? (BoundSql) invocation.getArgs()[5] : statement.getBoundSql(parameter);
+            values = parameterValues(statement, boundSql, parameter);
+        } catch (RuntimeException ex) {
+            log.trace("Could not resolve statement parameters", ex);
+        }
+
+        // 1. 登记语句，按预算检查
+        if (context != null) {
+            int total = context.record(statement.getId(), fingerprint(boundSql, values, parameter));
+
+            if (sqlBudgetProperties.isFailOnViolation()) {
+                String endpoint = MetricsTags.currentEndpoint();
+                int budget = sqlBudgetProperties.budgetFor(endpoint);
+                if (total > budget) {
+                    throw new IllegalStateException("SQL statement budget exceeded on " + endpoint
+                            + ": " + total + " > " + budget + " (last statement " + statement.getId() + ")");
+                }
+            }
+        }
+        if (logBuffer == null) {
+            return invocation.proceed();
+        }
+
+        // 2. 执行并写入请求日志缓冲区
+        String sql = boundSql == null ? null : boundSql.getSql();
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            logBuffer.addStatement(statement.getId(), sql, values, System.nanoTime() - start, null);
+            return result;
+        } catch (Throwable ex) {
+            logBuffer.addStatement(statement.getId(), sql, values, System.nanoTime() - start, ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * 计算语句指纹：最终SQL与各绑定参数值的哈希；参数无法解析时退化为参数对象的标识
+     */
+    private static int fingerprint(BoundSql boundSql, Object[] values, Object parameter) {
+        if (boundSql == null || values == null) {
+            return System.identityHashCode(parameter);
+        }
+        int hash = boundSql.getSql().hashCode();
+        for (Object value : values) {
+            hash = 31 * hash + Objects.hashCode(value);
+        }
+        return hash;
+    }
+
+    /**
+     * 按占位符顺序取各绑定参数的值，取值方式与 DefaultParameterHandler 一致
+     */
+    private static Object[] parameterValues(MappedStatement statement, BoundSql boundSql, Object parameter) {
+        Configuration configuration = statement.getConfiguration();
+        List<Object> values = new ArrayList<>(boundSql.getParameterMappings().size());
+        MetaObject metaObject = null;
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameter);
+                }
+                value = metaObject.getValue(property);
+            }
+            values.add(value);
+        }
+        return values.toArray();
+    }
+}
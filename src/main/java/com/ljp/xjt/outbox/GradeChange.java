@@ -0,0 +1,31 @@
+package com.ljp.xjt.outbox;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 一条成绩变更
+ * <p>
+ * 对应发件箱表 grade_outbox 中的一行；eventId 为发件箱记录ID，全局唯一，监听方据此去重。
+ * score、semester、year 为变更后的值，删除时为删除前的值。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+public class GradeChange {
+
+    private Long eventId;                   // 发件箱记录ID
+    private Long gradeId;                   // 成绩ID
+    private Long studentId;                 // 学生ID
+    private Long courseId;                  // 课程ID
+    private GradeChangeType changeType;     // 变更类型
+    private BigDecimal score;               // 分数
+    private String semester;                // 学期
+    private Integer year;                   // 学年
+    private LocalDateTime createdTime;      // 变更发生时间
+}
@@ -0,0 +1,26 @@
+package com.ljp.xjt.outbox;
+
+/**
+ * 成绩变更类型
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public enum GradeChangeType {
+
+    /**
+     * 新录入成绩
+     */
+    CREATED,
+
+    /**
+     * 修改分数、审核状态等
+     */
+    UPDATED,
+
+    /**
+     * 删除成绩
+     */
+    DELETED
+}
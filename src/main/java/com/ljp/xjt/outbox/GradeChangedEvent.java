@@ -0,0 +1,28 @@
+package com.ljp.xjt.outbox;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 成绩变更事件
+ * <p>
+ * 发件箱中的一批成绩变更，由 {@link GradeEventDispatcher} 以Spring事件在进程内同步发布。
+ * 投递为至少一次：发布后标记失败、节点重启或经Redis Stream转发时同一变更可能再次出现，
+ * 同一进程内已投递的 eventId 会被去重，跨重启的重复需由监听方按 eventId 或成绩ID幂等处理。
+ * 监听方不应在事件线程中执行耗时操作；抛出异常会使整批稍后重新投递。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Getter
+public class GradeChangedEvent {
+
+    private final List<GradeChange> changes;
+
+    public GradeChangedEvent(List<GradeChange> changes) {
+        this.changes = changes;
+    }
+}
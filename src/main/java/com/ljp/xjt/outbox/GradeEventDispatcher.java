@@ -0,0 +1,69 @@
+package com.ljp.xjt.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 成绩变更进程内分发器
+ * <p>
+ * 将一批成绩变更以 {@link GradeChangedEvent} 同步发布给进程内监听方。
+ * 记住最近已成功分发的 eventId，重复到达的变更（发件箱重新投递、Redis Stream 转发）不会再次分发；
+ * 监听方抛出异常时该批不计为已分发，异常抛给调用方，由发件箱稍后重新投递。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Component
+@RequiredArgsConstructor
+public class GradeEventDispatcher {
+
+    /**
+     * 去重时记住的最近 eventId 个数
+     */
+    private static final int DEDUP_CAPACITY = 50_000;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final LinkedHashSet<Long> dispatched = new LinkedHashSet<>();
+
+    /**
+     * 分发一批变更
+     *
+     * @param changes 成绩变更，按 eventId 升序
+     * @return 实际分发的条数（去重后）
+     */
+    public int dispatch(List<GradeChange> changes) {
+        List<GradeChange> fresh = new ArrayList<>(changes.size());
+        synchronized (dispatched) {
+            for (GradeChange change : changes) {
+                if (!dispatched.contains(change.getEventId())) {
+                    fresh.add(change);
+                }
+            }
+        }
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+
+        eventPublisher.publishEvent(new GradeChangedEvent(List.copyOf(fresh)));
+
+        synchronized (dispatched) {
+            for (GradeChange change : fresh) {
+                dispatched.add(change.getEventId());
+            }
+            Iterator<Long> iterator = dispatched.iterator();
+            while (dispatched.size() > DEDUP_CAPACITY && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        return fresh.size();
+    }
+}
@@ -0,0 +1,152 @@
+package com.ljp.xjt.outbox;
+
+import com.ljp.xjt.config.OutboxProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 成绩变更Redis Stream转发器
+ * <p>
+ * 启用 app.outbox.stream-enabled 后，本节点发布的变更同时写入Redis Stream；
+ * 各节点从启动时刻起读取该Stream，将其他节点发布的变更交给本节点的 {@link GradeEventDispatcher}，
+ * 使所有节点的进程内监听方都能收到全部变更。自身发布的记录按来源标识跳过。
+ * 节点离线期间的变更不会补发，重新上线的监听方需自行从数据库恢复状态。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class GradeEventStreamRelay {
+
+    private static final String ORIGIN = "origin";
+
+    private final OutboxProperties outboxProperties;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final GradeEventDispatcher dispatcher;
+    private final String origin = UUID.randomUUID().toString();
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+
+    public GradeEventStreamRelay(OutboxProperties outboxProperties, StringRedisTemplate redisTemplate,
+                                 RedisConnectionFactory connectionFactory, GradeEventDispatcher dispatcher) {
+        this.outboxProperties = outboxProperties;
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * 写入一批变更，未启用时忽略
+     *
+     * @param changes 成绩变更
+     */
+    public void publish(List<GradeChange> changes) {
+        if (!outboxProperties.isStreamEnabled() || changes.isEmpty()) {
+            return;
+        }
+        String key = outboxProperties.getStreamKey();
+        for (GradeChange change : changes) {
+            redisTemplate.opsForStream().add(StreamRecords.string(toFields(change)).withStreamKey(key));
+        }
+        redisTemplate.opsForStream().trim(key, outboxProperties.getStreamMaxLength(), true);
+    }
+
+    /**
+     * 应用启动完成后开始读取其他节点发布的变更
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        if (!outboxProperties.isStreamEnabled()) {
+            return;
+        }
+        StreamMessageListenerContainer.StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+                StreamMessageListenerContainer.StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(Duration.ofSeconds(1))
+                        .batchSize(outboxProperties.getBatchSize())
+                        .errorHandler(ex -> log.warn("Failed to read grade event stream", ex))
+                        .build();
+        container = StreamMessageListenerContainer.create(connectionFactory, options);
+        container.receive(StreamOffset.create(outboxProperties.getStreamKey(), ReadOffset.lastConsumed()), this::onRecord);
+        container.start();
+        log.info("Subscribed to grade event stream {}", outboxProperties.getStreamKey());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    private void onRecord(MapRecord<String, String, String> record) {
+        Map<String, String> fields = record.getValue();
+        if (origin.equals(fields.get(ORIGIN))) {
+            return;
+        }
+        try {
+            dispatcher.dispatch(List.of(fromFields(fields)));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to dispatch grade event {} from stream", fields.get("eventId"), ex);
+        }
+    }
+
+    private Map<String, String> toFields(GradeChange change) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(ORIGIN, origin);
+        fields.put("eventId", String.valueOf(change.getEventId()));
+        fields.put("gradeId", String.valueOf(change.getGradeId()));
+        fields.put("studentId", String.valueOf(change.getStudentId()));
+        fields.put("courseId", String.valueOf(change.getCourseId()));
+        fields.put("changeType", change.getChangeType().name());
+        fields.put("createdTime", change.getCreatedTime().toString());
+        if (change.getScore() != null) {
+            fields.put("score", change.getScore().toPlainString());
+        }
+        if (change.getSemester() != null) {
+            fields.put("semester", change.getSemester());
+        }
+        if (change.getYear() != null) {
+            fields.put("year", String.valueOf(change.getYear()));
+        }
+        return fields;
+    }
+
+    private GradeChange fromFields(Map<String, String> fields) {
+        GradeChange change = new GradeChange();
+        change.setEventId(Long.valueOf(fields.get("eventId")));
+        change.setGradeId(Long.valueOf(fields.get("gradeId")));
+        change.setStudentId(Long.valueOf(fields.get("studentId")));
+        change.setCourseId(Long.valueOf(fields.get("courseId")));
+        change.setChangeType(GradeChangeType.valueOf(fields.get("changeType")));
+        change.setCreatedTime(LocalDateTime.parse(fields.get("createdTime")));
+        if (fields.containsKey("score")) {
+            change.setScore(new BigDecimal(fields.get("score")));
+        }
+        change.setSemester(fields.get("semester"));
+        if (fields.containsKey("year")) {
+            change.setYear(Integer.valueOf(fields.get("year")));
+        }
+        return change;
+    }
+}
@@ -0,0 +1,411 @@
+package com.ljp.xjt.search;
+
+import lombok.Getter;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 内存模糊检索索引
+ * <p>
+ * 每个检索键按单字、相邻双字以及开头一到两个字建立倒排表，倒排表以压缩位图保存内部文档号。
+ * 查询时求检索词各双字倒排表的交集得到候选，再逐个校验检索键是否包含检索词，
+ * 因此结果与对检索键执行 LIKE '%词%' 一致，而不必扫描全部记录。
+ * 名称字段的检索键包括原文、全拼与拼音首字母（见 {@link PinyinKeys}），编号字段只有原文。
+ * </p>
+ * <p>
+ * 读写通过读写锁隔离：查询并发执行，单条记录的增删改持有写锁，耗时为微秒级。
+ * 删除文档后其内部文档号回收复用，频繁增删时文档数组与位图的大小只取决于同时存在的文档数，无需整体重建。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class FuzzySearchIndex {
+
+    private static final char PREFIX_MARK = '\u0001';
+    private static final String[] NO_KEYS = new String[0];
+
+    /**
+     * 建议结果排序时最多考察的前缀命中数
+     */
+    private static final int PREFIX_SCAN_LIMIT = 256;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> docs = new HashMap<>();
+    private final Map<String, RoaringBitmap> namePostings = new HashMap<>();
+    private final Map<String, RoaringBitmap> codePostings = new HashMap<>();
+
+    private long[] ids = new long[64];
+    private String[] names = new String[64];
+    private String[] codes = new String[64];
+    private String[][] nameKeys = new String[64][];
+    private String[] codeKeys = new String[64];
+    private int nextDoc;
+    private int[] freeDocs = new int[16];
+    private int freeCount;
+
+    /**
+     * 以一批文档构建索引
+     *
+     * @param documents 文档
+     * @return 索引
+     */
+    public static FuzzySearchIndex of(Collection<SearchDocument> documents) {
+        FuzzySearchIndex index = new FuzzySearchIndex();
+        documents.forEach(index::put);
+        return index;
+    }
+
+    /**
+     * 新增或更新文档
+     *
+     * @param document 文档
+     */
+    public void put(SearchDocument document) {
+        if (document.getId() == null) {
+            return;
+        }
+        String[] keys = PinyinKeys.of(document.getName()).toArray(NO_KEYS);
+        String code = PinyinKeys.normalize(document.getCode());
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = docs.get(document.getId());
+            int doc;
+            if (existing != null) {
+                doc = existing;
+                unindex(doc);
+            } else {
+                doc = allocate(document.getId());
+            }
+            names[doc] = document.getName();
+            codes[doc] = document.getCode();
+            nameKeys[doc] = keys;
+            codeKeys[doc] = code;
+            for (String key : keys) {
+                index(namePostings, key, doc);
+            }
+            index(codePostings, code, doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除文档，内部文档号留给之后新增的文档复用
+     *
+     * @param id 实体ID
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docs.remove(id);
+            if (doc != null) {
+                unindex(doc);
+                names[doc] = null;
+                codes[doc] = null;
+                nameKeys[doc] = null;
+                codeKeys[doc] = null;
+                release(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 文档数
+     *
+     * @return 当前索引中的文档数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查找指定字段包含检索词的全部实体ID
+     *
+     * @param term  检索词
+     * @param field 检索字段
+     * @param max   最多返回的ID数
+     * @return 实体ID集合；命中数超过 max 时返回null
+     */
+    public Set<Long> find(String term, SearchField field, int max) {
+        String query = PinyinKeys.normalize(term);
+        Set<Long> result = new LinkedHashSet<>();
+        if (query.isEmpty()) {
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = candidates(postings(field), query, false);
+            IntIterator iterator = candidates.getIntIterator();
+            while (iterator.hasNext()) {
+                int doc = iterator.next();
+                if (matchScore(doc, field, query) >= 0) {
+                    result.add(ids[doc]);
+                    if (result.size() > max) {
+                        return null;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 检索建议
+     * <p>
+     * 依次收集完全匹配、前缀匹配与包含匹配的记录；同一级别内名称较短者在前。
+     * </p>
+     *
+     * @param term  检索词
+     * @param limit 最多返回的条数
+     * @return 命中记录
+     */
+    public List<Hit> suggest(String term, int limit) {
+        String query = PinyinKeys.normalize(term);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Hit> hits = new HashMap<>();
+
+            // 1. 前缀候选（含完全匹配）
+            for (SearchField field : SearchField.values()) {
+                collect(hits, candidates(postings(field), query, true), field, query, PREFIX_SCAN_LIMIT);
+            }
+
+            // 2. 前缀命中不足时补充包含匹配
+            if (hits.size() < limit) {
+                for (SearchField field : SearchField.values()) {
+                    collect(hits, candidates(postings(field), query, false), field, query, limit);
+                }
+            }
+
+            List<Hit> sorted = new ArrayList<>(hits.values());
+            sorted.sort(Comparator.comparingInt(Hit::getScore)
+                    .thenComparingInt(hit -> hit.getName() == null ? Integer.MAX_VALUE : hit.getName().length())
+                    .thenComparingLong(Hit::getId));
+            return sorted.size() > limit ? new ArrayList<>(sorted.subList(0, limit)) : sorted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 校验候选并收集命中，收集数达到 max 后停止
+     */
+    private void collect(Map<Integer, Hit> hits, RoaringBitmap candidates, SearchField field, String query, int max) {
+        int collected = 0;
+        IntIterator iterator = candidates.getIntIterator();
+        while (iterator.hasNext() && collected < max) {
+            int doc = iterator.next();
+            int score = matchScore(doc, field, query);
+            if (score < 0) {
+                continue;
+            }
+            Hit current = hits.get(doc);
+            if (current == null) {
+                collected++;
+            }
+            if (current == null || score < current.getScore()) {
+                hits.put(doc, new Hit(ids[doc], names[doc], codes[doc], field, score));
+            }
+        }
+    }
+
+    /**
+     * 计算文档与检索词的匹配级别
+     *
+     * @return 0-完全匹配，1-前缀匹配，2-包含，-1-不匹配
+     */
+    private int matchScore(int doc, SearchField field, String query) {
+        if (field == SearchField.CODE) {
+            return matchScore(codeKeys[doc], query);
+        }
+        int best = -1;
+        String[] keys = nameKeys[doc];
+        if (keys == null) {
+            return -1;
+        }
+        for (String key : keys) {
+            int score = matchScore(key, query);
+            if (score >= 0 && (best < 0 || score < best)) {
+                best = score;
+            }
+        }
+        return best;
+    }
+
+    private static int matchScore(String key, String query) {
+        if (key == null) {
+            return -1;
+        }
+        return key.equals(query) ? 0 : key.startsWith(query) ? 1 : key.contains(query) ? 2 : -1;
+    }
+
+    /**
+     * 求检索词的候选文档：各双字倒排表（单字检索词为单字倒排表）的交集
+     *
+     * @param prefix 为true时只保留以检索词开头的候选
+     */
+    private RoaringBitmap candidates(Map<String, RoaringBitmap> postings, String query, boolean prefix) {
+        List<String> grams = new ArrayList<>();
+        if (prefix) {
+            grams.add(PREFIX_MARK + query.substring(0, Math.min(2, query.length())));
+            for (int i = 1; i + 2 <= query.length(); i++) {
+                grams.add(query.substring(i, i + 2));
+            }
+        } else if (query.length() == 1) {
+            grams.add(query);
+        } else {
+            for (int i = 0; i + 2 <= query.length(); i++) {
+                grams.add(query.substring(i, i + 2));
+            }
+        }
+
+        // 由小到大求交集，任一倒排表缺失即无候选
+        RoaringBitmap[] lists = new RoaringBitmap[grams.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(grams.get(i));
+            if (lists[i] == null) {
+                return new RoaringBitmap();
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(RoaringBitmap::getCardinality));
+        RoaringBitmap result = lists[0];
+        for (int i = 1; i < lists.length && !result.isEmpty(); i++) {
+            result = RoaringBitmap.and(result, lists[i]);
+        }
+        return result;
+    }
+
+    private Map<String, RoaringBitmap> postings(SearchField field) {
+        return field == SearchField.NAME ? namePostings : codePostings;
+    }
+
+    /**
+     * 分配内部文档号：优先复用已删除文档的编号，否则追加
+     */
+    private int allocate(long id) {
+        if (freeCount > 0) {
+            int doc = freeDocs[--freeCount];
+            ids[doc] = id;
+            docs.put(id, doc);
+            return doc;
+        }
+        if (nextDoc == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            codes = Arrays.copyOf(codes, capacity);
+            nameKeys = Arrays.copyOf(nameKeys, capacity);
+            codeKeys = Arrays.copyOf(codeKeys, capacity);
+        }
+        int doc = nextDoc++;
+        ids[doc] = id;
+        docs.put(id, doc);
+        return doc;
+    }
+
+    /**
+     * 回收已从全部倒排表中移除的内部文档号
+     */
+    private void release(int doc) {
+        if (freeCount == freeDocs.length) {
+            freeDocs = Arrays.copyOf(freeDocs, freeDocs.length * 2);
+        }
+        freeDocs[freeCount++] = doc;
+    }
+
+    private void unindex(int doc) {
+        if (nameKeys[doc] != null) {
+            for (String key : nameKeys[doc]) {
+                unindex(namePostings, key, doc);
+            }
+        }
+        unindex(codePostings, codeKeys[doc], doc);
+    }
+
+    private static void index(Map<String, RoaringBitmap> postings, String key, int doc) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+        for (String gram : grams(key)) {
+            postings.computeIfAbsent(gram, g -> new RoaringBitmap()).add(doc);
+        }
+    }
+
+    private static void unindex(Map<String, RoaringBitmap> postings, String key, int doc) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+        for (String gram : grams(key)) {
+            RoaringBitmap posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(doc);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * 检索键的全部索引项：单字、相邻双字，以及带开头标记的首字和首两字
+     */
+    private static Set<String> grams(String key) {
+        Set<String> grams = new LinkedHashSet<>();
+        grams.add(PREFIX_MARK + key.substring(0, 1));
+        grams.add(PREFIX_MARK + key.substring(0, Math.min(2, key.length())));
+        for (int i = 0; i < key.length(); i++) {
+            grams.add(key.substring(i, i + 1));
+            if (i + 2 <= key.length()) {
+                grams.add(key.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 检索命中记录
+     */
+    @Getter
+    public static final class Hit {
+
+        private final long id;
+        private final String name;
+        private final String code;
+        private final SearchField field;
+        private final int score;
+
+        Hit(long id, String name, String code, SearchField field, int score) {
+            this.id = id;
+            this.name = name;
+            this.code = code;
+            this.field = field;
+            this.score = score;
+        }
+    }
+}
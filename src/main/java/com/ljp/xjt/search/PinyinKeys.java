@@ -0,0 +1,140 @@
+package com.ljp.xjt.search;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 名称检索键生成工具
+ * <p>
+ * 为名称生成规范化原文、不带声调的全拼与拼音首字母，如"张三"生成 张三 / zhangsan / zs。
+ * 多音字的各个读音都会展开（如"曾"同时生成 zeng 与 ceng），组合数超过上限后其余多音字只取第一个读音；
+ * 非汉字字符（字母、数字）原样保留。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public final class PinyinKeys {
+
+    private static final int MAX_VARIANTS = 8;
+    private static final HanyuPinyinOutputFormat FORMAT = new HanyuPinyinOutputFormat();
+
+    static {
+        FORMAT.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        FORMAT.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        FORMAT.setVCharType(HanyuPinyinVCharType.WITH_V);
+    }
+
+    private PinyinKeys() {
+    }
+
+    /**
+     * 规范化检索文本：去除空白并转为小写
+     *
+     * @param text 原文
+     * @return 规范化文本，原文为空时返回空串
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c) && !Character.isSpaceChar(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 生成名称的全部检索键
+     *
+     * @param name 名称
+     * @return 检索键（规范化原文在前，其后为全拼与首字母），名称为空时返回空列表
+     */
+    public static List<String> of(String name) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        // 1. 逐字取读音，组合数不超过上限
+        List<StringBuilder> full = new ArrayList<>();
+        List<StringBuilder> initials = new ArrayList<>();
+        full.add(new StringBuilder());
+        initials.add(new StringBuilder());
+        boolean hasHan = false;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            String[] readings = readings(c);
+            if (readings.length == 0) {
+                full.forEach(b -> b.append(c));
+                initials.forEach(b -> b.append(c));
+                continue;
+            }
+            hasHan = true;
+            int width = full.size() * readings.length <= MAX_VARIANTS ? readings.length : 1;
+            full = expand(full, readings, width, false);
+            initials = expand(initials, readings, width, true);
+        }
+
+        // 2. 不含汉字的名称只保留原文
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalized);
+        if (hasHan) {
+            full.forEach(b -> keys.add(b.toString()));
+            initials.forEach(b -> keys.add(b.toString()));
+        }
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * 以当前各组合分别拼接前 width 个读音
+     */
+    private static List<StringBuilder> expand(List<StringBuilder> prefixes, String[] readings, int width, boolean initialOnly) {
+        List<StringBuilder> next = new ArrayList<>(prefixes.size() * width);
+        for (StringBuilder prefix : prefixes) {
+            for (int r = 0; r < width; r++) {
+                StringBuilder builder = r == width - 1 ? prefix : new StringBuilder(prefix);
+                if (initialOnly) {
+                    builder.append(readings[r].charAt(0));
+                } else {
+                    builder.append(readings[r]);
+                }
+                next.add(builder);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * 取汉字的不重复读音（不带声调），非汉字返回空数组
+     */
+    private static String[] readings(char c) {
+        if (Character.UnicodeScript.of(c) != Character.UnicodeScript.HAN) {
+            return new String[0];
+        }
+        try {
+            String[] readings = PinyinHelper.toHanyuPinyinStringArray(c, FORMAT);
+            if (readings == null) {
+                return new String[0];
+            }
+            return new LinkedHashSet<>(List.of(readings)).toArray(new String[0]);
+        } catch (BadHanyuPinyinOutputFormatCombination ex) {
+            throw new IllegalStateException("Invalid pinyin output format", ex);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ljp.xjt.search;
+
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * 检索词解析结果
+ * <p>
+ * 由索引解析的检索词转换为ID集合，以 IN 列表传给SQL查询；
+ * 未能由索引解析的检索词（索引未就绪或命中数超过上限）原样保留，由SQL继续以LIKE匹配。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Getter
+public final class SearchCondition {
+
+    private final Set<Long> ids;    // 命中的实体ID，null表示不按ID过滤
+    private final String name;      // 仍需以LIKE匹配的名称检索词
+    private final String code;      // 仍需以LIKE匹配的编号检索词
+
+    public SearchCondition(Set<Long> ids, String name, String code) {
+        this.ids = ids;
+        this.name = name;
+        this.code = code;
+    }
+
+    /**
+     * 检索词不经索引，原样交给SQL
+     *
+     * @param name 名称检索词
+     * @param code 编号检索词
+     * @return 解析结果
+     */
+    public static SearchCondition unresolved(String name, String code) {
+        return new SearchCondition(null, name, code);
+    }
+
+    /**
+     * 是否已确定没有任何记录匹配，调用方可直接返回空结果
+     *
+     * @return 索引解析结果为空集时返回true
+     */
+    public boolean matchesNothing() {
+        return ids != null && ids.isEmpty();
+    }
+}
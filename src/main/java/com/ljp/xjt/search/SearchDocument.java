@@ -0,0 +1,25 @@
+package com.ljp.xjt.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 检索索引文档
+ * <p>
+ * 对应一条学生、教师、课程或班级记录中参与检索的列。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchDocument {
+
+    private Long id;        // 实体ID
+    private String name;    // 名称
+    private String code;    // 编号
+}
@@ -0,0 +1,31 @@
+package com.ljp.xjt.search;
+
+/**
+ * 可检索的实体类型
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public enum SearchEntityType {
+
+    /**
+     * 学生：姓名与学号
+     */
+    STUDENT,
+
+    /**
+     * 教师：姓名与教工号
+     */
+    TEACHER,
+
+    /**
+     * 课程：课程名称与课程编码
+     */
+    COURSE,
+
+    /**
+     * 班级：班级名称与班级编码
+     */
+    CLASS
+}
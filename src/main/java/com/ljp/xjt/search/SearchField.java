@@ -0,0 +1,21 @@
+package com.ljp.xjt.search;
+
+/**
+ * 检索字段
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public enum SearchField {
+
+    /**
+     * 名称，同时可按全拼与拼音首字母匹配
+     */
+    NAME,
+
+    /**
+     * 编号（学号、教工号、课程编码、班级编码）
+     */
+    CODE
+}
@@ -0,0 +1,27 @@
+package com.ljp.xjt.search;
+
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * 检索索引数据变更事件
+ * <p>
+ * 学生、教师、课程、班级表写入后发布；ids 为null表示无法确定受影响的记录，需要重建该类型的索引。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Getter
+public class SearchIndexChangedEvent {
+
+    private final SearchEntityType type;
+    private final Set<Long> ids;
+
+    public SearchIndexChangedEvent(SearchEntityType type, Set<Long> ids) {
+        this.type = type;
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,116 @@
+package com.ljp.xjt.search;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.ljp.xjt.entity.Classes;
+import com.ljp.xjt.entity.Course;
+import com.ljp.xjt.entity.Student;
+import com.ljp.xjt.entity.Teacher;
+import com.ljp.xjt.mapper.ClassesMapper;
+import com.ljp.xjt.mapper.CourseMapper;
+import com.ljp.xjt.mapper.StudentMapper;
+import com.ljp.xjt.mapper.TeacherMapper;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 检索索引同步拦截器
+ * <p>
+ * 拦截学生、教师、课程、班级Mapper的写语句，从参数中取出受影响的记录ID并发布 {@link SearchIndexChangedEvent}。
+ * 可识别的参数：实体对象、按ID更新的实体（et）、ID或ID集合（id / coll / xxxIds）；
+ * 带条件构造器的更新删除等无法确定受影响记录的语句，发布重建事件。
+ * 事件由检索索引服务在事务提交后处理。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class SearchIndexSyncInterceptor implements Interceptor {
+
+    private static final Map<String, SearchEntityType> NAMESPACES = Map.of(
+            StudentMapper.class.getName(), SearchEntityType.STUDENT,
+            TeacherMapper.class.getName(), SearchEntityType.TEACHER,
+            CourseMapper.class.getName(), SearchEntityType.COURSE,
+            ClassesMapper.class.getName(), SearchEntityType.CLASS
+    );
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SearchIndexSyncInterceptor(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        String id = statement.getId();
+        SearchEntityType type = NAMESPACES.get(id.substring(0, Math.max(id.lastIndexOf('.'), 0)));
+        if (type != null) {
+            eventPublisher.publishEvent(new SearchIndexChangedEvent(type, affectedIds(invocation.getArgs()[1])));
+        }
+        return result;
+    }
+
+    /**
+     * 从语句参数中取出受影响的记录ID
+     *
+     * @param parameter 语句参数
+     * @return ID集合，无法确定时返回null
+     */
+    private Set<Long> affectedIds(Object parameter) {
+        Set<Long> ids = new HashSet<>();
+        if (parameter instanceof Map<?, ?> params) {
+            // 1. 带条件构造器的语句无法确定受影响的记录
+            if (params.containsKey(Constants.WRAPPER) && params.get(Constants.WRAPPER) instanceof Wrapper<?>) {
+                return null;
+            }
+            // 2. 按ID更新的实体、ID与ID集合
+            for (Map.Entry<?, ?> entry : params.entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                if (Constants.ENTITY.equals(key) || Constants.COLL.equals(key) || "id".equals(key) || key.endsWith("Ids")) {
+                    collect(entry.getValue(), ids);
+                }
+            }
+        } else {
+            collect(parameter, ids);
+        }
+        return ids.isEmpty() ? null : ids;
+    }
+
+    private void collect(Object value, Set<Long> ids) {
+        if (value instanceof Collection<?> values) {
+            values.forEach(v -> collect(v, ids));
+        } else if (value instanceof Number number) {
+            ids.add(number.longValue());
+        } else if (value instanceof Student student) {
+            addId(student.getId(), ids);
+        } else if (value instanceof Teacher teacher) {
+            addId(teacher.getId(), ids);
+        } else if (value instanceof Course course) {
+            addId(course.getId(), ids);
+        } else if (value instanceof Classes classes) {
+            addId(classes.getId(), ids);
+        }
+    }
+
+    private void addId(Long id, Set<Long> ids) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.ljp.xjt.security.jwt;
 
+import com.ljp.xjt.jfr.JfrSupport;
+import com.ljp.xjt.jfr.JwtVerificationEvent;
+import com.ljp.xjt.jfr.PrincipalLoadEvent;
+import com.ljp.xjt.metrics.HotPathMetrics;
+import com.ljp.xjt.metrics.MetricsTags;
 import com.ljp.xjt.service.impl.UserDetailsServiceImpl;
 import com.ljp.xjt.utils.JwtUtils;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,6 +33,10 @@ import java.util.List;
  * 拦截所有请求，检查是否存在有效的JWT。如果存在且有效，则设置Spring Security的认证上下文。
  * 增强版可以从JWT中提取用户角色信息，并设置到认证上下文中。
  * </p>
+ * <p>
+ * 成绩推送连接（GET /grades/stream）由浏览器 EventSource 建立，无法设置请求头，
+ * 此时从查询参数 token 读取连接令牌；查询参数只接受连接令牌，连接令牌也不能经请求头访问其他接口。
+ * </p>
  * 
  * @author ljp
  * @version 1.1
@@ -39,26 +49,53 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserDetailsServiceImpl userDetailsServiceImpl;
+    private final HotPathMetrics hotPathMetrics;
 
     private static final String TOKEN_HEADER = "Authorization";
     private static final String TOKEN_PREFIX = "Bearer ";
+    private static final String STREAM_PATH = "/grades/stream";
+    private static final String STREAM_TOKEN_PARAM = "token";
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        String outcome = "anonymous";
         try {
             String jwt = getJwtFromRequest(request);
+            boolean streamToken = false;
+            if (jwt == null) {
+                jwt = getStreamTokenFromRequest(request);
+                streamToken = jwt != null;
+            }
 
-            if (StringUtils.hasText(jwt) && jwtUtils.validateToken(jwt)) {
-                String username = jwtUtils.getUsernameFromToken(jwt);
-                String role = jwtUtils.getRoleFromToken(jwt);
-                Long userId = jwtUtils.getUserIdFromToken(jwt);
+            JwtVerificationEvent verification = new JwtVerificationEvent();
+            verification.begin();
+            // 每个请求只解析一次令牌，用途、用户名、角色与用户ID均从同一份声明中读取
+            Claims claims = StringUtils.hasText(jwt) ? jwtUtils.parseValidClaims(jwt) : null;
+            if (claims != null && streamToken == jwtUtils.isStreamToken(claims)) {
+                String username = claims.getSubject();
+                String role = claims.get("role", String.class);
+                Long userId = claims.get("userId", Long.class);
+                verification.valid = true;
+                verification.username = username;
+                verification.userId = JfrSupport.id(userId);
+                verification.commit();
 
                 log.debug("JWT token validated for user: {}, role: {}", username, role);
 
                 // 从数据库加载用户（确保用户状态等仍然有效）
-                UserDetails userDetails = userDetailsServiceImpl.loadUserByUsername(username);
+                PrincipalLoadEvent principalLoad = new PrincipalLoadEvent();
+                principalLoad.begin();
+                UserDetails userDetails;
+                try {
+                    userDetails = userDetailsServiceImpl.loadUserByUsername(username);
+                    principalLoad.found = true;
+                } finally {
+                    principalLoad.username = username;
+                    principalLoad.commit();
+                }
                 
                 // 创建认证令牌, 注意第一个参数，它将被设置为SecurityContext的principal
                 UsernamePasswordAuthenticationToken authentication =
@@ -68,17 +105,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 // 设置到SecurityContext
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                outcome = "authenticated";
                 log.debug("Authenticated user: {}, setting security context", username);
             } else {
+                if (StringUtils.hasText(jwt)) {
+                    verification.commit();
+                }
                 log.debug("No valid JWT found in request, proceeding without authentication.");
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage(), e);
             // 清除SecurityContext，以防部分设置成功但后续出错
             SecurityContextHolder.clearContext();
+            outcome = "failed";
         }
+        long elapsed = System.nanoTime() - start;
 
-        filterChain.doFilter(request, response);
+        // 路由模板在请求分发后才能确定，因此在过滤链执行完后再带上 endpoint 标签记录认证耗时
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            hotPathMetrics.recordJwtFilter(MetricsTags.of(request).and("outcome", outcome), elapsed);
+        }
     }
 
     /**
@@ -94,4 +142,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
+
+    /**
+     * 成绩推送连接请求从查询参数中提取连接令牌
+     *
+     * @param request HTTP请求
+     * @return 连接令牌，非推送连接请求或未携带时返回null
+     */
+    private String getStreamTokenFromRequest(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())
+                || !STREAM_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()))) {
+            return null;
+        }
+        String token = request.getParameter(STREAM_TOKEN_PARAM);
+        return StringUtils.hasText(token) ? token : null;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.ljp.xjt.service;
+
+import com.ljp.xjt.entity.Avatar;
+
+/**
+ * <p>
+ * 头像缩略图服务类
+ * </p>
+ *
+ * @author ljp
+ * @since 2025-06-20
+ */
+public interface AvatarThumbnailService {
+
+    /**
+     * 提交后台任务，为原图生成各尺寸缩略图并记录到头像表
+     *
+     * @param original 已保存的原图头像实体
+     */
+    void scheduleThumbnails(Avatar original);
+
+    /**
+     * 选择不小于请求尺寸的最小缩略图
+     *
+     * @param original 原图头像实体
+     * @param size     请求的边长（像素）
+     * @return 缩略图实体；缩略图尚未生成、原图本身更小或请求尺寸超过配置的最大缩略图时返回null
+     */
+    Avatar findVariant(Avatar original, int size);
+
+    /**
+     * 判断请求尺寸的缩略图是否仍可能生成
+     * <p>
+     * 原图的缩略图任务已结束（生成完毕、原图过小、无法解码、超过像素上限或任务被拒绝）
+     * 或请求尺寸超过配置的最大缩略图时返回false，此时原图就是该尺寸的最终结果。
+     * </p>
+     *
+     * @param original 原图头像实体
+     * @param size     请求的边长（像素）
+     * @return 缩略图任务尚未结束且请求尺寸在配置范围内时返回true
+     */
+    boolean isVariantPending(Avatar original, int size);
+}
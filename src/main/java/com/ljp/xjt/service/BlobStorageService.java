@@ -0,0 +1,54 @@
+package com.ljp.xjt.service;
+
+import com.ljp.xjt.entity.FileBlob;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 文件内容存储服务接口
+ * <p>
+ * 在 {@link com.ljp.xjt.storage.BlobStore} 之上维护引用计数：相同内容只存一份，
+ * 每个引用方持有一次引用，引用全部释放并超过宽限期后由垃圾回收任务删除。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public interface BlobStorageService {
+
+    /**
+     * 存储内容并增加一次引用
+     * <p>
+     * 需在事务中调用，引用计数与业务记录一同提交或回滚。
+     * </p>
+     *
+     * @param in          内容输入流（由调用方关闭）
+     * @param contentType 文件类型
+     * @return 内容记录（哈希、大小、类型）
+     */
+    FileBlob store(InputStream in, String contentType);
+
+    /**
+     * 释放一次引用
+     *
+     * @param hash 内容SHA-256
+     */
+    void release(String hash);
+
+    /**
+     * 获取内容对应的本地文件
+     *
+     * @param hash 内容SHA-256
+     * @return 本地文件路径，内容不存在时抛出业务异常
+     */
+    Path fetch(String hash);
+
+    /**
+     * 回收引用计数为0且超过宽限期的内容
+     *
+     * @return 回收的数量
+     */
+    int collectGarbage();
+}
@@ -0,0 +1,60 @@
+package com.ljp.xjt.service;
+
+import com.ljp.xjt.dto.DeltaSyncDto;
+import com.ljp.xjt.sync.SyncEntityType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 增量同步服务接口
+ * <p>
+ * 列表接口的 changes 版本按 since 只返回该时间之后新增、修改的记录与删除的记录ID。
+ * 新增与修改依据各表的 updated_time 判断；业务表为物理删除，删除的记录ID由删除处调用
+ * {@link #recordDeleted} 写入删除记录表。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public interface DeltaSyncService {
+
+    /**
+     * 记录被删除（或移出范围）的记录ID；存在事务时随事务一起提交
+     *
+     * @param type      实体类型
+     * @param scopeId   所属范围ID，按 {@link SyncEntityType} 的约定传入，无范围时为null
+     * @param entityIds 记录ID
+     */
+    void recordDeleted(SyncEntityType type, Long scopeId, Collection<Long> entityIds);
+
+    /**
+     * 执行一次增量同步
+     * <p>
+     * since 为空或早于删除记录保留时长时返回全量结果；否则返回 since 之后变化的记录，
+     * 并从删除记录中过滤掉本次仍存在的记录（删除后又重新加入）。
+     * </p>
+     *
+     * @param since         上次返回的水位线（毫秒时间戳），可为null
+     * @param type          删除记录的实体类型
+     * @param scopeId       删除记录的范围ID，无范围时为null
+     * @param fullLoader    全量查询
+     * @param changedLoader 按起始时间查询变化的记录
+     * @param idOf          记录ID，与删除记录的 entity_id 对应
+     * @param <T>           记录类型
+     * @return 增量同步结果
+     */
+    <T> DeltaSyncDto<T> sync(Long since, SyncEntityType type, Long scopeId, Supplier<List<T>> fullLoader,
+                             Function<LocalDateTime, List<T>> changedLoader, Function<T, Long> idOf);
+
+    /**
+     * 删除超过保留时长的删除记录
+     *
+     * @return 删除的条数
+     */
+    int purgeTombstones();
+}
@@ -4,6 +4,8 @@ import com.ljp.xjt.entity.Avatar;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * <p>
@@ -32,9 +34,45 @@ public interface FileService {
     Resource loadFileAsResource(String filename);
 
     /**
-     * 获取用户最新的头像
-     * @param userId
-     * @return
+     * 获取用户当前的头像（按 users.avatar_id 指针查询）
+     *
+     * @param userId 用户ID
+     * @return 头像实体，没有头像时返回null
+     */
+    Avatar findCurrentAvatarByUserId(Long userId);
+
+    /**
+     * 批量解析用户的头像URL
+     * <p>
+     * 一次查询得到所有用户的当前头像，供列表接口为每行附加头像而不产生逐行查询。
+     * </p>
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID到头像URL的映射，没有头像的用户不在映射中
+     */
+    Map<Long, String> resolveAvatarUrls(Collection<Long> userIds);
+
+    /**
+     * 根据头像文件名构建访问URL
+     *
+     * @param fileName 头像文件名
+     * @return 头像URL
+     */
+    String buildAvatarUrl(String fileName);
+
+    /**
+     * 根据存储文件名获取头像记录
+     *
+     * @param fileName 存储文件名
+     * @return 头像实体，不存在时返回null
+     */
+    Avatar findAvatarByFileName(String fileName);
+
+    /**
+     * 解析头像文件在存储目录中的路径
+     *
+     * @param avatar 头像实体
+     * @return 文件路径，文件不存在时抛出业务异常
      */
-    Avatar findLatestAvatarByUserId(Long userId);
+    Path resolveAvatarPath(Avatar avatar);
 } 
\ No newline at end of file
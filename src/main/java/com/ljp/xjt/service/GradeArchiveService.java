@@ -0,0 +1,37 @@
+package com.ljp.xjt.service;
+
+/**
+ * 成绩归档服务接口
+ * <p>
+ * 成绩表只保留最近若干学年的成绩，更早学年的成绩按批移入归档表 grades_archive。
+ * 学生成绩单合并两张表查询；管理端成绩列表默认只查成绩表，按已归档的学年筛选时合并归档表。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public interface GradeArchiveService {
+
+    /**
+     * 成绩表保留的最早学年，早于该学年的成绩会被归档
+     *
+     * @return 学年
+     */
+    int getFirstRetainedYear();
+
+    /**
+     * 判断该学年的成绩是否属于归档范围（可能已部分或全部移入归档表）
+     *
+     * @param year 学年，为null时返回false
+     * @return 是否属于归档范围
+     */
+    boolean isArchivedYear(Integer year);
+
+    /**
+     * 将早于保留学年的成绩移入归档表，每批在独立事务中完成
+     *
+     * @return 归档的成绩条数
+     */
+    int archive();
+}
@@ -0,0 +1,37 @@
+package com.ljp.xjt.service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 成绩单元格自动保存服务接口
+ * <p>
+ * 教师成绩表格每修改一个单元格调用一次单条成绩接口。修改先进入按（教师、班级、课程）划分的内存缓冲区，
+ * 同一单元格的新修改覆盖旧修改；缓冲区每隔 app.grade-autosave.flush-interval 或累计
+ * app.grade-autosave.max-batch-size 个单元格时，在一个事务中整批保存，只做一次权限校验。
+ * 返回的确认在该批事务提交后才完成，未确认的修改（如节点宕机）由客户端重试。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public interface GradeAutosaveService {
+
+    /**
+     * 提交一个单元格的成绩修改
+     *
+     * @param userId    当前操作的教师用户ID
+     * @param courseId  课程ID
+     * @param classId   班级ID
+     * @param studentId 学生ID
+     * @param score     分数
+     * @return 所在批次提交后完成；无权限时以 SecurityException、学生不属于该班级时以 IllegalArgumentException 异常完成
+     */
+    CompletableFuture<Void> submit(Long userId, Long courseId, Long classId, Long studentId, BigDecimal score);
+
+    /**
+     * 同步保存全部缓冲区中的修改
+     */
+    void flushAll();
+}
@@ -0,0 +1,46 @@
+package com.ljp.xjt.service;
+
+import com.ljp.xjt.entity.Grade;
+import com.ljp.xjt.outbox.GradeChangeType;
+
+import java.util.Collection;
+
+/**
+ * 成绩变更发件箱服务接口
+ * <p>
+ * 成绩写入方在同一事务中记录变更，事务提交前一次性写入发件箱表 grade_outbox，与成绩同时提交或回滚；
+ * 发布任务按ID顺序分批取出未发布记录，交给进程内监听方（{@link com.ljp.xjt.outbox.GradeChangedEvent}）
+ * 并可选写入Redis Stream，成功后标记已发布，失败时整批保留并在下一轮重新投递（至少一次）。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public interface GradeOutboxService {
+
+    /**
+     * 记录一批成绩变更
+     * <p>
+     * 必须在读写事务中调用；成绩需已带有ID、学生ID与课程ID（新增成绩在插入之后调用）。
+     * </p>
+     *
+     * @param type   变更类型
+     * @param grades 发生变更的成绩，删除时为删除前的记录
+     */
+    void record(GradeChangeType type, Collection<Grade> grades);
+
+    /**
+     * 发布全部未发布的变更
+     *
+     * @return 发布的条数
+     */
+    int publishPending();
+
+    /**
+     * 删除超过保留时长的已发布记录
+     *
+     * @return 删除的条数
+     */
+    int purgePublished();
+}
@@ -3,6 +3,8 @@ package com.ljp.xjt.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.PageCursor;
 import com.ljp.xjt.dto.AdminGradeDto;
 import com.ljp.xjt.dto.AdminGradeUpdateRequestDto;
 import com.ljp.xjt.entity.Grade;
@@ -166,6 +168,19 @@ public interface GradeService extends IService<Grade> {
      */
     boolean upsertGrade(Long studentId, Long courseId, BigDecimal score, Long teacherId, String semester, Integer year);
 
+    /**
+     * 批量更新或插入同一课程多名学生的成绩，语义与 {@link #upsertGrade} 相同，
+     * 一次查询已有成绩后分别批量更新与批量插入
+     *
+     * @param courseId  课程ID
+     * @param scores    学生ID到分数的映射
+     * @param teacherId 操作的教师ID
+     * @param semester  学期
+     * @param year      学年
+     * @return 写入的成绩条数
+     */
+    int upsertGrades(Long courseId, Map<Long, BigDecimal> scores, Long teacherId, String semester, Integer year);
+
     /**
      * 根据管理员筛选条件分页查询成绩列表
      *
@@ -174,6 +189,7 @@ public interface GradeService extends IService<Grade> {
      * @param courseId      课程ID
      * @param studentName   学生姓名 (模糊查询)
      * @param studentNumber 学号 (模糊查询)
+     * @param year          学年，已归档的学年同时查询归档表
      * @return 分页后的成绩列表
      */
     IPage<AdminGradeDto> getGradesByAdminCriteria(
@@ -181,7 +197,30 @@ public interface GradeService extends IService<Grade> {
             Long classId,
             Long courseId,
             String studentName,
-            String studentNumber
+            String studentNumber,
+            Integer year
+    );
+
+    /**
+     * 根据管理员筛选条件按游标查询成绩列表，按更新时间倒序
+     *
+     * @param after         上一页游标，首页为null
+     * @param size          每页大小
+     * @param classId       班级ID
+     * @param courseId      课程ID
+     * @param studentName   学生姓名 (模糊查询)
+     * @param studentNumber 学号 (模糊查询)
+     * @param year          学年，已归档的学年同时查询归档表
+     * @return 游标分页结果
+     */
+    CursorPage<AdminGradeDto> getGradesByAdminCursor(
+            PageCursor after,
+            long size,
+            Long classId,
+            Long courseId,
+            String studentName,
+            String studentNumber,
+            Integer year
     );
 
     /**
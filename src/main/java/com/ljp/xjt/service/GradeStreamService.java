@@ -0,0 +1,25 @@
+package com.ljp.xjt.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 成绩实时推送服务接口
+ * <p>
+ * 学生订阅自己的成绩变更，教师订阅其任教的各班级、各课程的成绩变更，
+ * 页面收到通知后再按需刷新，不再定时轮询成绩与名册接口。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public interface GradeStreamService {
+
+    /**
+     * 为用户建立推送连接，订阅范围由用户身份确定
+     *
+     * @param userId 当前用户ID
+     * @return SSE连接
+     */
+    SseEmitter subscribe(Long userId);
+}
@@ -0,0 +1,50 @@
+package com.ljp.xjt.service;
+
+import com.ljp.xjt.dto.SearchSuggestionDto;
+import com.ljp.xjt.search.SearchCondition;
+import com.ljp.xjt.search.SearchEntityType;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <p>
+ * 检索索引服务类
+ * </p>
+ *
+ * @author ljp
+ * @since 2025-06-20
+ */
+public interface SearchIndexService {
+
+    /**
+     * 将名称、编号检索词解析为实体ID集合
+     * <p>
+     * 名称可按原文、全拼或拼音首字母匹配，编号按原文匹配，均为包含匹配；两者同时给出时取交集。
+     * 索引未就绪或某个检索词命中数超过上限时，该检索词保留在结果中由SQL以LIKE匹配。
+     * </p>
+     *
+     * @param type 实体类型
+     * @param name 名称检索词，可为空
+     * @param code 编号检索词，可为空
+     * @return 解析结果
+     */
+    SearchCondition resolve(SearchEntityType type, String name, String code);
+
+    /**
+     * 检索建议（自动补全）
+     *
+     * @param keyword 检索词
+     * @param types   实体类型，为空时检索全部类型
+     * @param limit   最多返回的条数
+     * @return 按匹配程度排序的建议列表，索引未就绪的类型不返回结果
+     */
+    List<SearchSuggestionDto> suggest(String keyword, Collection<SearchEntityType> types, int limit);
+
+    /**
+     * 重建指定类型的索引（后台执行）
+     *
+     * @param type 实体类型
+     */
+    void rebuild(SearchEntityType type);
+}
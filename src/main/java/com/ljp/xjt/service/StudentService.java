@@ -4,6 +4,8 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.PageCursor;
 import com.ljp.xjt.dto.*;
 import com.ljp.xjt.entity.Student;
 
@@ -38,6 +40,15 @@ public interface StudentService extends IService<Student> {
      */
     IPage<StudentDTO> selectStudentPage(Page<Student> page, LambdaQueryWrapper<Student> queryWrapper);
 
+    /**
+     * 按游标查询学生列表，按创建时间倒序，并携带班级等详细信息
+     * @param after 上一页游标，首页为null
+     * @param size 每页大小
+     * @param queryWrapper 筛选条件（不含排序）
+     * @return 包含详细信息的学生游标分页数据
+     */
+    CursorPage<StudentDTO> selectStudentCursor(PageCursor after, long size, LambdaQueryWrapper<Student> queryWrapper);
+
     /**
      * 新增学生
      *
@@ -135,6 +146,14 @@ public interface StudentService extends IService<Student> {
      */
     List<StudentGradeDTO> findMyGrades();
 
+    /**
+     * 增量查询当前登录学生的成绩，记录与删除ID均以课程ID标识
+     *
+     * @param since 上次返回的水位线（毫秒时间戳），为null时返回全量
+     * @return DeltaSyncDto<StudentGradeDTO> 增量同步结果
+     */
+    DeltaSyncDto<StudentGradeDTO> findMyGradeChanges(Long since);
+
     /**
      * 更新当前登录学生的个人信息
      *
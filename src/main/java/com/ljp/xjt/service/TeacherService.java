@@ -3,6 +3,9 @@ package com.ljp.xjt.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.PageCursor;
+import com.ljp.xjt.dto.DeltaSyncDto;
 import com.ljp.xjt.dto.TeacherCreateDTO;
 import com.ljp.xjt.entity.Teacher;
 import com.ljp.xjt.dto.TeacherClassDto;
@@ -16,6 +19,8 @@ import com.ljp.xjt.dto.BatchGradeResponseDto;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 教师服务接口
@@ -39,6 +44,17 @@ public interface TeacherService extends IService<Teacher> {
      */
     IPage<Teacher> getTeacherList(Page<Teacher> page, String teacherName, Long departmentId);
 
+    /**
+     * 按游标查询教师列表，按创建时间倒序
+     *
+     * @param after 上一页游标，首页为null
+     * @param size 每页大小
+     * @param teacherName 教师姓名(模糊查询)
+     * @param departmentId 部门ID
+     * @return 教师游标分页列表
+     */
+    CursorPage<Teacher> getTeacherCursor(PageCursor after, long size, String teacherName, Long departmentId);
+
     /**
      * 创建教师
      *
@@ -113,6 +129,17 @@ public interface TeacherService extends IService<Teacher> {
      */
     List<StudentDto> findStudentsByClassAndCourse(Long userId, Long classId, Long courseId);
 
+    /**
+     * 增量查询指定班级和课程的学生名册，删除ID为被删除或移出该班级的学生ID
+     *
+     * @param userId   用户ID
+     * @param classId  班级ID
+     * @param courseId 课程ID
+     * @param since    上次返回的水位线（毫秒时间戳），为null时返回全量
+     * @return 增量同步结果
+     */
+    DeltaSyncDto<StudentDto> findStudentChangesByClassAndCourse(Long userId, Long classId, Long courseId, Long since);
+
     /**
      * 更新学生成绩
      *
@@ -125,6 +152,17 @@ public interface TeacherService extends IService<Teacher> {
      */
     boolean updateGrade(Long userId, Long courseId, Long classId, Long studentId, BigDecimal score);
 
+    /**
+     * 在一个事务中保存同一教师、班级、课程下合并后的多条单元格成绩修改，只做一次权限校验
+     *
+     * @param userId   当前操作的教师用户ID
+     * @param courseId 课程ID
+     * @param classId  班级ID
+     * @param scores   学生ID到分数的映射
+     * @return 不属于该班级、未保存的学生ID
+     */
+    Set<Long> saveGradeEdits(Long userId, Long courseId, Long classId, Map<Long, BigDecimal> scores);
+
     /**
      * 根据用户ID获取教师的详细个人资料
      *
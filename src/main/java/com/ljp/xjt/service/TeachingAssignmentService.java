@@ -3,6 +3,8 @@ package com.ljp.xjt.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.PageCursor;
 import com.ljp.xjt.dto.TeachingAssignmentDto;
 import com.ljp.xjt.dto.TeachingAssignmentRequestDto;
 import com.ljp.xjt.entity.Course;
@@ -30,6 +32,18 @@ public interface TeachingAssignmentService extends IService<TeachingAssignment>
      */
     IPage<TeachingAssignmentDto> listAssignments(Page<TeachingAssignmentDto> page, String courseName, String teacherName, String className);
 
+    /**
+     * 按游标查询教学分配的详细信息，按学年、学期、ID倒序
+     *
+     * @param after        上一页游标，首页为null
+     * @param size         每页大小
+     * @param courseName   课程名称 (可选, 用于筛选)
+     * @param teacherName  教师名称 (可选, 用于筛选)
+     * @param className    班级名称 (可选, 用于筛选)
+     * @return 游标分页结果
+     */
+    CursorPage<TeachingAssignmentDto> listAssignmentsByCursor(PageCursor after, long size, String courseName, String teacherName, String className);
+
     /**
      * 创建一个新的教学分配记录
      *
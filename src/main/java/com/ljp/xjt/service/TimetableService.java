@@ -0,0 +1,33 @@
+package com.ljp.xjt.service;
+
+import com.ljp.xjt.dto.TimetableValidationDto;
+import com.ljp.xjt.entity.TeachingAssignment;
+
+/**
+ * 课表冲突检查服务接口
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public interface TimetableService {
+
+    /**
+     * 检查排课的上课时间是否与同学期同一教师、班级或教室的其它排课冲突
+     * <p>
+     * 上课时间为空时不检查；格式无法识别或存在冲突时抛出 IllegalArgumentException。
+     * </p>
+     *
+     * @param assignment 待保存的排课，更新时ID为自身ID
+     */
+    void checkConflicts(TeachingAssignment assignment);
+
+    /**
+     * 校验整个学期的课表
+     *
+     * @param year     学年
+     * @param semester 学期
+     * @return 冲突与无法解析的上课时间
+     */
+    TimetableValidationDto validateTerm(Integer year, String semester);
+}
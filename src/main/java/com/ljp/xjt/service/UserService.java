@@ -3,6 +3,8 @@ package com.ljp.xjt.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.PageCursor;
 import com.ljp.xjt.dto.UnboundUserDTO;
 import com.ljp.xjt.dto.UserDTO;
 import com.ljp.xjt.entity.User;
@@ -89,6 +91,18 @@ public interface UserService extends IService<User> {
      */
     IPage<UserDTO> getUserList(Page<User> page, String username, String email, Integer status);
 
+    /**
+     * 按游标查询用户列表，按用户ID倒序
+     *
+     * @param after     上一页游标，首页为null
+     * @param size      每页大小
+     * @param username  用户名
+     * @param email     邮箱
+     * @param status    状态
+     * @return 包含角色信息的用户游标分页数据
+     */
+    CursorPage<UserDTO> getUserCursor(PageCursor after, long size, String username, String email, Integer status);
+
     /**
      * 验证用户名是否已存在
      *
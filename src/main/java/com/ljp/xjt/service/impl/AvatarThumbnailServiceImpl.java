@@ -0,0 +1,287 @@
+package com.ljp.xjt.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.ljp.xjt.config.FileStorageProperties;
+import com.ljp.xjt.entity.Avatar;
+import com.ljp.xjt.entity.FileBlob;
+import com.ljp.xjt.mapper.AvatarMapper;
+import com.ljp.xjt.service.AvatarThumbnailService;
+import com.ljp.xjt.service.BlobStorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * 头像缩略图服务实现类
+ * <p>
+ * 原图只解码一次，裁剪为正方形后由大到小逐级缩放生成各尺寸缩略图，
+ * 不透明图片输出JPEG，带透明通道的输出PNG。缩略图内容交给内容存储服务保存，
+ * 以"原图名-尺寸"命名并作为子记录写入avatars表；写入前锁定原图记录，原图已被替换时放弃。
+ * 任务无论生成、跳过还是失败，结束时都在原图记录上标记 thumbnails_done，此后缺少的尺寸不会再生成。
+ * </p>
+ *
+ * @author ljp
+ * @since 2025-06-20
+ */
+@Slf4j
+@Service
+public class AvatarThumbnailServiceImpl implements AvatarThumbnailService {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final FileStorageProperties fileStorageProperties;
+    private final AvatarMapper avatarMapper;
+    private final BlobStorageService blobStorageService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor avatarThumbnailExecutor;
+
+    public AvatarThumbnailServiceImpl(FileStorageProperties fileStorageProperties, AvatarMapper avatarMapper,
+                                      BlobStorageService blobStorageService, TransactionTemplate transactionTemplate,
+                                      @Qualifier("avatarThumbnailExecutor") TaskExecutor avatarThumbnailExecutor) {
+        this.fileStorageProperties = fileStorageProperties;
+        this.avatarMapper = avatarMapper;
+        this.blobStorageService = blobStorageService;
+        this.transactionTemplate = transactionTemplate;
+        this.avatarThumbnailExecutor = avatarThumbnailExecutor;
+    }
+
+    @Override
+    public void scheduleThumbnails(Avatar original) {
+        if (!StringUtils.hasText(original.getContentType()) || !original.getContentType().startsWith("image/")) {
+            return;
+        }
+        try {
+            avatarThumbnailExecutor.execute(() -> generateThumbnails(original));
+        } catch (TaskRejectedException ex) {
+            log.warn("Thumbnail queue is full, avatar {} will be served at original size", original.getId());
+            markThumbnailsDone(original);
+        }
+    }
+
+    @Override
+    public Avatar findVariant(Avatar original, int size) {
+        if (size > maxThumbnailSize()) {
+            return null;
+        }
+        return avatarMapper.selectOne(new QueryWrapper<Avatar>()
+                .eq("parent_id", original.getId())
+                .ge("variant_size", size)
+                .orderByAsc("variant_size")
+                .last("LIMIT 1"));
+    }
+
+    @Override
+    public boolean isVariantPending(Avatar original, int size) {
+        return size <= maxThumbnailSize() && !Boolean.TRUE.equals(original.getThumbnailsDone());
+    }
+
+    private int maxThumbnailSize() {
+        return Arrays.stream(fileStorageProperties.getThumbnailSizes()).max().orElse(0);
+    }
+
+    /**
+     * 标记原图的缩略图任务已结束
+     */
+    private void markThumbnailsDone(Avatar original) {
+        try {
+            avatarMapper.update(null, new UpdateWrapper<Avatar>()
+                    .eq("id", original.getId())
+                    .set("thumbnails_done", true));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to mark thumbnails of avatar {} as done: {}", original.getId(), ex.getMessage());
+        }
+    }
+
+    /**
+     * 生成并记录所有尺寸的缩略图
+     *
+     * @param original 原图头像实体
+     */
+    private void generateThumbnails(Avatar original) {
+        try {
+            Path source = blobStorageService.fetch(original.getFilePath());
+
+            // 1. 解码原图（仅一次），无法识别的格式直接跳过
+            BufferedImage image = decode(source);
+            if (image == null) {
+                log.info("Avatar {} is not a decodable image, skip thumbnails", original.getId());
+                return;
+            }
+            boolean hasAlpha = image.getColorModel().hasAlpha();
+            String format = hasAlpha ? "png" : "jpg";
+            String contentType = hasAlpha ? "image/png" : "image/jpeg";
+            String stem = StringUtils.stripFilenameExtension(original.getFileName());
+
+            // 2. 由大到小逐级缩放，每一级以上一级结果为输入
+            BufferedImage current = cropToSquare(image, hasAlpha);
+            int[] sizes = Arrays.stream(fileStorageProperties.getThumbnailSizes()).sorted().toArray();
+            for (int i = sizes.length - 1; i >= 0; i--) {
+                int size = sizes[i];
+                if (size >= current.getWidth()) {
+                    // 原图本身不大于该尺寸时不生成，请求方回退到原图
+                    continue;
+                }
+                current = resize(current, size, hasAlpha);
+
+                String fileName = stem + "-" + size + "." + format;
+                if (!recordVariant(original, fileName, encode(current, format), contentType, size)) {
+                    log.debug("Avatar {} was replaced, stop generating thumbnails", original.getId());
+                    return;
+                }
+            }
+            log.debug("Generated thumbnails for avatar {}", original.getId());
+        } catch (IOException | RuntimeException ex) {
+            log.error("Failed to generate thumbnails for avatar {}", original.getId(), ex);
+        } finally {
+            markThumbnailsDone(original);
+        }
+    }
+
+    /**
+     * 解码图片，超过像素上限时拒绝解码
+     *
+     * @param source 图片路径
+     * @return 解码后的图片，无法识别时返回null
+     * @throws IOException 读取失败
+     */
+    private BufferedImage decode(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > fileStorageProperties.getThumbnailMaxPixels()) {
+                    log.warn("Image {} has {} pixels, exceeds limit, skip thumbnails", source.getFileName(), pixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 居中裁剪为正方形
+     */
+    private BufferedImage cropToSquare(BufferedImage image, boolean hasAlpha) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        int x = (image.getWidth() - side) / 2;
+        int y = (image.getHeight() - side) / 2;
+        BufferedImage square = new BufferedImage(side, side, hasAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = square.createGraphics();
+        try {
+            g.drawImage(image, 0, 0, side, side, x, y, x + side, y + side, null);
+        } finally {
+            g.dispose();
+        }
+        return square;
+    }
+
+    /**
+     * 缩放到指定边长；缩放比例超过一半时先逐次减半，以保证双线性插值的质量
+     */
+    private BufferedImage resize(BufferedImage source, int size, boolean hasAlpha) {
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= size) {
+            current = draw(current, current.getWidth() / 2, hasAlpha);
+        }
+        return current.getWidth() == size ? current : draw(current, size, hasAlpha);
+    }
+
+    private BufferedImage draw(BufferedImage source, int size, boolean hasAlpha) {
+        BufferedImage target = new BufferedImage(size, size, hasAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, size, size, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * 编码缩略图（缩略图尺寸很小，直接在内存中编码）
+     */
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(buffer)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 存储缩略图内容并记录到头像表
+     * <p>
+     * 在同一事务中锁定原图记录，原图已被删除（用户上传了新头像）时不写入，避免产生无主的缩略图。
+     * </p>
+     *
+     * @return 原图仍存在并已记录时返回true
+     */
+    private boolean recordVariant(Avatar original, String fileName, byte[] content, String contentType, int size) {
+        Boolean recorded = transactionTemplate.execute(status -> {
+            Avatar parent = avatarMapper.selectOne(new QueryWrapper<Avatar>()
+                    .eq("id", original.getId())
+                    .last("FOR UPDATE"));
+            if (parent == null) {
+                return false;
+            }
+            FileBlob blob = blobStorageService.store(new ByteArrayInputStream(content), contentType);
+            Avatar variant = new Avatar()
+                    .setUserId(original.getUserId())
+                    .setParentId(original.getId())
+                    .setVariantSize(size)
+                    .setFileName(fileName)
+                    .setOriginalName(original.getOriginalName())
+                    .setFilePath(blob.getHash())
+                    .setFileSize(blob.getFileSize())
+                    .setContentType(contentType)
+                    .setCreatedTime(LocalDateTime.now());
+            avatarMapper.insert(variant);
+            return true;
+        });
+        return Boolean.TRUE.equals(recorded);
+    }
+}
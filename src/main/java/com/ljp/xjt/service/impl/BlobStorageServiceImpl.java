@@ -0,0 +1,155 @@
+package com.ljp.xjt.service.impl;
+
+import com.ljp.xjt.common.exception.BusinessException;
+import com.ljp.xjt.config.FileStorageProperties;
+import com.ljp.xjt.entity.FileBlob;
+import com.ljp.xjt.mapper.FileBlobMapper;
+import com.ljp.xjt.service.BlobStorageService;
+import com.ljp.xjt.storage.BlobStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 文件内容存储服务实现类
+ * <p>
+ * 写入流程：边写暂存文件边计算SHA-256（只读一遍），随后增加引用计数并在内容不存在时提交到存储。
+ * 增加引用的语句会锁住 file_blobs 中的对应行，垃圾回收以 SELECT ... FOR UPDATE 锁定同一行后
+ * 再次确认引用计数为0才删除，两者互斥，不会删掉刚被重新引用的内容。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlobStorageServiceImpl implements BlobStorageService {
+
+    private static final int GC_BATCH_SIZE = 100;
+
+    private final BlobStore blobStore;
+    private final FileBlobMapper fileBlobMapper;
+    private final FileStorageProperties fileStorageProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY, rollbackFor = Exception.class)
+    public FileBlob store(InputStream in, String contentType) {
+        Path tempFile = null;
+        try {
+            // 1. 写入暂存文件的同时计算摘要
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            tempFile = blobStore.createTempFile();
+            try (InputStream digestIn = new DigestInputStream(in, digest)) {
+                Files.copy(digestIn, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            long size = Files.size(tempFile);
+
+            // 2. 先增加引用（锁住该行，与垃圾回收互斥），再在内容不存在时提交到存储
+            fileBlobMapper.acquire(hash, size, contentType);
+            blobStore.put(hash, tempFile, contentType);
+
+            FileBlob blob = new FileBlob();
+            blob.setHash(hash);
+            blob.setFileSize(size);
+            blob.setContentType(contentType);
+            return blob;
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            throw new BusinessException("Could not store file content", ex);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    @Override
+    public void release(String hash) {
+        if (BlobStore.isKey(hash)) {
+            fileBlobMapper.release(hash);
+        }
+    }
+
+    @Override
+    public Path fetch(String hash) {
+        try {
+            return blobStore.fetch(hash);
+        } catch (NoSuchFileException | IllegalArgumentException ex) {
+            throw new BusinessException(404, "File not found " + hash);
+        } catch (IOException ex) {
+            throw new BusinessException("Could not read file " + hash, ex);
+        }
+    }
+
+    /**
+     * 定时回收无引用的内容
+     * <p>
+     * 每条内容在独立事务中处理：锁定记录、确认仍可回收、删除存储中的内容、删除记录。
+     * 存储删除失败时事务回滚，记录保留到下一轮重试。
+     * </p>
+     *
+     * @return 回收的数量
+     */
+    @Override
+    @Scheduled(initialDelayString = "${app.file.gc-interval:PT1H}", fixedDelayString = "${app.file.gc-interval:PT1H}")
+    public int collectGarbage() {
+        LocalDateTime before = LocalDateTime.now().minus(fileStorageProperties.getGcGracePeriod());
+        List<String> candidates = fileBlobMapper.selectCollectable(before, GC_BATCH_SIZE);
+        int collected = 0;
+        for (String hash : candidates) {
+            try {
+                Boolean deleted = transactionTemplate.execute(status -> {
+                    if (fileBlobMapper.lockCollectable(hash, before) == null) {
+                        return false;
+                    }
+                    try {
+                        blobStore.delete(hash);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    fileBlobMapper.deleteById(hash);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(deleted)) {
+                    collected++;
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Failed to collect blob {}, will retry next round", hash, ex);
+            }
+        }
+        if (collected > 0) {
+            log.info("Collected {} unreferenced blobs", collected);
+        }
+        return collected;
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Failed to delete temp file {}", file, ex);
+        }
+    }
+}
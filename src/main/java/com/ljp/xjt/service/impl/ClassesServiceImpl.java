@@ -4,12 +4,12 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.ljp.xjt.dto.ClassDto;
+import com.ljp.xjt.dto.convert.ClassConverter;
 import com.ljp.xjt.entity.Classes;
 import com.ljp.xjt.entity.Major;
 import com.ljp.xjt.mapper.ClassesMapper;
 import com.ljp.xjt.mapper.MajorMapper;
 import com.ljp.xjt.service.ClassesService;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -93,18 +93,14 @@ public class ClassesServiceImpl extends ServiceImpl<ClassesMapper, Classes> impl
                 .distinct()
                 .collect(Collectors.toList());
 
-        // 4. 根据 majorId 批量查询专业信息
-        Map<Long, String> majorIdToNameMap = majorMapper.selectBatchIds(majorIds).stream()
-                .collect(Collectors.toMap(Major::getId, Major::getMajorName));
+        // 4. 根据 majorId 批量查询专业名称
+        Map<Long, String> majorIdToNameMap = getMajorIdToNameMap(majorIds);
 
         // 5. 将 `Page<Classes>` 转换为 `Page<ClassDto>`，并填充 `majorName`
         Page<ClassDto> dtoPage = new Page<>(classesPage.getCurrent(), classesPage.getSize(), classesPage.getTotal());
-        List<ClassDto> dtoList = classesPage.getRecords().stream().map(classes -> {
-            ClassDto dto = new ClassDto();
-            BeanUtils.copyProperties(classes, dto);
-            dto.setMajorName(majorIdToNameMap.get(classes.getMajorId()));
-            return dto;
-        }).collect(Collectors.toList());
+        List<ClassDto> dtoList = classesPage.getRecords().stream()
+                .map(classes -> ClassConverter.toDto(classes, majorIdToNameMap.get(classes.getMajorId())))
+                .collect(Collectors.toList());
 
         dtoPage.setRecords(dtoList);
 
@@ -116,7 +112,9 @@ public class ClassesServiceImpl extends ServiceImpl<ClassesMapper, Classes> impl
         if (majorIds == null || majorIds.isEmpty()) {
             return Map.of();
         }
-        return majorMapper.selectBatchIds(majorIds).stream()
+        return majorMapper.selectList(new LambdaQueryWrapper<Major>()
+                        .select(Major::getId, Major::getMajorName)
+                        .in(Major::getId, majorIds)).stream()
                 .collect(Collectors.toMap(Major::getId, Major::getMajorName));
     }
 } 
\ No newline at end of file
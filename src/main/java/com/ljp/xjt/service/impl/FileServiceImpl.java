@@ -1,38 +1,64 @@
 package com.ljp.xjt.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.ljp.xjt.common.exception.BusinessException;
 import com.ljp.xjt.config.FileStorageProperties;
 import com.ljp.xjt.entity.Avatar;
+import com.ljp.xjt.entity.FileBlob;
+import com.ljp.xjt.entity.User;
+import com.ljp.xjt.jfr.FileTransferEvent;
+import com.ljp.xjt.jfr.JfrSupport;
 import com.ljp.xjt.mapper.AvatarMapper;
+import com.ljp.xjt.mapper.UserMapper;
+import com.ljp.xjt.service.AvatarThumbnailService;
+import com.ljp.xjt.service.BlobStorageService;
 import com.ljp.xjt.service.FileService;
+import com.ljp.xjt.storage.BlobStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 public class FileServiceImpl implements FileService {
 
     private final Path fileStorageLocation;
     private final AvatarMapper avatarMapper;
+    private final AvatarThumbnailService avatarThumbnailService;
+    private final BlobStorageService blobStorageService;
+    private final UserMapper userMapper;
 
     @Autowired
-    public FileServiceImpl(FileStorageProperties fileStorageProperties, AvatarMapper avatarMapper) {
+    public FileServiceImpl(FileStorageProperties fileStorageProperties, AvatarMapper avatarMapper,
+                           AvatarThumbnailService avatarThumbnailService, BlobStorageService blobStorageService,
+                           UserMapper userMapper) {
         this.fileStorageLocation = Paths.get(fileStorageProperties.getUploadPath()).toAbsolutePath().normalize();
         this.avatarMapper = avatarMapper;
+        this.userMapper = userMapper;
+        this.avatarThumbnailService = avatarThumbnailService;
+        this.blobStorageService = blobStorageService;
     }
 
     @PostConstruct
@@ -44,9 +70,22 @@ public class FileServiceImpl implements FileService {
         }
     }
 
+    /**
+     * 存储头像
+     * <p>
+     * 文件内容交给内容存储服务按SHA-256去重保存，头像记录的 file_path 保存内容哈希，
+     * 文件名为"哈希+扩展名"，同一URL对应的内容永不改变，可被客户端长期缓存。
+     * 新头像写入后释放该用户旧头像（含缩略图）的引用并删除旧记录，无人引用的内容由垃圾回收任务清理。
+     * </p>
+     *
+     * @param file   上传的文件
+     * @param userId 用户ID
+     * @return 头像实体
+     */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public Avatar storeAvatar(MultipartFile file, Long userId) {
-        // 1. 标准化和生成文件名
+        // 1. 标准化文件名并提取扩展名
         String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
         String fileExtension = "";
         try {
@@ -54,34 +93,62 @@ public class FileServiceImpl implements FileService {
         } catch (Exception e) {
             throw new BusinessException("Failed to extract file extension from file " + originalFilename);
         }
-        String fileName = UUID.randomUUID().toString() + fileExtension;
 
+        // 2. 检查文件名是否包含无效字符
+        if (fileExtension.contains("..") || fileExtension.contains("/") || fileExtension.contains("\\")) {
+            throw new BusinessException("Sorry! Filename contains invalid path sequence " + originalFilename);
+        }
 
-        try {
-            // 2. 检查文件名是否包含无效字符
-            if (fileName.contains("..")) {
-                throw new BusinessException("Sorry! Filename contains invalid path sequence " + originalFilename);
-            }
-
-            // 3. 将文件复制到目标位置
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            // 4. 在数据库中创建记录
-            Avatar avatar = new Avatar();
-            avatar.setUserId(userId);
-            avatar.setFileName(fileName);
-            avatar.setOriginalName(originalFilename);
-            avatar.setFilePath(targetLocation.toString());
-            avatar.setFileSize(file.getSize());
-            avatar.setContentType(file.getContentType());
-            avatar.setCreatedTime(LocalDateTime.now());
-            avatarMapper.insert(avatar);
-
-            return avatar;
+        // 3. 存储文件内容（边写入边计算摘要，相同内容只保存一份）
+        FileTransferEvent event = new FileTransferEvent();
+        event.begin();
+        FileBlob blob;
+        try (InputStream in = file.getInputStream()) {
+            blob = blobStorageService.store(in, file.getContentType());
         } catch (IOException ex) {
             throw new BusinessException("Could not store file " + originalFilename + ". Please try again!", ex);
         }
+        event.operation = "upload";
+        event.userId = JfrSupport.id(userId);
+        event.fileName = blob.getHash();
+        event.bytes = blob.getFileSize();
+        event.commit();
+
+        // 4. 释放旧头像及其缩略图的引用并删除记录（锁定旧记录，与后台缩略图任务互斥）
+        List<Avatar> previous = avatarMapper.selectList(new QueryWrapper<Avatar>()
+                .eq("user_id", userId)
+                .last("FOR UPDATE"));
+        if (!previous.isEmpty()) {
+            previous.forEach(old -> blobStorageService.release(old.getFilePath()));
+            avatarMapper.deleteBatchIds(previous.stream().map(Avatar::getId).toList());
+        }
+
+        // 5. 在数据库中创建记录
+        Avatar avatar = new Avatar();
+        avatar.setUserId(userId);
+        avatar.setFileName(blob.getHash() + fileExtension.toLowerCase());
+        avatar.setOriginalName(originalFilename);
+        avatar.setFilePath(blob.getHash());
+        avatar.setFileSize(blob.getFileSize());
+        avatar.setContentType(file.getContentType());
+        avatar.setCreatedTime(LocalDateTime.now());
+        avatarMapper.insert(avatar);
+
+        // 6. 更新用户的当前头像指针，读取头像时无需再按时间排序查找
+        userMapper.update(null, new LambdaUpdateWrapper<User>()
+                .set(User::getAvatarId, avatar.getId())
+                .set(User::getUpdatedTime, LocalDateTime.now())
+                .eq(User::getId, userId));
+
+        // 7. 事务提交后在后台生成各尺寸缩略图，生成完成前按原图提供
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                avatarThumbnailService.scheduleThumbnails(avatar);
+            }
+        });
+
+        return avatar;
     }
 
     @Override
@@ -100,10 +167,61 @@ public class FileServiceImpl implements FileService {
     }
 
     @Override
-    public Avatar findLatestAvatarByUserId(Long userId) {
+    public Avatar findCurrentAvatarByUserId(Long userId) {
+        List<Avatar> avatars = avatarMapper.selectCurrentByUserIds(List.of(userId));
+        return avatars.isEmpty() ? null : avatars.get(0);
+    }
+
+    @Override
+    public Map<Long, String> resolveAvatarUrls(Collection<Long> userIds) {
+        if (CollectionUtils.isEmpty(userIds)) {
+            return Map.of();
+        }
+        List<Long> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return avatarMapper.selectCurrentByUserIds(ids).stream()
+                .collect(Collectors.toMap(Avatar::getUserId, avatar -> buildAvatarUrl(avatar.getFileName()), (a, b) -> a));
+    }
+
+    @Override
+    public String buildAvatarUrl(String fileName) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/v1/profile/avatar/")
+                .path(fileName)
+                .toUriString();
+    }
+
+    @Override
+    public Avatar findAvatarByFileName(String fileName) {
         return avatarMapper.selectOne(new QueryWrapper<Avatar>()
-                .eq("user_id", userId)
-                .orderByDesc("created_time")
+                .eq("file_name", fileName)
                 .last("LIMIT 1"));
     }
+
+    @Override
+    public Path resolveAvatarPath(Avatar avatar) {
+        FileTransferEvent event = new FileTransferEvent();
+        event.begin();
+        Path filePath;
+        if (BlobStore.isKey(avatar.getFilePath())) {
+            // 1. 内容寻址存储的头像按哈希读取（远程存储在此下载到本地读缓存）
+            filePath = blobStorageService.fetch(avatar.getFilePath());
+        } else {
+            // 2. 早期头像直接存放在上传目录下
+            filePath = this.fileStorageLocation.resolve(avatar.getFileName()).normalize();
+            if (!filePath.startsWith(this.fileStorageLocation) || !Files.isRegularFile(filePath)) {
+                throw new BusinessException(404, "File not found " + avatar.getFileName());
+            }
+        }
+        if (event.shouldCommit()) {
+            event.operation = "serve";
+            event.userId = JfrSupport.id(avatar.getUserId());
+            event.fileName = avatar.getFileName();
+            event.bytes = avatar.getFileSize() == null ? 0L : avatar.getFileSize();
+            event.commit();
+        }
+        return filePath;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.ljp.xjt.service.impl;
+
+import com.ljp.xjt.cache.TeachingStatisticsCacheEvictor;
+import com.ljp.xjt.common.exception.BusinessException;
+import com.ljp.xjt.config.GradeArchiveProperties;
+import com.ljp.xjt.mapper.GradeArchiveMapper;
+import com.ljp.xjt.service.GradeArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 成绩归档服务实现类
+ * <p>
+ * 每批在独立事务中锁定一批待归档成绩、复制到归档表并从成绩表删除，
+ * 单批失败只回滚该批，已完成的批次保留，下一轮从剩余成绩继续。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GradeArchiveServiceImpl implements GradeArchiveService {
+
+    private final GradeArchiveMapper gradeArchiveMapper;
+    private final GradeArchiveProperties gradeArchiveProperties;
+    private final TeachingStatisticsCacheEvictor teachingStatisticsCacheEvictor;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Override
+    public int getFirstRetainedYear() {
+        return LocalDate.now().getYear() - Math.max(1, gradeArchiveProperties.getRetainYears()) + 1;
+    }
+
+    @Override
+    public boolean isArchivedYear(Integer year) {
+        return year != null && year < getFirstRetainedYear();
+    }
+
+    /**
+     * 定时归档，未启用时跳过
+     */
+    @Scheduled(cron = "${app.grade-archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (gradeArchiveProperties.isEnabled()) {
+            archive();
+        }
+    }
+
+    @Override
+    public int archive() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException(409, "成绩归档正在执行");
+        }
+        try {
+            int beforeYear = getFirstRetainedYear();
+            int batchSize = Math.max(1, gradeArchiveProperties.getBatchSize());
+            long start = System.currentTimeMillis();
+            int archived = 0;
+            while (true) {
+                Integer moved = transactionTemplate.execute(status -> {
+                    // 1. 锁定一批，与成绩录入、修改互斥
+                    List<Long> ids = gradeArchiveMapper.lockArchivable(beforeYear, batchSize);
+                    if (ids.isEmpty()) {
+                        return 0;
+                    }
+                    // 2. 复制后删除，两者行数不一致说明数据异常，回滚该批
+                    int copied = gradeArchiveMapper.copyToArchive(ids);
+                    int deleted = gradeArchiveMapper.deleteArchived(ids);
+                    if (copied != ids.size() || deleted != ids.size()) {
+                        throw new IllegalStateException("Archived " + copied + " but deleted " + deleted
+                                + " of " + ids.size() + " grades");
+                    }
+                    return ids.size();
+                });
+                if (moved == null || moved == 0) {
+                    break;
+                }
+                archived += moved;
+            }
+            if (archived > 0) {
+                teachingStatisticsCacheEvictor.evictAll();
+                log.info("Archived {} grades before year {} in {} ms", archived, beforeYear,
+                        System.currentTimeMillis() - start);
+            }
+            return archived;
+        } finally {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.ljp.xjt.service.impl;
+
+import com.ljp.xjt.config.GradeAutosaveProperties;
+import com.ljp.xjt.datasource.PrimaryStickiness;
+import com.ljp.xjt.service.GradeAutosaveService;
+import com.ljp.xjt.service.TeacherService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 成绩单元格自动保存服务实现类
+ * <p>
+ * 同一缓冲区的保存由锁串行化：先取出的批次一定先提交，同一单元格的旧值不会覆盖新值。
+ * 缓冲区按（教师、班级、课程）创建后不再移除，数量以授课安排数为上限。
+ * 缓冲区只在本节点内存中，不同节点对同一单元格的修改按提交先后生效，与逐条保存时相同。
+ * </p>
+ * <p>
+ * 定时保存由专用的单线程调度器触发，不与其他定时任务（如成绩归档、文件回收）共用线程，
+ * 耗时任务运行期间修改确认的等待时间仍以合并窗口为上限。
+ * 保存线程没有请求的安全上下文，修改入缓冲区时记下用户名，提交后代其开启写后固定主库窗口。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Service
+public class GradeAutosaveServiceImpl implements GradeAutosaveService {
+
+    /**
+     * 每批保存耗时，outcome 标签区分成功与失败
+     */
+    public static final String FLUSH_TIMER = "xjt.grade-autosave.flush";
+
+    /**
+     * 保存前被同一单元格的新修改覆盖的修改数
+     */
+    public static final String SUPERSEDED_COUNTER = "xjt.grade-autosave.superseded";
+
+    /**
+     * 等待保存的单元格数
+     */
+    public static final String PENDING_GAUGE = "xjt.grade-autosave.pending";
+
+    private final TeacherService teacherService;
+    private final GradeAutosaveProperties properties;
+    private final TaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<PrimaryStickiness> primaryStickiness;
+    private final Map<BufferKey, EditBuffer> buffers = new ConcurrentHashMap<>();
+    private final Counter supersededCounter;
+    private final ScheduledExecutorService flushTicker =
+            Executors.newSingleThreadScheduledExecutor(tickerThreadFactory());
+
+    public GradeAutosaveServiceImpl(TeacherService teacherService, GradeAutosaveProperties properties,
+                                    @Qualifier("gradeAutosaveExecutor") TaskExecutor executor, MeterRegistry meterRegistry,
+                                    ObjectProvider<PrimaryStickiness> primaryStickiness) {
+        this.teacherService = teacherService;
+        this.properties = properties;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.primaryStickiness = primaryStickiness;
+        Gauge.builder(PENDING_GAUGE, buffers, map -> map.values().stream().mapToInt(EditBuffer::size).sum())
+                .description("Grade cell edits waiting to be saved on this node")
+                .register(meterRegistry);
+        this.supersededCounter = Counter.builder(SUPERSEDED_COUNTER)
+                .description("Grade cell edits replaced by a newer edit of the same cell before saving")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 缓冲区标识
+     */
+    private record BufferKey(Long userId, Long courseId, Long classId) {
+    }
+
+    /**
+     * 单元格的待保存修改及等待确认的请求
+     */
+    private static final class PendingEdit {
+
+        private BigDecimal score;
+        private final List<CompletableFuture<Void>> acks = new ArrayList<>(1);
+
+        private PendingEdit(BigDecimal score) {
+            this.score = score;
+        }
+    }
+
+    /**
+     * 一个（教师、班级、课程）的修改缓冲区
+     */
+    private static final class EditBuffer {
+
+        private final ReentrantLock flushLock = new ReentrantLock();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private Map<Long, PendingEdit> pending = new LinkedHashMap<>();
+        /**
+         * 提交修改的登录用户名，缓冲区按教师划分，同一缓冲区只属于一个用户
+         */
+        private volatile String username;
+
+        private synchronized int size() {
+            return pending.size();
+        }
+
+        private synchronized Map<Long, PendingEdit> drain() {
+            Map<Long, PendingEdit> batch = pending;
+            pending = new LinkedHashMap<>();
+            return batch;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> submit(Long userId, Long courseId, Long classId, Long studentId, BigDecimal score) {
+        BufferKey key = new BufferKey(userId, courseId, classId);
+        EditBuffer buffer = buffers.computeIfAbsent(key, k -> new EditBuffer());
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        String username = PrimaryStickiness.currentUser();
+        if (username != null) {
+            buffer.username = username;
+        }
+        int size;
+        synchronized (buffer) {
+            // 1. 同一单元格只保留最新的分数，旧修改的请求随新值一起确认
+            PendingEdit edit = buffer.pending.get(studentId);
+            if (edit == null) {
+                edit = new PendingEdit(score);
+                buffer.pending.put(studentId, edit);
+            } else {
+                edit.score = score;
+                supersededCounter.increment();
+            }
+            edit.acks.add(ack);
+            size = buffer.pending.size();
+        }
+        // 2. 达到批量上限时由当前请求线程立即保存
+        if (size >= Math.max(1, properties.getMaxBatchSize())) {
+            flush(key, buffer);
+        }
+        return ack;
+    }
+
+    /**
+     * 启动定时保存
+     */
+    @PostConstruct
+    public void start() {
+        long intervalMillis = Math.max(1, properties.getFlushInterval().toMillis());
+        flushTicker.scheduleWithFixedDelay(() -> {
+            // 异常会终止后续调度，只记录不抛出
+            try {
+                flushDue();
+            } catch (RuntimeException ex) {
+                log.warn("Grade autosave tick failed: {}", ex.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 定时把有待保存修改的缓冲区提交到保存线程池
+     */
+    void flushDue() {
+        buffers.forEach((key, buffer) -> {
+            if (buffer.size() == 0 || !buffer.scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        flush(key, buffer);
+                    } finally {
+                        buffer.scheduled.set(false);
+                    }
+                });
+            } catch (TaskRejectedException ex) {
+                // 线程池已满或正在停机，下一轮重试
+                buffer.scheduled.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        flushTicker.shutdownNow();
+        flushAll();
+    }
+
+    @Override
+    public void flushAll() {
+        buffers.forEach(this::flush);
+    }
+
+    private void flush(BufferKey key, EditBuffer buffer) {
+        buffer.flushLock.lock();
+        try {
+            // 1. 在锁内取出批次，保证同一缓冲区的批次按取出顺序提交
+            Map<Long, PendingEdit> batch = buffer.drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            Map<Long, BigDecimal> scores = new LinkedHashMap<>();
+            batch.forEach((studentId, edit) -> scores.put(studentId, edit.score));
+
+            // 2. 整批在一个事务中保存，提交后再确认
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "success";
+            try {
+                Set<Long> rejected = teacherService.saveGradeEdits(key.userId(), key.courseId(), key.classId(), scores);
+                // 事务已提交：先开启写后固定主库窗口再确认，客户端收到确认后的读请求读主库
+                PrimaryStickiness stickiness = primaryStickiness.getIfAvailable();
+                if (stickiness != null) {
+                    stickiness.markWrite(buffer.username);
+                }
+                batch.forEach((studentId, edit) -> {
+                    if (rejected.contains(studentId)) {
+                        completeExceptionally(edit, new IllegalArgumentException("该学生不属于指定班级"));
+                    } else {
+                        edit.acks.forEach(ack -> ack.complete(null));
+                    }
+                });
+            } catch (RuntimeException ex) {
+                outcome = "failure";
+                log.warn("Failed to save {} grade edits for course {} class {}: {}",
+                        scores.size(), key.courseId(), key.classId(), ex.getMessage());
+                batch.values().forEach(edit -> completeExceptionally(edit, ex));
+            } finally {
+                sample.stop(Timer.builder(FLUSH_TIMER)
+                        .description("Time to save one coalesced batch of grade cell edits")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+            }
+        } finally {
+            buffer.flushLock.unlock();
+        }
+    }
+
+    private void completeExceptionally(PendingEdit edit, Throwable ex) {
+        edit.acks.forEach(ack -> ack.completeExceptionally(ex));
+    }
+
+    private static CustomizableThreadFactory tickerThreadFactory() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("grade-autosave-tick-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
@@ -0,0 +1,203 @@
+package com.ljp.xjt.service.impl;
+
+import com.ljp.xjt.config.OutboxProperties;
+import com.ljp.xjt.entity.Grade;
+import com.ljp.xjt.mapper.GradeOutboxMapper;
+import com.ljp.xjt.outbox.GradeChange;
+import com.ljp.xjt.outbox.GradeChangeType;
+import com.ljp.xjt.outbox.GradeEventDispatcher;
+import com.ljp.xjt.outbox.GradeEventStreamRelay;
+import com.ljp.xjt.service.GradeOutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 成绩变更发件箱服务实现类
+ * <p>
+ * 同一事务中的多次记录先缓存在事务同步对象中，提交前以一条多行INSERT写入，
+ * 批量录入只增加一条语句。发布任务每批在独立事务中锁定、分发、标记，多个节点同时运行时按批互斥。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Service
+public class GradeOutboxServiceImpl implements GradeOutboxService {
+
+    /**
+     * 最早一条未发布变更的等待时长（毫秒）
+     */
+    public static final String LAG_GAUGE = "xjt.outbox.lag";
+
+    /**
+     * 变更从写入到发布的耗时
+     */
+    public static final String DELIVERY_TIMER = "xjt.outbox.delivery";
+
+    /**
+     * 发布失败（整批回滚待重试）的批次数
+     */
+    public static final String FAILURE_COUNTER = "xjt.outbox.failures";
+
+    private static final int INSERT_CHUNK_SIZE = 1000;
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final GradeOutboxMapper gradeOutboxMapper;
+    private final OutboxProperties outboxProperties;
+    private final GradeEventDispatcher dispatcher;
+    private final GradeEventStreamRelay streamRelay;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Timer deliveryTimer;
+    private final Counter failureCounter;
+
+    public GradeOutboxServiceImpl(GradeOutboxMapper gradeOutboxMapper, OutboxProperties outboxProperties,
+                                  GradeEventDispatcher dispatcher, GradeEventStreamRelay streamRelay,
+                                  TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.gradeOutboxMapper = gradeOutboxMapper;
+        this.outboxProperties = outboxProperties;
+        this.dispatcher = dispatcher;
+        this.streamRelay = streamRelay;
+        this.transactionTemplate = transactionTemplate;
+        Gauge.builder(LAG_GAUGE, lagMillis, AtomicLong::get)
+                .description("Age of the oldest unpublished grade change")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder(DELIVERY_TIMER)
+                .description("Time from a grade change being written to it being published")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder(FAILURE_COUNTER)
+                .description("Grade outbox batches rolled back for redelivery")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void record(GradeChangeType type, Collection<Grade> grades) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Grade changes must be recorded inside a transaction");
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Grade grade : grades) {
+            if (grade.getId() == null || grade.getStudentId() == null || grade.getCourseId() == null) {
+                log.warn("Skipping grade change without id, student or course: {}", grade.getId());
+                continue;
+            }
+            GradeChange change = new GradeChange();
+            change.setGradeId(grade.getId());
+            change.setStudentId(grade.getStudentId());
+            change.setCourseId(grade.getCourseId());
+            change.setChangeType(type);
+            change.setScore(grade.getScore());
+            change.setSemester(grade.getSemester());
+            change.setYear(grade.getYear());
+            change.setCreatedTime(now);
+            pending.changes.add(change);
+        }
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${app.outbox.poll-interval:PT0.5S}", fixedDelayString = "${app.outbox.poll-interval:PT0.5S}")
+    public int publishPending() {
+        int batchSize = Math.max(1, outboxProperties.getBatchSize());
+        int published = 0;
+        try {
+            while (true) {
+                List<GradeChange> batch = transactionTemplate.execute(status -> {
+                    // 1. 锁定一批，分发给进程内监听方并写入Stream
+                    List<GradeChange> changes = gradeOutboxMapper.lockUnpublished(batchSize);
+                    if (changes.isEmpty()) {
+                        return changes;
+                    }
+                    dispatcher.dispatch(changes);
+                    streamRelay.publish(changes);
+                    // 2. 标记已发布，提交失败时整批在下一轮重新投递
+                    gradeOutboxMapper.markPublished(changes.stream().map(GradeChange::getEventId).toList(), LocalDateTime.now());
+                    return changes;
+                });
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                LocalDateTime now = LocalDateTime.now();
+                batch.forEach(change -> deliveryTimer.record(Duration.between(change.getCreatedTime(), now)));
+                published += batch.size();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            failureCounter.increment();
+            log.warn("Failed to publish grade outbox batch, will retry next round", ex);
+        } finally {
+            updateLag();
+        }
+        return published;
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${app.outbox.purge-interval:PT10M}", fixedDelayString = "${app.outbox.purge-interval:PT10M}")
+    public int purgePublished() {
+        LocalDateTime before = LocalDateTime.now().minus(outboxProperties.getRetention());
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = gradeOutboxMapper.deletePublishedBefore(before, PURGE_BATCH_SIZE);
+            purged += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (purged > 0) {
+            log.info("Purged {} published grade outbox records", purged);
+        }
+        return purged;
+    }
+
+    private void updateLag() {
+        try {
+            LocalDateTime oldest = gradeOutboxMapper.selectOldestUnpublishedTime();
+            lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        } catch (RuntimeException ex) {
+            log.debug("Failed to read grade outbox lag", ex);
+        }
+    }
+
+    /**
+     * 当前事务中待写入的变更，提交前写入发件箱
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<GradeChange> changes = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            for (int from = 0; from < changes.size(); from += INSERT_CHUNK_SIZE) {
+                gradeOutboxMapper.insertBatch(changes.subList(from, Math.min(from + INSERT_CHUNK_SIZE, changes.size())));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(GradeOutboxServiceImpl.this);
+        }
+    }
+}
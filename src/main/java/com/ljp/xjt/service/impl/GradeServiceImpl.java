@@ -5,15 +5,31 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ljp.xjt.cache.TeachingStatisticsCacheEvictor;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.PageCursor;
+import com.ljp.xjt.datasource.ReadReplica;
 import com.ljp.xjt.dto.AdminGradeDto;
 import com.ljp.xjt.dto.AdminGradeUpdateRequestDto;
 import com.ljp.xjt.entity.Grade;
 import com.ljp.xjt.entity.Student;
 import com.ljp.xjt.entity.TeachingAssignment;
+import com.ljp.xjt.jfr.GradeBatchWriteEvent;
+import com.ljp.xjt.jfr.JfrSupport;
+import com.ljp.xjt.jfr.PermissionCheckEvent;
 import com.ljp.xjt.mapper.GradeMapper;
+import com.ljp.xjt.metrics.HotPathMetrics;
+import com.ljp.xjt.outbox.GradeChangeType;
 import com.ljp.xjt.mapper.StudentMapper;
 import com.ljp.xjt.mapper.TeachingAssignmentMapper;
+import com.ljp.xjt.search.SearchCondition;
+import com.ljp.xjt.search.SearchEntityType;
+import com.ljp.xjt.sync.SyncEntityType;
+import com.ljp.xjt.service.DeltaSyncService;
+import com.ljp.xjt.service.GradeArchiveService;
+import com.ljp.xjt.service.GradeOutboxService;
 import com.ljp.xjt.service.GradeService;
+import com.ljp.xjt.service.SearchIndexService;
 import com.ljp.xjt.utils.GpaUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,10 +37,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
@@ -46,6 +65,12 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
     private final StudentMapper studentMapper;
     private final TeachingAssignmentMapper teachingAssignmentMapper;
     private final GradeMapper gradeMapper;
+    private final TeachingStatisticsCacheEvictor teachingStatisticsCacheEvictor;
+    private final HotPathMetrics hotPathMetrics;
+    private final SearchIndexService searchIndexService;
+    private final GradeArchiveService gradeArchiveService;
+    private final GradeOutboxService gradeOutboxService;
+    private final DeltaSyncService deltaSyncService;
 
     /**
      * 录入成绩
@@ -85,7 +110,10 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
         grade.setIsAbnormal(0); // 默认为正常状态
         
         // 4. 保存成绩
-        return this.save(grade);
+        boolean saved = this.save(grade);
+        evictTeachingStatistics(List.of(grade));
+        gradeOutboxService.record(GradeChangeType.CREATED, List.of(grade));
+        return saved;
     }
 
     /**
@@ -103,6 +131,9 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
         }
         
         log.info("Batch creating grades, count: {}", gradeList.size());
+        hotPathMetrics.recordGradeBatchSize("grade-batch-create", gradeList.size());
+        GradeBatchWriteEvent event = new GradeBatchWriteEvent();
+        event.begin();
         
         // 验证学生存在性并检查重复成绩
         for (Grade grade : gradeList) {
@@ -133,7 +164,14 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
         }
         
         // 批量保存
-        return this.saveBatch(gradeList);
+        boolean saved = this.saveBatch(gradeList);
+        evictTeachingStatistics(gradeList);
+        gradeOutboxService.record(GradeChangeType.CREATED, gradeList);
+        event.operation = "create";
+        event.teacherId = JfrSupport.id(teacherId);
+        event.rowCount = gradeList.size();
+        event.commit();
+        return saved;
     }
 
     /**
@@ -177,7 +215,10 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
         }
         
         // 4. 更新成绩
-        return this.updateById(existingGrade);
+        boolean updated = this.updateById(existingGrade);
+        evictTeachingStatistics(List.of(existingGrade));
+        gradeOutboxService.record(GradeChangeType.UPDATED, List.of(existingGrade));
+        return updated;
     }
 
     /**
@@ -195,6 +236,9 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
         }
         
         log.info("Batch updating grades, count: {}", gradeList.size());
+        hotPathMetrics.recordGradeBatchSize("grade-batch-update", gradeList.size());
+        GradeBatchWriteEvent event = new GradeBatchWriteEvent();
+        event.begin();
         
         List<Grade> updatedGradeList = new ArrayList<>();
         
@@ -231,7 +275,14 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
         }
         
         // 批量更新
-        return this.updateBatchById(updatedGradeList);
+        boolean updated = this.updateBatchById(updatedGradeList);
+        evictTeachingStatistics(updatedGradeList);
+        gradeOutboxService.record(GradeChangeType.UPDATED, updatedGradeList);
+        event.operation = "update";
+        event.teacherId = JfrSupport.id(teacherId);
+        event.rowCount = updatedGradeList.size();
+        event.commit();
+        return updated;
     }
 
     /**
@@ -259,7 +310,11 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
         }
         
         // 3. 删除成绩
-        return this.removeById(id);
+        boolean removed = this.removeById(id);
+        evictTeachingStatistics(List.of(existingGrade));
+        gradeOutboxService.record(GradeChangeType.DELETED, List.of(existingGrade));
+        deltaSyncService.recordDeleted(SyncEntityType.GRADE, existingGrade.getStudentId(), List.of(existingGrade.getCourseId()));
+        return removed;
     }
 
     /**
@@ -309,7 +364,9 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
     @Override
     public List<Grade> getStudentGrades(Long studentId, String semester, Integer year) {
         log.info("Getting grades for student {}, semester: {}, year: {}", studentId, semester, year);
-        return this.baseMapper.selectByStudentId(studentId, semester, year);
+        // 未指定学年或学年属于归档范围时合并归档表
+        boolean includeArchive = year == null || gradeArchiveService.isArchivedYear(year);
+        return this.baseMapper.selectByStudentId(studentId, semester, year, includeArchive);
     }
 
     /**
@@ -323,6 +380,7 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
      * @return 分页后的成绩列表
      */
     @Override
+    @ReadReplica
     public IPage<Grade> getGradeList(Page<Grade> page, Long classId, Long courseId, String semester, Integer year) {
         log.info("Getting grade list with pagination - class: {}, course: {}, semester: {}, year: {}",
                 classId, courseId, semester, year);
@@ -369,6 +427,7 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
      * @return 统计结果
      */
     @Override
+    @ReadReplica
     public Map<String, Object> getGradeStatistics(Long classId, Long courseId, String semester, Integer year) {
         log.info("Getting grade statistics for classId: {}, courseId: {}, semester: {}, year: {}", 
                  classId, courseId, semester, year);
@@ -419,19 +478,31 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
         LambdaUpdateWrapper<Grade> updateWrapper = new LambdaUpdateWrapper<>();
         updateWrapper.eq(Grade::getId, id)
                      .set(Grade::getIsAbnormal, isAbnormal)
-                     .set(Grade::getRemarks, remarks);
+                     .set(Grade::getRemarks, remarks)
+                     .set(Grade::getUpdatedTime, LocalDateTime.now());
         
-        return this.update(updateWrapper);
+        boolean updated = this.update(updateWrapper);
+        existingGrade.setIsAbnormal(isAbnormal);
+        existingGrade.setRemarks(remarks);
+        gradeOutboxService.record(GradeChangeType.UPDATED, List.of(existingGrade));
+        return updated;
     }
 
     @Override
     public TeachingAssignment verifyAndGetTeachingAssignment(Long teacherId, Long courseId, Long classId) {
+        PermissionCheckEvent event = new PermissionCheckEvent();
+        event.begin();
         LambdaQueryWrapper<TeachingAssignment> queryWrapper = new LambdaQueryWrapper<>();
         queryWrapper.eq(TeachingAssignment::getTeacherId, teacherId)
                     .eq(TeachingAssignment::getCourseId, courseId)
                     .eq(TeachingAssignment::getClassId, classId);
         
         TeachingAssignment assignment = teachingAssignmentMapper.selectOne(queryWrapper);
+        event.teacherId = JfrSupport.id(teacherId);
+        event.courseId = JfrSupport.id(courseId);
+        event.classId = JfrSupport.id(classId);
+        event.granted = assignment != null;
+        event.commit();
         if (assignment == null) {
             throw new SecurityException("无权操作，该教师未被指派教授此班级的该门课程");
         }
@@ -468,7 +539,9 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
             existingGrade.setIsAbnormal(0); // 每次教师修改都重置为正常状态
             existingGrade.setSemester(semester);
             existingGrade.setYear(year);
-            return this.updateById(existingGrade);
+            boolean updated = this.updateById(existingGrade);
+            gradeOutboxService.record(GradeChangeType.UPDATED, List.of(existingGrade));
+            return updated;
         } else {
             // 2b. 如果不存在，则插入新记录
             log.info("Grade not found, creating new one with score {}", score);
@@ -482,20 +555,74 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
             newGrade.setYear(year);
             // 注意：gradeType字段可能需要根据业务逻辑设置默认值或从其他地方获取
             // 这里暂时不设置
-            return this.save(newGrade);
+            boolean saved = this.save(newGrade);
+            gradeOutboxService.record(GradeChangeType.CREATED, List.of(newGrade));
+            return saved;
         }
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int upsertGrades(Long courseId, Map<Long, BigDecimal> scores, Long teacherId, String semester, Integer year) {
+        if (CollectionUtils.isEmpty(scores)) {
+            return 0;
+        }
+
+        // 1. 一次查出已存在的成绩（uk_grades_student_course）
+        Map<Long, Grade> existingGrades = this.list(new LambdaQueryWrapper<Grade>()
+                        .eq(Grade::getCourseId, courseId)
+                        .in(Grade::getStudentId, scores.keySet()))
+                .stream().collect(Collectors.toMap(Grade::getStudentId, grade -> grade));
+
+        // 2. 拆分为更新与插入，字段处理与单条录入一致
+        List<Grade> gradesToUpdate = new ArrayList<>();
+        List<Grade> gradesToInsert = new ArrayList<>();
+        scores.forEach((studentId, score) -> {
+            Grade grade = existingGrades.get(studentId);
+            if (grade == null) {
+                grade = new Grade();
+                grade.setStudentId(studentId);
+                grade.setCourseId(courseId);
+                grade.setCreatedBy(teacherId);
+                gradesToInsert.add(grade);
+            } else {
+                gradesToUpdate.add(grade);
+            }
+            grade.setScore(score);
+            grade.setIsAbnormal(0); // 每次教师修改都重置为正常状态
+            grade.setSemester(semester);
+            grade.setYear(year);
+        });
+
+        // 3. 批量写入并追加变更记录
+        if (!gradesToUpdate.isEmpty()) {
+            this.updateBatchById(gradesToUpdate);
+            gradeOutboxService.record(GradeChangeType.UPDATED, gradesToUpdate);
+        }
+        if (!gradesToInsert.isEmpty()) {
+            this.saveBatch(gradesToInsert);
+            gradeOutboxService.record(GradeChangeType.CREATED, gradesToInsert);
+        }
+        return scores.size();
+    }
+
+    @Override
+    @ReadReplica
     public IPage<AdminGradeDto> getGradesByAdminCriteria(
             Page<AdminGradeDto> page,
             Long classId,
             Long courseId,
             String studentName,
-            String studentNumber) {
-        log.info("Admin querying grades with criteria - classId: {}, courseId: {}, studentName: '{}', studentNumber: '{}'",
-                classId, courseId, studentName, studentNumber);
-        IPage<AdminGradeDto> gradePage = gradeMapper.getGradesByAdminCriteria(page, classId, courseId, studentName, studentNumber);
+            String studentNumber,
+            Integer year) {
+        log.info("Admin querying grades with criteria - classId: {}, courseId: {}, studentName: '{}', studentNumber: '{}', year: {}",
+                classId, courseId, studentName, studentNumber, year);
+        SearchCondition students = searchIndexService.resolve(SearchEntityType.STUDENT, studentName, studentNumber);
+        if (students.matchesNothing()) {
+            return page.setRecords(new ArrayList<>());
+        }
+        IPage<AdminGradeDto> gradePage = gradeMapper.getGradesByAdminCriteria(page, classId, courseId,
+                students.getName(), students.getCode(), students.getIds(), year, gradeArchiveService.isArchivedYear(year));
 
         // 对查询结果进行二次处理，计算GPA和判断成绩是否正常
         gradePage.getRecords().forEach(grade -> {
@@ -506,6 +633,37 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
         return gradePage;
     }
 
+    @Override
+    @ReadReplica
+    public CursorPage<AdminGradeDto> getGradesByAdminCursor(
+            PageCursor after,
+            long size,
+            Long classId,
+            Long courseId,
+            String studentName,
+            String studentNumber,
+            Integer year) {
+        // 1. 姓名、学号检索词经检索索引解析为学生ID
+        SearchCondition students = searchIndexService.resolve(SearchEntityType.STUDENT, studentName, studentNumber);
+        if (students.matchesNothing()) {
+            return CursorPage.of(new ArrayList<>(), size, null);
+        }
+
+        // 2. 从游标位置向后多取一行，用于判断是否还有下一页
+        List<AdminGradeDto> rows = gradeMapper.getGradesByAdminCursor(
+                after == null ? null : after.timeKey(0),
+                after == null ? null : after.getId(),
+                size + 1, classId, courseId, students.getName(), students.getCode(), students.getIds(),
+                year, gradeArchiveService.isArchivedYear(year));
+
+        // 3. 与页码分页相同的二次处理
+        rows.forEach(grade -> {
+            grade.setGpa(GpaUtil.calculateGpa(grade.getScore()));
+            grade.setNormal(GpaUtil.isScoreNormal(grade.getScore()));
+        });
+        return CursorPage.of(rows, size, grade -> PageCursor.of(grade.getId(), grade.getUpdatedAt()));
+    }
+
     @Override
     @Transactional
     public boolean adminUpdateGrade(Long gradeId, AdminGradeUpdateRequestDto updateDto) {
@@ -523,7 +681,23 @@ public class GradeServiceImpl extends ServiceImpl<GradeMapper, Grade> implements
         // 注意：管理员修改成绩时，不更新 `updated_by_teacher_id`
 
         // 3. 保存更新
-        return this.updateById(grade);
+        boolean updated = this.updateById(grade);
+        evictTeachingStatistics(List.of(grade));
+        gradeOutboxService.record(GradeChangeType.UPDATED, List.of(grade));
+        return updated;
+    }
+
+    /**
+     * 按课程分组，使受成绩变化影响的教师统计缓存失效
+     *
+     * @param grades 发生变化的成绩记录
+     */
+    private void evictTeachingStatistics(Collection<Grade> grades) {
+        grades.stream()
+                .filter(grade -> grade.getCourseId() != null && grade.getStudentId() != null)
+                .collect(Collectors.groupingBy(Grade::getCourseId,
+                        Collectors.mapping(Grade::getStudentId, Collectors.toSet())))
+                .forEach(teachingStatisticsCacheEvictor::evictByStudents);
     }
 
     /**
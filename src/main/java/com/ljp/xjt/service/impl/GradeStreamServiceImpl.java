@@ -0,0 +1,57 @@
+package com.ljp.xjt.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ljp.xjt.common.exception.BusinessException;
+import com.ljp.xjt.entity.Student;
+import com.ljp.xjt.entity.Teacher;
+import com.ljp.xjt.entity.TeachingAssignment;
+import com.ljp.xjt.mapper.TeacherMapper;
+import com.ljp.xjt.mapper.TeachingAssignmentMapper;
+import com.ljp.xjt.service.GradeStreamService;
+import com.ljp.xjt.service.StudentService;
+import com.ljp.xjt.stream.GradeStreamHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * 成绩实时推送服务实现类
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Service
+@RequiredArgsConstructor
+public class GradeStreamServiceImpl implements GradeStreamService {
+
+    private final StudentService studentService;
+    private final TeacherMapper teacherMapper;
+    private final TeachingAssignmentMapper teachingAssignmentMapper;
+    private final GradeStreamHub gradeStreamHub;
+
+    @Override
+    public SseEmitter subscribe(Long userId) {
+        // 1. 学生：订阅本人的成绩
+        Student student = studentService.findByUserId(userId);
+        if (student != null) {
+            return gradeStreamHub.subscribe(List.of(GradeStreamHub.studentTopic(student.getId())), false);
+        }
+
+        // 2. 教师：订阅任教的每个(班级, 课程)，与名册接口的授课范围一致
+        Teacher teacher = teacherMapper.selectByUserId(userId);
+        if (teacher != null) {
+            List<String> topics = teachingAssignmentMapper.selectList(new LambdaQueryWrapper<TeachingAssignment>()
+                            .select(TeachingAssignment::getClassId, TeachingAssignment::getCourseId)
+                            .eq(TeachingAssignment::getTeacherId, teacher.getId()))
+                    .stream()
+                    .map(assignment -> GradeStreamHub.classTopic(assignment.getClassId(), assignment.getCourseId()))
+                    .distinct()
+                    .toList();
+            return gradeStreamHub.subscribe(topics, true);
+        }
+        throw new BusinessException(403, "只有学生和教师可以订阅成绩推送");
+    }
+}
@@ -1,13 +1,18 @@
 package com.ljp.xjt.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ljp.xjt.cache.TeachingStatisticsCacheEvictor;
 import com.ljp.xjt.dto.GradeUpdateRequest;
 import com.ljp.xjt.dto.StudentGradeDto;
 import com.ljp.xjt.dto.TeacherClassDto;
 import com.ljp.xjt.dto.TeacherCourseDto;
 import com.ljp.xjt.entity.*;
 import com.ljp.xjt.mapper.*;
+import com.ljp.xjt.metrics.HotPathMetrics;
+import com.ljp.xjt.outbox.GradeChangeType;
+import com.ljp.xjt.service.GradeOutboxService;
 import com.ljp.xjt.service.MyTeachingService;
+import com.ljp.xjt.singleflight.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
@@ -36,6 +41,9 @@ public class MyTeachingServiceImpl implements MyTeachingService {
     private final ClassesMapper classesMapper;
     private final StudentMapper studentMapper;
     private final GradeMapper gradeMapper;
+    private final TeachingStatisticsCacheEvictor teachingStatisticsCacheEvictor;
+    private final HotPathMetrics hotPathMetrics;
+    private final GradeOutboxService gradeOutboxService;
     
     @Override
     public List<TeacherCourseDto> findMyCourses(Long teacherId) {
@@ -84,6 +92,7 @@ public class MyTeachingServiceImpl implements MyTeachingService {
     }
 
     @Override
+    @SingleFlight
     public List<StudentGradeDto> getStudentGradesForClass(Long teacherId, Long courseId, Long classId) {
         // 1. 权限校验：确认该教师是否真的教这个班的这门课
         checkPermission(teacherId, courseId, classId);
@@ -128,6 +137,7 @@ public class MyTeachingServiceImpl implements MyTeachingService {
         if (request.getGrades() == null || request.getGrades().isEmpty()) {
             return; // 没有成绩项，直接返回
         }
+        hotPathMetrics.recordGradeBatchSize("my-teaching-batch-update", request.getGrades().size());
         
         Long firstStudentId = request.getGrades().get(0).getStudentId();
         Student firstStudent = studentMapper.selectById(firstStudentId);
@@ -169,10 +179,15 @@ public class MyTeachingServiceImpl implements MyTeachingService {
         // 5. 批量执行数据库操作
         if (!gradesToInsert.isEmpty()) {
             gradesToInsert.forEach(gradeMapper::insert);
+            gradeOutboxService.record(GradeChangeType.CREATED, gradesToInsert);
         }
         if (!gradesToUpdate.isEmpty()) {
             gradesToUpdate.forEach(gradeMapper::updateById);
+            gradeOutboxService.record(GradeChangeType.UPDATED, gradesToUpdate);
         }
+
+        // 6. 使相关教师的教学统计缓存失效
+        teachingStatisticsCacheEvictor.evictByClass(courseId, firstStudent.getClassId());
     }
 
     /**
@@ -0,0 +1,246 @@
+package com.ljp.xjt.service.impl;
+
+import com.ljp.xjt.config.SearchIndexProperties;
+import com.ljp.xjt.dto.SearchSuggestionDto;
+import com.ljp.xjt.mapper.SearchDocumentMapper;
+import com.ljp.xjt.search.FuzzySearchIndex;
+import com.ljp.xjt.search.SearchCondition;
+import com.ljp.xjt.search.SearchDocument;
+import com.ljp.xjt.search.SearchEntityType;
+import com.ljp.xjt.search.SearchField;
+import com.ljp.xjt.search.SearchIndexChangedEvent;
+import com.ljp.xjt.service.SearchIndexService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 检索索引服务实现类
+ * <p>
+ * 启动后在后台为学生、教师、课程、班级各构建一份内存检索索引，构建完成前相关检索回退到SQL的LIKE匹配。
+ * 写入这些表后，{@link com.ljp.xjt.search.SearchIndexSyncInterceptor} 发布变更事件，
+ * 事务提交后按ID重新读取变更记录刷新索引（回滚的写入不会刷新）；无法确定受影响记录时重建该类型的索引。
+ * 索引维护统一在单线程池中执行，同一类型的多次变更合并为一次刷新。
+ * </p>
+ *
+ * @author ljp
+ * @since 2025-06-20
+ */
+@Slf4j
+@Service
+public class SearchIndexServiceImpl implements SearchIndexService {
+
+    private final SearchIndexProperties searchIndexProperties;
+    private final SearchDocumentMapper searchDocumentMapper;
+    private final TaskExecutor searchIndexExecutor;
+    private final Map<SearchEntityType, IndexHolder> holders = new EnumMap<>(SearchEntityType.class);
+
+    public SearchIndexServiceImpl(SearchIndexProperties searchIndexProperties, SearchDocumentMapper searchDocumentMapper,
+                                  @Qualifier("searchIndexExecutor") TaskExecutor searchIndexExecutor) {
+        this.searchIndexProperties = searchIndexProperties;
+        this.searchDocumentMapper = searchDocumentMapper;
+        this.searchIndexExecutor = searchIndexExecutor;
+        for (SearchEntityType type : SearchEntityType.values()) {
+            holders.put(type, new IndexHolder());
+        }
+    }
+
+    /**
+     * 应用启动完成后构建全部索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!searchIndexProperties.isEnabled()) {
+            log.info("Search index is disabled, name searches use SQL LIKE");
+            return;
+        }
+        for (SearchEntityType type : SearchEntityType.values()) {
+            rebuild(type);
+        }
+    }
+
+    /**
+     * 数据变更后刷新索引；在事务中发布时于提交后执行
+     *
+     * @param event 变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIndexChanged(SearchIndexChangedEvent event) {
+        if (!searchIndexProperties.isEnabled()) {
+            return;
+        }
+        IndexHolder holder = holders.get(event.getType());
+        if (event.getIds() == null) {
+            holder.rebuildRequested = true;
+        } else {
+            holder.pending.addAll(event.getIds());
+        }
+        schedule(event.getType(), holder);
+    }
+
+    @Override
+    public void rebuild(SearchEntityType type) {
+        IndexHolder holder = holders.get(type);
+        holder.rebuildRequested = true;
+        schedule(type, holder);
+    }
+
+    @Override
+    public SearchCondition resolve(SearchEntityType type, String name, String code) {
+        FuzzySearchIndex index = holders.get(type).index;
+        boolean hasName = StringUtils.hasText(name);
+        boolean hasCode = StringUtils.hasText(code);
+        if (index == null || (!hasName && !hasCode)) {
+            return SearchCondition.unresolved(name, code);
+        }
+
+        // 1. 分别解析，命中数超过上限的检索词保留给SQL
+        int max = searchIndexProperties.getMaxIdListSize();
+        Set<Long> nameIds = hasName ? index.find(name, SearchField.NAME, max) : null;
+        Set<Long> codeIds = hasCode ? index.find(code, SearchField.CODE, max) : null;
+        String likeName = hasName && nameIds == null ? name : null;
+        String likeCode = hasCode && codeIds == null ? code : null;
+
+        // 2. 两者都由索引解析时取交集
+        Set<Long> ids;
+        if (nameIds != null && codeIds != null) {
+            ids = new HashSet<>(nameIds);
+            ids.retainAll(codeIds);
+        } else {
+            ids = nameIds != null ? nameIds : codeIds;
+        }
+        return new SearchCondition(ids, likeName, likeCode);
+    }
+
+    @Override
+    public List<SearchSuggestionDto> suggest(String keyword, Collection<SearchEntityType> types, int limit) {
+        if (!StringUtils.hasText(keyword)) {
+            return List.of();
+        }
+        int size = Math.max(1, Math.min(limit, searchIndexProperties.getMaxSuggestions()));
+        Collection<SearchEntityType> targets = CollectionUtils.isEmpty(types) ? holders.keySet() : types;
+
+        // 各类型分别取前 size 条后合并排序
+        List<SearchSuggestionDto> suggestions = new ArrayList<>();
+        List<Integer> scores = new ArrayList<>();
+        for (SearchEntityType type : targets) {
+            FuzzySearchIndex index = holders.get(type).index;
+            if (index == null) {
+                continue;
+            }
+            for (FuzzySearchIndex.Hit hit : index.suggest(keyword, size)) {
+                suggestions.add(new SearchSuggestionDto(type, hit.getId(), hit.getName(), hit.getCode(), hit.getField()));
+                scores.add(hit.getScore());
+            }
+        }
+        if (targets.size() == 1) {
+            return suggestions;
+        }
+        List<Integer> order = new ArrayList<>(suggestions.size());
+        for (int i = 0; i < suggestions.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingInt(scores::get));
+        return order.stream().limit(size).map(suggestions::get).toList();
+    }
+
+    /**
+     * 提交该类型的索引维护任务，已有任务排队时不重复提交
+     */
+    private void schedule(SearchEntityType type, IndexHolder holder) {
+        if (!holder.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            searchIndexExecutor.execute(() -> maintain(type, holder));
+        } catch (TaskRejectedException ex) {
+            holder.scheduled.set(false);
+            log.warn("Search index maintenance for {} was rejected", type);
+        }
+    }
+
+    /**
+     * 执行排队的重建或增量刷新
+     */
+    private void maintain(SearchEntityType type, IndexHolder holder) {
+        // 先清除排队标记，执行期间的新变更会再次提交任务
+        holder.scheduled.set(false);
+        try {
+            if (holder.rebuildRequested || holder.index == null) {
+                // 在读取全表之前清空待刷新ID：读取时已提交的变更都包含在重建结果中
+                holder.rebuildRequested = false;
+                holder.pending.clear();
+                long start = System.currentTimeMillis();
+                List<SearchDocument> documents = load(type, null);
+                holder.index = FuzzySearchIndex.of(documents);
+                log.info("Built {} search index with {} entries in {} ms", type, documents.size(),
+                        System.currentTimeMillis() - start);
+                return;
+            }
+            refresh(type, holder);
+        } catch (RuntimeException ex) {
+            log.error("Failed to maintain {} search index", type, ex);
+        }
+    }
+
+    /**
+     * 按ID重新读取变更记录，已删除的记录从索引中移除
+     */
+    private void refresh(SearchEntityType type, IndexHolder holder) {
+        List<Long> ids = new ArrayList<>(holder.pending);
+        if (ids.isEmpty()) {
+            return;
+        }
+        holder.pending.removeAll(ids);
+        FuzzySearchIndex index = holder.index;
+        int batchSize = searchIndexProperties.getRefreshBatchSize();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            Set<Long> missing = new HashSet<>(batch);
+            for (SearchDocument document : load(type, batch)) {
+                index.put(document);
+                missing.remove(document.getId());
+            }
+            missing.forEach(index::remove);
+        }
+        log.debug("Refreshed {} {} search index entries", ids.size(), type);
+    }
+
+    private List<SearchDocument> load(SearchEntityType type, Collection<Long> ids) {
+        return switch (type) {
+            case STUDENT -> searchDocumentMapper.selectStudents(ids);
+            case TEACHER -> searchDocumentMapper.selectTeachers(ids);
+            case COURSE -> searchDocumentMapper.selectCourses(ids);
+            case CLASS -> searchDocumentMapper.selectClasses(ids);
+        };
+    }
+
+    /**
+     * 单个类型的索引及其待处理变更
+     */
+    private static final class IndexHolder {
+
+        private volatile FuzzySearchIndex index;
+        private volatile boolean rebuildRequested;
+        private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+    }
+}
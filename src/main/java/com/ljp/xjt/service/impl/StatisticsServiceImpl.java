@@ -1,6 +1,7 @@
 package com.ljp.xjt.service.impl;
 
 import com.ljp.xjt.common.exception.BusinessException;
+import com.ljp.xjt.datasource.ReadReplica;
 import com.ljp.xjt.dto.ClassGradeAnalysisDTO;
 import com.ljp.xjt.dto.GradeDistributionBucketDTO;
 import com.ljp.xjt.dto.GradeStatisticsDTO;
@@ -8,11 +9,14 @@ import com.ljp.xjt.entity.Classes;
 import com.ljp.xjt.entity.Course;
 import com.ljp.xjt.entity.Grade;
 import com.ljp.xjt.entity.Student;
+import com.ljp.xjt.jfr.JfrSupport;
+import com.ljp.xjt.jfr.StatisticsComputationEvent;
 import com.ljp.xjt.mapper.ClassesMapper;
 import com.ljp.xjt.mapper.CourseMapper;
 import com.ljp.xjt.mapper.GradeMapper;
 import com.ljp.xjt.mapper.StudentMapper;
 import com.ljp.xjt.service.StatisticsService;
+import com.ljp.xjt.singleflight.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -31,6 +35,7 @@ import java.util.stream.Collectors;
  * @since 2025-06-10
  */
 @Service
+@ReadReplica
 @RequiredArgsConstructor
 public class StatisticsServiceImpl implements StatisticsService {
 
@@ -40,7 +45,10 @@ public class StatisticsServiceImpl implements StatisticsService {
     private final GradeMapper gradeMapper;
 
     @Override
+    @SingleFlight
     public ClassGradeAnalysisDTO getClassGradeAnalysis(Long classId, Long courseId) {
+        StatisticsComputationEvent event = new StatisticsComputationEvent();
+        event.begin();
         // 1. 验证班级和课程是否存在
         Classes classes = classesMapper.selectById(classId);
         if (classes == null) {
@@ -76,6 +84,10 @@ public class StatisticsServiceImpl implements StatisticsService {
         analysisDTO.setStatistics(statistics);
         analysisDTO.setDistribution(distribution);
 
+        event.classId = JfrSupport.id(classId);
+        event.courseId = JfrSupport.id(courseId);
+        event.scoreCount = scores.size();
+        event.commit();
         return analysisDTO;
     }
 
@@ -2,26 +2,38 @@ package com.ljp.xjt.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ljp.xjt.cache.TeachingStatisticsCacheEvictor;
 import com.ljp.xjt.common.exception.BusinessException;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.KeysetConditions;
+import com.ljp.xjt.common.pagination.PageCursor;
+import com.ljp.xjt.datasource.ReadReplica;
 import com.ljp.xjt.dto.*;
+import com.ljp.xjt.dto.convert.StudentConverter;
 import com.ljp.xjt.entity.Classes;
 import com.ljp.xjt.entity.Student;
 import com.ljp.xjt.entity.User;
 import com.ljp.xjt.mapper.ClassesMapper;
 import com.ljp.xjt.mapper.StudentMapper;
 import com.ljp.xjt.mapper.UserMapper;
+import com.ljp.xjt.search.SearchCondition;
+import com.ljp.xjt.search.SearchEntityType;
 import com.ljp.xjt.security.SecurityUser;
+import com.ljp.xjt.sync.SyncEntityType;
+import com.ljp.xjt.service.DeltaSyncService;
+import com.ljp.xjt.service.SearchIndexService;
 import com.ljp.xjt.service.StudentService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -35,9 +47,21 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class StudentServiceImpl extends ServiceImpl<StudentMapper, Student> implements StudentService {
 
+    /**
+     * 班级名单与未分配名单查询的列，与 StudentConverter.toDto 输出的字段一一对应，
+     * 转换器增减字段时需同步维护，否则接口中对应字段会变为null
+     */
+    private static final List<SFunction<Student, ?>> ROSTER_COLUMNS = List.of(
+            Student::getId, Student::getUserId, Student::getStudentNumber, Student::getStudentName,
+            Student::getGender, Student::getBirthDate, Student::getClassId, Student::getCreatedTime,
+            Student::getUpdatedTime);
+
     private final StudentMapper studentMapper;
     private final UserMapper userMapper;
     private final ClassesMapper classesMapper;
+    private final SearchIndexService searchIndexService;
+    private final DeltaSyncService deltaSyncService;
+    private final TeachingStatisticsCacheEvictor teachingStatisticsCacheEvictor;
 
     @Override
     public IPage<Student> list(Page<Student> page, String studentName) {
@@ -47,6 +71,7 @@ public class StudentServiceImpl extends ServiceImpl<StudentMapper, Student> impl
     }
 
     @Override
+    @ReadReplica
     public IPage<StudentDTO> selectStudentPage(Page<Student> page, LambdaQueryWrapper<Student> queryWrapper) {
         // 1. 分页查询基础学生数据
         Page<Student> studentPage = baseMapper.selectPage(page, queryWrapper);
@@ -56,36 +81,58 @@ public class StudentServiceImpl extends ServiceImpl<StudentMapper, Student> impl
             return new Page<>();
         }
 
-        // 2. 获取班级ID列表
+        // 2. 转换为携带班级名称的DTO列表
+        List<StudentDTO> dtoList = toStudentDtos(studentRecords);
+
+        // 3. 创建并返回DTO分页结果
+        Page<StudentDTO> dtoPage = new Page<>(studentPage.getCurrent(), studentPage.getSize(), studentPage.getTotal());
+        dtoPage.setRecords(dtoList);
+
+        return dtoPage;
+    }
+
+    @Override
+    @ReadReplica
+    public CursorPage<StudentDTO> selectStudentCursor(PageCursor after, long size, LambdaQueryWrapper<Student> queryWrapper) {
+        // 1. 按 (created_time, id) 倒序从游标位置向后多取一行
+        LocalDateTime afterTime = after == null ? null : after.timeKey(0);
+        List<Student> rows = baseMapper.selectList(KeysetConditions.seekDesc(
+                queryWrapper, Student::getCreatedTime, afterTime, Student::getId, after, size));
+
+        // 2. 游标取自学生记录本身，再批量转换为DTO
+        return CursorPage.of(rows, size, student -> PageCursor.of(student.getId(), student.getCreatedTime()))
+                .convert(this::toStudentDtos);
+    }
+
+    /**
+     * 将学生记录转换为携带班级名称的DTO，班级信息一次性批量查询
+     *
+     * @param studentRecords 学生记录
+     * @return DTO列表
+     */
+    private List<StudentDTO> toStudentDtos(List<Student> studentRecords) {
+        // 1. 获取班级ID列表
         Set<Long> classIds = studentRecords.stream()
                 .map(Student::getClassId)
                 .filter(java.util.Objects::nonNull)
                 .collect(Collectors.toSet());
 
-        // 3. 一次性查询所有涉及的班级信息
+        // 2. 一次性查询所有涉及的班级名称
         Map<Long, String> classIdToNameMap = Collections.emptyMap();
         if (!CollectionUtils.isEmpty(classIds)) {
-            List<Classes> classesList = classesMapper.selectBatchIds(classIds);
+            List<Classes> classesList = classesMapper.selectList(new LambdaQueryWrapper<Classes>()
+                    .select(Classes::getId, Classes::getClassName)
+                    .in(Classes::getId, classIds));
             classIdToNameMap = classesList.stream()
                     .collect(Collectors.toMap(Classes::getId, Classes::getClassName));
         }
 
-        // 4. 转换为DTO列表
+        // 3. 转换为DTO列表
         final Map<Long, String> finalClassIdToNameMap = classIdToNameMap;
-        List<StudentDTO> dtoList = studentRecords.stream().map(student -> {
-            StudentDTO dto = new StudentDTO();
-            BeanUtils.copyProperties(student, dto);
-            if (student.getClassId() != null) {
-                dto.setClassName(finalClassIdToNameMap.get(student.getClassId()));
-            }
-            return dto;
-        }).collect(Collectors.toList());
-
-        // 5. 创建并返回DTO分页结果
-        Page<StudentDTO> dtoPage = new Page<>(studentPage.getCurrent(), studentPage.getSize(), studentPage.getTotal());
-        dtoPage.setRecords(dtoList);
-
-        return dtoPage;
+        return studentRecords.stream()
+                .map(student -> StudentConverter.toDto(student,
+                        student.getClassId() == null ? null : finalClassIdToNameMap.get(student.getClassId())))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -108,11 +155,7 @@ public class StudentServiceImpl extends ServiceImpl<StudentMapper, Student> impl
         if (user == null) {
             throw new BusinessException("用户信息不存在");
         }
-        StudentProfileDTO dto = new StudentProfileDTO();
-        BeanUtils.copyProperties(student, dto);
-        BeanUtils.copyProperties(user, dto);
-        dto.setId(student.getId());
-        return dto;
+        return StudentConverter.toProfile(student, user);
     }
 
     @Override
@@ -136,12 +179,14 @@ public class StudentServiceImpl extends ServiceImpl<StudentMapper, Student> impl
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StudentCourseDTO> getStudentCourses(Long userId) {
         Student student = findByUserId(userId);
         return student != null ? studentMapper.findCoursesByStudentId(student.getId()) : Collections.emptyList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StudentGradeDTO> getStudentGrades(Long userId) {
         Student student = findByUserId(userId);
         return student != null ? studentMapper.findGradesByStudentId(student.getId()) : Collections.emptyList();
@@ -180,6 +225,7 @@ public class StudentServiceImpl extends ServiceImpl<StudentMapper, Student> impl
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StudentGradeDTO> findMyGrades() {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         if (principal instanceof SecurityUser securityUser) {
@@ -191,6 +237,23 @@ public class StudentServiceImpl extends ServiceImpl<StudentMapper, Student> impl
         return Collections.emptyList();
     }
 
+    @Override
+    public DeltaSyncDto<StudentGradeDTO> findMyGradeChanges(Long since) {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (!(principal instanceof SecurityUser securityUser)) {
+            throw new BusinessException("无法获取当前用户信息");
+        }
+        Student student = findByUserId(securityUser.getUser().getId());
+        if (student == null) {
+            throw new BusinessException(404, "未找到当前用户的学生记录");
+        }
+        Long studentId = student.getId();
+        return deltaSyncService.sync(since, SyncEntityType.GRADE, studentId,
+                () -> studentMapper.findGradesByStudentId(studentId),
+                sinceTime -> studentMapper.findGradesByStudentIdChangedSince(studentId, sinceTime),
+                StudentGradeDTO::getId);
+    }
+
     @Override
     @Transactional
     public boolean updateMyProfile(StudentProfileUpdateDTO updateDTO) {
@@ -216,6 +279,7 @@ public class StudentServiceImpl extends ServiceImpl<StudentMapper, Student> impl
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StudentCourseDTO> findMyCourses() {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         if (principal instanceof SecurityUser securityUser) {
@@ -229,9 +293,9 @@ public class StudentServiceImpl extends ServiceImpl<StudentMapper, Student> impl
 
     @Override
     public List<StudentDTO> findUnassignedStudents() {
-        // 1. 查询所有 class_id 为 null 的学生
+        // 1. 查询所有 class_id 为 null 的学生，只取名单DTO所需的列
         List<Student> students = this.list(
-                new LambdaQueryWrapper<Student>().isNull(Student::getClassId)
+                new LambdaQueryWrapper<Student>().select(ROSTER_COLUMNS).isNull(Student::getClassId)
                         .orderByDesc(Student::getCreatedTime)
         );
 
@@ -239,18 +303,18 @@ public class StudentServiceImpl extends ServiceImpl<StudentMapper, Student> impl
             return Collections.emptyList();
         }
 
-        // 2. 转换为 DTO
-        return students.stream().map(student -> {
-            StudentDTO dto = new StudentDTO();
-            BeanUtils.copyProperties(student, dto);
-            // 因为未分配班级，所以班级相关的 DTO 字段（className）将为 null，这是符合预期的
-            return dto;
-        }).collect(Collectors.toList());
+        // 2. 转换为 DTO，未分配班级所以 className 为 null
+        return students.stream().map(student -> StudentConverter.toDto(student, null)).collect(Collectors.toList());
     }
 
     @Override
+    @ReadReplica
     public IPage<StudentDTO> selectPageWithDetails(IPage<Student> page, String studentNumber, String studentName, Long classId) {
-        return baseMapper.selectPageWithDetails(page, studentNumber, studentName, classId);
+        SearchCondition search = searchIndexService.resolve(SearchEntityType.STUDENT, studentName, studentNumber);
+        if (search.matchesNothing()) {
+            return new Page<>(page.getCurrent(), page.getSize(), 0);
+        }
+        return baseMapper.selectPageWithDetails(page, search.getCode(), search.getName(), classId, search.getIds());
     }
 
     @Transactional
@@ -285,30 +349,26 @@ public class StudentServiceImpl extends ServiceImpl<StudentMapper, Student> impl
             student.setClassId(classId);
         }
 
-        // 5. 批量更新
+        // 5. 批量更新，班级人数变化后使该班授课教师的统计缓存失效
         this.updateBatchById(studentsToUpdate);
+        teachingStatisticsCacheEvictor.evictByClasses(List.of(classId));
 
         return studentsToUpdate.size();
     }
 
     @Override
     public List<StudentDTO> findStudentsByClassId(Long classId) {
-        // 1. 根据班级ID查询学生列表
+        // 1. 根据班级ID查询学生列表，只取名单DTO所需的列
         List<Student> students = this.list(
-                new LambdaQueryWrapper<Student>().eq(Student::getClassId, classId)
+                new LambdaQueryWrapper<Student>().select(ROSTER_COLUMNS).eq(Student::getClassId, classId)
         );
 
         if (students.isEmpty()) {
             return Collections.emptyList();
         }
 
-        // 2. 转换为 DTO
-        return students.stream().map(student -> {
-            StudentDTO dto = new StudentDTO();
-            BeanUtils.copyProperties(student, dto);
-            // 班级名称在此场景下是已知的，但为保持DTO结构一致性，此处不单独设置
-            return dto;
-        }).collect(Collectors.toList());
+        // 2. 转换为 DTO，班级名称在此场景下是已知的，为保持DTO结构一致性不单独设置
+        return students.stream().map(student -> StudentConverter.toDto(student, null)).collect(Collectors.toList());
     }
 
     @Transactional
@@ -350,10 +410,12 @@ public class StudentServiceImpl extends ServiceImpl<StudentMapper, Student> impl
             student.setClassId(null);
         }
 
-        // 5. 批量更新
+        // 5. 批量更新，并记录移出班级供班级名册增量同步
         // this.updateBatchById(studentsToUpdate);
-        
-        return studentMapper.setClassIdToNullByIds(studentIds);
+        int removed = studentMapper.setClassIdToNullByIds(studentIds);
+        deltaSyncService.recordDeleted(SyncEntityType.STUDENT, classId, studentIds);
+        teachingStatisticsCacheEvictor.evictByClasses(List.of(classId));
+        return removed;
     }
 
     @Override
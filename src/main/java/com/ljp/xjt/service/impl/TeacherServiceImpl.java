@@ -4,6 +4,13 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ljp.xjt.cache.TeachingStatisticsCacheEvictor;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.KeysetConditions;
+import com.ljp.xjt.common.pagination.PageCursor;
+import com.ljp.xjt.config.CacheConfig;
+import com.ljp.xjt.datasource.ReadReplica;
+import com.ljp.xjt.dto.DeltaSyncDto;
 import com.ljp.xjt.dto.StudentDto;
 import com.ljp.xjt.dto.TeacherClassDto;
 import com.ljp.xjt.dto.TeacherCourseDto;
@@ -20,11 +27,20 @@ import com.ljp.xjt.entity.TeachingAssignment;
 import com.ljp.xjt.entity.User;
 import com.ljp.xjt.mapper.StudentMapper;
 import com.ljp.xjt.mapper.TeacherMapper;
+import com.ljp.xjt.metrics.HotPathMetrics;
+import com.ljp.xjt.search.SearchCondition;
+import com.ljp.xjt.search.SearchEntityType;
+import com.ljp.xjt.singleflight.SingleFlight;
+import com.ljp.xjt.sync.SyncEntityType;
+import com.ljp.xjt.service.DeltaSyncService;
+import com.ljp.xjt.service.FileService;
 import com.ljp.xjt.service.GradeService;
+import com.ljp.xjt.service.SearchIndexService;
 import com.ljp.xjt.service.StudentService;
 import com.ljp.xjt.service.TeacherService;
 import com.ljp.xjt.service.UserService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -32,7 +48,11 @@ import com.ljp.xjt.common.exception.BusinessException;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 教师服务实现类
@@ -52,12 +72,25 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
     private final UserService userService;
     private final StudentService studentService;
     private final StudentMapper studentMapper;
-
-    public TeacherServiceImpl(GradeService gradeService, UserService userService, StudentService studentService, StudentMapper studentMapper) {
+    private final TeachingStatisticsCacheEvictor teachingStatisticsCacheEvictor;
+    private final FileService fileService;
+    private final HotPathMetrics hotPathMetrics;
+    private final SearchIndexService searchIndexService;
+    private final DeltaSyncService deltaSyncService;
+
+    public TeacherServiceImpl(GradeService gradeService, UserService userService, StudentService studentService, StudentMapper studentMapper,
+                              TeachingStatisticsCacheEvictor teachingStatisticsCacheEvictor, FileService fileService,
+                              HotPathMetrics hotPathMetrics, SearchIndexService searchIndexService,
+                              DeltaSyncService deltaSyncService) {
         this.gradeService = gradeService;
         this.userService = userService;
         this.studentService = studentService;
         this.studentMapper = studentMapper;
+        this.teachingStatisticsCacheEvictor = teachingStatisticsCacheEvictor;
+        this.fileService = fileService;
+        this.hotPathMetrics = hotPathMetrics;
+        this.searchIndexService = searchIndexService;
+        this.deltaSyncService = deltaSyncService;
     }
 
     /**
@@ -69,9 +102,31 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
      * @return 教师分页列表
      */
     @Override
+    @ReadReplica
     public IPage<Teacher> getTeacherList(Page<Teacher> page, String teacherName, Long departmentId) {
         log.info("Query teacher list with params: teacherName={}, departmentId={}", teacherName, departmentId);
-        return this.baseMapper.selectTeacherList(page, teacherName, departmentId);
+        SearchCondition search = searchIndexService.resolve(SearchEntityType.TEACHER, teacherName, null);
+        if (search.matchesNothing()) {
+            return page.setRecords(new ArrayList<>());
+        }
+        return this.baseMapper.selectTeacherList(page, search.getName(), departmentId, search.getIds());
+    }
+
+    @Override
+    @ReadReplica
+    public CursorPage<Teacher> getTeacherCursor(PageCursor after, long size, String teacherName, Long departmentId) {
+        // 筛选条件与 selectTeacherList 一致，按 (created_time, id) 倒序从游标位置向后多取一行
+        SearchCondition search = searchIndexService.resolve(SearchEntityType.TEACHER, teacherName, null);
+        if (search.matchesNothing()) {
+            return CursorPage.of(new ArrayList<>(), size, null);
+        }
+        LambdaQueryWrapper<Teacher> queryWrapper = new LambdaQueryWrapper<Teacher>()
+                .like(StringUtils.hasText(search.getName()), Teacher::getTeacherName, search.getName())
+                .in(search.getIds() != null, Teacher::getId, search.getIds())
+                .eq(departmentId != null, Teacher::getDepartmentId, departmentId);
+        List<Teacher> rows = this.baseMapper.selectList(KeysetConditions.seekDesc(
+                queryWrapper, Teacher::getCreatedTime, after == null ? null : after.timeKey(0), Teacher::getId, after, size));
+        return CursorPage.of(rows, size, teacher -> PageCursor.of(teacher.getId(), teacher.getCreatedTime()));
     }
 
     /**
@@ -220,9 +275,40 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
      * @return 学生列表
      */
     @Override
+    @SingleFlight
     public List<StudentDto> findStudentsByClassAndCourse(Long userId, Long classId, Long courseId) {
         log.info("Finding students for user id: {}, class id: {} and course id: {}", userId, classId, courseId);
-        return this.baseMapper.findStudentsByClassAndCourse(userId, classId, courseId);
+        List<StudentDto> students = this.baseMapper.findStudentsByClassAndCourse(userId, classId, courseId);
+        return withAvatarUrls(students);
+    }
+
+    @Override
+    public DeltaSyncDto<StudentDto> findStudentChangesByClassAndCourse(Long userId, Long classId, Long courseId, Long since) {
+        // 1. 权限校验，避免非任课教师通过删除记录获取班级学生ID
+        Teacher teacher = baseMapper.selectByUserId(userId);
+        if (teacher == null) {
+            throw new IllegalArgumentException("无法找到对应的教师信息");
+        }
+        gradeService.verifyAndGetTeachingAssignment(teacher.getId(), courseId, classId);
+
+        // 2. 学生移出班级按班级记录删除；成绩被删除的学生由增量查询作为变化返回
+        return deltaSyncService.sync(since, SyncEntityType.STUDENT, classId,
+                () -> findStudentsByClassAndCourse(userId, classId, courseId),
+                sinceTime -> withAvatarUrls(baseMapper.findStudentsByClassAndCourseChangedSince(userId, classId, courseId, sinceTime)),
+                StudentDto::getStudentId);
+    }
+
+    /**
+     * 一次性解析整个名单的头像URL
+     *
+     * @param students 学生名单
+     * @return 填充头像URL后的名单
+     */
+    private List<StudentDto> withAvatarUrls(List<StudentDto> students) {
+        Map<Long, String> avatarUrlMap = fileService.resolveAvatarUrls(
+                students.stream().map(StudentDto::getUserId).toList());
+        students.forEach(student -> student.setAvatarUrl(avatarUrlMap.get(student.getUserId())));
+        return students;
     }
 
     /**
@@ -255,8 +341,46 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
             throw new IllegalArgumentException("该学生不属于指定班级");
         }
 
-        // 4. 更新或插入成绩
-        return gradeService.upsertGrade(studentId, courseId, score, teacherId, semester, year);
+        // 4. 更新或插入成绩，并使该班级该课程相关教师的统计缓存失效
+        boolean result = gradeService.upsertGrade(studentId, courseId, score, teacherId, semester, year);
+        teachingStatisticsCacheEvictor.evictByClass(courseId, classId);
+        return result;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Set<Long> saveGradeEdits(Long userId, Long courseId, Long classId, Map<Long, BigDecimal> scores) {
+        // 1. 获取教师实体ID，整批只做一次权限校验
+        Teacher teacher = baseMapper.selectByUserId(userId);
+        if (teacher == null) {
+            throw new IllegalArgumentException("无法找到对应的教师信息");
+        }
+        TeachingAssignment assignment = gradeService.verifyAndGetTeachingAssignment(teacher.getId(), courseId, classId);
+
+        // 2. 学生归属校验：一次查询整批学生中属于该班级的部分
+        Set<Long> inClass = new HashSet<>();
+        studentMapper.selectList(new LambdaQueryWrapper<Student>()
+                        .select(Student::getId)
+                        .eq(Student::getClassId, classId)
+                        .in(Student::getId, scores.keySet()))
+                .forEach(student -> inClass.add(student.getId()));
+        Map<Long, BigDecimal> accepted = new LinkedHashMap<>();
+        Set<Long> rejected = new HashSet<>();
+        scores.forEach((studentId, score) -> {
+            if (inClass.contains(studentId)) {
+                accepted.put(studentId, score);
+            } else {
+                rejected.add(studentId);
+            }
+        });
+
+        // 3. 批量更新或插入，并使该班级该课程相关教师的统计缓存失效
+        hotPathMetrics.recordGradeBatchSize("teacher-autosave", scores.size());
+        if (!accepted.isEmpty()) {
+            gradeService.upsertGrades(courseId, accepted, teacher.getId(), assignment.getSemester(), assignment.getYear());
+            teachingStatisticsCacheEvictor.evictByClass(courseId, classId);
+        }
+        return rejected;
     }
 
     @Override
@@ -315,20 +439,28 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
         return true;
     }
 
+    /**
+     * 获取教师教学统计
+     * <p>
+     * 单条SQL按(课程, 班级)授课对汇总，结果按教师ID缓存；
+     * 该教师所授班级的成绩写入或学生增减时由 {@link TeachingStatisticsCacheEvictor} 使缓存失效。
+     * </p>
+     *
+     * @param teacherId 教师ID
+     * @return 教学统计DTO
+     */
     @Override
+    @Cacheable(cacheNames = CacheConfig.TEACHING_STATISTICS, key = "#teacherId")
     public TeachingStatisticsDto getTeachingStatistics(Long teacherId) {
-        // 1. 分别调用Mapper方法获取各项统计数据
-        Long totalCourses = baseMapper.countTaughtCourses(teacherId);
-        Long totalClasses = baseMapper.countTaughtClasses(teacherId);
-        Long totalStudents = baseMapper.countTaughtStudents(teacherId);
-        BigDecimal averageScore = baseMapper.calculateAverageScore(teacherId);
+        // 1. 一次查询获取全部统计数据
+        TeachingStatisticsDto stats = baseMapper.selectTeachingStatistics(teacherId);
 
         // 2. 使用Builder模式构建DTO对象
         return TeachingStatisticsDto.builder()
-                .totalCourses(totalCourses != null ? totalCourses : 0L)
-                .totalClasses(totalClasses != null ? totalClasses : 0L)
-                .totalStudents(totalStudents != null ? totalStudents : 0L)
-                .averageScore(averageScore) // 如果没有分数，AVG会返回null，这符合预期
+                .totalCourses(stats != null && stats.getTotalCourses() != null ? stats.getTotalCourses() : 0L)
+                .totalClasses(stats != null && stats.getTotalClasses() != null ? stats.getTotalClasses() : 0L)
+                .totalStudents(stats != null && stats.getTotalStudents() != null ? stats.getTotalStudents() : 0L)
+                .averageScore(stats != null ? stats.getAverageScore() : null) // 如果没有分数，AVG会返回null，这符合预期
                 .build();
     }
 
@@ -346,6 +478,7 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
         Integer year = assignment.getYear();
 
         // 2. 初始化结果统计对象
+        hotPathMetrics.recordGradeBatchSize("teacher-batch-update", gradeEntries.size());
         List<FailureDetailDto> failures = new ArrayList<>();
         int successCount = 0;
         int failureCount = 0;
@@ -382,7 +515,12 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
             }
         }
 
-        // 4. 构建响应DTO
+        // 4. 成绩已变化时，使相关教师的统计缓存失效
+        if (successCount > 0) {
+            teachingStatisticsCacheEvictor.evictByClass(courseId, classId);
+        }
+
+        // 5. 构建响应DTO
         return BatchGradeResponseDto.builder()
                 .successCount(successCount)
                 .failureCount(failureCount)
@@ -4,17 +4,29 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ljp.xjt.cache.TeachingStatisticsCacheEvictor;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.PageCursor;
+import com.ljp.xjt.datasource.ReadReplica;
 import com.ljp.xjt.dto.TeachingAssignmentDto;
 import com.ljp.xjt.dto.TeachingAssignmentRequestDto;
+import com.ljp.xjt.dto.convert.TeachingAssignmentConverter;
 import com.ljp.xjt.entity.Course;
 import com.ljp.xjt.entity.TeachingAssignment;
 import com.ljp.xjt.mapper.TeachingAssignmentMapper;
+import com.ljp.xjt.search.SearchCondition;
+import com.ljp.xjt.search.SearchEntityType;
+import com.ljp.xjt.service.SearchIndexService;
 import com.ljp.xjt.service.TeachingAssignmentService;
+import com.ljp.xjt.service.TimetableService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -27,11 +39,45 @@ import java.util.Objects;
  */
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class TeachingAssignmentServiceImpl extends ServiceImpl<TeachingAssignmentMapper, TeachingAssignment> implements TeachingAssignmentService {
 
+    private final TeachingStatisticsCacheEvictor teachingStatisticsCacheEvictor;
+    private final SearchIndexService searchIndexService;
+    private final TimetableService timetableService;
+
     @Override
+    @ReadReplica
     public IPage<TeachingAssignmentDto> listAssignments(Page<TeachingAssignmentDto> page, String courseName, String teacherName, String className) {
-        return baseMapper.selectDetailedAssignments(page, courseName, teacherName, className);
+        SearchCondition courses = searchIndexService.resolve(SearchEntityType.COURSE, courseName, null);
+        SearchCondition teachers = searchIndexService.resolve(SearchEntityType.TEACHER, teacherName, null);
+        SearchCondition classes = searchIndexService.resolve(SearchEntityType.CLASS, className, null);
+        if (courses.matchesNothing() || teachers.matchesNothing() || classes.matchesNothing()) {
+            return page.setRecords(new ArrayList<>());
+        }
+        return baseMapper.selectDetailedAssignments(page, courses.getName(), teachers.getName(), classes.getName(),
+                courses.getIds(), teachers.getIds(), classes.getIds());
+    }
+
+    @Override
+    @ReadReplica
+    public CursorPage<TeachingAssignmentDto> listAssignmentsByCursor(PageCursor after, long size, String courseName, String teacherName, String className) {
+        // 1. 课程、教师、班级名称经检索索引解析为ID
+        SearchCondition courses = searchIndexService.resolve(SearchEntityType.COURSE, courseName, null);
+        SearchCondition teachers = searchIndexService.resolve(SearchEntityType.TEACHER, teacherName, null);
+        SearchCondition classes = searchIndexService.resolve(SearchEntityType.CLASS, className, null);
+        if (courses.matchesNothing() || teachers.matchesNothing() || classes.matchesNothing()) {
+            return CursorPage.of(new ArrayList<>(), size, null);
+        }
+
+        // 2. 多取一行用于判断是否还有下一页
+        List<TeachingAssignmentDto> rows = baseMapper.selectDetailedAssignmentsAfter(
+                after == null ? null : after.intKey(0),
+                after == null ? null : after.stringKey(1),
+                after == null ? null : after.getId(),
+                size + 1, courses.getName(), teachers.getName(), classes.getName(),
+                courses.getIds(), teachers.getIds(), classes.getIds());
+        return CursorPage.of(rows, size, row -> PageCursor.of(row.getId(), row.getYear(), row.getSemester()));
     }
 
     @Override
@@ -42,10 +88,14 @@ public class TeachingAssignmentServiceImpl extends ServiceImpl<TeachingAssignmen
             throw new IllegalArgumentException("已存在相同的排课记录");
         }
 
-        // 2. 创建实体并保存
+        // 2. 检查教师、班级、教室的上课时间冲突
         TeachingAssignment teachingAssignment = new TeachingAssignment();
-        BeanUtils.copyProperties(requestDto, teachingAssignment);
+        TeachingAssignmentConverter.copy(requestDto, teachingAssignment);
+        timetableService.checkConflicts(teachingAssignment);
+
+        // 3. 保存
         this.save(teachingAssignment);
+        teachingStatisticsCacheEvictor.evictTeachers(Collections.singletonList(teachingAssignment.getTeacherId()));
         log.info("Created new teaching assignment with id: {}", teachingAssignment.getId());
         return teachingAssignment;
     }
@@ -64,18 +114,25 @@ public class TeachingAssignmentServiceImpl extends ServiceImpl<TeachingAssignmen
             throw new IllegalArgumentException("更新后的排课记录与现有记录冲突");
         }
 
-        // 3. 更新实体并保存
-        BeanUtils.copyProperties(requestDto, existingAssignment);
+        // 3. 检查教师、班级、教室的上课时间冲突
+        Long previousTeacherId = existingAssignment.getTeacherId();
+        TeachingAssignmentConverter.copy(requestDto, existingAssignment);
+        timetableService.checkConflicts(existingAssignment);
+
+        // 4. 更新实体并保存，原教师与新教师的统计都可能变化
         this.updateById(existingAssignment);
+        teachingStatisticsCacheEvictor.evictTeachers(Arrays.asList(previousTeacherId, existingAssignment.getTeacherId()));
         log.info("Updated teaching assignment with id: {}", id);
         return existingAssignment;
     }
 
     @Override
     public void deleteAssignment(Long id) {
-        if (!this.removeById(id)) {
+        TeachingAssignment existingAssignment = this.getById(id);
+        if (existingAssignment == null || !this.removeById(id)) {
             throw new IllegalArgumentException("找不到ID为 " + id + " 的排课记录，无法删除");
         }
+        teachingStatisticsCacheEvictor.evictTeachers(Collections.singletonList(existingAssignment.getTeacherId()));
         log.info("Deleted teaching assignment with id: {}", id);
     }
 
@@ -0,0 +1,130 @@
+package com.ljp.xjt.service.impl;
+
+import com.ljp.xjt.config.TimetableProperties;
+import com.ljp.xjt.datasource.ReadReplica;
+import com.ljp.xjt.dto.TimetableValidationDto;
+import com.ljp.xjt.entity.TeachingAssignment;
+import com.ljp.xjt.mapper.TeachingAssignmentMapper;
+import com.ljp.xjt.service.TimetableService;
+import com.ljp.xjt.timetable.ScheduleTimeParser;
+import com.ljp.xjt.timetable.TimetableConflict;
+import com.ljp.xjt.timetable.TimetableEntry;
+import com.ljp.xjt.timetable.TimetableOccupancy;
+import com.ljp.xjt.timetable.TimetableResource;
+import com.ljp.xjt.timetable.TimetableSlots;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 课表冲突检查服务实现类
+ * <p>
+ * 上课时间解析为学期时段位图（见 {@link ScheduleTimeParser}），按教师、班级、教室各自的占用位图求交判断冲突。
+ * 新建、修改排课时只查询同学期内相关教师、班级、教室的排课；整学期校验一次取出全部排课，
+ * 按ID顺序依次检查并记入占用，相同的上课时间文本只解析一次。
+ * 冲突检查与保存不在同一把锁内，并发保存两条相互冲突的排课时仍可能同时成功，可由整学期校验发现。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Service
+@Slf4j
+public class TimetableServiceImpl implements TimetableService {
+
+    private final TeachingAssignmentMapper teachingAssignmentMapper;
+    private final ScheduleTimeParser parser;
+
+    public TimetableServiceImpl(TeachingAssignmentMapper teachingAssignmentMapper, TimetableProperties properties) {
+        this.teachingAssignmentMapper = teachingAssignmentMapper;
+        this.parser = new ScheduleTimeParser(properties.getWeeks(), properties.getPeriodsPerDay());
+    }
+
+    @Override
+    public void checkConflicts(TeachingAssignment assignment) {
+        if (!StringUtils.hasText(assignment.getScheduleTime())) {
+            return;
+        }
+
+        // 1. 解析上课时间，格式错误直接拒绝
+        TimetableEntry candidate = new TimetableEntry(assignment.getId(), assignment.getTeacherId(), assignment.getClassId(),
+                assignment.getClassroom(), parser.parse(assignment.getScheduleTime()));
+
+        // 2. 同学期内相关教师、班级、教室的已有排课构成占用；无法解析的历史数据不参与检查
+        List<TimetableEntry> existing = new ArrayList<>();
+        for (TeachingAssignment row : teachingAssignmentMapper.selectScheduledInTerm(assignment.getYear(), assignment.getSemester(),
+                assignment.getTeacherId(), assignment.getClassId(), assignment.getClassroom(), assignment.getId())) {
+            try {
+                existing.add(toEntry(row, parser.parse(row.getScheduleTime())));
+            } catch (IllegalArgumentException e) {
+                log.debug("Skipping teaching assignment {} with unparsable schedule time: {}", row.getId(), e.getMessage());
+            }
+        }
+
+        // 3. 每类资源报告第一条冲突
+        List<TimetableConflict> conflicts = TimetableOccupancy.of(existing).conflictsOf(candidate);
+        if (!conflicts.isEmpty()) {
+            EnumSet<TimetableResource> reported = EnumSet.noneOf(TimetableResource.class);
+            String message = conflicts.stream()
+                    .filter(conflict -> reported.add(conflict.getResource()))
+                    .map(conflict -> conflict.getResource().label() + "在" + parser.describe(conflict.getSlot())
+                            + "已有排课（ID " + conflict.getConflictingAssignmentId() + "）")
+                    .collect(Collectors.joining("；"));
+            throw new IllegalArgumentException("上课时间冲突：" + message);
+        }
+    }
+
+    @Override
+    @ReadReplica
+    public TimetableValidationDto validateTerm(Integer year, String semester) {
+        // 1. 取出整个学期已填写上课时间的排课
+        List<TeachingAssignment> rows = teachingAssignmentMapper.selectScheduledByTerm(year, semester);
+        TimetableValidationDto result = new TimetableValidationDto();
+        result.setYear(year);
+        result.setSemester(semester);
+        result.setAssignments(rows.size());
+
+        // 2. 依次检查并记入占用，相同文本只解析一次
+        long start = System.nanoTime();
+        Map<String, TimetableSlots> parsed = new HashMap<>();
+        Map<String, String> invalid = new HashMap<>();
+        TimetableOccupancy occupancy = new TimetableOccupancy();
+        for (TeachingAssignment row : rows) {
+            String text = row.getScheduleTime();
+            TimetableSlots slots = parsed.get(text);
+            if (slots == null && !invalid.containsKey(text)) {
+                try {
+                    slots = parser.parse(text);
+                    parsed.put(text, slots);
+                } catch (IllegalArgumentException e) {
+                    invalid.put(text, e.getMessage());
+                }
+            }
+            if (slots == null) {
+                result.getInvalidSchedules().add(new TimetableValidationDto.InvalidSchedule(row.getId(), text, invalid.get(text)));
+                continue;
+            }
+            for (TimetableConflict conflict : occupancy.checkAndAdd(toEntry(row, slots))) {
+                result.getConflicts().add(new TimetableValidationDto.Conflict(conflict.getResource().name(),
+                        String.valueOf(conflict.getResourceKey()), conflict.getAssignmentId(),
+                        conflict.getConflictingAssignmentId(), parser.describe(conflict.getSlot())));
+            }
+        }
+        result.setCheckMillis(Math.round((System.nanoTime() - start) / 10_000.0) / 100.0);
+        log.info("Validated timetable of {} {}: {} assignments, {} conflicts, {} invalid schedule times in {} ms",
+                year, semester, rows.size(), result.getConflicts().size(), result.getInvalidSchedules().size(), result.getCheckMillis());
+        return result;
+    }
+
+    private static TimetableEntry toEntry(TeachingAssignment row, TimetableSlots slots) {
+        return new TimetableEntry(row.getId(), row.getTeacherId(), row.getClassId(), row.getClassroom(), slots);
+    }
+}
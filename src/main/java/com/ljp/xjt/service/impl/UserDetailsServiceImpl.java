@@ -1,6 +1,7 @@
 package com.ljp.xjt.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ljp.xjt.datasource.ReadPrimary;
 import com.ljp.xjt.entity.Role;
 import com.ljp.xjt.entity.User;
 import com.ljp.xjt.mapper.RoleMapper;
@@ -48,6 +49,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      * @throws UsernameNotFoundException 如果用户未找到，则抛出此异常
      */
     @Override
+    @ReadPrimary
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // 1. 根据用户名从数据库查询用户信息
         User user = userMapper.selectOne(new LambdaQueryWrapper<User>().eq(User::getUsername, username));
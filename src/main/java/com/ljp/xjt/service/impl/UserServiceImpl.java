@@ -5,18 +5,23 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.ljp.xjt.common.exception.BusinessException;
+import com.ljp.xjt.common.pagination.CursorPage;
+import com.ljp.xjt.common.pagination.KeysetConditions;
+import com.ljp.xjt.common.pagination.PageCursor;
+import com.ljp.xjt.datasource.ReadPrimary;
 import com.ljp.xjt.dto.UnboundUserDTO;
 import com.ljp.xjt.dto.UserDTO;
+import com.ljp.xjt.dto.convert.UserConverter;
 import com.ljp.xjt.entity.Role;
 import com.ljp.xjt.entity.User;
 import com.ljp.xjt.entity.UserRole;
 import com.ljp.xjt.mapper.RoleMapper;
 import com.ljp.xjt.mapper.UserMapper;
 import com.ljp.xjt.mapper.UserRoleMapper;
+import com.ljp.xjt.service.FileService;
 import com.ljp.xjt.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,6 +52,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     private final RoleMapper roleMapper;
     private final UserRoleMapper userRoleMapper;
     private final PasswordEncoder passwordEncoder;
+    private final FileService fileService;
 
     @Override
     public User getUserByUsername(String username) {
@@ -164,52 +170,80 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     @Override
     @Transactional(readOnly = true)
     public IPage<UserDTO> getUserList(Page<User> page, String username, String email, Integer status) {
-        // 1. 构建查询条件
-        LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.like(StringUtils.hasText(username), User::getUsername, username)
-                    .like(StringUtils.hasText(email), User::getEmail, email)
-                    .eq(status != null, User::getStatus, status);
-
-        // 2. 分页查询基础用户数据
-        Page<User> userPage = baseMapper.selectPage(page, queryWrapper);
+        // 1. 分页查询基础用户数据
+        Page<User> userPage = baseMapper.selectPage(page, userListFilters(username, email, status));
         List<User> userRecords = userPage.getRecords();
 
         if (CollectionUtils.isEmpty(userRecords)) {
             return new Page<>();
         }
 
-        // 3. 获取用户ID列表
+        // 2. 批量装配角色与头像
+        List<UserDTO> dtoList = toUserDtos(userRecords);
+
+        // 3. 创建并返回DTO分页结果
+        Page<UserDTO> dtoPage = new Page<>(userPage.getCurrent(), userPage.getSize(), userPage.getTotal());
+        dtoPage.setRecords(dtoList);
+
+        return dtoPage;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> getUserCursor(PageCursor after, long size, String username, String email, Integer status) {
+        // 按用户ID倒序从游标位置向后多取一行，主键即排序键
+        List<User> rows = baseMapper.selectList(KeysetConditions.seekDesc(
+                userListFilters(username, email, status), User::getId, after, size));
+        return CursorPage.of(rows, size, user -> PageCursor.of(user.getId()))
+                .convert(this::toUserDtos);
+    }
+
+    /**
+     * 构建用户列表筛选条件
+     */
+    private LambdaQueryWrapper<User> userListFilters(String username, String email, Integer status) {
+        return new LambdaQueryWrapper<User>()
+                .like(StringUtils.hasText(username), User::getUsername, username)
+                .like(StringUtils.hasText(email), User::getEmail, email)
+                .eq(status != null, User::getStatus, status);
+    }
+
+    /**
+     * 将用户记录转换为DTO，角色与头像一次性批量查询
+     *
+     * @param userRecords 用户记录
+     * @return DTO列表
+     */
+    private List<UserDTO> toUserDtos(List<User> userRecords) {
+        // 1. 获取用户ID列表
         Set<Long> userIds = userRecords.stream().map(User::getId).collect(Collectors.toSet());
 
-        // 4. 一次性查询所有用户的角色关联关系
+        // 2. 一次性查询所有用户的角色关联关系
         List<UserRole> userRoles = userRoleMapper.selectList(new LambdaQueryWrapper<UserRole>().in(UserRole::getUserId, userIds));
         
-        // 5. 一次性查询所有涉及的角色信息
+        // 3. 一次性查询所有涉及的角色信息
         Set<Long> roleIds = userRoles.stream().map(UserRole::getRoleId).collect(Collectors.toSet());
         Map<Long, Role> roleMap = CollectionUtils.isEmpty(roleIds) ? 
                                   Map.of() :
                                   roleMapper.selectBatchIds(roleIds).stream().collect(Collectors.toMap(Role::getId, r -> r));
 
-        // 6. 将角色分配给用户
+        // 4. 将角色分配给用户
         Map<Long, Set<Role>> userIdToRolesMap = userRoles.stream()
                 .collect(Collectors.groupingBy(
                         UserRole::getUserId,
                         Collectors.mapping(ur -> roleMap.get(ur.getRoleId()), Collectors.toSet())
                 ));
 
-        // 7. 转换为DTO列表
-        List<UserDTO> dtoList = userRecords.stream().map(user -> {
-            UserDTO dto = new UserDTO();
-            BeanUtils.copyProperties(user, dto, "password"); // 复制属性，忽略密码
+        // 5. 一次性解析所有用户的头像URL
+        Map<Long, String> avatarUrlMap = fileService.resolveAvatarUrls(userIds);
+
+        // 6. 转换为DTO列表
+        return userRecords.stream().map(user -> {
+            UserDTO dto = UserConverter.toDto(user); // 不复制密码
             dto.setRoles(userIdToRolesMap.get(user.getId()));
+            dto.setAvatarUrl(avatarUrlMap.get(user.getId()));
             return dto;
         }).collect(Collectors.toList());
-
-        // 8. 创建并返回DTO分页结果
-        Page<UserDTO> dtoPage = new Page<>(userPage.getCurrent(), userPage.getSize(), userPage.getTotal());
-        dtoPage.setRecords(dtoList);
-
-        return dtoPage;
     }
 
     @Override
@@ -231,11 +265,15 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
 
     /**
      * 根据用户名查询用户（包含角色信息）
+     * <p>
+     * 登录与刷新令牌依赖此查询，调用方尚未登录，固定读主库，不受从库延迟影响。
+     * </p>
      *
      * @param username 用户名
      * @return 用户信息（包含角色），如果不存在则返回null
      */
     @Override
+    @ReadPrimary
     @Transactional(readOnly = true)
     public User findByUsername(String username) {
         User user = userMapper.selectOne(new LambdaQueryWrapper<User>().eq(User::getUsername, username));
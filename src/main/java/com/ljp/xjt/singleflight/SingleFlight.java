@@ -0,0 +1,30 @@
+package com.ljp.xjt.singleflight;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记合并并发相同调用的读方法
+ * <p>
+ * 同一方法以相同参数（或相同的 {@link #key()}）被并发调用时，只执行一次，其余调用等待并共享结果或异常，
+ * 返回后不保留结果。适用于结果可共享、不会被调用方修改的只读查询。
+ * 方法内含按当前用户的权限校验时，键必须包含用户标识，否则等待方会跳过校验。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SingleFlight {
+
+    /**
+     * 合并键的SpEL表达式，可用 #参数名 引用参数；为空时使用全部参数
+     */
+    String key() default "";
+}
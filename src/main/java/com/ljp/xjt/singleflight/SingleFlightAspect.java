@@ -0,0 +1,97 @@
+package com.ljp.xjt.singleflight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 单飞请求合并切面
+ * <p>
+ * 为 {@link SingleFlight} 标注的方法按（方法, 合并键）合并并发调用。切面位于事务与读写分离路由之外，
+ * 等待方不获取数据库连接。app.single-flight.enabled=false 时不合并。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "app.single-flight", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SingleFlightAspect {
+
+    /**
+     * 标注方法的调用次数，outcome 标签区分 executed 实际执行与 coalesced 共享其他调用的结果
+     */
+    public static final String CALL_COUNTER = "xjt.single-flight.calls";
+
+    /**
+     * 正在执行的合并计算数
+     */
+    public static final String IN_FLIGHT_GAUGE = "xjt.single-flight.in-flight";
+
+    private final SingleFlightGroup group = new SingleFlightGroup();
+    private final MeterRegistry meterRegistry;
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<Method, Expression> expressions = new ConcurrentHashMap<>();
+
+    public SingleFlightAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(IN_FLIGHT_GAUGE, group, SingleFlightGroup::inFlightCount)
+                .description("Single-flight computations currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 合并键
+     *
+     * @param method 标注的方法
+     * @param key    参数列表或键表达式的值
+     */
+    private record CallKey(Method method, Object key) {
+    }
+
+    @Around("@annotation(com.ljp.xjt.singleflight.SingleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        CallKey key = new CallKey(method, resolveKey(joinPoint, method, method.getAnnotation(SingleFlight.class)));
+        SingleFlightGroup.Outcome<Object> outcome = group.execute(key, joinPoint::proceed);
+        Counter.builder(CALL_COUNTER)
+                .description("Calls to single-flight methods")
+                .tag("method", method.getDeclaringClass().getSimpleName() + "." + method.getName())
+                .tag("outcome", outcome.coalesced() ? "coalesced" : "executed")
+                .register(meterRegistry)
+                .increment();
+        return outcome.value();
+    }
+
+    private Object resolveKey(ProceedingJoinPoint joinPoint, Method method, SingleFlight singleFlight) {
+        if (singleFlight.key().isEmpty()) {
+            return Arrays.asList(joinPoint.getArgs());
+        }
+        Expression expression = expressions.computeIfAbsent(method, m -> parser.parseExpression(singleFlight.key()));
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+                joinPoint.getTarget(), method, joinPoint.getArgs(), parameterNameDiscoverer);
+        return expression.getValue(context);
+    }
+}
@@ -0,0 +1,92 @@
+package com.ljp.xjt.singleflight;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 单飞请求合并组
+ * <p>
+ * 对相同的键，同一时刻只有第一个调用方（leader）执行计算，计算期间到达的调用方等待并共享其结果或异常。
+ * 计算结束即移除该键，之后的调用重新计算，因此不会返回过期数据，与缓存不同。
+ * 共享的结果对象会同时交给多个调用方，调用方不应修改。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class SingleFlightGroup {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 计算过程
+     *
+     * @param <T> 结果类型
+     */
+    @FunctionalInterface
+    public interface Computation<T> {
+
+        T compute() throws Throwable;
+    }
+
+    /**
+     * 单次调用的结果
+     *
+     * @param value     计算结果
+     * @param coalesced 是否共享了其他调用方的计算
+     * @param <T>       结果类型
+     */
+    public record Outcome<T>(T value, boolean coalesced) {
+    }
+
+    /**
+     * 执行或加入相同键的计算
+     *
+     * @param key         合并键，需正确实现 equals/hashCode
+     * @param computation 计算过程
+     * @return 计算结果及是否为合并调用
+     * @throws Throwable 计算抛出的异常，等待方收到与执行方相同的异常
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Outcome<T> execute(Object key, Computation<T> computation) throws Throwable {
+        // 1. 已有相同键的计算时等待其结果
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return new Outcome<>((T) await(existing), true);
+        }
+
+        // 2. 执行计算，结束后先移除键再通知等待方
+        try {
+            T value = computation.compute();
+            inFlight.remove(key, future);
+            future.complete(value);
+            return new Outcome<>(value, false);
+        } catch (Throwable ex) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * 正在执行的计算数
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Object await(CompletableFuture<Object> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } catch (CancellationException ex) {
+            throw new IllegalStateException("Single-flight computation was cancelled", ex);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.ljp.xjt.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 内容寻址的文件存储接口
+ * <p>
+ * 键为内容的SHA-256（64位十六进制），同一个键对应的内容永不改变，
+ * 因此写入是"不存在才写"，读取结果可以被长期缓存。
+ * 物理位置按哈希前两级分片（ab/cd/abcd...），避免单个目录下文件过多。
+ * 引用计数与回收由 {@link com.ljp.xjt.service.BlobStorageService} 负责，实现类只关心字节的存取。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public interface BlobStore {
+
+    /**
+     * 创建暂存文件，上传内容先写入暂存文件再提交到存储中
+     * <p>
+     * 暂存文件与存储位于同一文件系统，本地实现可以原子移动而无需复制。
+     * </p>
+     *
+     * @return 暂存文件路径
+     * @throws IOException 创建失败
+     */
+    Path createTempFile() throws IOException;
+
+    /**
+     * 写入内容，键已存在时不做任何操作
+     *
+     * @param key         内容SHA-256
+     * @param source      暂存文件，调用后由调用方负责清理
+     * @param contentType 文件类型
+     * @throws IOException 写入失败
+     */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    /**
+     * 获取内容对应的本地文件，远程存储会先下载到本地读缓存
+     *
+     * @param key 内容SHA-256
+     * @return 本地文件路径
+     * @throws java.nio.file.NoSuchFileException 内容不存在
+     * @throws IOException                       读取失败
+     */
+    Path fetch(String key) throws IOException;
+
+    /**
+     * 删除内容，键不存在时不做任何操作
+     *
+     * @param key 内容SHA-256
+     * @throws IOException 删除失败
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * 计算键的分片相对路径：ab/cd/abcd...
+     *
+     * @param key 内容SHA-256
+     * @return 相对路径
+     */
+    static String shardPath(String key) {
+        if (!isKey(key)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return key.substring(0, 2) + "/" + key.substring(2, 4) + "/" + key;
+    }
+
+    /**
+     * 判断字符串是否为合法的键（64位小写十六进制）
+     *
+     * @param value 字符串
+     * @return 是否为合法的键
+     */
+    static boolean isKey(String value) {
+        if (value == null || value.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
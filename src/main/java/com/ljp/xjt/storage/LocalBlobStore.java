@@ -0,0 +1,77 @@
+package com.ljp.xjt.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 本地文件系统存储
+ * <p>
+ * 内容存放在 {根目录}/ab/cd/{hash}，暂存文件位于 {根目录}/.staging，
+ * 提交时原子移动到目标位置，读请求不会看到半写入的文件。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+public class LocalBlobStore implements BlobStore {
+
+    private final Path root;
+    private final Path staging;
+
+    public LocalBlobStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        this.staging = this.root.resolve(".staging");
+        try {
+            Files.createDirectories(this.staging);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create blob store directory " + this.root, ex);
+        }
+    }
+
+    @Override
+    public Path createTempFile() throws IOException {
+        return Files.createTempFile(staging, "blob-", ".tmp");
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        Path target = resolve(key);
+        if (Files.exists(target)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException ex) {
+            // 并发写入了相同内容，保留已存在的文件即可
+            log.debug("Blob {} was stored concurrently", key);
+        }
+    }
+
+    @Override
+    public Path fetch(String key) throws IOException {
+        Path target = resolve(key);
+        if (!Files.isRegularFile(target)) {
+            throw new NoSuchFileException(target.toString());
+        }
+        return target;
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        return root.resolve(BlobStore.shardPath(key));
+    }
+}
@@ -0,0 +1,133 @@
+package com.ljp.xjt.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * S3兼容对象存储
+ * <p>
+ * 对象键为分片路径 ab/cd/{hash}，可对接AWS S3或MinIO等本地替身。
+ * 对象内容不可变，读取时下载到本地读缓存后交给调用方按文件输出，后续读取直接命中缓存；
+ * 写入时把暂存文件移动到读缓存，刚上传的内容无需再下载。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+public class S3BlobStore implements BlobStore {
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final Path cacheRoot;
+    private final Path staging;
+
+    public S3BlobStore(S3Client s3Client, String bucket, Path cacheRoot) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.cacheRoot = cacheRoot.toAbsolutePath().normalize();
+        this.staging = this.cacheRoot.resolve(".staging");
+        try {
+            Files.createDirectories(this.staging);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create blob cache directory " + this.cacheRoot, ex);
+        }
+    }
+
+    @Override
+    public Path createTempFile() throws IOException {
+        return Files.createTempFile(staging, "blob-", ".tmp");
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        String objectKey = BlobStore.shardPath(key);
+        try {
+            // 1. 对象已存在时跳过上传
+            if (!exists(objectKey)) {
+                s3Client.putObject(PutObjectRequest.builder()
+                                .bucket(bucket)
+                                .key(objectKey)
+                                .contentType(contentType)
+                                .build(),
+                        RequestBody.fromFile(source));
+            }
+        } catch (S3Exception ex) {
+            throw new IOException("Failed to upload blob " + key, ex);
+        }
+
+        // 2. 预热本地读缓存
+        Path cached = cacheRoot.resolve(objectKey);
+        if (!Files.exists(cached)) {
+            Files.createDirectories(cached.getParent());
+            Files.move(source, cached, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public Path fetch(String key) throws IOException {
+        String objectKey = BlobStore.shardPath(key);
+        Path cached = cacheRoot.resolve(objectKey);
+        if (Files.isRegularFile(cached)) {
+            return cached;
+        }
+
+        // 缓存未命中：下载到暂存文件后原子移动，并发下载相同内容时结果一致，直接覆盖
+        Path download = staging.resolve(UUID.randomUUID() + ".tmp");
+        try {
+            s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(objectKey).build(),
+                    ResponseTransformer.toFile(download));
+            Files.createDirectories(cached.getParent());
+            Files.move(download, cached, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return cached;
+        } catch (NoSuchKeyException ex) {
+            throw new NoSuchFileException(objectKey);
+        } catch (S3Exception ex) {
+            throw new IOException("Failed to download blob " + key, ex);
+        } finally {
+            Files.deleteIfExists(download);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        String objectKey = BlobStore.shardPath(key);
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(objectKey).build());
+        } catch (S3Exception ex) {
+            throw new IOException("Failed to delete blob " + key, ex);
+        }
+        Files.deleteIfExists(cacheRoot.resolve(objectKey));
+    }
+
+    private boolean exists(String objectKey) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(objectKey).build());
+            return true;
+        } catch (NoSuchKeyException ex) {
+            return false;
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                return false;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ljp.xjt.stream;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 推送给客户端的成绩变更通知
+ * <p>
+ * 只包含定位成绩所需的字段与新分数，客户端需要课程名、教师等信息时再调用查询接口。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+public class GradeNotification {
+
+    private Long gradeId;           // 成绩ID
+    private Long studentId;         // 学生ID
+    private Long courseId;          // 课程ID
+    private String type;            // 变更类型：CREATED、UPDATED、DELETED
+    private BigDecimal score;       // 分数，删除时为删除前的分数
+    private String semester;        // 学期
+    private Integer year;           // 学年
+    private long time;              // 变更发生时间（毫秒时间戳）
+}
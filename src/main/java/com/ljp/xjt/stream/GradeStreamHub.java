@@ -0,0 +1,308 @@
+package com.ljp.xjt.stream;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ljp.xjt.common.exception.BusinessException;
+import com.ljp.xjt.config.GradeStreamProperties;
+import com.ljp.xjt.entity.Student;
+import com.ljp.xjt.mapper.StudentMapper;
+import com.ljp.xjt.outbox.GradeChange;
+import com.ljp.xjt.outbox.GradeChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 成绩变更推送中心（单节点）
+ * <p>
+ * 维护本节点的全部推送连接，按订阅主题（学生、班级+课程）分组。收到 {@link GradeChangedEvent} 后，
+ * 每条变更只序列化一次，放入相关连接的有界缓冲区，由发送线程池异步写出；
+ * 监听方法本身不做网络I/O，慢客户端不会拖慢发件箱的发布。
+ * 连接基于Servlet异步请求（SseEmitter），空闲连接不占用Tomcat工作线程。
+ * 其他节点写入的变更经Redis Stream转发后同样以 {@link GradeChangedEvent} 到达，各节点只推送给自己的连接。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class GradeStreamHub {
+
+    /**
+     * 当前连接数
+     */
+    public static final String CONNECTIONS_GAUGE = "xjt.grade-stream.connections";
+
+    /**
+     * 已发送的通知数
+     */
+    public static final String SENT_COUNTER = "xjt.grade-stream.sent";
+
+    /**
+     * 因缓冲区已满丢弃的通知数
+     */
+    public static final String DROPPED_COUNTER = "xjt.grade-stream.dropped";
+
+    private static final String EVENT_READY = "ready";
+    private static final String EVENT_GRADE = "grade";
+    private static final String EVENT_RESYNC = "resync";
+
+    private final GradeStreamProperties properties;
+    private final StudentMapper studentMapper;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor executor;
+    private final Set<StreamConnection> connections = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<StreamConnection>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger classScopeConnections = new AtomicInteger();
+    private final Counter sentCounter;
+    private final Counter droppedCounter;
+
+    public GradeStreamHub(GradeStreamProperties properties, StudentMapper studentMapper, ObjectMapper objectMapper,
+                          @Qualifier("gradeStreamExecutor") TaskExecutor executor, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.studentMapper = studentMapper;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        Gauge.builder(CONNECTIONS_GAUGE, connections, Set::size)
+                .description("Open grade stream connections on this node")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder(SENT_COUNTER)
+                .description("Grade notifications written to stream connections")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder(DROPPED_COUNTER)
+                .description("Grade notifications dropped because a connection buffer was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 学生主题：该学生的成绩变更
+     */
+    public static String studentTopic(Long studentId) {
+        return "s:" + studentId;
+    }
+
+    /**
+     * 班级主题：该班级学生在该课程的成绩变更
+     */
+    public static String classTopic(Long classId, Long courseId) {
+        return "c:" + classId + ":" + courseId;
+    }
+
+    /**
+     * 建立推送连接
+     *
+     * @param topics     订阅的主题
+     * @param classScope 是否包含班级主题（需要把变更的学生换算为班级）
+     * @return SSE连接，由控制器直接返回
+     */
+    public SseEmitter subscribe(Collection<String> topics, boolean classScope) {
+        if (connections.size() >= properties.getMaxConnections()) {
+            throw new BusinessException(503, "实时推送连接数已达上限，请稍后重试");
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        StreamConnection connection = new StreamConnection(emitter, List.copyOf(topics), classScope, properties.getBufferSize());
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> {
+            // 到期或停机时正常结束响应，客户端随后自动重连
+            unregister(connection);
+            emitter.complete();
+        });
+        emitter.onError(ex -> unregister(connection));
+
+        // 1. 登记连接与主题
+        connections.add(connection);
+        if (classScope) {
+            classScopeConnections.incrementAndGet();
+        }
+        for (String topic : connection.topics()) {
+            subscribers.computeIfAbsent(topic, key -> ConcurrentHashMap.newKeySet()).add(connection);
+        }
+
+        // 2. 立即发送就绪事件，使响应头尽早写出，客户端据此确认订阅成功
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_READY).data(connection.topics().size()));
+        } catch (Exception ex) {
+            unregister(connection);
+            emitter.completeWithError(ex);
+        }
+        return emitter;
+    }
+
+    /**
+     * 将成绩变更推送给相关连接
+     *
+     * @param event 成绩变更事件
+     */
+    @EventListener
+    public void onGradeChanged(GradeChangedEvent event) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        // 1. 有班级订阅时才查询变更学生所在班级
+        Map<Long, Long> classIds = classScopeConnections.get() > 0 ? resolveClassIds(event.getChanges()) : Map.of();
+
+        // 2. 每条变更只序列化一次，分发到学生主题与班级主题的订阅者
+        for (GradeChange change : event.getChanges()) {
+            Set<StreamConnection> students = subscribers.get(studentTopic(change.getStudentId()));
+            Long classId = classIds.get(change.getStudentId());
+            Set<StreamConnection> classes = classId == null ? null : subscribers.get(classTopic(classId, change.getCourseId()));
+            if ((students == null || students.isEmpty()) && (classes == null || classes.isEmpty())) {
+                continue;
+            }
+            StreamConnection.Frame frame = new StreamConnection.Frame(change.getEventId(), toJson(change));
+            deliver(frame, students);
+            deliver(frame, classes);
+        }
+    }
+
+    /**
+     * 定时心跳，写失败的连接随之关闭
+     */
+    @Scheduled(initialDelayString = "${app.grade-stream.heartbeat-interval:PT30S}",
+            fixedDelayString = "${app.grade-stream.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        for (StreamConnection connection : connections) {
+            connection.requestHeartbeat();
+            schedule(connection);
+        }
+    }
+
+    /**
+     * 当前连接数
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * 停机时关闭全部连接，客户端会自动重连到其他节点
+     */
+    @PreDestroy
+    public void closeAll() {
+        for (StreamConnection connection : new ArrayList<>(connections)) {
+            unregister(connection);
+            try {
+                connection.emitter().complete();
+            } catch (IllegalStateException ex) {
+                // Tomcat 先于本Bean停止时响应已回收，连接已随之关闭
+                log.debug("Grade stream already closed by container", ex);
+            }
+        }
+    }
+
+    private void deliver(StreamConnection.Frame frame, Set<StreamConnection> targets) {
+        if (targets == null) {
+            return;
+        }
+        for (StreamConnection connection : targets) {
+            if (connection.offer(frame)) {
+                droppedCounter.increment();
+            }
+            schedule(connection);
+        }
+    }
+
+    private void schedule(StreamConnection connection) {
+        if (!connection.markScheduled()) {
+            return;
+        }
+        try {
+            executor.execute(() -> drain(connection));
+        } catch (TaskRejectedException ex) {
+            // 发送队列已满（通常是停机中），内容留在缓冲区，下一次通知或心跳时再提交
+            connection.unschedule();
+        }
+    }
+
+    /**
+     * 在发送线程中写出连接缓冲区内的全部内容，直到缓冲区为空
+     */
+    private void drain(StreamConnection connection) {
+        StreamConnection.Pending pending;
+        while ((pending = connection.take()) != null) {
+            try {
+                SseEmitter emitter = connection.emitter();
+                if (pending.resync()) {
+                    emitter.send(SseEmitter.event().name(EVENT_RESYNC).data(""));
+                }
+                for (StreamConnection.Frame frame : pending.frames()) {
+                    emitter.send(SseEmitter.event().id(Long.toString(frame.id())).name(EVENT_GRADE).data(frame.data()));
+                }
+                if (pending.heartbeat() && pending.frames().isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                sentCounter.increment(pending.frames().size());
+            } catch (Exception ex) {
+                log.debug("Closing grade stream connection after send failure: {}", ex.getMessage());
+                unregister(connection);
+                connection.emitter().completeWithError(ex);
+                connection.unschedule();
+                return;
+            }
+        }
+    }
+
+    private void unregister(StreamConnection connection) {
+        if (!connections.remove(connection)) {
+            return;
+        }
+        if (connection.classScope()) {
+            classScopeConnections.decrementAndGet();
+        }
+        for (String topic : connection.topics()) {
+            subscribers.computeIfPresent(topic, (key, set) -> {
+                set.remove(connection);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private Map<Long, Long> resolveClassIds(List<GradeChange> changes) {
+        Set<Long> studentIds = changes.stream().map(GradeChange::getStudentId).collect(Collectors.toSet());
+        return studentMapper.selectList(new LambdaQueryWrapper<Student>()
+                        .select(Student::getId, Student::getClassId)
+                        .in(Student::getId, studentIds))
+                .stream()
+                .filter(student -> student.getClassId() != null)
+                .collect(Collectors.toMap(Student::getId, Student::getClassId));
+    }
+
+    private String toJson(GradeChange change) {
+        GradeNotification notification = new GradeNotification();
+        notification.setGradeId(change.getGradeId());
+        notification.setStudentId(change.getStudentId());
+        notification.setCourseId(change.getCourseId());
+        notification.setType(change.getChangeType().name());
+        notification.setScore(change.getScore());
+        notification.setSemester(change.getSemester());
+        notification.setYear(change.getYear());
+        notification.setTime(change.getCreatedTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize grade notification", ex);
+        }
+    }
+}
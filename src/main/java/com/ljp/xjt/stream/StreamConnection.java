@@ -0,0 +1,120 @@
+package com.ljp.xjt.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 一个客户端推送连接
+ * <p>
+ * 待发送的通知存放在有界缓冲区中，由发送线程批量取出；同一连接同时最多只有一个发送任务，
+ * 保证通知按顺序发送。缓冲区满时丢弃最早的通知并记下溢出，下次发送时先通知客户端重新拉取。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+final class StreamConnection {
+
+    /**
+     * 一条待发送的通知，data 为已序列化的JSON，所有订阅者共用
+     */
+    record Frame(long id, String data) {
+    }
+
+    /**
+     * 一次取出的待发送内容
+     */
+    record Pending(List<Frame> frames, boolean resync, boolean heartbeat) {
+    }
+
+    private final SseEmitter emitter;
+    private final Collection<String> topics;
+    private final boolean classScope;
+    private final int capacity;
+    private final ArrayDeque<Frame> buffer = new ArrayDeque<>();
+    private boolean overflowed;
+    private boolean heartbeatDue;
+    private boolean scheduled;
+
+    StreamConnection(SseEmitter emitter, Collection<String> topics, boolean classScope, int capacity) {
+        this.emitter = emitter;
+        this.topics = topics;
+        this.classScope = classScope;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    Collection<String> topics() {
+        return topics;
+    }
+
+    boolean classScope() {
+        return classScope;
+    }
+
+    /**
+     * 加入一条通知
+     *
+     * @return 是否因缓冲区已满丢弃了最早的通知
+     */
+    synchronized boolean offer(Frame frame) {
+        boolean dropped = false;
+        if (buffer.size() >= capacity) {
+            buffer.pollFirst();
+            overflowed = true;
+            dropped = true;
+        }
+        buffer.addLast(frame);
+        return dropped;
+    }
+
+    /**
+     * 标记需要发送心跳
+     */
+    synchronized void requestHeartbeat() {
+        heartbeatDue = true;
+    }
+
+    /**
+     * 尝试占用发送任务
+     *
+     * @return 是否需要提交新的发送任务（已有任务在运行或排队时返回false）
+     */
+    synchronized boolean markScheduled() {
+        if (scheduled) {
+            return false;
+        }
+        scheduled = true;
+        return true;
+    }
+
+    /**
+     * 取出全部待发送内容；没有内容时释放发送任务并返回null
+     */
+    synchronized Pending take() {
+        if (buffer.isEmpty() && !overflowed && !heartbeatDue) {
+            scheduled = false;
+            return null;
+        }
+        Pending pending = new Pending(new ArrayList<>(buffer), overflowed, heartbeatDue);
+        buffer.clear();
+        overflowed = false;
+        heartbeatDue = false;
+        return pending;
+    }
+
+    /**
+     * 发送任务未能提交时释放占用
+     */
+    synchronized void unschedule() {
+        scheduled = false;
+    }
+}
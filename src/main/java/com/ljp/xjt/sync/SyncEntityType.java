@@ -0,0 +1,35 @@
+package com.ljp.xjt.sync;
+
+/**
+ * 增量同步删除记录的实体类型
+ * <p>
+ * 删除记录中的 entity_id 与 scope_id 按类型约定：entity_id 与对应列表接口返回的记录ID一致，
+ * 客户端据此从本地缓存中移除。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public enum SyncEntityType {
+
+    /**
+     * 班级删除，entity_id 为班级ID
+     */
+    CLASS,
+
+    /**
+     * 课程删除，entity_id 为课程ID
+     */
+    COURSE,
+
+    /**
+     * 成绩删除，entity_id 为课程ID、scope_id 为学生ID（成绩按学生与课程唯一，我的成绩列表以课程ID标识）
+     */
+    GRADE,
+
+    /**
+     * 学生删除或移出班级，entity_id 为学生ID、scope_id 为原班级ID
+     */
+    STUDENT
+}
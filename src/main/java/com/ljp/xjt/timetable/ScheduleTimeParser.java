@@ -0,0 +1,168 @@
+package com.ljp.xjt.timetable;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 上课时间解析器
+ * <p>
+ * 把排课的上课时间文本解析为 {@link TimetableSlots}。文本由若干段组成，段之间以逗号、分号、顿号或空白分隔，
+ * 每段为"[周次]星期节次"，例如：
+ * </p>
+ * <ul>
+ *     <li>周一1-2节：全部教学周的星期一第1、2节；</li>
+ *     <li>1-8周周三3-4节、第9周星期五5节：指定周次；</li>
+ *     <li>1-16周(单)周二1-2节、双周周四7-8节：单双周；</li>
+ *     <li>1-8周 周一1-2节,周三3-4节 与 1-8周周一1-2节,周三3-4节 相同：周次（单独成段或写在段首）
+ *     作用于本段及其后未写周次的各段，直到出现新的周次。</li>
+ * </ul>
+ * <p>
+ * 周次、节次超出 app.timetable 配置的范围或格式无法识别时抛出 IllegalArgumentException。
+ * 解析器不可变，可在多线程间共享。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class ScheduleTimeParser {
+
+    /**
+     * 每周天数
+     */
+    public static final int DAYS_PER_WEEK = 7;
+
+    private static final String DAY_NAMES = "一二三四五六日";
+    private static final Pattern SEPARATORS = Pattern.compile("[,，;；、\\s]+");
+    private static final Pattern WEEKS = Pattern.compile(
+            "(?:第?(\\d{1,2})(?:-(\\d{1,2}))?周(?:\\(?([单双])\\)?)?|([单双])周)");
+    private static final Pattern SEGMENT = Pattern.compile(
+            WEEKS.pattern() + "?(?:周|星期)([一二三四五六日天1-7])第?(\\d{1,2})(?:-(\\d{1,2}))?节?");
+
+    private final int weeks;
+    private final int periodsPerDay;
+    private final int wordCount;
+
+    public ScheduleTimeParser(int weeks, int periodsPerDay) {
+        if (weeks <= 0 || periodsPerDay <= 0) {
+            throw new IllegalArgumentException("Timetable weeks and periods per day must be positive");
+        }
+        this.weeks = weeks;
+        this.periodsPerDay = periodsPerDay;
+        this.wordCount = (weeks * DAYS_PER_WEEK * periodsPerDay + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * 解析上课时间
+     *
+     * @param scheduleTime 上课时间文本
+     * @return 占用的时段
+     */
+    public TimetableSlots parse(String scheduleTime) {
+        if (scheduleTime == null || scheduleTime.isBlank()) {
+            throw new IllegalArgumentException("上课时间不能为空");
+        }
+        String normalized = scheduleTime.trim()
+                .replace('（', '(').replace('）', ')')
+                .replace('～', '-').replace('~', '-').replace('－', '-').replace('—', '-');
+
+        // 1. 逐段解析；写了周次的段（含只有周次的段）更新其后各段的默认周次
+        long[] words = new long[wordCount];
+        WeekRange current = new WeekRange(1, weeks, 0);
+        boolean hasSlots = false;
+        for (String segment : SEPARATORS.split(normalized)) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            Matcher weekOnly = WEEKS.matcher(segment);
+            if (weekOnly.matches()) {
+                current = weekRange(weekOnly, scheduleTime);
+                continue;
+            }
+            Matcher matcher = SEGMENT.matcher(segment);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("无法识别的上课时间：" + scheduleTime);
+            }
+            if (matcher.group(1) != null || matcher.group(4) != null) {
+                current = weekRange(matcher, scheduleTime);
+            }
+
+            // 2. 星期与节次
+            int day = dayOf(matcher.group(5));
+            int firstPeriod = Integer.parseInt(matcher.group(6));
+            int lastPeriod = matcher.group(7) == null ? firstPeriod : Integer.parseInt(matcher.group(7));
+            if (firstPeriod < 1 || lastPeriod > periodsPerDay || firstPeriod > lastPeriod) {
+                throw new IllegalArgumentException("节次超出范围(1-" + periodsPerDay + ")：" + scheduleTime);
+            }
+
+            // 3. 按周次置位
+            for (int week = current.first; week <= current.last; week++) {
+                if (current.parity != 0 && week % 2 != current.parity % 2) {
+                    continue;
+                }
+                for (int period = firstPeriod; period <= lastPeriod; period++) {
+                    int slot = slotOf(week, day, period);
+                    words[slot / Long.SIZE] |= 1L << (slot % Long.SIZE);
+                }
+                hasSlots = true;
+            }
+        }
+        if (!hasSlots) {
+            throw new IllegalArgumentException("上课时间未包含任何节次：" + scheduleTime);
+        }
+        return new TimetableSlots(words);
+    }
+
+    /**
+     * 时段的位序号
+     *
+     * @param week   周次，从1开始
+     * @param day    星期，1为星期一
+     * @param period 节次，从1开始
+     * @return 位序号
+     */
+    public int slotOf(int week, int day, int period) {
+        return ((week - 1) * DAYS_PER_WEEK + day - 1) * periodsPerDay + period - 1;
+    }
+
+    /**
+     * 时段的可读描述，如"第3周周一第5节"
+     *
+     * @param slot 位序号
+     * @return 描述
+     */
+    public String describe(int slot) {
+        int period = slot % periodsPerDay + 1;
+        int day = slot / periodsPerDay % DAYS_PER_WEEK;
+        int week = slot / periodsPerDay / DAYS_PER_WEEK + 1;
+        return "第" + week + "周周" + DAY_NAMES.charAt(day) + "第" + period + "节";
+    }
+
+    /**
+     * 单双周：0不限，1单周，2双周
+     */
+    private record WeekRange(int first, int last, int parity) {
+    }
+
+    private WeekRange weekRange(Matcher matcher, String scheduleTime) {
+        String parity = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
+        int first = 1;
+        int last = weeks;
+        if (matcher.group(1) != null) {
+            first = Integer.parseInt(matcher.group(1));
+            last = matcher.group(2) == null ? first : Integer.parseInt(matcher.group(2));
+        }
+        if (first < 1 || last > weeks || first > last) {
+            throw new IllegalArgumentException("周次超出范围(1-" + weeks + ")：" + scheduleTime);
+        }
+        return new WeekRange(first, last, parity == null ? 0 : "单".equals(parity) ? 1 : 2);
+    }
+
+    private static int dayOf(String day) {
+        char c = day.charAt(0);
+        if (c >= '1' && c <= '7') {
+            return c - '0';
+        }
+        return c == '天' ? DAYS_PER_WEEK : DAY_NAMES.indexOf(c) + 1;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ljp.xjt.timetable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 课表冲突
+ * <p>
+ * 两条排课记录在同一时段占用了同一教师、班级或教室。slot 为第一个重叠时段的位序号，
+ * 可由 {@link ScheduleTimeParser#describe} 转为可读描述。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@AllArgsConstructor
+public class TimetableConflict {
+
+    private TimetableResource resource;     // 冲突的资源类型
+    private Object resourceKey;             // 教师ID、班级ID或教室
+    private Long assignmentId;              // 排课ID
+    private Long conflictingAssignmentId;   // 与之冲突的已有排课ID
+    private int slot;                       // 第一个重叠时段
+}
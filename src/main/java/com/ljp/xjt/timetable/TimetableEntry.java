@@ -0,0 +1,25 @@
+package com.ljp.xjt.timetable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 课表条目
+ * <p>
+ * 一条排课记录占用的教师、班级、教室与时段。教室为空时不参与教室冲突检查。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+@Data
+@AllArgsConstructor
+public class TimetableEntry {
+
+    private Long assignmentId;      // 排课ID，新建时为null
+    private Long teacherId;         // 教师ID
+    private Long classId;           // 班级ID
+    private String classroom;       // 教室
+    private TimetableSlots slots;   // 占用的时段
+}
@@ -0,0 +1,126 @@
+package com.ljp.xjt.timetable;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 学期课表占用
+ * <p>
+ * 为同一学期的每个教师、班级、教室维护一张占用位图（该资源全部排课时段的并集）。
+ * 检查新条目时与其教师、班级、教室的占用位图各做一次按位与，无冲突时耗时与已有排课数量无关；
+ * 只有命中时才逐条比较该资源下的排课，找出具体与哪条记录冲突。
+ * 非线程安全，每次检查或校验单独构建。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class TimetableOccupancy {
+
+    private final Map<TimetableResource, Map<Object, Usage>> usages = new EnumMap<>(TimetableResource.class);
+
+    /**
+     * 以一批条目构建占用
+     *
+     * @param entries 条目
+     * @return 占用
+     */
+    public static TimetableOccupancy of(Iterable<TimetableEntry> entries) {
+        TimetableOccupancy occupancy = new TimetableOccupancy();
+        entries.forEach(occupancy::add);
+        return occupancy;
+    }
+
+    /**
+     * 记入条目占用的时段
+     *
+     * @param entry 条目
+     */
+    public void add(TimetableEntry entry) {
+        for (TimetableResource resource : TimetableResource.values()) {
+            Object key = keyOf(entry, resource);
+            if (key == null) {
+                continue;
+            }
+            Usage usage = usages.computeIfAbsent(resource, r -> new HashMap<>())
+                    .computeIfAbsent(key, k -> new Usage(entry.getSlots().newOccupancy()));
+            entry.getSlots().addTo(usage.occupied);
+            usage.entries.add(entry);
+        }
+    }
+
+    /**
+     * 检查条目与已记入的条目是否冲突，不记入该条目
+     *
+     * @param entry 条目
+     * @return 冲突列表，每个资源下每条冲突的已有排课一项；无冲突时为空列表
+     */
+    public List<TimetableConflict> conflictsOf(TimetableEntry entry) {
+        List<TimetableConflict> conflicts = new ArrayList<>();
+        for (TimetableResource resource : TimetableResource.values()) {
+            Object key = keyOf(entry, resource);
+            Map<Object, Usage> byKey = usages.get(resource);
+            Usage usage = key == null || byKey == null ? null : byKey.get(key);
+            if (usage == null || !entry.getSlots().intersects(usage.occupied)) {
+                continue;
+            }
+            for (TimetableEntry existing : usage.entries) {
+                int slot = entry.getSlots().firstOverlap(existing.getSlots());
+                if (slot >= 0) {
+                    conflicts.add(new TimetableConflict(resource, key, entry.getAssignmentId(), existing.getAssignmentId(), slot));
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * 检查条目冲突后记入该条目，用于依次校验整个学期
+     *
+     * @param entry 条目
+     * @return 与此前记入条目的冲突
+     */
+    public List<TimetableConflict> checkAndAdd(TimetableEntry entry) {
+        List<TimetableConflict> conflicts = conflictsOf(entry);
+        add(entry);
+        return conflicts;
+    }
+
+    /**
+     * 单个资源的占用
+     */
+    private static final class Usage {
+
+        private final long[] occupied;
+        private final List<TimetableEntry> entries = new ArrayList<>(4);
+
+        private Usage(long[] occupied) {
+            this.occupied = occupied;
+        }
+    }
+
+    private static Object keyOf(TimetableEntry entry, TimetableResource resource) {
+        return switch (resource) {
+            case TEACHER -> entry.getTeacherId();
+            case CLASS -> entry.getClassId();
+            case CLASSROOM -> classroomKey(entry.getClassroom());
+        };
+    }
+
+    /**
+     * 规范化教室名称：去掉首尾空白（含全角空格），空白时返回null
+     * <p>
+     * 排课保存前与占用比较时使用同一规则，保证按教室查询已有排课与内存中的比较一致。
+     * </p>
+     *
+     * @param classroom 教室名称
+     * @return 规范化后的教室名称
+     */
+    public static String classroomKey(String classroom) {
+        return classroom == null || classroom.isBlank() ? null : classroom.strip();
+    }
+}
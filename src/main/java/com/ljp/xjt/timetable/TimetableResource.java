@@ -0,0 +1,33 @@
+package com.ljp.xjt.timetable;
+
+/**
+ * 课表资源类型
+ * <p>
+ * 同一学期内，同一教师、同一班级、同一教室在同一时段只能有一门课。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public enum TimetableResource {
+
+    TEACHER("教师"),
+    CLASS("班级"),
+    CLASSROOM("教室");
+
+    private final String label;
+
+    TimetableResource(String label) {
+        this.label = label;
+    }
+
+    /**
+     * 资源的中文名称
+     *
+     * @return 名称
+     */
+    public String label() {
+        return label;
+    }
+}
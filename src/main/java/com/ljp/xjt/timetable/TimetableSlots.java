@@ -0,0 +1,113 @@
+package com.ljp.xjt.timetable;
+
+import java.util.Arrays;
+
+/**
+ * 课表时段位图
+ * <p>
+ * 一个学期的全部时段按 周次 × 星期 × 节次 展开为位序号（见 {@link ScheduleTimeParser#slotOf}），
+ * 每一位表示该时段是否被占用。位图长度由学期周数与每天节次数决定，与排课数量无关，
+ * 因此判断两段上课时间是否重叠只需对固定个数的long按位与，耗时为常数。
+ * 实例创建后不可修改；同一 {@link ScheduleTimeParser} 解析出的位图长度相同，可以直接比较。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public final class TimetableSlots {
+
+    private final long[] words;
+
+    TimetableSlots(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * 是否未占用任何时段
+     *
+     * @return 未占用时返回true
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 占用的时段数
+     *
+     * @return 时段数
+     */
+    public int size() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * 是否与占用位图有重叠时段
+     *
+     * @param occupancy 占用位图，长度与本位图相同
+     * @return 有重叠时返回true
+     */
+    public boolean intersects(long[] occupancy) {
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & occupancy[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 与另一位图的第一个重叠时段
+     *
+     * @param other 另一位图
+     * @return 时段位序号，不重叠时返回-1
+     */
+    public int firstOverlap(TimetableSlots other) {
+        for (int i = 0; i < words.length; i++) {
+            long common = words[i] & other.words[i];
+            if (common != 0) {
+                return i * Long.SIZE + Long.numberOfTrailingZeros(common);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 将本位图的时段并入占用位图
+     *
+     * @param occupancy 占用位图，长度与本位图相同
+     */
+    public void addTo(long[] occupancy) {
+        for (int i = 0; i < words.length; i++) {
+            occupancy[i] |= words[i];
+        }
+    }
+
+    /**
+     * 创建与本位图等长的空占用位图
+     *
+     * @return 空占用位图
+     */
+    public long[] newOccupancy() {
+        return new long[words.length];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TimetableSlots other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
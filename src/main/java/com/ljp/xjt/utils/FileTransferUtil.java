@@ -0,0 +1,171 @@
+package com.ljp.xjt.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 静态文件传输工具类
+ * <p>
+ * 面向内容不可变的文件（如按内容哈希命名的头像）输出HTTP响应：
+ * 强ETag与304协商、单段Range请求(206/416)、长期不可变缓存头。
+ * 容器支持sendfile时交由Tomcat零拷贝发送，否则回退为普通的缓冲拷贝写出响应流。
+ * </p>
+ *
+ * @author ljp
+ * @version 1.0
+ * @since 2025-06-20
+ */
+public class FileTransferUtil {
+
+    /**
+     * 不可变资源的缓存策略：公共缓存一年
+     */
+    public static final CacheControl IMMUTABLE_CACHE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private FileTransferUtil() {
+    }
+
+    /**
+     * 输出不可变文件
+     *
+     * @param request     HTTP请求
+     * @param response    HTTP响应
+     * @param file        文件路径（必须存在）
+     * @param contentType 内容类型
+     * @param etag        强ETag值（不含引号）
+     * @throws IOException 读取文件或写出响应失败
+     */
+    public static void sendImmutableFile(HttpServletRequest request, HttpServletResponse response,
+                                         Path file, String contentType, String etag) throws IOException {
+        sendFile(request, response, file, contentType, etag, IMMUTABLE_CACHE);
+    }
+
+    /**
+     * 按指定缓存策略输出文件
+     *
+     * @param request      HTTP请求
+     * @param response     HTTP响应
+     * @param file         文件路径（必须存在）
+     * @param contentType  内容类型
+     * @param etag         强ETag值（不含引号）
+     * @param cacheControl 缓存策略
+     * @throws IOException 读取文件或写出响应失败
+     */
+    public static void sendFile(HttpServletRequest request, HttpServletResponse response,
+                                Path file, String contentType, String etag, CacheControl cacheControl) throws IOException {
+        String quotedEtag = "\"" + etag + "\"";
+        response.setHeader(HttpHeaders.ETAG, quotedEtag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // 1. 协商缓存：ETag命中直接返回304
+        if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), quotedEtag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            long start = 0;
+            long end = length - 1;
+
+            // 2. 解析Range，仅支持单段；If-Range不匹配时按完整内容返回
+            String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            if (StringUtils.hasText(rangeHeader) && (ifRange == null || ifRange.equals(quotedEtag))) {
+                List<HttpRange> ranges;
+                try {
+                    ranges = HttpRange.parseRanges(rangeHeader);
+                } catch (IllegalArgumentException ex) {
+                    ranges = List.of();
+                }
+                if (ranges.size() == 1) {
+                    HttpRange range = ranges.get(0);
+                    try {
+                        start = range.getRangeStart(length);
+                        end = range.getRangeEnd(length);
+                    } catch (IllegalArgumentException ex) {
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                        return;
+                    }
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            }
+
+            long count = length == 0 ? 0 : end - start + 1;
+            response.setContentType(contentType);
+            response.setContentLengthLong(count);
+            if ("HEAD".equalsIgnoreCase(request.getMethod()) || count == 0) {
+                return;
+            }
+
+            // 3. 优先使用容器的sendfile，由内核直接从页缓存发送到套接字
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+                request.setAttribute(SENDFILE_FILENAME_ATTR, file.toRealPath().toString());
+                request.setAttribute(SENDFILE_START_ATTR, start);
+                request.setAttribute(SENDFILE_END_ATTR, end + 1);
+                return;
+            }
+
+            // 4. 回退：容器不支持sendfile时，按普通缓冲拷贝写出（目标是Servlet输出流而非套接字通道，
+            //    transferTo在此只是经临时缓冲区逐段复制，不会走内核零拷贝）
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * 判断If-None-Match请求头是否命中ETag
+     *
+     * @param ifNoneMatch 请求头值
+     * @param quotedEtag  带引号的ETag
+     * @return 是否命中
+     */
+    private static boolean matchesEtag(String ifNoneMatch, String quotedEtag) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || quotedEtag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
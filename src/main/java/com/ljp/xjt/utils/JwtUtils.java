@@ -29,6 +29,13 @@ import java.util.Map;
 @Component
 public class JwtUtils {
 
+    /**
+     * 成绩推送连接令牌的用途声明值
+     */
+    public static final String PURPOSE_GRADE_STREAM = "grade-stream";
+
+    private static final String PURPOSE_CLAIM = "purpose";
+
     @Value("${app.jwt.secret}")
     private String secret;
 
@@ -83,6 +90,64 @@ public class JwtUtils {
         return createRefreshToken(claims, username);
     }
 
+    /**
+     * 生成成绩推送连接令牌
+     * <p>
+     * 带有用途声明，只能通过查询参数建立成绩推送连接，不能作为访问令牌调用其他接口。
+     * </p>
+     *
+     * @param userId     用户ID
+     * @param username   用户名
+     * @param role       用户角色
+     * @param ttlSeconds 有效期（秒）
+     * @return 连接令牌
+     */
+    public String generateStreamToken(Long userId, String username, String role, long ttlSeconds) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", userId);
+        claims.put("username", username);
+        claims.put("role", role);
+        claims.put(PURPOSE_CLAIM, PURPOSE_GRADE_STREAM);
+
+        Date now = new Date();
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return Jwts.builder()
+                .claims(claims)
+                .subject(username)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + ttlSeconds * 1000))
+                .signWith(key)
+                .compact();
+    }
+
+    /**
+     * 解析并校验令牌
+     * <p>
+     * 签名与过期时间在解析时一并校验，调用方从返回的声明中读取所需字段，避免每个字段重复解析。
+     * </p>
+     *
+     * @param token JWT令牌
+     * @return 令牌声明，令牌无效或已过期时返回null
+     */
+    public Claims parseValidClaims(String token) {
+        try {
+            return getAllClaimsFromToken(token);
+        } catch (Exception e) {
+            log.warn("Token validation failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 判断声明是否属于成绩推送连接令牌
+     *
+     * @param claims 令牌声明
+     * @return 是否为连接令牌
+     */
+    public boolean isStreamToken(Claims claims) {
+        return PURPOSE_GRADE_STREAM.equals(claims.get(PURPOSE_CLAIM, String.class));
+    }
+
     /**
      * 从令牌中获取用户名
      *
@@ -0,0 +1,8 @@
+-- 原图的缩略图任务是否已结束：结束后缺少的尺寸不会再生成，回退的原图可按不可变资源缓存
+ALTER TABLE avatars
+    ADD COLUMN thumbnails_done TINYINT(1) NOT NULL DEFAULT 0 AFTER variant_size;
+
+-- 已有原图：上线前提交的任务均已结束或随旧进程丢失，不会再生成新的缩略图
+UPDATE avatars
+SET thumbnails_done = 1
+WHERE parent_id IS NULL;
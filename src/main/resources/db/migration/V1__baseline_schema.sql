@@ -0,0 +1,143 @@
+-- 基线结构：与引入版本化迁移之前的数据库一致，仅包含主键
+-- 已有数据库首次迁移时由 baseline-on-migrate 标记为版本1，不执行本脚本
+
+CREATE TABLE users (
+    id           BIGINT       NOT NULL,
+    username     VARCHAR(64)  NOT NULL,
+    password     VARCHAR(100) NOT NULL,
+    email        VARCHAR(128) NULL,
+    phone        VARCHAR(32)  NULL,
+    status       TINYINT      NOT NULL DEFAULT 1,
+    created_time DATETIME     NULL,
+    updated_time DATETIME     NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE roles (
+    id           BIGINT       NOT NULL,
+    role_name    VARCHAR(64)  NOT NULL,
+    role_code    VARCHAR(32)  NOT NULL,
+    description  VARCHAR(255) NULL,
+    created_time DATETIME     NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE user_roles (
+    id      BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE departments (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    dept_name    VARCHAR(64)  NOT NULL,
+    dept_code    VARCHAR(32)  NOT NULL,
+    description  VARCHAR(255) NULL,
+    created_time DATETIME     NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE majors (
+    id            BIGINT       NOT NULL,
+    major_name    VARCHAR(64)  NOT NULL,
+    major_code    VARCHAR(32)  NOT NULL,
+    department_id BIGINT       NULL,
+    description   VARCHAR(255) NULL,
+    created_time  DATETIME     NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE classes (
+    id                 BIGINT      NOT NULL,
+    class_name         VARCHAR(64) NOT NULL,
+    class_code         VARCHAR(32) NOT NULL,
+    grade_year         INT         NULL,
+    major_id           BIGINT      NULL,
+    advisor_teacher_id BIGINT      NULL,
+    created_time       DATETIME    NULL,
+    updated_time       DATETIME    NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE courses (
+    id           BIGINT        NOT NULL,
+    course_name  VARCHAR(64)   NOT NULL,
+    course_code  VARCHAR(32)   NOT NULL,
+    credits      DECIMAL(4, 1) NULL,
+    hours        INT           NULL,
+    description  VARCHAR(255)  NULL,
+    created_time DATETIME      NULL,
+    updated_time DATETIME      NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE teachers (
+    id             BIGINT      NOT NULL,
+    user_id        BIGINT      NULL,
+    teacher_number VARCHAR(32) NOT NULL,
+    teacher_name   VARCHAR(64) NOT NULL,
+    gender         TINYINT     NULL,
+    title          VARCHAR(32) NULL,
+    department_id  BIGINT      NULL,
+    created_time   DATETIME    NULL,
+    updated_time   DATETIME    NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE students (
+    id             BIGINT      NOT NULL,
+    user_id        BIGINT      NULL,
+    student_number VARCHAR(32) NOT NULL,
+    student_name   VARCHAR(64) NOT NULL,
+    gender         TINYINT     NULL,
+    birth_date     DATE        NULL,
+    class_id       BIGINT      NULL,
+    created_time   DATETIME    NULL,
+    updated_time   DATETIME    NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE teaching_assignments (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    teacher_id    BIGINT       NOT NULL,
+    course_id     BIGINT       NOT NULL,
+    class_id      BIGINT       NOT NULL,
+    semester      VARCHAR(16)  NULL,
+    year          INT          NULL,
+    schedule_time VARCHAR(64)  NULL,
+    classroom     VARCHAR(64)  NULL,
+    created_time  DATETIME     NULL,
+    updated_time  DATETIME     NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE grades (
+    id                    BIGINT        NOT NULL,
+    student_id            BIGINT        NOT NULL,
+    course_id             BIGINT        NOT NULL,
+    score                 DECIMAL(5, 2) NULL,
+    grade_type            VARCHAR(16)   NULL,
+    semester              VARCHAR(16)   NULL,
+    year                  INT           NULL,
+    is_abnormal           TINYINT       NOT NULL DEFAULT 0,
+    remarks               VARCHAR(255)  NULL,
+    created_by            BIGINT        NULL,
+    updated_by_teacher_id BIGINT        NULL,
+    is_reviewed           TINYINT(1)    NOT NULL DEFAULT 0,
+    created_time          DATETIME      NULL,
+    updated_time          DATETIME      NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE avatars (
+    id            BIGINT       NOT NULL,
+    user_id       BIGINT       NOT NULL,
+    file_name     VARCHAR(128) NOT NULL,
+    original_name VARCHAR(255) NULL,
+    file_path     VARCHAR(255) NOT NULL,
+    file_size     BIGINT       NULL,
+    content_type  VARCHAR(64)  NULL,
+    created_time  DATETIME     NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
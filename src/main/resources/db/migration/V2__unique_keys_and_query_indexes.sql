@@ -0,0 +1,65 @@
+-- 业务唯一约束与热点查询所需索引
+-- 唯一约束与服务层的重复校验一致；已有数据库若存在重复数据，需先清理后再执行本脚本
+
+-- 用户：登录按用户名查询，注册/修改时校验邮箱、手机号唯一（允许为空）
+ALTER TABLE users
+    ADD UNIQUE KEY uk_users_username (username),
+    ADD UNIQUE KEY uk_users_email (email),
+    ADD UNIQUE KEY uk_users_phone (phone);
+
+ALTER TABLE roles
+    ADD UNIQUE KEY uk_roles_role_code (role_code),
+    ADD UNIQUE KEY uk_roles_role_name (role_name);
+
+-- 用户角色：按用户加载角色；按角色筛选用户（如学生账号列表）
+ALTER TABLE user_roles
+    ADD UNIQUE KEY uk_user_roles_user_role (user_id, role_id),
+    ADD KEY idx_user_roles_role (role_id);
+
+ALTER TABLE departments
+    ADD UNIQUE KEY uk_departments_dept_code (dept_code);
+
+ALTER TABLE majors
+    ADD UNIQUE KEY uk_majors_major_code (major_code),
+    ADD KEY idx_majors_department (department_id);
+
+ALTER TABLE classes
+    ADD UNIQUE KEY uk_classes_class_code (class_code),
+    ADD UNIQUE KEY uk_classes_class_name (class_name),
+    ADD KEY idx_classes_major (major_id);
+
+ALTER TABLE courses
+    ADD UNIQUE KEY uk_courses_course_code (course_code),
+    ADD UNIQUE KEY uk_courses_course_name (course_name);
+
+-- 教师：每个用户至多对应一名教师，每次请求按 user_id 解析当前教师
+ALTER TABLE teachers
+    ADD UNIQUE KEY uk_teachers_teacher_number (teacher_number),
+    ADD UNIQUE KEY uk_teachers_user (user_id),
+    ADD KEY idx_teachers_department (department_id);
+
+-- 学生：按 user_id 解析当前学生；班级花名册按学号排序，(class_id, student_number) 同时满足筛选与排序
+ALTER TABLE students
+    ADD UNIQUE KEY uk_students_student_number (student_number),
+    ADD UNIQUE KEY uk_students_user (user_id),
+    ADD KEY idx_students_class_number (class_id, student_number);
+
+-- 授课安排：同一教师同一学期同一班级同一课程只有一条记录（与排课重复校验一致），
+-- 前缀 (teacher_id, course_id, class_id) 覆盖教师权限校验；
+-- 按班级关联课程/成绩、按课程判断是否已排课分别使用后两个索引
+ALTER TABLE teaching_assignments
+    ADD UNIQUE KEY uk_teaching_assignments_teacher_course_class (teacher_id, course_id, class_id, semester, year),
+    ADD KEY idx_teaching_assignments_class_course (class_id, course_id),
+    ADD KEY idx_teaching_assignments_course (course_id);
+
+-- 成绩：每名学生每门课程一条成绩（upsertGrade / findByStudentAndCourse 依赖此约束），
+-- 前缀 student_id 同时服务学生成绩单；
+-- (course_id, student_id, score) 为班级课程统计的覆盖索引；updated_time 供管理员列表按更新时间倒序分页
+ALTER TABLE grades
+    ADD UNIQUE KEY uk_grades_student_course (student_id, course_id),
+    ADD KEY idx_grades_course_student_score (course_id, student_id, score),
+    ADD KEY idx_grades_updated_time (updated_time);
+
+-- 头像：按用户查询历史头像（最新优先）
+ALTER TABLE avatars
+    ADD KEY idx_avatars_user_created (user_id, created_time);
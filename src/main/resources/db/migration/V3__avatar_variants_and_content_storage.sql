@@ -0,0 +1,35 @@
+-- 头像缩略图、内容寻址存储与用户当前头像指针
+
+-- 缩略图作为原图的子记录保存在头像表中
+ALTER TABLE avatars
+    ADD COLUMN parent_id    BIGINT NULL AFTER content_type,
+    ADD COLUMN variant_size INT    NULL AFTER parent_id,
+    ADD KEY idx_avatars_parent_size (parent_id, variant_size);
+
+-- 按SHA-256寻址的文件内容，引用计数归零并超过宽限期后由垃圾回收删除
+CREATE TABLE file_blobs (
+    hash         CHAR(64)    NOT NULL,
+    file_size    BIGINT      NOT NULL,
+    content_type VARCHAR(64) NULL,
+    ref_count    INT         NOT NULL DEFAULT 0,
+    created_time DATETIME    NULL,
+    updated_time DATETIME    NULL,
+    PRIMARY KEY (hash),
+    KEY idx_file_blobs_collectable (ref_count, updated_time)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 用户当前头像指针
+ALTER TABLE users
+    ADD COLUMN avatar_id BIGINT NULL AFTER status;
+
+-- 回填：取每个用户最近上传的原图（旧数据没有缩略图，parent_id 均为空）
+UPDATE users u
+SET u.avatar_id = (
+    SELECT a.id
+    FROM avatars a
+    WHERE a.user_id = u.id
+      AND a.parent_id IS NULL
+    ORDER BY a.created_time DESC, a.id DESC
+    LIMIT 1
+)
+WHERE u.avatar_id IS NULL;
@@ -0,0 +1,14 @@
+-- 管理端列表游标分页：按 (排序键, id) 倒序定位，InnoDB二级索引隐含主键，单列排序键索引即覆盖 (k, id)
+-- 成绩列表使用 V2 中的 idx_grades_updated_time，用户列表按主键倒序，无需新增索引
+
+-- 学生列表按创建时间倒序
+ALTER TABLE students
+    ADD KEY idx_students_created_time (created_time);
+
+-- 教师列表按创建时间倒序
+ALTER TABLE teachers
+    ADD KEY idx_teachers_created_time (created_time);
+
+-- 排课列表按学年、学期倒序
+ALTER TABLE teaching_assignments
+    ADD KEY idx_teaching_assignments_year_semester (year, semester);
@@ -0,0 +1,32 @@
+-- 历史成绩归档：早于保留学年的成绩由定时任务按批从 grades 移入 grades_archive
+-- 未采用按学年分区：MySQL分区表的每个唯一键都必须包含分区列，
+-- 而 uk_grades_student_course 是成绩录入 ON DUPLICATE KEY 与按学生、课程定位成绩的依据，不能加入学年
+
+-- 归档任务按学年选取待归档的成绩；管理端按学年筛选成绩
+ALTER TABLE grades
+    ADD KEY idx_grades_year (year);
+
+-- 归档表与成绩表列一致，另记录归档时间；ID沿用原成绩ID
+CREATE TABLE grades_archive (
+    id                    BIGINT        NOT NULL,
+    student_id            BIGINT        NOT NULL,
+    course_id             BIGINT        NOT NULL,
+    score                 DECIMAL(5, 2) NULL,
+    grade_type            VARCHAR(16)   NULL,
+    semester              VARCHAR(16)   NULL,
+    year                  INT           NULL,
+    is_abnormal           TINYINT       NOT NULL DEFAULT 0,
+    remarks               VARCHAR(255)  NULL,
+    created_by            BIGINT        NULL,
+    updated_by_teacher_id BIGINT        NULL,
+    is_reviewed           TINYINT(1)    NOT NULL DEFAULT 0,
+    created_time          DATETIME      NULL,
+    updated_time          DATETIME      NULL,
+    archived_time         DATETIME      NOT NULL,
+    PRIMARY KEY (id),
+    -- 成绩单按学生查询，可带学年条件
+    KEY idx_grades_archive_student_year (student_id, year),
+    -- 管理端按学年查询历史成绩，按更新时间倒序
+    KEY idx_grades_archive_year_updated_time (year, updated_time),
+    KEY idx_grades_archive_course_student (course_id, student_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
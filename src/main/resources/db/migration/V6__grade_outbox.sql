@@ -0,0 +1,16 @@
+-- 成绩变更发件箱：成绩写入的同一事务中追加变更记录，由发布任务按ID顺序分批投递后标记已发布
+CREATE TABLE grade_outbox (
+    id             BIGINT        NOT NULL AUTO_INCREMENT,
+    grade_id       BIGINT        NOT NULL,
+    student_id     BIGINT        NOT NULL,
+    course_id      BIGINT        NOT NULL,
+    change_type    VARCHAR(16)   NOT NULL,
+    score          DECIMAL(5, 2) NULL,
+    semester       VARCHAR(16)   NULL,
+    year           INT           NULL,
+    created_time   DATETIME(3)   NOT NULL,
+    published_time DATETIME(3)   NULL,
+    PRIMARY KEY (id),
+    -- 发布任务按 published_time IS NULL 取最早的一批；清理任务按发布时间删除
+    KEY idx_grade_outbox_published (published_time, id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
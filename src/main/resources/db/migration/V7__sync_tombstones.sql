@@ -0,0 +1,14 @@
+-- 增量同步删除记录：业务表没有逻辑删除列，物理删除或移出班级时在此记录被删除的ID，
+-- 增量同步接口按 since 返回该时间之后的删除记录；超过保留时长的记录由清理任务删除
+CREATE TABLE sync_tombstones (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    entity_type  VARCHAR(16) NOT NULL,
+    entity_id    BIGINT      NOT NULL,
+    -- 所属范围：学生移出时为原班级ID，成绩删除时为学生ID，班级、课程删除时为空
+    scope_id     BIGINT      NULL,
+    deleted_time DATETIME(3) NOT NULL,
+    PRIMARY KEY (id),
+    -- 增量同步按类型、范围与删除时间查询；清理任务按删除时间删除
+    KEY idx_sync_tombstones_scope (entity_type, scope_id, deleted_time),
+    KEY idx_sync_tombstones_deleted (deleted_time)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,3 @@
+-- 排课时间冲突检查：按教室查同学期已有排课；教师、班级分别使用 V2 中以 teacher_id、class_id 开头的索引
+ALTER TABLE teaching_assignments
+    ADD KEY idx_teaching_assignments_classroom_term (classroom, year, semester);
@@ -0,0 +1,4 @@
+-- 教室名称与排课保存时的规范化保持一致：去掉首尾空格，空串改为NULL，使按教室查询已有排课能匹配历史数据
+UPDATE teaching_assignments
+SET classroom = NULLIF(TRIM(classroom), '')
+WHERE classroom IS NOT NULL;